@@ -0,0 +1,44 @@
+package ru.practicum.shareit;
+
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import ru.practicum.shareit.batch.dto.BatchRequestDto;
+import ru.practicum.shareit.batch.dto.BatchResponseDto;
+import ru.practicum.shareit.batch.dto.SubRequestDto;
+import ru.practicum.shareit.batch.dto.SubResponseDto;
+import ru.practicum.shareit.booking.dto.BookingRequestDto;
+import ru.practicum.shareit.booking.dto.BookingUpdateDto;
+import ru.practicum.shareit.item.dto.ItemCreateDto;
+import ru.practicum.shareit.item.dto.ItemUpdateDto;
+import ru.practicum.shareit.item.dto.comment.CommentCreateDto;
+import ru.practicum.shareit.item.dto.comment.CommentUpdateDto;
+import ru.practicum.shareit.request.dto.RequestCreateDto;
+import ru.practicum.shareit.request.dto.RequestUpdateDto;
+import ru.practicum.shareit.user.dto.UserCreateDto;
+import ru.practicum.shareit.user.dto.UserUpdateDto;
+
+import java.util.List;
+
+/**
+ * Reflection the native gateway needs beyond what AOT finds on controller signatures: batch responses leave
+ * as {@code ResponseEntity<Object>}, and Hibernate Validator reads the constraints of the DTOs from their fields.
+ */
+public class GatewayRuntimeHints implements RuntimeHintsRegistrar {
+    static final List<Class<?>> DTOS = List.of(
+            BatchRequestDto.class, BatchResponseDto.class, SubRequestDto.class, SubResponseDto.class,
+            BookingRequestDto.class, BookingUpdateDto.class,
+            ItemCreateDto.class, ItemUpdateDto.class, CommentCreateDto.class, CommentUpdateDto.class,
+            RequestCreateDto.class, RequestUpdateDto.class,
+            UserCreateDto.class, UserUpdateDto.class);
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(),
+                DTOS.toArray(Class<?>[]::new));
+        for (Class<?> dto : DTOS) {
+            hints.reflection().registerType(dto, MemberCategory.DECLARED_FIELDS);
+        }
+    }
+}
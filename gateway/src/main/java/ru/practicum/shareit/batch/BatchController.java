@@ -0,0 +1,35 @@
+package ru.practicum.shareit.batch;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.batch.dto.BatchRequestDto;
+
+import java.util.Map;
+
+@Slf4j
+@RestController
+@RequestMapping("/batch")
+@RequiredArgsConstructor
+public class BatchController {
+    private final BatchExecutor batchExecutor;
+
+    @PostMapping
+    public ResponseEntity<Object> execute(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            @Valid @RequestBody BatchRequestDto batch) {
+        if (batch.getRequests().size() > batchExecutor.getMaxSize()) {
+            log.warn("Rejecting batch of {} requests", batch.getRequests().size());
+            return ResponseEntity.badRequest()
+                    .body(Map.of("error", "Batch must not contain more than " + batchExecutor.getMaxSize()
+                            + " requests"));
+        }
+        log.info("Executing batch of {} requests", batch.getRequests().size());
+        return ResponseEntity.ok(batchExecutor.execute(request, response, batch.getRequests()));
+    }
+}
@@ -0,0 +1,254 @@
+package ru.practicum.shareit.batch;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.TextNode;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.error.ErrorController;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.DispatcherServlet;
+import org.springframework.web.servlet.HandlerExecutionChain;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ServletRequestPathUtils;
+import org.springframework.web.util.UriComponentsBuilder;
+import org.springframework.web.util.UriUtils;
+import ru.practicum.shareit.batch.dto.BatchResponseDto;
+import ru.practicum.shareit.batch.dto.SubRequestDto;
+import ru.practicum.shareit.batch.dto.SubResponseDto;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs the entries of a batch through the gateway's own {@link DispatcherServlet}, so every entry meets the same
+ * interceptors, validation and controllers as a standalone request and gets the status it would have got alone.
+ * At most {@code shareit.batch.max-concurrency} entries of one batch run at a time, on a shared pool of
+ * {@code shareit.batch.threads}; entries still running after {@code shareit.batch.timeout} are answered with 504.
+ */
+@Slf4j
+@Component
+public class BatchExecutor implements DisposableBean {
+    private static final Set<String> NOT_BATCHABLE = Set.of("batch", "actuator", "error");
+
+    private final DispatcherServlet dispatcherServlet;
+    private final ObjectMapper objectMapper;
+    private final Tracer tracer;
+    private final DistributionSummary batchSize;
+    private final int maxSize;
+    private final int maxConcurrency;
+    private final Duration timeout;
+    private final ThreadPoolExecutor executor;
+
+    @Autowired
+    public BatchExecutor(DispatcherServlet dispatcherServlet,
+                         ObjectMapper objectMapper,
+                         Tracer tracer,
+                         MeterRegistry meterRegistry,
+                         @Value("${shareit.batch.max-size:20}") int maxSize,
+                         @Value("${shareit.batch.max-concurrency:4}") int maxConcurrency,
+                         @Value("${shareit.batch.threads:64}") int threads,
+                         @Value("${shareit.batch.timeout:PT30S}") Duration timeout) {
+        this.dispatcherServlet = dispatcherServlet;
+        this.objectMapper = objectMapper;
+        this.tracer = tracer;
+        this.maxSize = maxSize;
+        this.maxConcurrency = maxConcurrency;
+        this.timeout = timeout;
+        this.batchSize = DistributionSummary.builder("shareit.gateway.batch.size")
+                .description("Entries per batch request")
+                .register(meterRegistry);
+        AtomicInteger number = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(threads * 4), r -> {
+                    Thread thread = new Thread(r, "batch-" + number.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public BatchResponseDto execute(HttpServletRequest batch, HttpServletResponse batchResponse,
+                                    List<SubRequestDto> requests) {
+        batchSize.record(requests.size());
+        long deadline = System.nanoTime() + timeout.toNanos();
+        Semaphore permits = new Semaphore(maxConcurrency);
+        Span parent = tracer.currentSpan();
+        List<Future<SubResponseDto>> results = new ArrayList<>(requests.size());
+        for (SubRequestDto request : requests) {
+            results.add(submit(batch, batchResponse, request, permits, deadline, parent));
+        }
+
+        List<SubResponseDto> responses = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            responses.add(await(results.get(i), requests.get(i), deadline));
+        }
+        return new BatchResponseDto(responses);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private Future<SubResponseDto> submit(HttpServletRequest batch, HttpServletResponse batchResponse,
+                                          SubRequestDto request, Semaphore permits, long deadline,
+                                          Span parent) {
+        if (!isBatchable(batch, request)) {
+            return CompletableFuture.completedFuture(error(request, HttpStatus.BAD_REQUEST,
+                    "Path " + request.getPath() + " cannot be part of a batch"));
+        }
+        try {
+            if (!permits.tryAcquire(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                return CompletableFuture.completedFuture(error(request, HttpStatus.GATEWAY_TIMEOUT,
+                        "Batch timed out before the request started"));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return CompletableFuture.completedFuture(error(request, HttpStatus.SERVICE_UNAVAILABLE,
+                    "Batch was interrupted"));
+        }
+        try {
+            return executor.submit(() -> {
+                // entries skip the servlet filters, so they continue the batch's trace instead of starting their own
+                try (Tracer.SpanInScope ignored = tracer.withSpan(parent)) {
+                    return dispatch(batch, batchResponse, request);
+                } finally {
+                    permits.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            permits.release();
+            return CompletableFuture.completedFuture(error(request, HttpStatus.SERVICE_UNAVAILABLE,
+                    "Gateway is busy, try again later"));
+        }
+    }
+
+    private SubResponseDto await(Future<SubResponseDto> result, SubRequestDto request, long deadline) {
+        try {
+            return result.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            result.cancel(true);
+            return error(request, HttpStatus.GATEWAY_TIMEOUT, "Request did not finish within the batch timeout");
+        } catch (ExecutionException e) {
+            log.warn("Batch entry {} {} failed", request.getMethod(), request.getPath(), e.getCause());
+            return error(request, HttpStatus.INTERNAL_SERVER_ERROR, String.valueOf(e.getCause().getMessage()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            result.cancel(true);
+            return error(request, HttpStatus.SERVICE_UNAVAILABLE, "Batch was interrupted");
+        }
+    }
+
+    private SubResponseDto dispatch(HttpServletRequest batch, HttpServletResponse batchResponse,
+                                    SubRequestDto request) throws IOException {
+        SubRequest subRequest = subRequest(batch, request);
+        SubResponse subResponse = new SubResponse(batchResponse);
+        try {
+            dispatcherServlet.service(subRequest, subResponse);
+        } catch (ServletException e) {
+            Throwable cause = e.getRootCause() != null ? e.getRootCause() : e;
+            log.debug("Batch entry {} {} failed: {}", request.getMethod(), request.getPath(), cause.getMessage());
+            return error(request, HttpStatus.INTERNAL_SERVER_ERROR, String.valueOf(cause.getMessage()));
+        }
+        return SubResponseDto.builder()
+                .id(request.getId())
+                .status(subResponse.getStatus())
+                .body(readBody(subResponse))
+                .build();
+    }
+
+    /**
+     * Entries are checked by their decoded, normalized path and by the handler they resolve to, so encoded or
+     * dotted paths cannot reach the batch endpoint itself, the actuator or the error page. Entries without a
+     * handler are left to the dispatcher, which answers them as it would a standalone request.
+     */
+    private boolean isBatchable(HttpServletRequest batch, SubRequestDto request) {
+        String path = UriComponentsBuilder.fromUriString(request.getPath()).build().getPath();
+        String first = StringUtils.cleanPath(UriUtils.decode(path == null ? "/" : path, StandardCharsets.UTF_8))
+                .replaceFirst("^/+", "").split("[/;]", 2)[0];
+        if (NOT_BATCHABLE.contains(first)) return false;
+        List<HandlerMapping> mappings = dispatcherServlet.getHandlerMappings();
+        if (mappings == null) return false;
+        SubRequest subRequest;
+        try {
+            subRequest = subRequest(batch, request);
+        } catch (IOException | IllegalArgumentException e) {
+            return false;
+        }
+        ServletRequestPathUtils.parseAndCache(subRequest);
+        for (HandlerMapping mapping : mappings) {
+            HandlerExecutionChain chain;
+            try {
+                chain = mapping.getHandler(subRequest);
+            } catch (Exception e) {
+                return true;
+            }
+            if (chain != null) return !isInternal(chain.getHandler());
+        }
+        return true;
+    }
+
+    private static boolean isInternal(Object handler) {
+        Class<?> type = handler instanceof HandlerMethod method ? method.getBeanType() : handler.getClass();
+        return type == BatchController.class
+                || ErrorController.class.isAssignableFrom(type)
+                || type.getName().startsWith("org.springframework.boot.actuate.");
+    }
+
+    private SubRequest subRequest(HttpServletRequest batch, SubRequestDto request) throws IOException {
+        byte[] body = request.getBody() == null || request.getBody().isNull()
+                ? new byte[0]
+                : objectMapper.writeValueAsBytes(request.getBody());
+        return new SubRequest(batch, request.getMethod(), request.getPath(), request.getHeaders(), body);
+    }
+
+    private JsonNode readBody(SubResponse response) {
+        byte[] body = response.getBody();
+        if (body.length == 0) {
+            if (response.getStatus() < 400) return null;
+            String message = response.getErrorMessage();
+            if (message == null) {
+                HttpStatus status = HttpStatus.resolve(response.getStatus());
+                message = status == null ? "Error" : status.getReasonPhrase();
+            }
+            return objectMapper.valueToTree(Map.of("error", message));
+        }
+        try {
+            return objectMapper.readTree(body);
+        } catch (IOException e) {
+            return TextNode.valueOf(new String(body, StandardCharsets.UTF_8));
+        }
+    }
+
+    private SubResponseDto error(SubRequestDto request, HttpStatus status, String message) {
+        return SubResponseDto.builder()
+                .id(request.getId())
+                .status(status.value())
+                .body(objectMapper.valueToTree(Map.of("error", message)))
+                .build();
+    }
+}
@@ -0,0 +1,19 @@
+package ru.practicum.shareit.batch.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchRequestDto {
+    @NotEmpty(message = "Batch must contain at least one request")
+    private List<@Valid SubRequestDto> requests;
+}
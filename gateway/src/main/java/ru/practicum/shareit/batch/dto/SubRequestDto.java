@@ -0,0 +1,27 @@
+package ru.practicum.shareit.batch.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SubRequestDto {
+    private String id;
+    @NotBlank(message = "Method must not be blank")
+    @Pattern(regexp = "GET|POST|PUT|PATCH|DELETE", message = "Method must be one of GET, POST, PUT, PATCH, DELETE")
+    private String method;
+    @NotBlank(message = "Path must not be blank")
+    @Pattern(regexp = "/.*", message = "Path must start with /")
+    private String path;
+    private Map<String, String> headers;
+    private JsonNode body;
+}
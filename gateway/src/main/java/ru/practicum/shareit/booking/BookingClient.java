@@ -1,12 +1,11 @@
 package ru.practicum.shareit.booking;
 
+import java.util.HashMap;
 import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 
@@ -14,44 +13,51 @@ import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.enums.State;
 import ru.practicum.shareit.booking.dto.BookingUpdateDto;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.Upstream;
 
 @Service
 public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
 
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                        .build()
-        );
+    public BookingClient(RestTemplateBuilder builder, Upstream upstream) {
+        super(builder.uriTemplateHandler(new DefaultUriBuilderFactory()).build(), API_PREFIX, upstream);
     }
 
-    public ResponseEntity<Object> getBookings(long userId, State state, Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of(
-                "state", state.name(),
-                "from", from,
-                "size", size
-        );
+    public ResponseEntity<Object> getBookings(long userId, State state, Integer from, Integer size, String fields) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("state", state.name());
+        parameters.put("from", from);
+        parameters.put("size", size);
+        if (fields != null) {
+            parameters.put("fields", fields);
+            return get("?state={state}&from={from}&size={size}&fields={fields}", userId, parameters);
+        }
         return get("?state={state}&from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> getBookings(String path, long userId, State state) {
-        Map<String, Object> parameters = Map.of(
-                "state", state.name()
-        );
+    public ResponseEntity<Object> getBookings(String path, long userId, State state, String fields) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("state", state.name());
+        if (fields != null) {
+            parameters.put("fields", fields);
+            return get(path + "?state={state}&fields={fields}", userId, parameters);
+        }
         return get(path + "?state={state}", userId, parameters);
     }
 
 
+    public ResponseEntity<Object> getBookingStats(String path, long userId, Boolean cached) {
+        Map<String, Object> parameters = Map.of("cached", cached);
+        return get(path + "/stats?cached={cached}", userId, parameters);
+    }
+
     public ResponseEntity<Object> bookItem(long userId, BookingRequestDto requestDto) {
         return post("", userId, requestDto);
     }
 
     public ResponseEntity<Object> getBooking(long userId, Long bookingId) {
-        return get("/" + bookingId, userId);
+        return hedgedGet("/" + bookingId, userId);
     }
 
     public ResponseEntity<Object> updateBooking(long userId, BookingUpdateDto bookingUpdateDto) {
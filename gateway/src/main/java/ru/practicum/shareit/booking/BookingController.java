@@ -31,11 +31,12 @@ public class BookingController {
     public ResponseEntity<Object> getBookings(@RequestHeader("X-Sharer-User-Id") long userId,
                                               @RequestParam(name = "state", defaultValue = "all") String stateParam,
                                               @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
-                                              @Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
+                                              @Positive @RequestParam(name = "size", defaultValue = "10") Integer size,
+                                              @RequestParam(name = "fields", required = false) String fields) {
         State state = State.from(stateParam)
                 .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
         log.info("Get booking with state {}, userId={}, from={}, size={}", stateParam, userId, from, size);
-        return bookingClient.getBookings(userId, state, from, size);
+        return bookingClient.getBookings(userId, state, from, size, fields);
     }
 
     @PostMapping
@@ -55,10 +56,25 @@ public class BookingController {
 
     @GetMapping("/owner")
     public ResponseEntity<Object> findAllBookingsByOwner(@RequestHeader("X-Sharer-User-Id") long userId,
-                                                         @RequestParam(name = "state", defaultValue = "ALL") String param) {
+                                                         @RequestParam(name = "state", defaultValue = "ALL") String param,
+                                                         @RequestParam(name = "fields", required = false) String fields) {
         log.info("Get bookings of owner, ownerId={}", userId);
         State state = State.from(param).orElseThrow(() -> new IllegalArgumentException("Incorrect state: " + param));
-        return bookingClient.getBookings("/owner", userId, state);
+        return bookingClient.getBookings("/owner", userId, state, fields);
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<Object> getBookingStats(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                  @RequestParam(name = "cached", defaultValue = "false") Boolean cached) {
+        log.info("Get booking counters, userId={}, cached={}", userId, cached);
+        return bookingClient.getBookingStats("", userId, cached);
+    }
+
+    @GetMapping("/owner/stats")
+    public ResponseEntity<Object> getOwnerBookingStats(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                       @RequestParam(name = "cached", defaultValue = "false") Boolean cached) {
+        log.info("Get booking counters of owner, ownerId={}, cached={}", userId, cached);
+        return bookingClient.getBookingStats("/owner", userId, cached);
     }
 
     @PutMapping("/{bookingId}")
@@ -0,0 +1,81 @@
+package ru.practicum.shareit.client;
+
+import org.apache.hc.client5.http.classic.HttpClient;
+import org.apache.hc.client5.http.classic.methods.HttpUriRequest;
+import org.apache.hc.core5.http.ClassicHttpRequest;
+import org.springframework.boot.web.client.ClientHttpRequestFactories;
+import org.springframework.boot.web.client.ClientHttpRequestFactorySettings;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+
+import java.util.function.Supplier;
+
+/**
+ * HttpComponents request factory whose requests can be aborted from another thread. A blocking exchange
+ * ignores interrupts, so the losing attempt of a hedged GET is stopped by closing its connection instead.
+ */
+public class AbortableRequestFactory extends HttpComponentsClientHttpRequestFactory {
+    private static final ThreadLocal<Abort> CURRENT = new ThreadLocal<>();
+
+    public AbortableRequestFactory(HttpClient httpClient) {
+        super(httpClient);
+    }
+
+    /**
+     * Same client, timeouts and SSL as the factory Spring Boot would pick for these settings.
+     */
+    public static AbortableRequestFactory create(ClientHttpRequestFactorySettings settings) {
+        HttpComponentsClientHttpRequestFactory configured =
+                ClientHttpRequestFactories.get(HttpComponentsClientHttpRequestFactory.class, settings);
+        AbortableRequestFactory factory = new AbortableRequestFactory(configured.getHttpClient());
+        if (settings.connectTimeout() != null) factory.setConnectTimeout(settings.connectTimeout());
+        return factory;
+    }
+
+    /**
+     * @return true if the request being sent by this thread was aborted
+     */
+    public static boolean isAborted() {
+        Abort abort = CURRENT.get();
+        return abort != null && abort.isAborted();
+    }
+
+    @Override
+    protected void postProcessHttpRequest(ClassicHttpRequest request) {
+        Abort abort = CURRENT.get();
+        if (abort != null && request instanceof HttpUriRequest uriRequest) abort.attach(uriRequest);
+    }
+
+    /**
+     * Handle to the requests a task sends through this factory while it runs in {@link #call}.
+     */
+    public static class Abort {
+        private HttpUriRequest request;
+        private boolean aborted;
+
+        public <T> T call(Supplier<T> task) {
+            CURRENT.set(this);
+            try {
+                return task.get();
+            } finally {
+                CURRENT.remove();
+            }
+        }
+
+        /**
+         * Closes the connection of the current request; one that is not sent yet is aborted as soon as it is made.
+         */
+        public synchronized void abort() {
+            aborted = true;
+            if (request != null) request.abort();
+        }
+
+        public synchronized boolean isAborted() {
+            return aborted;
+        }
+
+        private synchronized void attach(HttpUriRequest uriRequest) {
+            request = uriRequest;
+            if (aborted) uriRequest.abort();
+        }
+    }
+}
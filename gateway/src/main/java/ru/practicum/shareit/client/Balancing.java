@@ -0,0 +1,10 @@
+package ru.practicum.shareit.client;
+
+/**
+ * How {@link ServerInstances} picks an instance for a request.
+ */
+public enum Balancing {
+    ROUND_ROBIN,
+    LEAST_OUTSTANDING,
+    POWER_OF_TWO
+}
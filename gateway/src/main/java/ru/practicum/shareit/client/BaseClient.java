@@ -1,22 +1,51 @@
 package ru.practicum.shareit.client;
 
-import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
-import org.springframework.http.MediaType;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.lang.Nullable;
 import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 
 public class BaseClient {
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+
     protected final RestTemplate rest;
+    private final String apiPrefix;
+    private final ServerInstances servers;
+    private final ConcurrencyLimiter limiter;
+    private final UpstreamRoute route;
+    private final Hedging hedging;
+    private final HedgeTracker hedgeTracker;
+    private final WireFormat wireFormat;
+    private final UpstreamTracing tracing;
 
-    public BaseClient(RestTemplate rest) {
+    public BaseClient(RestTemplate rest, String apiPrefix, Upstream upstream) {
         this.rest = rest;
+        this.apiPrefix = apiPrefix;
+        this.servers = upstream.getServers();
+        this.limiter = upstream.getLimiter();
+        this.route = upstream.getRoutes().get(apiPrefix.substring(1));
+        this.hedging = upstream.getHedging();
+        this.hedgeTracker = hedging.forRoute(route.getName());
+        this.wireFormat = upstream.getWireFormat();
+        this.tracing = upstream.getTracing();
     }
 
     protected ResponseEntity<Object> get(String path) {
@@ -28,7 +57,54 @@ public class BaseClient {
     }
 
     protected ResponseEntity<Object> get(String path, Long userId, @Nullable Map<String, Object> parameters) {
-        return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null);
+        return get(path, userId, parameters, Priority.NORMAL);
+    }
+
+    protected ResponseEntity<Object> get(String path, Long userId, @Nullable Map<String, Object> parameters,
+                                         Priority priority) {
+        return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null, priority);
+    }
+
+    /**
+     * GET that is sent to a second server instance when the first one has not answered within the route's
+     * latency percentile. Only for idempotent reads; the slower attempt is aborted once the other one answers.
+     */
+    protected ResponseEntity<Object> hedgedGet(String path, Long userId) {
+        if (!hedging.isEnabled()) return get(path, userId, null);
+
+        long delay = hedgeTracker.delayNanos();
+        ServerInstance first = servers.choose(userId, false);
+        Span parent = tracing.currentSpan();
+        CompletableFuture<ResponseEntity<Object>> primary = attempt(first, path, userId, parent);
+        if (primary == null) return get(path, userId, null);
+        try {
+            return primary.get(delay, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            // too slow, hedge below
+        } catch (ExecutionException e) {
+            throw unwrap(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            primary.cancel(true);
+            throw new IllegalStateException("Interrupted while waiting for the server", e);
+        }
+
+        ServerInstance second = servers.other(first);
+        CompletableFuture<ResponseEntity<Object>> hedge = second != null && hedgeTracker.tryHedge()
+                ? attempt(second, path, userId, parent)
+                : null;
+        if (hedge == null) return await(primary);
+
+        CompletableFuture<ResponseEntity<Object>> winner = new CompletableFuture<>();
+        AtomicInteger failed = new AtomicInteger();
+        primary.whenComplete((response, error) -> offer(winner, failed, response, error, false));
+        hedge.whenComplete((response, error) -> offer(winner, failed, response, error, true));
+        try {
+            return await(winner);
+        } finally {
+            primary.cancel(true);
+            hedge.cancel(true);
+        }
     }
 
     protected <T> ResponseEntity<Object> post(String path, T body) {
@@ -40,7 +116,7 @@ public class BaseClient {
     }
 
     protected <T> ResponseEntity<Object> post(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
-        return makeAndSendRequest(HttpMethod.POST, path, userId, parameters, body);
+        return makeAndSendRequest(HttpMethod.POST, path, userId, parameters, body, Priority.CRITICAL);
     }
 
     protected <T> ResponseEntity<Object> put(String path, long userId, T body) {
@@ -48,7 +124,7 @@ public class BaseClient {
     }
 
     protected <T> ResponseEntity<Object> put(String path, long userId, @Nullable Map<String, Object> parameters, T body) {
-        return makeAndSendRequest(HttpMethod.PUT, path, userId, parameters, body);
+        return makeAndSendRequest(HttpMethod.PUT, path, userId, parameters, body, Priority.CRITICAL);
     }
 
     protected <T> ResponseEntity<Object> patch(String path, T body) {
@@ -64,7 +140,7 @@ public class BaseClient {
     }
 
     protected <T> ResponseEntity<Object> patch(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
-        return makeAndSendRequest(HttpMethod.PATCH, path, userId, parameters, body);
+        return makeAndSendRequest(HttpMethod.PATCH, path, userId, parameters, body, Priority.CRITICAL);
     }
 
     protected ResponseEntity<Object> delete(String path) {
@@ -76,38 +152,178 @@ public class BaseClient {
     }
 
     protected ResponseEntity<Object> delete(String path, Long userId, @Nullable Map<String, Object> parameters) {
-        return makeAndSendRequest(HttpMethod.DELETE, path, userId, parameters, null);
+        return makeAndSendRequest(HttpMethod.DELETE, path, userId, parameters, null, Priority.CRITICAL);
     }
 
-    private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
-        HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
+    private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId,
+                                                          @Nullable Map<String, Object> parameters, @Nullable T body,
+                                                          Priority priority) {
+        return send(servers.choose(userId, method != HttpMethod.GET), method, path, userId, parameters, body,
+                priority);
+    }
 
+    private <T> ResponseEntity<Object> send(ServerInstance server, HttpMethod method, String path, Long userId,
+                                            @Nullable Map<String, Object> parameters, @Nullable T body,
+                                            Priority priority) {
+        if (!route.tryAcquire()) {
+            return unavailable("Service " + route.getName() + " is temporarily unavailable, try again later");
+        }
+        if (!limiter.tryAcquire(priority)) {
+            route.onIgnored();
+            return unavailable("Server is overloaded, try again later");
+        }
+        Span hop = tracing.startHop(method, apiPrefix, server);
+        HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId, hop));
+        String url = server.getUrl() + apiPrefix + path;
+
+        long start = System.nanoTime();
         ResponseEntity<Object> shareitServerResponse;
+        server.started();
         try {
             if (parameters != null) {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class, parameters);
+                shareitServerResponse = rest.exchange(url, method, requestEntity, Object.class, parameters);
             } else {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class);
+                shareitServerResponse = rest.exchange(url, method, requestEntity, Object.class);
             }
+            hop.tag("http.status_code", String.valueOf(shareitServerResponse.getStatusCode().value()));
         } catch (HttpStatusCodeException e) {
-            return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
+            if (e.getStatusCode().is5xxServerError()) {
+                failed(server);
+            } else {
+                succeeded(server, start);
+            }
+            hop.tag("http.status_code", String.valueOf(e.getStatusCode().value()));
+            return ResponseEntity.status(e.getStatusCode())
+                    .body(wireFormat.errorBody(e.getResponseHeaders(), e.getResponseBodyAsByteArray()));
+        } catch (RuntimeException e) {
+            if (AbortableRequestFactory.isAborted()) {
+                abandoned(server);
+                hop.tag("aborted", "true");
+            } else {
+                failed(server);
+                hop.error(e);
+            }
+            throw e;
+        } finally {
+            hop.end();
         }
+        succeeded(server, start);
         return prepareGatewayResponse(shareitServerResponse);
     }
 
-    private HttpHeaders defaultHeaders(Long userId) {
+    /**
+     * Cancelling the returned future aborts the exchange, which gives its connection and permits back at once.
+     */
+    private CompletableFuture<ResponseEntity<Object>> attempt(ServerInstance server, String path, Long userId,
+                                                              Span parent) {
+        AbortableRequestFactory.Abort abort = new AbortableRequestFactory.Abort();
+        CompletableFuture<ResponseEntity<Object>> future;
+        try {
+            future = CompletableFuture.supplyAsync(() -> abort.call(() -> {
+                try (Tracer.SpanInScope ignored = tracing.continueSpan(parent)) {
+                    return timedAttempt(server, path, userId);
+                }
+            }), hedging.executor());
+        } catch (RejectedExecutionException e) {
+            return null;
+        }
+        future.whenComplete((response, error) -> {
+            if (error instanceof CancellationException) abort.abort();
+        });
+        return future;
+    }
+
+    private ResponseEntity<Object> timedAttempt(ServerInstance server, String path, Long userId) {
+        long start = System.nanoTime();
+        ResponseEntity<Object> response = send(server, HttpMethod.GET, path, userId, null, null, Priority.NORMAL);
+        if (!response.getStatusCode().is5xxServerError()) hedgeTracker.record(System.nanoTime() - start);
+        return response;
+    }
+
+    private void offer(CompletableFuture<ResponseEntity<Object>> winner, AtomicInteger failed,
+                       ResponseEntity<Object> response, Throwable error, boolean hedged) {
+        if (error == null && !response.getStatusCode().is5xxServerError()) {
+            if (winner.complete(response) && hedged) hedgeTracker.hedgeWon();
+        } else if (failed.incrementAndGet() == 2) {
+            if (error != null) {
+                winner.completeExceptionally(error);
+            } else {
+                winner.complete(response);
+            }
+        }
+    }
+
+    private static ResponseEntity<Object> await(CompletableFuture<ResponseEntity<Object>> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            throw unwrap(e.getCause());
+        }
+    }
+
+    private static RuntimeException unwrap(Throwable error) {
+        return error instanceof RuntimeException runtime ? runtime : new IllegalStateException(error);
+    }
+
+    private void succeeded(ServerInstance server, long start) {
+        servers.finished(server, false);
+        limiter.onSuccess(System.nanoTime() - start);
+        route.onSuccess();
+    }
+
+    private void abandoned(ServerInstance server) {
+        servers.abandoned(server);
+        limiter.onAbandoned();
+        route.onIgnored();
+    }
+
+    private void failed(ServerInstance server) {
+        servers.finished(server, true);
+        limiter.onDropped();
+        route.onFailure();
+    }
+
+    private static ResponseEntity<Object> unavailable(String message) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(Map.of("error", message));
+    }
+
+    private HttpHeaders defaultHeaders(Long userId, Span hop) {
         HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
-        headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+        tracing.inject(hop, headers);
+        headers.setContentType(wireFormat.contentType());
+        headers.setAccept(wireFormat.accept());
         if (userId != null) {
             headers.set("X-Sharer-User-Id", String.valueOf(userId));
         }
+        String idempotencyKey = currentIdempotencyKey();
+        if (idempotencyKey != null) {
+            headers.set(IDEMPOTENCY_KEY, idempotencyKey);
+        }
         return headers;
     }
 
+    /**
+     * The server deduplicates creates by this header, so it is passed on from the incoming request.
+     */
+    @Nullable
+    private static String currentIdempotencyKey() {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            return attributes.getRequest().getHeader(IDEMPOTENCY_KEY);
+        }
+        return null;
+    }
+
     private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
         if (response.getStatusCode().is2xxSuccessful()) {
-            return response;
+            // the body is encoded again for the client, so the server's encoding headers do not apply
+            HttpHeaders headers = new HttpHeaders();
+            headers.putAll(response.getHeaders());
+            headers.remove(HttpHeaders.CONTENT_TYPE);
+            headers.remove(HttpHeaders.CONTENT_LENGTH);
+            headers.remove(HttpHeaders.TRANSFER_ENCODING);
+            return new ResponseEntity<>(response.getBody(), headers, response.getStatusCode());
         }
 
         ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
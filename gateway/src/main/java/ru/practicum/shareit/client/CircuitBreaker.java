@@ -0,0 +1,102 @@
+package ru.practicum.shareit.client;
+
+/**
+ * Count-based circuit breaker. It opens when at least {@code failureRate} of the last {@code windowSize} calls
+ * failed (and there were {@code minCalls} of them), refuses calls for {@code openNanos}, then lets
+ * {@code halfOpenProbes} calls through: the breaker closes when all of them succeed and opens again on the
+ * first failure.
+ */
+public class CircuitBreaker {
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final boolean[] window;
+    private final int minCalls;
+    private final double failureRate;
+    private final long openNanos;
+    private final int halfOpenProbes;
+    private State state = State.CLOSED;
+    private int calls;
+    private int failures;
+    private int position;
+    private long openedAt;
+    private int probesInFlight;
+    private int probesSucceeded;
+
+    public CircuitBreaker(int windowSize, int minCalls, double failureRate, long openNanos, int halfOpenProbes) {
+        this.window = new boolean[windowSize];
+        this.minCalls = minCalls;
+        this.failureRate = failureRate;
+        this.openNanos = openNanos;
+        this.halfOpenProbes = halfOpenProbes;
+    }
+
+    public synchronized boolean tryAcquire(long nowNanos) {
+        if (state == State.OPEN && nowNanos - openedAt >= openNanos) {
+            state = State.HALF_OPEN;
+            probesInFlight = 0;
+            probesSucceeded = 0;
+        }
+        if (state == State.CLOSED) return true;
+        if (state == State.HALF_OPEN && probesInFlight < halfOpenProbes) {
+            probesInFlight++;
+            return true;
+        }
+        return false;
+    }
+
+    public synchronized void onSuccess() {
+        if (state == State.HALF_OPEN) {
+            probesInFlight--;
+            if (++probesSucceeded >= halfOpenProbes) close();
+        } else if (state == State.CLOSED) {
+            record(false);
+        }
+    }
+
+    public synchronized void onFailure(long nowNanos) {
+        if (state == State.HALF_OPEN) {
+            open(nowNanos);
+        } else if (state == State.CLOSED) {
+            record(true);
+            if (calls >= minCalls && failures >= failureRate * calls) open(nowNanos);
+        }
+    }
+
+    /**
+     * Gives back a permit that was not used for a call.
+     */
+    public synchronized void onIgnored() {
+        if (state == State.HALF_OPEN) probesInFlight--;
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    private void record(boolean failed) {
+        if (calls == window.length) {
+            if (window[position]) failures--;
+        } else {
+            calls++;
+        }
+        window[position] = failed;
+        if (failed) failures++;
+        position = (position + 1) % window.length;
+    }
+
+    private void open(long nowNanos) {
+        state = State.OPEN;
+        openedAt = nowNanos;
+    }
+
+    private void close() {
+        state = State.CLOSED;
+        calls = 0;
+        failures = 0;
+        position = 0;
+    }
+}
\ No newline at end of file
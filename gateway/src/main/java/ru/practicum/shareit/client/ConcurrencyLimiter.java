@@ -0,0 +1,118 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Adaptive limit on concurrent requests to the server, gradient style. A long-term average of the server
+ * latency is compared with every new sample: while they agree the limit grows by about its square root,
+ * when samples get slower the limit shrinks proportionally (at most by half), and a failed call cuts it
+ * by a tenth. Requests over the limit are refused at once instead of queueing gateway threads.
+ */
+@Slf4j
+@Component
+public class ConcurrencyLimiter {
+    private static final double SMOOTHING = 0.2;
+    private static final double TOLERANCE = 1.5;
+    private static final double BACKOFF = 0.9;
+    private static final int LONG_WINDOW = 100;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final AtomicInteger inflight = new AtomicInteger();
+    private final Map<Priority, Counter> shed = new EnumMap<>(Priority.class);
+    private final Timer latency;
+    private volatile double limit;
+    private double longRttNanos;
+
+    @Autowired
+    public ConcurrencyLimiter(MeterRegistry meterRegistry,
+                              @Value("${shareit.upstream.limit.initial:20}") int initialLimit,
+                              @Value("${shareit.upstream.limit.min:4}") int minLimit,
+                              @Value("${shareit.upstream.limit.max:200}") int maxLimit) {
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        for (Priority priority : Priority.values()) {
+            shed.put(priority, Counter.builder("shareit.gateway.upstream.shed")
+                    .description("Requests refused because the server is at its concurrency limit")
+                    .tag("priority", priority.name())
+                    .register(meterRegistry));
+        }
+        this.latency = Timer.builder("shareit.gateway.upstream.latency")
+                .description("Server response time seen by the gateway")
+                .register(meterRegistry);
+        Gauge.builder("shareit.gateway.upstream.limit", () -> limit)
+                .description("Current concurrency limit towards the server")
+                .register(meterRegistry);
+        Gauge.builder("shareit.gateway.upstream.inflight", inflight::get)
+                .description("Requests currently waiting for the server")
+                .register(meterRegistry);
+    }
+
+    public boolean tryAcquire(Priority priority) {
+        int allowed = Math.max(1, (int) (limit * priority.getShare()));
+        while (true) {
+            int current = inflight.get();
+            if (current >= allowed) {
+                shed.get(priority).increment();
+                log.debug("Shedding {} request: {} in flight, limit {}", priority, current, allowed);
+                return false;
+            }
+            if (inflight.compareAndSet(current, current + 1)) return true;
+        }
+    }
+
+    public void onSuccess(long rttNanos) {
+        int current = inflight.getAndDecrement();
+        latency.record(rttNanos, TimeUnit.NANOSECONDS);
+        update(rttNanos, current);
+    }
+
+    public void onDropped() {
+        inflight.decrementAndGet();
+        synchronized (this) {
+            limit = Math.max(minLimit, limit * BACKOFF);
+        }
+    }
+
+    /**
+     * Releases the slot of a call given up by the gateway itself, which says nothing about the server.
+     */
+    public void onAbandoned() {
+        inflight.decrementAndGet();
+    }
+
+    public double getLimit() {
+        return limit;
+    }
+
+    private synchronized void update(long rttNanos, int inflightAtEnd) {
+        if (longRttNanos == 0) {
+            longRttNanos = rttNanos;
+        } else {
+            longRttNanos += (rttNanos - longRttNanos) / LONG_WINDOW;
+        }
+        // the server got faster for good: let the baseline follow instead of pinning the gradient at 1
+        if (longRttNanos / rttNanos > 2) longRttNanos *= 0.95;
+
+        double gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * longRttNanos / rttNanos));
+        double newLimit = limit * gradient + Math.sqrt(limit);
+        // not enough traffic to tell whether a higher limit would hold
+        if (newLimit > limit && inflightAtEnd < limit / 2) return;
+
+        newLimit = limit * (1 - SMOOTHING) + newLimit * SMOOTHING;
+        limit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,93 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Counter;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Latency percentile and hedge budget of one route. The delay before hedging is the configured percentile
+ * of the last {@code SAMPLES} latencies, recomputed every {@code RECOMPUTE_EVERY} samples. Each hedgeable
+ * request earns {@code budgetShare} of a hedge, so hedges never exceed that share of the traffic.
+ */
+public class HedgeTracker {
+    private static final int SAMPLES = 256;
+    private static final int RECOMPUTE_EVERY = 32;
+    private static final long CREDIT_SCALE = 1000;
+
+    private final double percentile;
+    private final long minDelayNanos;
+    private final long creditPerRequest;
+    private final long maxCredit;
+    private final long[] samples = new long[SAMPLES];
+    private final AtomicLong credit = new AtomicLong();
+    private final Counter sent;
+    private final Counter won;
+    private final Counter denied;
+    private long count;
+    private int next;
+    private volatile long delayNanos;
+
+    public HedgeTracker(double percentile, long minDelayNanos, double budgetShare, int maxBurst,
+                        Counter sent, Counter won, Counter denied) {
+        this(percentile, minDelayNanos, budgetShare, maxBurst, sent, won, denied, 0);
+    }
+
+    /**
+     * @param recorded number of latencies to count as already recorded, for tests of long-running routes
+     */
+    HedgeTracker(double percentile, long minDelayNanos, double budgetShare, int maxBurst,
+                 Counter sent, Counter won, Counter denied, long recorded) {
+        this.percentile = percentile;
+        this.minDelayNanos = minDelayNanos;
+        this.creditPerRequest = (long) (budgetShare * CREDIT_SCALE);
+        this.maxCredit = maxBurst * CREDIT_SCALE;
+        this.sent = sent;
+        this.won = won;
+        this.denied = denied;
+        this.delayNanos = Long.MAX_VALUE;
+        this.count = recorded;
+    }
+
+    /**
+     * @return how long to wait for the first attempt; effectively forever until enough latencies are known
+     */
+    public long delayNanos() {
+        credit.getAndUpdate(c -> Math.min(maxCredit, c + creditPerRequest));
+        return delayNanos;
+    }
+
+    public synchronized void record(long latencyNanos) {
+        samples[next] = latencyNanos;
+        next = (next + 1) % SAMPLES;
+        count++;
+        if (count >= RECOMPUTE_EVERY && count % RECOMPUTE_EVERY == 0) {
+            long[] sorted = Arrays.copyOf(samples, (int) Math.min(count, SAMPLES));
+            Arrays.sort(sorted);
+            long value = sorted[(int) Math.min(sorted.length - 1, Math.floor(percentile * sorted.length))];
+            delayNanos = Math.max(minDelayNanos, value);
+        }
+    }
+
+    public boolean tryHedge() {
+        while (true) {
+            long current = credit.get();
+            if (current < CREDIT_SCALE) {
+                denied.increment();
+                return false;
+            }
+            if (credit.compareAndSet(current, current - CREDIT_SCALE)) {
+                sent.increment();
+                return true;
+            }
+        }
+    }
+
+    public void hedgeWon() {
+        won.increment();
+    }
+
+    public long currentDelayNanos() {
+        return delayNanos;
+    }
+}
\ No newline at end of file
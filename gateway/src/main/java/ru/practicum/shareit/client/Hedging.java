@@ -0,0 +1,86 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Settings, per-route trackers and the thread pool of hedged GETs ({@code shareit.upstream.hedging.*}).
+ */
+@Component
+public class Hedging implements DisposableBean {
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final double percentile;
+    private final Duration minDelay;
+    private final double budget;
+    private final int maxBurst;
+    private final ThreadPoolExecutor executor;
+    private final Map<String, HedgeTracker> trackers = new ConcurrentHashMap<>();
+
+    @Autowired
+    public Hedging(MeterRegistry meterRegistry,
+                   @Value("${shareit.upstream.hedging.enabled:false}") boolean enabled,
+                   @Value("${shareit.upstream.hedging.percentile:0.95}") double percentile,
+                   @Value("${shareit.upstream.hedging.min-delay:PT0.01S}") Duration minDelay,
+                   @Value("${shareit.upstream.hedging.budget:0.05}") double budget,
+                   @Value("${shareit.upstream.hedging.max-burst:10}") int maxBurst,
+                   @Value("${shareit.upstream.hedging.threads:64}") int threads) {
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.percentile = percentile;
+        this.minDelay = minDelay;
+        this.budget = budget;
+        this.maxBurst = maxBurst;
+        AtomicInteger number = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, new SynchronousQueue<>(),
+                r -> {
+                    Thread thread = new Thread(r, "hedge-" + number.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public Executor executor() {
+        return executor;
+    }
+
+    public HedgeTracker forRoute(String name) {
+        return trackers.computeIfAbsent(name, this::create);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private HedgeTracker create(String name) {
+        HedgeTracker tracker = new HedgeTracker(percentile, minDelay.toNanos(), budget, maxBurst,
+                counter("shareit.gateway.hedge.sent", "Second attempts sent after the hedge delay", name),
+                counter("shareit.gateway.hedge.won", "Hedged requests answered by the second attempt", name),
+                counter("shareit.gateway.hedge.denied", "Hedges skipped because the budget was spent", name));
+        Gauge.builder("shareit.gateway.hedge.delay", tracker, t -> t.currentDelayNanos() / 1e6)
+                .description("Current hedge delay in milliseconds")
+                .tag("route", name)
+                .register(meterRegistry);
+        return tracker;
+    }
+
+    private Counter counter(String meter, String description, String route) {
+        return Counter.builder(meter).description(description).tag("route", route).register(meterRegistry);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,21 @@
+package ru.practicum.shareit.client;
+
+/**
+ * Share of the upstream concurrency limit a request may occupy. Writes get the whole limit,
+ * bulk reads give way first when the server slows down.
+ */
+public enum Priority {
+    CRITICAL(1.0),
+    NORMAL(0.8),
+    BULK(0.5);
+
+    private final double share;
+
+    Priority(double share) {
+        this.share = share;
+    }
+
+    public double getShare() {
+        return share;
+    }
+}
\ No newline at end of file
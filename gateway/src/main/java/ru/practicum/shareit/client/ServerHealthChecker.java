@@ -0,0 +1,54 @@
+package ru.practicum.shareit.client;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+
+/**
+ * Probes the health endpoint of every server instance and takes failing ones out of rotation.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "shareit.upstream.health.enabled", havingValue = "true", matchIfMissing = true)
+public class ServerHealthChecker {
+    private final ServerInstances servers;
+    private final RestTemplate rest;
+    private final String path;
+
+    @Autowired
+    public ServerHealthChecker(ServerInstances servers, RestTemplateBuilder builder,
+                               @Value("${shareit.upstream.health.path:/actuator/health}") String path,
+                               @Value("${shareit.upstream.health.timeout:PT1S}") Duration timeout) {
+        this.servers = servers;
+        this.rest = builder.setConnectTimeout(timeout).setReadTimeout(timeout).build();
+        this.path = path;
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.upstream.health.interval:5000}")
+    public void check() {
+        for (ServerInstance instance : servers.getInstances()) {
+            boolean healthy = probe(instance);
+            if (healthy != instance.isHealthy()) {
+                log.warn("Server instance {} is {}", instance, healthy ? "healthy again" : "unhealthy");
+                instance.setHealthy(healthy);
+            }
+        }
+    }
+
+    private boolean probe(ServerInstance instance) {
+        try {
+            return rest.getForEntity(instance.getUrl() + path, String.class).getStatusCode().is2xxSuccessful();
+        } catch (RestClientException e) {
+            log.debug("Health check of {} failed: {}", instance, e.getMessage());
+            return false;
+        }
+    }
+}
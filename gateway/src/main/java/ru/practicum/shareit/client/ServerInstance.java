@@ -0,0 +1,73 @@
+package ru.practicum.shareit.client;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * One server the gateway can talk to: requests in flight, last health check result and ejection state.
+ */
+public class ServerInstance {
+    private final String url;
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private volatile boolean healthy = true;
+    private volatile long ejectedUntilNanos;
+    private volatile boolean ejected;
+
+    public ServerInstance(String url) {
+        this.url = url;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public int getOutstanding() {
+        return outstanding.get();
+    }
+
+    public boolean isHealthy() {
+        return healthy;
+    }
+
+    public boolean isEjected(long nowNanos) {
+        if (ejected && nowNanos - ejectedUntilNanos >= 0) ejected = false;
+        return ejected;
+    }
+
+    public boolean isAvailable(long nowNanos) {
+        return healthy && !isEjected(nowNanos);
+    }
+
+    void setHealthy(boolean healthy) {
+        this.healthy = healthy;
+    }
+
+    void started() {
+        outstanding.incrementAndGet();
+    }
+
+    void abandoned() {
+        outstanding.decrementAndGet();
+    }
+
+    /**
+     * @return true if this failure ejected the instance
+     */
+    boolean finished(boolean failed, int ejectAfter, long ejectNanos, long nowNanos) {
+        outstanding.decrementAndGet();
+        if (!failed) {
+            consecutiveFailures.set(0);
+            return false;
+        }
+        if (ejectAfter <= 0 || consecutiveFailures.incrementAndGet() < ejectAfter) return false;
+        consecutiveFailures.set(0);
+        ejectedUntilNanos = nowNanos + ejectNanos;
+        ejected = true;
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return url;
+    }
+}
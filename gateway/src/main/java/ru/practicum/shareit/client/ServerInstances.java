@@ -0,0 +1,146 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Server instances listed in {@code shareit-server.urls} and the choice between them. Instances that failed
+ * their health check or were ejected after consecutive failures are skipped; when none is left every
+ * instance is tried again rather than failing all requests. Writes of a user can be pinned to one instance
+ * with rendezvous hashing ({@code shareit.upstream.sticky-writes}).
+ */
+@Slf4j
+@Component
+public class ServerInstances {
+    private final List<ServerInstance> instances;
+    private final Balancing balancing;
+    private final boolean stickyWrites;
+    private final int ejectAfter;
+    private final long ejectNanos;
+    private final AtomicInteger position = new AtomicInteger();
+
+    @Autowired
+    public ServerInstances(MeterRegistry meterRegistry,
+                           @Value("${shareit-server.urls}") List<String> urls,
+                           @Value("${shareit.upstream.balancing:POWER_OF_TWO}") Balancing balancing,
+                           @Value("${shareit.upstream.sticky-writes:false}") boolean stickyWrites,
+                           @Value("${shareit.upstream.ejection.failures:0}") int ejectAfter,
+                           @Value("${shareit.upstream.ejection.duration:PT30S}") Duration ejectDuration) {
+        if (urls.isEmpty()) throw new IllegalArgumentException("shareit-server.urls must list at least one server");
+        this.instances = urls.stream().map(ServerInstance::new).toList();
+        this.balancing = balancing;
+        this.stickyWrites = stickyWrites;
+        this.ejectAfter = ejectAfter;
+        this.ejectNanos = ejectDuration.toNanos();
+        for (ServerInstance instance : instances) {
+            Gauge.builder("shareit.gateway.upstream.outstanding", instance, ServerInstance::getOutstanding)
+                    .description("Requests in flight to the server instance")
+                    .tag("instance", instance.getUrl())
+                    .register(meterRegistry);
+            Gauge.builder("shareit.gateway.upstream.available", instance,
+                            i -> i.isAvailable(System.nanoTime()) ? 1 : 0)
+                    .description("1 if the server instance is healthy and not ejected")
+                    .tag("instance", instance.getUrl())
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * @param userId user of the request, used to pin writes when sticky writes are on
+     */
+    public ServerInstance choose(Long userId, boolean write) {
+        List<ServerInstance> candidates = available(null);
+        if (stickyWrites && write && userId != null) return rendezvous(candidates, userId);
+        return pick(candidates);
+    }
+
+    /**
+     * @return an available instance other than {@code first}, or null when there is none
+     */
+    public ServerInstance other(ServerInstance first) {
+        List<ServerInstance> candidates = available(first);
+        return candidates.isEmpty() ? null : pick(candidates);
+    }
+
+    public List<ServerInstance> getInstances() {
+        return instances;
+    }
+
+    void finished(ServerInstance instance, boolean failed) {
+        if (instance.finished(failed, ejectAfter, ejectNanos, System.nanoTime())) {
+            log.warn("Server instance {} ejected after {} consecutive failures", instance, ejectAfter);
+        }
+    }
+
+    void abandoned(ServerInstance instance) {
+        instance.abandoned();
+    }
+
+    private List<ServerInstance> available(ServerInstance excluded) {
+        long now = System.nanoTime();
+        List<ServerInstance> available = new ArrayList<>(instances.size());
+        for (ServerInstance instance : instances) {
+            if (instance != excluded && instance.isAvailable(now)) available.add(instance);
+        }
+        if (!available.isEmpty()) return available;
+        return excluded == null ? instances : List.of();
+    }
+
+    private ServerInstance pick(List<ServerInstance> candidates) {
+        if (candidates.size() == 1) return candidates.get(0);
+        return switch (balancing) {
+            case ROUND_ROBIN -> candidates.get(Math.floorMod(position.getAndIncrement(), candidates.size()));
+            case LEAST_OUTSTANDING -> leastOutstanding(candidates);
+            case POWER_OF_TWO -> powerOfTwo(candidates);
+        };
+    }
+
+    private ServerInstance leastOutstanding(List<ServerInstance> candidates) {
+        int offset = Math.floorMod(position.getAndIncrement(), candidates.size());
+        ServerInstance best = null;
+        for (int i = 0; i < candidates.size(); i++) {
+            ServerInstance instance = candidates.get((offset + i) % candidates.size());
+            if (best == null || instance.getOutstanding() < best.getOutstanding()) best = instance;
+        }
+        return best;
+    }
+
+    private static ServerInstance powerOfTwo(List<ServerInstance> candidates) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(candidates.size());
+        int second = random.nextInt(candidates.size() - 1);
+        if (second >= first) second++;
+        ServerInstance a = candidates.get(first);
+        ServerInstance b = candidates.get(second);
+        return b.getOutstanding() < a.getOutstanding() ? b : a;
+    }
+
+    private static ServerInstance rendezvous(List<ServerInstance> candidates, long userId) {
+        ServerInstance best = null;
+        long bestScore = 0;
+        for (ServerInstance instance : candidates) {
+            long score = mix(instance.getUrl().hashCode() * 31L + userId);
+            if (best == null || score > bestScore) {
+                best = instance;
+                bestScore = score;
+            }
+        }
+        return best;
+    }
+
+    private static long mix(long value) {
+        value = (value ^ (value >>> 33)) * 0xff51afd7ed558ccdL;
+        value = (value ^ (value >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return value ^ (value >>> 33);
+    }
+}
@@ -0,0 +1,52 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Everything a {@link BaseClient} needs to reach the server besides its RestTemplate.
+ */
+@Component
+public class Upstream {
+    private final ServerInstances servers;
+    private final ConcurrencyLimiter limiter;
+    private final UpstreamRoutes routes;
+    private final Hedging hedging;
+    private final WireFormat wireFormat;
+    private final UpstreamTracing tracing;
+
+    @Autowired
+    public Upstream(ServerInstances servers, ConcurrencyLimiter limiter, UpstreamRoutes routes, Hedging hedging,
+                    WireFormat wireFormat, UpstreamTracing tracing) {
+        this.servers = servers;
+        this.limiter = limiter;
+        this.routes = routes;
+        this.hedging = hedging;
+        this.wireFormat = wireFormat;
+        this.tracing = tracing;
+    }
+
+    public ServerInstances getServers() {
+        return servers;
+    }
+
+    public ConcurrencyLimiter getLimiter() {
+        return limiter;
+    }
+
+    public UpstreamRoutes getRoutes() {
+        return routes;
+    }
+
+    public Hedging getHedging() {
+        return hedging;
+    }
+
+    public WireFormat getWireFormat() {
+        return wireFormat;
+    }
+
+    public UpstreamTracing getTracing() {
+        return tracing;
+    }
+}
\ No newline at end of file
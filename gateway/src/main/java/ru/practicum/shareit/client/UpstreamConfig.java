@@ -0,0 +1,40 @@
+package ru.practicum.shareit.client;
+
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.web.client.RestTemplateBuilderConfigurer;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import java.time.Duration;
+
+@Configuration
+public class UpstreamConfig {
+    /**
+     * Timeouts turn a hanging server into failures the circuit breakers can count.
+     * Calls to the server are traced by {@link BaseClient} itself, so RestTemplate's own observations are off.
+     * Requests go through {@link AbortableRequestFactory} so that the losing attempt of a hedged GET can be aborted.
+     */
+    @Bean
+    public RestTemplateBuilder restTemplateBuilder(RestTemplateBuilderConfigurer configurer,
+                                                   @Value("${shareit.upstream.connect-timeout:PT2S}") Duration connect,
+                                                   @Value("${shareit.upstream.read-timeout:PT10S}") Duration read) {
+        return configurer.configure(new RestTemplateBuilder())
+                .setConnectTimeout(connect)
+                .setReadTimeout(read)
+                .requestFactory(AbortableRequestFactory::create)
+                .additionalCustomizers(rest -> rest.setObservationRegistry(ObservationRegistry.NOOP));
+    }
+
+    /**
+     * Smile reader and writer configured like the JSON mapper, used for the binary link to the server.
+     */
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,66 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Counter;
+
+import java.util.concurrent.Semaphore;
+
+/**
+ * Bulkhead and circuit breaker of one server API ({@code /bookings}, {@code /items}, ...), so that a failing
+ * or slow endpoint can only exhaust its own share of gateway threads.
+ */
+public class UpstreamRoute {
+    private final String name;
+    private final Semaphore bulkhead;
+    private final CircuitBreaker circuitBreaker;
+    private final Counter bulkheadRejected;
+    private final Counter circuitRejected;
+
+    public UpstreamRoute(String name, Semaphore bulkhead, CircuitBreaker circuitBreaker,
+                         Counter bulkheadRejected, Counter circuitRejected) {
+        this.name = name;
+        this.bulkhead = bulkhead;
+        this.circuitBreaker = circuitBreaker;
+        this.bulkheadRejected = bulkheadRejected;
+        this.circuitRejected = circuitRejected;
+    }
+
+    public boolean tryAcquire() {
+        if (!bulkhead.tryAcquire()) {
+            bulkheadRejected.increment();
+            return false;
+        }
+        if (!circuitBreaker.tryAcquire(System.nanoTime())) {
+            bulkhead.release();
+            circuitRejected.increment();
+            return false;
+        }
+        return true;
+    }
+
+    public void onSuccess() {
+        circuitBreaker.onSuccess();
+        bulkhead.release();
+    }
+
+    public void onFailure() {
+        circuitBreaker.onFailure(System.nanoTime());
+        bulkhead.release();
+    }
+
+    public void onIgnored() {
+        circuitBreaker.onIgnored();
+        bulkhead.release();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public CircuitBreaker.State getState() {
+        return circuitBreaker.getState();
+    }
+
+    public int availablePermits() {
+        return bulkhead.availablePermits();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,74 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Creates one {@link UpstreamRoute} per server API, all with the same {@code shareit.upstream.*} settings.
+ */
+@Component
+public class UpstreamRoutes {
+    private final MeterRegistry meterRegistry;
+    private final int maxConcurrent;
+    private final int windowSize;
+    private final int minCalls;
+    private final double failureRate;
+    private final Duration openDuration;
+    private final int halfOpenProbes;
+    private final Map<String, UpstreamRoute> routes = new ConcurrentHashMap<>();
+
+    @Autowired
+    public UpstreamRoutes(MeterRegistry meterRegistry,
+                          @Value("${shareit.upstream.bulkhead.max-concurrent:40}") int maxConcurrent,
+                          @Value("${shareit.upstream.circuit.window:20}") int windowSize,
+                          @Value("${shareit.upstream.circuit.min-calls:10}") int minCalls,
+                          @Value("${shareit.upstream.circuit.failure-rate:0.5}") double failureRate,
+                          @Value("${shareit.upstream.circuit.open-duration:PT5S}") Duration openDuration,
+                          @Value("${shareit.upstream.circuit.half-open-probes:3}") int halfOpenProbes) {
+        this.meterRegistry = meterRegistry;
+        this.maxConcurrent = maxConcurrent;
+        this.windowSize = windowSize;
+        this.minCalls = minCalls;
+        this.failureRate = failureRate;
+        this.openDuration = openDuration;
+        this.halfOpenProbes = halfOpenProbes;
+    }
+
+    public UpstreamRoute get(String name) {
+        return routes.computeIfAbsent(name, this::create);
+    }
+
+    private UpstreamRoute create(String name) {
+        UpstreamRoute route = new UpstreamRoute(name,
+                new Semaphore(maxConcurrent),
+                new CircuitBreaker(windowSize, minCalls, failureRate, openDuration.toNanos(), halfOpenProbes),
+                rejected(name, "bulkhead"),
+                rejected(name, "circuit"));
+        Gauge.builder("shareit.gateway.upstream.bulkhead.available", route, UpstreamRoute::availablePermits)
+                .description("Free slots in the route bulkhead")
+                .tag("route", name)
+                .register(meterRegistry);
+        Gauge.builder("shareit.gateway.upstream.circuit.state", route, r -> r.getState().ordinal())
+                .description("Circuit breaker state: 0 closed, 1 open, 2 half-open")
+                .tag("route", name)
+                .register(meterRegistry);
+        return route;
+    }
+
+    private Counter rejected(String name, String reason) {
+        return Counter.builder("shareit.gateway.upstream.rejected")
+                .description("Requests refused by a route bulkhead or an open circuit")
+                .tag("route", name)
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,51 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import io.micrometer.tracing.propagation.Propagator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+/**
+ * Client spans of the calls to the server. The span goes out in the {@code traceparent} header, so the server's
+ * spans of the call join the trace the gateway started for the incoming request.
+ */
+@Component
+public class UpstreamTracing {
+    private final Tracer tracer;
+    private final Propagator propagator;
+
+    @Autowired
+    public UpstreamTracing(Tracer tracer, Propagator propagator) {
+        this.tracer = tracer;
+        this.propagator = propagator;
+    }
+
+    public Span startHop(HttpMethod method, String route, ServerInstance server) {
+        return tracer.spanBuilder()
+                .name(method.name() + " " + route)
+                .kind(Span.Kind.CLIENT)
+                .remoteServiceName("shareit-server")
+                .tag("server", server.getUrl())
+                .start();
+    }
+
+    public void inject(Span hop, HttpHeaders headers) {
+        propagator.inject(hop.context(), headers, HttpHeaders::set);
+    }
+
+    @Nullable
+    public Span currentSpan() {
+        return tracer.currentSpan();
+    }
+
+    /**
+     * Puts the request's span in scope on a pool thread, so hops made there stay in the request's trace.
+     */
+    public Tracer.SpanInScope continueSpan(@Nullable Span span) {
+        return tracer.withSpan(span);
+    }
+}
@@ -0,0 +1,65 @@
+package ru.practicum.shareit.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Body format between gateway and server: Smile when {@code shareit.upstream.smile.enabled}, JSON otherwise.
+ * JSON stays acceptable either way, so a server without Smile support still answers.
+ */
+@Component
+public class WireFormat {
+    public static final MediaType SMILE = new MediaType("application", "x-jackson-smile");
+    private static final MediaType JSON_FALLBACK = MediaType.parseMediaType("application/json;q=0.5");
+    private static final byte[] SMILE_HEADER = {':', ')', '\n'};
+
+    private final boolean smile;
+    private final ObjectMapper smileMapper;
+
+    @Autowired
+    public WireFormat(@Value("${shareit.upstream.smile.enabled:true}") boolean smile,
+                      MappingJackson2SmileHttpMessageConverter smileConverter) {
+        this.smile = smile;
+        this.smileMapper = smileConverter.getObjectMapper();
+    }
+
+    public MediaType contentType() {
+        return smile ? SMILE : MediaType.APPLICATION_JSON;
+    }
+
+    public List<MediaType> accept() {
+        return smile ? List.of(SMILE, JSON_FALLBACK) : List.of(MediaType.APPLICATION_JSON);
+    }
+
+    /**
+     * Error bodies are passed on as they came, except Smile ones, which are decoded so the external client
+     * still gets JSON. Plain strings are sometimes labelled Smile by the server, hence the header check.
+     */
+    public Object errorBody(@Nullable HttpHeaders headers, byte[] body) {
+        if (headers == null || !SMILE.isCompatibleWith(headers.getContentType()) || !hasSmileHeader(body)) {
+            return body;
+        }
+        try {
+            return smileMapper.readValue(body, Object.class);
+        } catch (IOException e) {
+            return body;
+        }
+    }
+
+    private static boolean hasSmileHeader(byte[] body) {
+        if (body.length < SMILE_HEADER.length) return false;
+        for (int i = 0; i < SMILE_HEADER.length; i++) {
+            if (body[i] != SMILE_HEADER[i]) return false;
+        }
+        return true;
+    }
+}
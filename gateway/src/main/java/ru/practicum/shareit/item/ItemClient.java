@@ -1,17 +1,19 @@
 package ru.practicum.shareit.item;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.Priority;
+import ru.practicum.shareit.client.Upstream;
 import ru.practicum.shareit.item.dto.ItemCreateDto;
 import ru.practicum.shareit.item.dto.ItemUpdateDto;
 import ru.practicum.shareit.item.dto.comment.CommentCreateDto;
 
+import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.Map;
 
 @Service
@@ -19,13 +21,8 @@ public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
 
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                        .build()
-        );
+    public ItemClient(RestTemplateBuilder builder, Upstream upstream) {
+        super(builder.uriTemplateHandler(new DefaultUriBuilderFactory()).build(), API_PREFIX, upstream);
     }
 
     public ResponseEntity<Object> createItem(long userId, ItemCreateDto itemCreateDto) {
@@ -41,10 +38,13 @@ public class ItemClient extends BaseClient {
     }
 
     public ResponseEntity<Object> findItem(long itemId) {
-        return get("/" + itemId);
+        return hedgedGet("/" + itemId, null);
     }
 
-    public ResponseEntity<Object> findAllByOwner(long userId) {
+    public ResponseEntity<Object> findAllByOwner(long userId, String fields) {
+        if (fields != null) {
+            return get("?fields={fields}", userId, Map.of("fields", fields));
+        }
         return get("", userId);
     }
 
@@ -54,7 +54,41 @@ public class ItemClient extends BaseClient {
 
     public ResponseEntity<Object> searchItems(String text) {
         Map<String, Object> parameters = Map.of("text", text);
-        return get("/search?text={text}", null, parameters);
+        return get("/search?text={text}", null, parameters, Priority.BULK);
+    }
+
+    public ResponseEntity<Object> searchFreeItems(String text, LocalDateTime start, LocalDateTime end,
+                                                  Integer from, Integer size) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("text", text);
+        parameters.put("start", start);
+        parameters.put("end", end);
+        parameters.put("from", from);
+        parameters.put("size", size);
+        return get("/search?text={text}&start={start}&end={end}&from={from}&size={size}", null, parameters,
+                Priority.BULK);
+    }
+
+    public ResponseEntity<Object> findAvailability(long itemId, LocalDateTime from, LocalDateTime to) {
+        Map<String, Object> parameters = Map.of("from", from, "to", to);
+        return get("/" + itemId + "/availability?from={from}&to={to}", null, parameters);
+    }
+
+    public ResponseEntity<Object> findAvailabilityByOwner(long userId, LocalDateTime from, LocalDateTime to) {
+        Map<String, Object> parameters = Map.of("from", from, "to", to);
+        return get("/availability?from={from}&to={to}", userId, parameters);
+    }
+
+    public ResponseEntity<Object> findComments(long itemId, Integer size, LocalDateTime cursorCreated, Long cursorId) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("size", size);
+        if (cursorCreated != null && cursorId != null) {
+            parameters.put("cursorCreated", cursorCreated);
+            parameters.put("cursorId", cursorId);
+            return get("/" + itemId + "/comments?size={size}&cursorCreated={cursorCreated}&cursorId={cursorId}",
+                    null, parameters);
+        }
+        return get("/" + itemId + "/comments?size={size}", null, parameters);
     }
 
     public ResponseEntity<Object> addComment(long itemId, long userId, CommentCreateDto commentCreateDto) {
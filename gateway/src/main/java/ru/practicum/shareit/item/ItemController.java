@@ -1,8 +1,13 @@
 package ru.practicum.shareit.item;
 
 import jakarta.validation.Valid;
+import jakarta.validation.ValidationException;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
@@ -10,6 +15,7 @@ import ru.practicum.shareit.item.dto.ItemCreateDto;
 import ru.practicum.shareit.item.dto.ItemUpdateDto;
 import ru.practicum.shareit.item.dto.comment.CommentCreateDto;
 
+import java.time.LocalDateTime;
 import java.util.Collections;
 
 @Slf4j
@@ -18,6 +24,8 @@ import java.util.Collections;
 @RequiredArgsConstructor
 @Validated
 public class ItemController {
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final ItemClient itemClient;
 
     @PostMapping
@@ -52,9 +60,10 @@ public class ItemController {
     }
 
     @GetMapping
-    public ResponseEntity<Object> findAllByOwner(@RequestHeader("X-Sharer-User-Id") long userId) {
-        log.info("Finding all items for userId={}", userId);
-        return itemClient.findAllByOwner(userId);
+    public ResponseEntity<Object> findAllByOwner(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                 @RequestParam(name = "fields", required = false) String fields) {
+        log.info("Finding all items for userId={}, fields={}", userId, fields);
+        return itemClient.findAllByOwner(userId, fields);
     }
 
     @GetMapping("/by-request/{requestId}")
@@ -64,15 +73,57 @@ public class ItemController {
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Object> searchItems(@RequestParam String text) {
-        log.info("Searching items with text={}", text);
+    public ResponseEntity<Object> searchItems(
+            @RequestParam String text,
+            @RequestParam(name = "start", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+            @RequestParam(name = "end", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end,
+            @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
+            @Positive @Max(MAX_PAGE_SIZE) @RequestParam(name = "size", defaultValue = "10") Integer size) {
+        log.info("Searching items with text={}, start={}, end={}", text, start, end);
 
         if (text == null || text.trim().isEmpty()) {
             log.debug("No criteria for search provided");
             return ResponseEntity.ok(Collections.emptyList());
         }
 
-        return itemClient.searchItems(text);
+        if (start == null && end == null) {
+            return itemClient.searchItems(text);
+        }
+        validateWindow(start, end);
+        return itemClient.searchFreeItems(text, start, end, from, size);
+    }
+
+    @GetMapping("/{itemId}/availability")
+    public ResponseEntity<Object> findAvailability(
+            @PathVariable long itemId,
+            @RequestParam(name = "from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(name = "to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        log.info("Finding availability of item {}, from={}, to={}", itemId, from, to);
+        validateWindow(from, to);
+        return itemClient.findAvailability(itemId, from, to);
+    }
+
+    @GetMapping("/availability")
+    public ResponseEntity<Object> findAvailabilityByOwner(
+            @RequestHeader("X-Sharer-User-Id") long userId,
+            @RequestParam(name = "from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(name = "to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        log.info("Finding availability of all items for userId={}, from={}, to={}", userId, from, to);
+        validateWindow(from, to);
+        return itemClient.findAvailabilityByOwner(userId, from, to);
+    }
+
+    @GetMapping("/{itemId}/comments")
+    public ResponseEntity<Object> findComments(
+            @PathVariable long itemId,
+            @Positive @Max(MAX_PAGE_SIZE) @RequestParam(name = "size", defaultValue = "10") Integer size,
+            @RequestParam(name = "cursorCreated", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime cursorCreated,
+            @RequestParam(name = "cursorId", required = false) Long cursorId) {
+        log.info("Finding comments of item {}, size={}, cursor={}/{}", itemId, size, cursorCreated, cursorId);
+        return itemClient.findComments(itemId, size, cursorCreated, cursorId);
     }
 
     @PostMapping("/{itemId}/comment")
@@ -83,4 +134,11 @@ public class ItemController {
         log.info("Adding comment for itemId={}, userId={}", itemId, userId);
         return itemClient.addComment(itemId, userId, commentCreateDto);
     }
+
+    private void validateWindow(LocalDateTime start, LocalDateTime end) {
+        if (start == null || end == null || !start.isBefore(end)) {
+            log.warn("Check time window: start - {}, end - {}", start, end);
+            throw new ValidationException("Incorrect time window: both bounds are required, start must be early than end");
+        }
+    }
 }
\ No newline at end of file
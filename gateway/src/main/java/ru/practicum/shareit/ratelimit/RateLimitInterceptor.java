@@ -0,0 +1,57 @@
+package ru.practicum.shareit.ratelimit;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Answers {@code 429 Too Many Requests} with {@code Retry-After} before a request reaches a controller
+ * when its client has spent the budget of the route class. Clients are told apart by {@code X-Sharer-User-Id},
+ * anonymous calls (user registration) by remote address.
+ */
+@Slf4j
+@Component
+public class RateLimitInterceptor implements HandlerInterceptor {
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+
+    private final RateLimiter rateLimiter;
+
+    @Autowired
+    public RateLimitInterceptor(RateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws IOException {
+        String userId = request.getHeader(USER_HEADER);
+        String client = userId != null ? "user:" + userId : "ip:" + request.getRemoteAddr();
+        long waitNanos = rateLimiter.tryAcquire(client, RouteClass.of(request.getMethod()));
+        if (waitNanos == 0) return true;
+
+        long retryAfter = retryAfterSeconds(waitNanos);
+        // a throttled client would flood the log at a higher level; the rejected counter tracks the volume
+        log.debug("Rate limit exceeded by {}, {} {}", client, request.getMethod(), request.getRequestURI());
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"error\":\"Too many requests, retry in " + retryAfter + " s\"}");
+        return false;
+    }
+
+    /**
+     * Whole seconds, rounded up so that a client retrying on time finds a token.
+     */
+    static long retryAfterSeconds(long waitNanos) {
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+    }
+}
\ No newline at end of file
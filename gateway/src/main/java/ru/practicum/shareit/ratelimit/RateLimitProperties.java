@@ -0,0 +1,27 @@
+package ru.practicum.shareit.ratelimit;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "shareit.rate-limit")
+public class RateLimitProperties {
+    private boolean enabled = true;
+    private int maxBuckets = 100_000;
+    private Budget read = new Budget(100, 50);
+    private Budget write = new Budget(20, 5);
+
+    @Data
+    public static class Budget {
+        private int capacity;
+        private double refillPerSecond;
+
+        public Budget() {
+        }
+
+        public Budget(int capacity, double refillPerSecond) {
+            this.capacity = capacity;
+            this.refillPerSecond = refillPerSecond;
+        }
+    }
+}
\ No newline at end of file
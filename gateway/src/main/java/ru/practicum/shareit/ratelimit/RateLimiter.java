@@ -0,0 +1,101 @@
+package ru.practicum.shareit.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Token buckets per client and route class. The map holds at most {@code shareit.rate-limit.max-buckets}
+ * buckets: when it grows past that, full buckets are dropped first (they carry no state), and only then
+ * the rest, down to nine tenths of the limit.
+ */
+@Slf4j
+@Component
+public class RateLimiter {
+    private final RateLimitProperties properties;
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final AtomicBoolean evicting = new AtomicBoolean();
+    private final Map<RouteClass, Counter> allowed = new ConcurrentHashMap<>();
+    private final Map<RouteClass, Counter> rejected = new ConcurrentHashMap<>();
+    private final Counter evicted;
+
+    @Autowired
+    public RateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        for (RouteClass routeClass : RouteClass.values()) {
+            allowed.put(routeClass, counter(meterRegistry, routeClass, "allowed"));
+            rejected.put(routeClass, counter(meterRegistry, routeClass, "rejected"));
+        }
+        this.evicted = Counter.builder("shareit.gateway.rate-limit.evicted")
+                .description("Buckets dropped to keep the bucket map bounded")
+                .register(meterRegistry);
+        Gauge.builder("shareit.gateway.rate-limit.buckets", buckets, Map::size)
+                .description("Live rate limit buckets")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return 0 when the request may pass, otherwise nanoseconds the client should wait
+     */
+    public long tryAcquire(String client, RouteClass routeClass) {
+        return tryAcquire(client, routeClass, System.nanoTime());
+    }
+
+    long tryAcquire(String client, RouteClass routeClass, long now) {
+        String key = routeClass.name() + ":" + client;
+        TokenBucket bucket = buckets.get(key);
+        if (bucket == null) {
+            RateLimitProperties.Budget budget = routeClass == RouteClass.READ
+                    ? properties.getRead()
+                    : properties.getWrite();
+            bucket = buckets.computeIfAbsent(key,
+                    k -> new TokenBucket(budget.getCapacity(), budget.getRefillPerSecond(), now));
+            if (buckets.size() > properties.getMaxBuckets()) evict(now);
+        }
+        long wait = bucket.tryAcquire(now);
+        (wait == 0 ? allowed : rejected).get(routeClass).increment();
+        return wait;
+    }
+
+    private void evict(long now) {
+        if (!evicting.compareAndSet(false, true)) return;
+        try {
+            int target = properties.getMaxBuckets() / 10 * 9;
+            int removed = 0;
+            removed += removeWhile(target, true, now);
+            removed += removeWhile(target, false, now);
+            evicted.increment(removed);
+            log.debug("Evicted {} rate limit buckets", removed);
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+    private int removeWhile(int target, boolean fullOnly, long now) {
+        int removed = 0;
+        Iterator<TokenBucket> iterator = buckets.values().iterator();
+        while (buckets.size() > target && iterator.hasNext()) {
+            TokenBucket bucket = iterator.next();
+            if (fullOnly && !bucket.isFull(now)) continue;
+            iterator.remove();
+            removed++;
+        }
+        return removed;
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, RouteClass routeClass, String outcome) {
+        return Counter.builder("shareit.gateway.rate-limit.requests")
+                .description("Requests checked by the rate limiter")
+                .tag("route", routeClass.name())
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,10 @@
+package ru.practicum.shareit.ratelimit;
+
+public enum RouteClass {
+    READ,
+    WRITE;
+
+    public static RouteClass of(String method) {
+        return "GET".equals(method) || "HEAD".equals(method) || "OPTIONS".equals(method) ? READ : WRITE;
+    }
+}
\ No newline at end of file
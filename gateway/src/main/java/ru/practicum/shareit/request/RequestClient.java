@@ -1,28 +1,27 @@
 package ru.practicum.shareit.request;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.Priority;
+import ru.practicum.shareit.client.Upstream;
 import ru.practicum.shareit.request.dto.RequestCreateDto;
 import ru.practicum.shareit.request.dto.RequestUpdateDto;
 
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
 @Service
 public class RequestClient extends BaseClient {
     private static final String API_PREFIX = "/requests";
 
     @Autowired
-    public RequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                        .build()
-        );
+    public RequestClient(RestTemplateBuilder builder, Upstream upstream) {
+        super(builder.uriTemplateHandler(new DefaultUriBuilderFactory()).build(), API_PREFIX, upstream);
     }
 
     public ResponseEntity<Object> createRequest(long userId, RequestCreateDto requestCreateDto) {
@@ -41,11 +40,28 @@ public class RequestClient extends BaseClient {
         return get("/" + requestId);
     }
 
-    public ResponseEntity<Object> findAllRequestsByRequestor(long userId) {
+    public ResponseEntity<Object> findAllRequestsByRequestor(long userId, String fields) {
+        if (fields != null) {
+            return get("?fields={fields}", userId, Map.of("fields", fields));
+        }
         return get("", userId);
     }
 
-    public ResponseEntity<Object> findAllRequests() {
-        return get("/all");
+    public ResponseEntity<Object> findAllRequests(long userId, Integer from, Integer size,
+                                                  LocalDateTime cursorCreated, Long cursorId, String fields) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("from", from);
+        parameters.put("size", size);
+        String path = "/all?from={from}&size={size}";
+        if (cursorCreated != null && cursorId != null) {
+            parameters.put("cursorCreated", cursorCreated);
+            parameters.put("cursorId", cursorId);
+            path += "&cursorCreated={cursorCreated}&cursorId={cursorId}";
+        }
+        if (fields != null) {
+            parameters.put("fields", fields);
+            path += "&fields={fields}";
+        }
+        return get(path, userId, parameters, Priority.BULK);
     }
 }
\ No newline at end of file
@@ -1,20 +1,28 @@
 package ru.practicum.shareit.request;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.request.dto.RequestCreateDto;
 import ru.practicum.shareit.request.dto.RequestUpdateDto;
 
+import java.time.LocalDateTime;
+
 @Slf4j
 @RestController
 @RequestMapping("/requests")
 @RequiredArgsConstructor
 @Validated
 public class RequestController {
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final RequestClient requestClient;
 
     @PostMapping
@@ -50,14 +58,23 @@ public class RequestController {
 
     @GetMapping
     public ResponseEntity<Object> findAllRequestsByRequestor(
-            @RequestHeader("X-Sharer-User-Id") long userId) {
-        log.info("Finding all requests for userId={}", userId);
-        return requestClient.findAllRequestsByRequestor(userId);
+            @RequestHeader("X-Sharer-User-Id") long userId,
+            @RequestParam(name = "fields", required = false) String fields) {
+        log.info("Finding all requests for userId={}, fields={}", userId, fields);
+        return requestClient.findAllRequestsByRequestor(userId, fields);
     }
 
     @GetMapping("/all")
-    public ResponseEntity<Object> findAllRequests() {
-        log.info("Finding all requests");
-        return requestClient.findAllRequests();
+    public ResponseEntity<Object> findAllRequests(
+            @RequestHeader("X-Sharer-User-Id") long userId,
+            @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
+            @Positive @Max(MAX_PAGE_SIZE) @RequestParam(name = "size", defaultValue = "10") Integer size,
+            @RequestParam(name = "cursorCreated", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime cursorCreated,
+            @RequestParam(name = "cursorId", required = false) Long cursorId,
+            @RequestParam(name = "fields", required = false) String fields) {
+        log.info("Finding all requests, userId={}, from={}, size={}, cursor={}/{}",
+                userId, from, size, cursorCreated, cursorId);
+        return requestClient.findAllRequests(userId, from, size, cursorCreated, cursorId, fields);
     }
 }
\ No newline at end of file
@@ -0,0 +1,39 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+import ru.practicum.shareit.batch.dto.SubResponseDto;
+import ru.practicum.shareit.booking.dto.BookingRequestDto;
+
+import java.lang.reflect.Field;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GatewayRuntimeHintsTest {
+    private final RuntimeHints hints = new RuntimeHints();
+
+    GatewayRuntimeHintsTest() {
+        new GatewayRuntimeHints().registerHints(hints, getClass().getClassLoader());
+    }
+
+    @Test
+    @DisplayName("Batch responses can be written by Jackson")
+    void shouldRegisterBatchResponseBinding() {
+        assertTrue(RuntimeHintsPredicates.reflection().onMethod(SubResponseDto.class, "getBody").test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onMethod(SubResponseDto.class, "getStatus").test(hints));
+    }
+
+    @Test
+    @DisplayName("Constrained fields of every DTO are reachable by the validator")
+    void shouldRegisterDtoFields() {
+        for (Class<?> dto : GatewayRuntimeHints.DTOS) {
+            for (Field field : dto.getDeclaredFields()) {
+                assertTrue(RuntimeHintsPredicates.reflection().onField(field).test(hints),
+                        dto.getSimpleName() + "." + field.getName());
+            }
+        }
+        assertTrue(RuntimeHintsPredicates.reflection().onField(BookingRequestDto.class, "start").test(hints));
+    }
+}
@@ -0,0 +1,254 @@
+package ru.practicum.shareit.batch;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import ru.practicum.shareit.batch.dto.BatchRequestDto;
+import ru.practicum.shareit.batch.dto.SubRequestDto;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Posts batches to the running gateway, which talks to a local stand-in of the server.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "shareit.upstream.health.enabled=false",
+        "shareit.rate-limit.enabled=false",
+        "shareit.batch.max-size=5",
+        "shareit.batch.max-concurrency=4"
+})
+class BatchControllerTest {
+    private static final long SERVER_DELAY_MILLIS = 200;
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final ObjectMapper SMILE = new ObjectMapper(new SmileFactory());
+    private static final HttpServer SERVER = startServer();
+    private static final List<String> SERVER_CALLS = new ArrayList<>();
+    private static final AtomicInteger IN_FLIGHT = new AtomicInteger();
+    private static final AtomicInteger MAX_IN_FLIGHT = new AtomicInteger();
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @DynamicPropertySource
+    static void serverUrl(DynamicPropertyRegistry registry) {
+        registry.add("shareit-server.urls", () -> "http://127.0.0.1:" + SERVER.getAddress().getPort());
+    }
+
+    @AfterAll
+    static void stopServer() {
+        SERVER.stop(0);
+    }
+
+    @BeforeEach
+    void setUp() {
+        synchronized (SERVER_CALLS) {
+            SERVER_CALLS.clear();
+        }
+        MAX_IN_FLIGHT.set(0);
+    }
+
+    @Test
+    @DisplayName("Server answers in Smile reach the client as JSON")
+    void shouldTranslateSmileToJson() {
+        ResponseEntity<JsonNode> response = post(new BatchRequestDto(List.of(get("items", "/items"))), 1L);
+
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        assertEquals("/items", response.getBody().get("responses").get(0).get("body").get("path").asText());
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Sharer-User-Id", "1");
+        ResponseEntity<JsonNode> direct = restTemplate.exchange("/items", HttpMethod.GET, new HttpEntity<>(headers),
+                JsonNode.class);
+        assertTrue(direct.getHeaders().getContentType().isCompatibleWith(MediaType.APPLICATION_JSON));
+        assertEquals("1", direct.getBody().get("user").asText());
+    }
+
+    @Test
+    @DisplayName("Sparse fieldsets are passed through to the server")
+    void shouldPassFieldsThrough() {
+        ResponseEntity<JsonNode> response = post(new BatchRequestDto(List.of(
+                get("items", "/items?fields=name,comments"),
+                get("owner", "/bookings/owner?fields=start,end"),
+                get("requests", "/requests"))), 1L);
+
+        JsonNode responses = response.getBody().get("responses");
+        assertEquals("/items?fields=name%2Ccomments", responses.get(0).get("body").get("path").asText());
+        assertEquals("/bookings/owner?state=ALL&fields=start%2Cend",
+                responses.get(1).get("body").get("path").asText());
+        assertEquals("/requests", responses.get(2).get("body").get("path").asText());
+    }
+
+    @Test
+    @DisplayName("Entries run concurrently and come back in order with their own status")
+    void shouldRunEntriesConcurrently() throws Exception {
+        BatchRequestDto batch = new BatchRequestDto(List.of(
+                get("user", "/users/1"),
+                get("items", "/items"),
+                get("bookings", "/bookings?state=CURRENT"),
+                get("requests", "/requests")));
+
+        ResponseEntity<JsonNode> response = post(batch, 1L);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        JsonNode responses = response.getBody().get("responses");
+        assertEquals(4, responses.size());
+        assertEquals("user", responses.get(0).get("id").asText());
+        assertEquals("/users/1", responses.get(0).get("body").get("path").asText());
+        assertEquals("/bookings?state=CURRENT&from=0&size=10",
+                responses.get(2).get("body").get("path").asText());
+        for (JsonNode entry : responses) {
+            assertEquals(200, entry.get("status").asInt());
+        }
+        assertEquals("1", responses.get(1).get("body").get("user").asText());
+        assertEquals(4, MAX_IN_FLIGHT.get());
+    }
+
+    @Test
+    @DisplayName("Entries are validated like standalone requests")
+    void shouldValidateEntries() throws Exception {
+        SubRequestDto invalidItem = SubRequestDto.builder()
+                .id("item")
+                .method("POST")
+                .path("/items")
+                .body(objectMapper.readTree("{\"description\":\"Drill\",\"available\":true}"))
+                .build();
+        SubRequestDto validItem = SubRequestDto.builder()
+                .id("other")
+                .method("POST")
+                .path("/items")
+                .body(objectMapper.readTree("{\"name\":\"Saw\",\"description\":\"Saw\",\"available\":true}"))
+                .build();
+        BatchRequestDto batch = new BatchRequestDto(List.of(invalidItem, validItem,
+                get("state", "/bookings?state=UNKNOWN"), get("nested", "/batch")));
+
+        JsonNode responses = post(batch, 1L).getBody().get("responses");
+
+        assertEquals(400, responses.get(0).get("status").asInt());
+        assertEquals(200, responses.get(1).get("status").asInt());
+        assertEquals(400, responses.get(3).get("status").asInt());
+        assertTrue(responses.get(2).get("status").asInt() >= 400);
+        synchronized (SERVER_CALLS) {
+            assertEquals(List.of("POST /items"), SERVER_CALLS);
+        }
+    }
+
+    @Test
+    @DisplayName("Encoded paths of the batch endpoint, the actuator and the error page are rejected")
+    void shouldRejectEncodedInternalPaths() throws Exception {
+        SubRequestDto nested = SubRequestDto.builder()
+                .id("nested")
+                .method("POST")
+                .path("/%62atch")
+                .body(objectMapper.readTree("{\"requests\":[{\"id\":\"inner\",\"method\":\"GET\","
+                        + "\"path\":\"/items\"}]}"))
+                .build();
+        BatchRequestDto batch = new BatchRequestDto(List.of(nested, get("health", "/%61ctuator/health"),
+                get("dotted", "/items/../batch"), get("error", "/%65rror"), get("items", "/items")));
+
+        JsonNode responses = post(batch, 1L).getBody().get("responses");
+
+        for (int i = 0; i < 4; i++) {
+            assertEquals(400, responses.get(i).get("status").asInt(), responses.get(i).toString());
+        }
+        assertEquals(200, responses.get(4).get("status").asInt());
+        synchronized (SERVER_CALLS) {
+            assertEquals(List.of("GET /items"), SERVER_CALLS);
+        }
+    }
+
+    @Test
+    @DisplayName("Batches above the size limit are rejected")
+    void shouldRejectOversizedBatch() {
+        List<SubRequestDto> entries = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            entries.add(get(String.valueOf(i), "/items"));
+        }
+
+        ResponseEntity<JsonNode> response = post(new BatchRequestDto(entries), 1L);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        synchronized (SERVER_CALLS) {
+            assertTrue(SERVER_CALLS.isEmpty());
+        }
+    }
+
+    private ResponseEntity<JsonNode> post(BatchRequestDto batch, long userId) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set("X-Sharer-User-Id", String.valueOf(userId));
+        return restTemplate.postForEntity("/batch", new HttpEntity<>(batch, headers), JsonNode.class);
+    }
+
+    private static SubRequestDto get(String id, String path) {
+        return SubRequestDto.builder().id(id).method("GET").path(path).build();
+    }
+
+    private static HttpServer startServer() {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+            server.setExecutor(Executors.newCachedThreadPool());
+            server.createContext("/", BatchControllerTest::handle);
+            server.start();
+            return server;
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void handle(HttpExchange exchange) throws IOException {
+        String uri = exchange.getRequestURI().toString();
+        synchronized (SERVER_CALLS) {
+            SERVER_CALLS.add(exchange.getRequestMethod() + " " + exchange.getRequestURI().getPath());
+        }
+        MAX_IN_FLIGHT.accumulateAndGet(IN_FLIGHT.incrementAndGet(), Math::max);
+        try {
+            Thread.sleep(SERVER_DELAY_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            IN_FLIGHT.decrementAndGet();
+        }
+        String user = exchange.getRequestHeaders().getFirst("X-Sharer-User-Id");
+        String accept = exchange.getRequestHeaders().getFirst("Accept");
+        Map<String, String> answer = Map.of("path", uri, "user", String.valueOf(user));
+        byte[] body;
+        if (accept != null && accept.startsWith("application/x-jackson-smile")) {
+            body = SMILE.writeValueAsBytes(answer);
+            exchange.getResponseHeaders().add("Content-Type", "application/x-jackson-smile");
+        } else {
+            body = JSON.writeValueAsBytes(answer);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+        }
+        exchange.sendResponseHeaders(200, body.length);
+        exchange.getResponseBody().write(body);
+        exchange.close();
+    }
+}
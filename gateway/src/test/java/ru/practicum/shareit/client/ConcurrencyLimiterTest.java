@@ -0,0 +1,111 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrencyLimiterTest {
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long SLOW = TimeUnit.SECONDS.toNanos(1);
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("Concurrency limiter. Bulk requests are shed at half the limit while critical ones pass")
+    void shouldShedByPriorityShare() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(registry, 10, 4, 20);
+
+        for (int i = 0; i < 5; i++) {
+            assertTrue(limiter.tryAcquire(Priority.BULK));
+        }
+        assertFalse(limiter.tryAcquire(Priority.BULK));
+        assertTrue(limiter.tryAcquire(Priority.NORMAL));
+        assertTrue(limiter.tryAcquire(Priority.NORMAL));
+        assertTrue(limiter.tryAcquire(Priority.NORMAL));
+        assertFalse(limiter.tryAcquire(Priority.NORMAL));
+        assertTrue(limiter.tryAcquire(Priority.CRITICAL));
+        assertTrue(limiter.tryAcquire(Priority.CRITICAL));
+        assertFalse(limiter.tryAcquire(Priority.CRITICAL));
+
+        assertEquals(1, registry.get("shareit.gateway.upstream.shed").tag("priority", "BULK").counter().count());
+        assertEquals(1, registry.get("shareit.gateway.upstream.shed").tag("priority", "CRITICAL").counter().count());
+    }
+
+    @Test
+    @DisplayName("Concurrency limiter. The limit grows under steady latency and full use, up to the maximum")
+    void shouldGrowUpToMaxLimit() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(registry, 10, 4, 20);
+        fill(limiter);
+
+        limiter.onSuccess(FAST);
+        limiter.tryAcquire(Priority.CRITICAL);
+        assertTrue(limiter.getLimit() > 10);
+
+        for (int i = 0; i < 200; i++) {
+            limiter.onSuccess(FAST);
+            fill(limiter);
+        }
+        assertEquals(20, limiter.getLimit());
+    }
+
+    @Test
+    @DisplayName("Concurrency limiter. The limit does not grow while it is barely used")
+    void shouldNotGrowWithoutTraffic() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(registry, 10, 4, 20);
+
+        for (int i = 0; i < 50; i++) {
+            assertTrue(limiter.tryAcquire(Priority.CRITICAL));
+            limiter.onSuccess(FAST);
+        }
+        assertEquals(10, limiter.getLimit());
+    }
+
+    @Test
+    @DisplayName("Concurrency limiter. Rising latency shrinks the limit down to the minimum")
+    void shouldShrinkToMinLimitWhenLatencyRises() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(registry, 16, 6, 20);
+        for (int i = 0; i < 5; i++) {
+            limiter.tryAcquire(Priority.CRITICAL);
+            limiter.onSuccess(FAST);
+        }
+
+        limiter.tryAcquire(Priority.CRITICAL);
+        limiter.onSuccess(SLOW);
+        assertTrue(limiter.getLimit() < 16);
+
+        for (int i = 0; i < 35; i++) {
+            limiter.tryAcquire(Priority.CRITICAL);
+            limiter.onSuccess(SLOW);
+        }
+        assertEquals(6, limiter.getLimit());
+    }
+
+    @Test
+    @DisplayName("Concurrency limiter. Failed calls cut the limit by a tenth, not below the minimum")
+    void shouldBackOffOnFailuresToMinLimit() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(registry, 10, 4, 20);
+
+        limiter.tryAcquire(Priority.CRITICAL);
+        limiter.onDropped();
+        assertEquals(9, limiter.getLimit(), 1e-9);
+
+        for (int i = 0; i < 20; i++) {
+            limiter.tryAcquire(Priority.CRITICAL);
+            limiter.onDropped();
+        }
+        assertEquals(4, limiter.getLimit());
+        assertTrue(limiter.tryAcquire(Priority.BULK));
+        assertTrue(limiter.tryAcquire(Priority.BULK));
+        assertFalse(limiter.tryAcquire(Priority.BULK));
+    }
+
+    private static void fill(ConcurrencyLimiter limiter) {
+        while (limiter.tryAcquire(Priority.CRITICAL)) {
+            // up to the current limit
+        }
+    }
+}
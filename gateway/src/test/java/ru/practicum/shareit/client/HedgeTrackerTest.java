@@ -0,0 +1,68 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HedgeTrackerTest {
+    private static final long MIN_DELAY = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(20);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(500);
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("Hedge tracker. No hedging until enough latencies are known")
+    void shouldWaitForSamples() {
+        HedgeTracker tracker = tracker(0);
+
+        for (int i = 0; i < 31; i++) {
+            tracker.record(FAST);
+        }
+        assertEquals(Long.MAX_VALUE, tracker.currentDelayNanos());
+
+        tracker.record(FAST);
+        assertEquals(FAST, tracker.currentDelayNanos());
+    }
+
+    @Test
+    @DisplayName("Hedge tracker. The delay follows the latest latencies once the ring wraps")
+    void shouldForgetOldSamples() {
+        HedgeTracker tracker = tracker(0);
+
+        for (int i = 0; i < 256; i++) {
+            tracker.record(SLOW);
+        }
+        assertEquals(SLOW, tracker.currentDelayNanos());
+
+        for (int i = 0; i < 256; i++) {
+            tracker.record(FAST);
+        }
+        assertEquals(FAST, tracker.currentDelayNanos());
+    }
+
+    @Test
+    @DisplayName("Hedge tracker. Recording goes on past Integer.MAX_VALUE samples")
+    void shouldRecordPastIntRange() {
+        HedgeTracker tracker = tracker(Integer.MAX_VALUE - 100);
+
+        for (int i = 0; i < 512; i++) {
+            tracker.record(SLOW);
+        }
+        assertEquals(SLOW, tracker.currentDelayNanos());
+
+        for (int i = 0; i < 512; i++) {
+            tracker.record(FAST);
+        }
+        assertEquals(FAST, tracker.currentDelayNanos());
+    }
+
+    private HedgeTracker tracker(long recorded) {
+        return new HedgeTracker(0.95, MIN_DELAY, 0.05, 10,
+                registry.counter("sent"), registry.counter("won"), registry.counter("denied"), recorded);
+    }
+}
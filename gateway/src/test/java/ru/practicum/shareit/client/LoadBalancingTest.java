@@ -0,0 +1,211 @@
+package ru.practicum.shareit.client;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.tracing.Tracer;
+import io.micrometer.tracing.propagation.Propagator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import ru.practicum.shareit.item.ItemClient;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the item client against two local server stand-ins.
+ */
+class LoadBalancingTest {
+    private StandIn first;
+    private StandIn second;
+    private ExecutorService callers;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        first = new StandIn();
+        second = new StandIn();
+        callers = Executors.newCachedThreadPool();
+    }
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+        first.stop();
+        second.stop();
+    }
+
+    @Test
+    @DisplayName("Least outstanding. A slow instance gets fewer of the concurrent calls")
+    void shouldPreferLessBusyInstance() throws Exception {
+        first.delayMillis = 100;
+        ItemClient client = client(servers(Balancing.LEAST_OUTSTANDING, false, 0));
+
+        List<Future<?>> calls = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            calls.add(callers.submit(() -> {
+                for (int j = 0; j < 10; j++) {
+                    client.findAllByOwner(1L, null);
+                }
+            }));
+        }
+        for (Future<?> call : calls) {
+            call.get(10, TimeUnit.SECONDS);
+        }
+
+        assertEquals(40, first.hits.get() + second.hits.get());
+        assertTrue(second.hits.get() > 2 * first.hits.get(), first.hits + " vs " + second.hits);
+    }
+
+    @Test
+    @DisplayName("Health check. An unhealthy instance is skipped until it recovers")
+    void shouldSkipUnhealthyInstance() {
+        ServerInstances servers = servers(Balancing.ROUND_ROBIN, false, 0);
+        ServerHealthChecker checker = new ServerHealthChecker(servers, new RestTemplateBuilder(), "/actuator/health",
+                Duration.ofSeconds(1));
+        ItemClient client = client(servers);
+        first.healthStatus = 503;
+        checker.check();
+
+        for (int i = 0; i < 6; i++) {
+            assertEquals(HttpStatus.OK, client.findAllByOwner(1L, null).getStatusCode());
+        }
+        assertEquals(0, first.hits.get());
+
+        first.healthStatus = 200;
+        checker.check();
+        for (int i = 0; i < 6; i++) {
+            client.findAllByOwner(1L, null);
+        }
+        assertEquals(3, first.hits.get());
+    }
+
+    @Test
+    @DisplayName("Ejection. Consecutive failures take an instance out for a while")
+    void shouldEjectFailingInstance() throws Exception {
+        first.status = 500;
+        ServerInstances servers = new ServerInstances(new SimpleMeterRegistry(), urls(), Balancing.ROUND_ROBIN,
+                false, 2, Duration.ofMillis(300));
+        ItemClient client = client(servers);
+
+        for (int i = 0; i < 10; i++) {
+            client.findAllByOwner(1L, null);
+        }
+        assertEquals(2, first.hits.get());
+        assertEquals(8, second.hits.get());
+
+        Thread.sleep(350);
+        client.findAllByOwner(1L, null);
+        client.findAllByOwner(1L, null);
+        assertEquals(3, first.hits.get());
+    }
+
+    @Test
+    @DisplayName("Sticky writes. Writes of a user stay on one instance, reads are spread")
+    void shouldPinWritesOfUser() {
+        ItemClient client = client(servers(Balancing.ROUND_ROBIN, true, 0));
+
+        for (long userId = 1; userId <= 10; userId++) {
+            for (int i = 0; i < 3; i++) {
+                client.deleteItem(userId, 1L);
+            }
+        }
+        for (int i = 0; i < 4; i++) {
+            client.findAllByOwner(1L, null);
+        }
+
+        for (long userId = 1; userId <= 10; userId++) {
+            int onFirst = first.writers.getOrDefault(userId, 0);
+            int onSecond = second.writers.getOrDefault(userId, 0);
+            assertEquals(3, Math.max(onFirst, onSecond), "writes of user " + userId + " were split");
+        }
+        assertTrue(first.writers.size() > 0 && second.writers.size() > 0);
+        assertEquals(2, first.reads.get());
+        assertEquals(2, second.reads.get());
+    }
+
+    private ServerInstances servers(Balancing balancing, boolean stickyWrites, int ejectAfter) {
+        return new ServerInstances(new SimpleMeterRegistry(), urls(), balancing, stickyWrites, ejectAfter,
+                Duration.ofSeconds(30));
+    }
+
+    private List<String> urls() {
+        return List.of(first.url(), second.url());
+    }
+
+    private static ItemClient client(ServerInstances servers) {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(registry, 100, 4, 200);
+        UpstreamRoutes routes = new UpstreamRoutes(registry, 50, 100, 100, 0.5, Duration.ofSeconds(1), 1);
+        Hedging hedging = new Hedging(registry, false, 0.95, Duration.ofMillis(10), 0.05, 10, 4);
+        RestTemplateBuilder builder = new RestTemplateBuilder()
+                .setConnectTimeout(Duration.ofSeconds(1))
+                .setReadTimeout(Duration.ofSeconds(2));
+        return new ItemClient(builder, new Upstream(servers, limiter, routes, hedging,
+                new WireFormat(true, new MappingJackson2SmileHttpMessageConverter()),
+                new UpstreamTracing(Tracer.NOOP, Propagator.NOOP)));
+    }
+
+    private static final class StandIn {
+        private final HttpServer server;
+        private final AtomicInteger hits = new AtomicInteger();
+        private final AtomicInteger reads = new AtomicInteger();
+        private final Map<Long, Integer> writers = new ConcurrentHashMap<>();
+        private volatile long delayMillis;
+        private volatile int status = 200;
+        private volatile int healthStatus = 200;
+
+        StandIn() throws IOException {
+            server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+            server.setExecutor(Executors.newCachedThreadPool());
+            server.createContext("/actuator/health", exchange -> respond(exchange, healthStatus));
+            server.createContext("/items", this::handle);
+            server.start();
+        }
+
+        String url() {
+            return "http://127.0.0.1:" + server.getAddress().getPort();
+        }
+
+        void stop() {
+            server.stop(0);
+        }
+
+        private void handle(HttpExchange exchange) throws IOException {
+            hits.incrementAndGet();
+            if ("GET".equals(exchange.getRequestMethod())) {
+                reads.incrementAndGet();
+            } else {
+                long userId = Long.parseLong(exchange.getRequestHeaders().getFirst("X-Sharer-User-Id"));
+                writers.merge(userId, 1, Integer::sum);
+            }
+            try {
+                Thread.sleep(delayMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            respond(exchange, status);
+        }
+
+        private static void respond(HttpExchange exchange, int status) throws IOException {
+            byte[] body = (status == 200 ? "{}" : "{\"error\":\"injected\"}").getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(status, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        }
+    }
+}
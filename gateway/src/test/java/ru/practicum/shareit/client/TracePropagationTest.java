@@ -0,0 +1,164 @@
+package ru.practicum.shareit.client;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import ru.practicum.shareit.tracing.InMemorySpanSink;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Calls the running gateway and checks the {@code traceparent} a local stand-in of the server receives.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "shareit.upstream.health.enabled=false",
+        "shareit.upstream.hedging.enabled=false",
+        "shareit.rate-limit.enabled=false"
+})
+@AutoConfigureObservability(metrics = false)
+class TracePropagationTest {
+    private static final String TRACE_ID = "4bf92f3577b34da6a3ce929d0e0e4736";
+    private static final String CLIENT_SPAN_ID = "00f067aa0ba902b7";
+    private static final HttpServer SERVER = startServer();
+    private static final List<String> TRACEPARENTS = new ArrayList<>();
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private SdkTracerProvider tracerProvider;
+
+    @Autowired
+    private InMemorySpanSink spanSink;
+
+    @DynamicPropertySource
+    static void serverUrl(DynamicPropertyRegistry registry) {
+        registry.add("shareit-server.urls", () -> "http://127.0.0.1:" + SERVER.getAddress().getPort());
+    }
+
+    @AfterAll
+    static void stopServer() {
+        SERVER.stop(0);
+    }
+
+    @BeforeEach
+    void setUp() {
+        synchronized (TRACEPARENTS) {
+            TRACEPARENTS.clear();
+        }
+        tracerProvider.forceFlush().join(10, TimeUnit.SECONDS);
+        spanSink.drain();
+    }
+
+    @Test
+    @DisplayName("Owner bookings. The server call continues the client's trace under a hop span")
+    void shouldPropagateTraceToServer() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Sharer-User-Id", "1");
+        headers.set("traceparent", "00-" + TRACE_ID + "-" + CLIENT_SPAN_ID + "-01");
+
+        ResponseEntity<String> response = restTemplate.exchange("/bookings/owner", HttpMethod.GET,
+                new HttpEntity<>(headers), String.class);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        List<SpanData> spans = finishedSpans();
+        SpanData gateway = spans.stream()
+                .filter(span -> span.getParentSpanId().equals(CLIENT_SPAN_ID))
+                .findFirst()
+                .orElseThrow();
+        SpanData hop = spans.stream()
+                .filter(span -> span.getName().equals("GET /bookings"))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(TRACE_ID, gateway.getTraceId());
+        assertEquals(TRACE_ID, hop.getTraceId());
+        assertEquals(gateway.getSpanId(), hop.getParentSpanId());
+        assertEquals("200", hop.getAttributes().asMap().entrySet().stream()
+                .filter(attribute -> attribute.getKey().getKey().equals("http.status_code"))
+                .map(attribute -> String.valueOf(attribute.getValue()))
+                .findFirst()
+                .orElseThrow());
+        assertEquals(List.of("00-" + TRACE_ID + "-" + hop.getSpanId() + "-01"), traceparents());
+    }
+
+    @Test
+    @DisplayName("Batch. Every entry's server call belongs to the batch's trace")
+    void shouldKeepBatchEntriesInOneTrace() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set("X-Sharer-User-Id", "1");
+        String batch = "{\"requests\": [{\"id\": \"items\", \"method\": \"GET\", \"path\": \"/items\"}, "
+                + "{\"id\": \"requests\", \"method\": \"GET\", \"path\": \"/requests\"}]}";
+
+        ResponseEntity<String> response = restTemplate.exchange("/batch", HttpMethod.POST,
+                new HttpEntity<>(batch, headers), String.class);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        List<String> received = traceparents();
+        assertEquals(2, received.size());
+        String traceId = received.get(0).split("-")[1];
+        assertEquals(traceId, received.get(1).split("-")[1]);
+        assertTrue(finishedSpans().stream()
+                .filter(span -> span.getTraceId().equals(traceId))
+                .anyMatch(span -> span.getParentSpanId().equals("0000000000000000")));
+    }
+
+    private List<SpanData> finishedSpans() {
+        tracerProvider.forceFlush().join(10, TimeUnit.SECONDS);
+        return spanSink.drain();
+    }
+
+    private static List<String> traceparents() {
+        synchronized (TRACEPARENTS) {
+            return new ArrayList<>(TRACEPARENTS);
+        }
+    }
+
+    private static HttpServer startServer() {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+            server.setExecutor(Executors.newCachedThreadPool());
+            server.createContext("/", TracePropagationTest::handle);
+            server.start();
+            return server;
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void handle(HttpExchange exchange) throws IOException {
+        synchronized (TRACEPARENTS) {
+            TRACEPARENTS.add(exchange.getRequestHeaders().getFirst("traceparent"));
+        }
+        byte[] body = "[]".getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        exchange.getResponseBody().write(body);
+        exchange.close();
+    }
+}
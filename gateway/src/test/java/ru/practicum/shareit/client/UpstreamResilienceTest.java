@@ -0,0 +1,266 @@
+package ru.practicum.shareit.client;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.tracing.Tracer;
+import io.micrometer.tracing.propagation.Propagator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.client.ResourceAccessException;
+import ru.practicum.shareit.booking.BookingClient;
+import ru.practicum.shareit.item.ItemClient;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the real clients against a local stub server whose routes can be made slow or failing.
+ */
+class UpstreamResilienceTest {
+    private static final Duration OPEN_DURATION = Duration.ofMillis(300);
+    private static final Duration HEDGE_MIN_DELAY = Duration.ofMillis(200);
+
+    private final Map<String, Fault> faults = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> hits = new ConcurrentHashMap<>();
+    private final List<HttpServer> stubs = new ArrayList<>();
+    private ExecutorService callers;
+    private ItemClient itemClient;
+    private BookingClient bookingClient;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        callers = Executors.newCachedThreadPool();
+        Upstream upstream = upstream(List.of(startStub(this::handle)), new SimpleMeterRegistry(), 2, 0.95, 0.05);
+        itemClient = new ItemClient(builder(), upstream);
+        bookingClient = new BookingClient(builder(), upstream);
+    }
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+        stubs.forEach(stub -> stub.stop(0));
+    }
+
+    @Test
+    @DisplayName("Bulkhead. Slow item search uses up only the item pool")
+    void shouldIsolateSlowRoute() throws Exception {
+        faults.put("/items", new Fault(800, 200));
+
+        List<Future<ResponseEntity<Object>>> searches = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            searches.add(callers.submit(() -> itemClient.searchItems("drill")));
+        }
+        Thread.sleep(200);
+
+        long start = System.nanoTime();
+        ResponseEntity<Object> booking = bookingClient.getBooking(1L, 1L);
+        long bookingMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertEquals(HttpStatus.OK, booking.getStatusCode());
+        assertTrue(bookingMillis < 300, "booking call waited " + bookingMillis + " ms");
+        int passed = 0;
+        int rejected = 0;
+        for (Future<ResponseEntity<Object>> search : searches) {
+            HttpStatus status = HttpStatus.valueOf(search.get(5, TimeUnit.SECONDS).getStatusCode().value());
+            if (status == HttpStatus.OK) passed++;
+            if (status == HttpStatus.SERVICE_UNAVAILABLE) rejected++;
+        }
+        assertEquals(2, passed);
+        assertEquals(2, rejected);
+    }
+
+    @Test
+    @DisplayName("Circuit breaker. Opens on failures, recovers after a half-open probe")
+    void shouldOpenAndRecover() throws Exception {
+        faults.put("/items", new Fault(0, 500));
+        for (int i = 0; i < 4; i++) {
+            assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, itemClient.findItem(1L).getStatusCode());
+        }
+        long openedAt = System.nanoTime();
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, itemClient.findItem(1L).getStatusCode());
+        assertEquals(4, hits.get("/items").get());
+        assertEquals(HttpStatus.OK, bookingClient.getBooking(1L, 1L).getStatusCode());
+
+        faults.remove("/items");
+        ResponseEntity<Object> response = itemClient.findItem(1L);
+        while (response.getStatusCode() != HttpStatus.OK) {
+            Thread.sleep(10);
+            response = itemClient.findItem(1L);
+        }
+        long recoveryMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - openedAt);
+
+        assertTrue(recoveryMillis >= OPEN_DURATION.toMillis(), "closed after " + recoveryMillis + " ms");
+        assertTrue(recoveryMillis < OPEN_DURATION.toMillis() + 200, "closed after " + recoveryMillis + " ms");
+        assertEquals(5, hits.get("/items").get());
+    }
+
+    @Test
+    @DisplayName("Circuit breaker. A failed half-open probe opens it again")
+    void shouldReopenOnFailedProbe() throws Exception {
+        faults.put("/items", new Fault(0, 500));
+        for (int i = 0; i < 4; i++) {
+            itemClient.findItem(1L);
+        }
+        Thread.sleep(OPEN_DURATION.toMillis() + 50);
+
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, itemClient.findItem(1L).getStatusCode());
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, itemClient.findItem(1L).getStatusCode());
+        assertEquals(5, hits.get("/items").get());
+    }
+
+    @Test
+    @DisplayName("Circuit breaker. Timeouts count as failures")
+    void shouldCountTimeoutsAsFailures() {
+        faults.put("/items", new Fault(2000, 200));
+        for (int i = 0; i < 4; i++) {
+            assertThrows(ResourceAccessException.class, () -> itemClient.findItem(1L));
+        }
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, itemClient.findItem(1L).getStatusCode());
+    }
+
+    @Test
+    @DisplayName("Hedging. A slow instance is overtaken by a second attempt on the other one")
+    void shouldHedgeSlowInstance() throws Exception {
+        AtomicInteger slowDelay = new AtomicInteger();
+        String slow = startStub(exchange -> respond(exchange, slowDelay.get(), 200));
+        String fast = startStub(exchange -> respond(exchange, 0, 200));
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ItemClient client = new ItemClient(builder(), upstream(List.of(slow, fast), registry, 10, 0.5, 0.5));
+        for (int i = 0; i < 40; i++) {
+            client.findItem(1L);
+        }
+
+        slowDelay.set(1000);
+        for (int i = 0; i < 4; i++) {
+            long start = System.nanoTime();
+            assertEquals(HttpStatus.OK, client.findItem(1L).getStatusCode());
+            long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            assertTrue(millis < 500, "answered after " + millis + " ms");
+        }
+
+        assertEquals(2.0, registry.get("shareit.gateway.hedge.won").tag("route", "items").counter().count());
+    }
+
+    @Test
+    @DisplayName("Hedging. Second attempts stop once the budget is spent")
+    void shouldRespectHedgeBudget() throws Exception {
+        AtomicInteger slowDelay = new AtomicInteger();
+        String slow = startStub(exchange -> respond(exchange, slowDelay.get(), 200));
+        String fast = startStub(exchange -> respond(exchange, 0, 200));
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ItemClient client = new ItemClient(builder(), upstream(List.of(slow, fast), registry, 10, 0.5, 0.05));
+        for (int i = 0; i < 40; i++) {
+            client.findItem(1L);
+        }
+
+        slowDelay.set(600);
+        for (int i = 0; i < 8; i++) {
+            assertEquals(HttpStatus.OK, client.findItem(1L).getStatusCode());
+        }
+
+        assertEquals(2.0, registry.get("shareit.gateway.hedge.sent").tag("route", "items").counter().count());
+        assertTrue(registry.get("shareit.gateway.hedge.denied").tag("route", "items").counter().count() >= 2);
+    }
+
+    @Test
+    @DisplayName("Hedging. The slower attempt is aborted and gives its permits back once the other one answers")
+    void shouldReleaseLoserPermits() throws Exception {
+        AtomicInteger slowDelay = new AtomicInteger();
+        String slow = startStub(exchange -> respond(exchange, slowDelay.get(), 200));
+        String fast = startStub(exchange -> respond(exchange, 0, 200));
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        Upstream upstream = upstream(List.of(slow, fast), registry, 10, 0.5, 0.5);
+        ItemClient client = new ItemClient(builder(), upstream);
+        for (int i = 0; i < 40; i++) {
+            client.findItem(1L);
+        }
+
+        slowDelay.set(1000);
+        Counter won = registry.get("shareit.gateway.hedge.won").tag("route", "items").counter();
+        for (int i = 0; i < 4 && won.count() == 0; i++) {
+            assertEquals(HttpStatus.OK, client.findItem(1L).getStatusCode());
+        }
+        long answered = System.nanoTime();
+        assertEquals(1.0, won.count());
+
+        // the slow instance would answer about 800 ms later, the read timeout is 1.5 s
+        UpstreamRoute route = upstream.getRoutes().get("items");
+        while (route.availablePermits() < 10 || registry.get("shareit.gateway.upstream.inflight").gauge().value() > 0
+                || upstream.getServers().getInstances().stream().anyMatch(i -> i.getOutstanding() > 0)) {
+            assertTrue(System.nanoTime() - answered < TimeUnit.MILLISECONDS.toNanos(300), "permits still held");
+            Thread.sleep(5);
+        }
+        assertEquals(CircuitBreaker.State.CLOSED, route.getState());
+    }
+
+    private String startStub(HttpHandler handler) throws IOException {
+        HttpServer stub = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        stub.setExecutor(Executors.newCachedThreadPool());
+        stub.createContext("/", handler);
+        stub.start();
+        stubs.add(stub);
+        return "http://127.0.0.1:" + stub.getAddress().getPort();
+    }
+
+    private static RestTemplateBuilder builder() {
+        return new RestTemplateBuilder()
+                .setConnectTimeout(Duration.ofSeconds(1))
+                .setReadTimeout(Duration.ofMillis(1500))
+                .requestFactory(AbortableRequestFactory::create);
+    }
+
+    private static Upstream upstream(List<String> urls, SimpleMeterRegistry registry, int bulkhead,
+                                     double percentile, double budget) {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(registry, 100, 4, 200);
+        UpstreamRoutes routes = new UpstreamRoutes(registry, bulkhead, 4, 4, 0.5, OPEN_DURATION, 1);
+        Hedging hedging = new Hedging(registry, true, percentile, HEDGE_MIN_DELAY, budget, 10, 16);
+        ServerInstances servers = new ServerInstances(registry, urls, Balancing.ROUND_ROBIN, false, 0,
+                Duration.ofSeconds(30));
+        return new Upstream(servers, limiter, routes, hedging,
+                new WireFormat(true, new MappingJackson2SmileHttpMessageConverter()),
+                new UpstreamTracing(Tracer.NOOP, Propagator.NOOP));
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String route = "/" + exchange.getRequestURI().getPath().split("/")[1];
+        hits.computeIfAbsent(route, r -> new AtomicInteger()).incrementAndGet();
+        Fault fault = faults.getOrDefault(route, new Fault(0, 200));
+        respond(exchange, fault.delayMillis(), fault.status());
+    }
+
+    private static void respond(HttpExchange exchange, long delayMillis, int status) throws IOException {
+        try {
+            Thread.sleep(delayMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        byte[] body = (status == 200 ? "{}" : "{\"error\":\"injected\"}").getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length);
+        exchange.getResponseBody().write(body);
+        exchange.close();
+    }
+
+    private record Fault(long delayMillis, int status) {
+    }
+}
\ No newline at end of file
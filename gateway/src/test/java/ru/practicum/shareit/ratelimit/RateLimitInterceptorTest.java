@@ -0,0 +1,72 @@
+package ru.practicum.shareit.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class RateLimitInterceptorTest {
+    private final StubController controller = new StubController();
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setRead(new RateLimitProperties.Budget(2, 0.1));
+        RateLimiter rateLimiter = new RateLimiter(properties, new SimpleMeterRegistry());
+        mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                .addInterceptors(new RateLimitInterceptor(rateLimiter))
+                .build();
+    }
+
+    @Test
+    @DisplayName("Rate limit interceptor. Spent budget is answered with 429 and Retry-After")
+    void shouldRejectWithRetryAfter() throws Exception {
+        mockMvc.perform(get("/stub").header("X-Sharer-User-Id", 1)).andExpect(status().isOk());
+
+        mockMvc.perform(get("/stub").header("X-Sharer-User-Id", 2)).andExpect(status().isOk());
+        mockMvc.perform(get("/stub").header("X-Sharer-User-Id", 2)).andExpect(status().isOk());
+        mockMvc.perform(get("/stub").header("X-Sharer-User-Id", 2))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "10"))
+                .andExpect(jsonPath("$.error").value("Too many requests, retry in 10 s"));
+
+        mockMvc.perform(get("/stub").header("X-Sharer-User-Id", 3)).andExpect(status().isOk());
+        assertEquals(4, controller.calls.get());
+    }
+
+    @Test
+    @DisplayName("Rate limit interceptor. Retry-After is rounded up to whole seconds")
+    void shouldRoundRetryAfterUp() {
+        long second = TimeUnit.SECONDS.toNanos(1);
+
+        assertEquals(1, RateLimitInterceptor.retryAfterSeconds(1));
+        assertEquals(1, RateLimitInterceptor.retryAfterSeconds(second / 5));
+        assertEquals(1, RateLimitInterceptor.retryAfterSeconds(second));
+        assertEquals(2, RateLimitInterceptor.retryAfterSeconds(second + 1));
+        assertEquals(10, RateLimitInterceptor.retryAfterSeconds(10 * second - 1));
+    }
+
+    @RestController
+    static class StubController {
+        private final AtomicInteger calls = new AtomicInteger();
+
+        @GetMapping("/stub")
+        String stub() {
+            calls.incrementAndGet();
+            return "ok";
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package ru.practicum.shareit.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimiterTest {
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+    private static final long START = 1_000 * SECOND;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private RateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setMaxBuckets(10);
+        properties.setRead(new RateLimitProperties.Budget(1, 1));
+        properties.setWrite(new RateLimitProperties.Budget(2, 1));
+        rateLimiter = new RateLimiter(properties, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Rate limiter. Clients and route classes have separate budgets")
+    void shouldKeepBudgetsPerClientAndRouteClass() {
+        assertEquals(0, rateLimiter.tryAcquire("user:1", RouteClass.READ, START));
+        assertEquals(SECOND, rateLimiter.tryAcquire("user:1", RouteClass.READ, START));
+        assertEquals(0, rateLimiter.tryAcquire("user:2", RouteClass.READ, START));
+        assertEquals(0, rateLimiter.tryAcquire("user:1", RouteClass.WRITE, START));
+        assertEquals(0, rateLimiter.tryAcquire("user:1", RouteClass.WRITE, START));
+        assertEquals(SECOND, rateLimiter.tryAcquire("user:1", RouteClass.WRITE, START));
+
+        assertEquals(2, meterRegistry.get("shareit.gateway.rate-limit.requests")
+                .tag("route", "WRITE").tag("outcome", "allowed").counter().count());
+        assertEquals(1, meterRegistry.get("shareit.gateway.rate-limit.requests")
+                .tag("route", "READ").tag("outcome", "rejected").counter().count());
+    }
+
+    @Test
+    @DisplayName("Rate limiter. Full buckets are evicted before the ones still refilling")
+    void shouldEvictFullBucketsFirst() {
+        rateLimiter.tryAcquire("idle:1", RouteClass.READ, START);
+        rateLimiter.tryAcquire("idle:2", RouteClass.READ, START);
+        long now = START + 5 * SECOND;
+        for (int i = 0; i < 8; i++) {
+            rateLimiter.tryAcquire("busy:" + i, RouteClass.READ, now);
+        }
+
+        rateLimiter.tryAcquire("new", RouteClass.READ, now);
+
+        assertEquals(9, meterRegistry.get("shareit.gateway.rate-limit.buckets").gauge().value());
+        assertEquals(2, meterRegistry.get("shareit.gateway.rate-limit.evicted").counter().count());
+        for (int i = 0; i < 8; i++) {
+            assertTrue(rateLimiter.tryAcquire("busy:" + i, RouteClass.READ, now) > 0, "busy:" + i);
+        }
+        assertTrue(rateLimiter.tryAcquire("new", RouteClass.READ, now) > 0);
+    }
+
+    @Test
+    @DisplayName("Rate limiter. Buckets still refilling are evicted once no full ones are left")
+    void shouldEvictRefillingBucketsDownToNineTenths() {
+        for (int i = 0; i < 11; i++) {
+            rateLimiter.tryAcquire("busy:" + i, RouteClass.READ, START);
+        }
+
+        assertEquals(9, meterRegistry.get("shareit.gateway.rate-limit.buckets").gauge().value());
+        assertEquals(2, meterRegistry.get("shareit.gateway.rate-limit.evicted").counter().count());
+    }
+}
@@ -0,0 +1,53 @@
+package ru.practicum.shareit.ratelimit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketTest {
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+    private static final long START = 1_000 * SECOND;
+
+    @Test
+    @DisplayName("Token bucket. A new bucket lets a burst of capacity through")
+    void shouldAllowBurstOfCapacity() {
+        TokenBucket bucket = new TokenBucket(5, 2, START);
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, bucket.tryAcquire(START), "token " + i);
+        }
+        assertEquals(SECOND / 2, bucket.tryAcquire(START));
+    }
+
+    @Test
+    @DisplayName("Token bucket. Tokens come back one refill interval apart")
+    void shouldRefillOneTokenPerInterval() {
+        TokenBucket bucket = new TokenBucket(2, 4, START);
+        long interval = SECOND / 4;
+        bucket.tryAcquire(START);
+        bucket.tryAcquire(START);
+
+        assertEquals(1, bucket.tryAcquire(START + interval - 1));
+        assertEquals(0, bucket.tryAcquire(START + interval));
+        assertEquals(interval, bucket.tryAcquire(START + interval));
+        assertEquals(0, bucket.tryAcquire(START + 2 * interval));
+    }
+
+    @Test
+    @DisplayName("Token bucket. Idle time does not grow the burst past capacity")
+    void shouldCapBurstAfterIdle() {
+        TokenBucket bucket = new TokenBucket(3, 10, START);
+        long later = START + 60 * SECOND;
+
+        assertTrue(bucket.isFull(later));
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, bucket.tryAcquire(later));
+        }
+        assertFalse(bucket.isFull(later));
+        assertTrue(bucket.tryAcquire(later) > 0);
+        assertTrue(bucket.isFull(later + SECOND * 3 / 10));
+    }
+}
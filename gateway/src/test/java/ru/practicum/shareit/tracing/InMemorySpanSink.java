@@ -0,0 +1,55 @@
+package ru.practicum.shareit.tracing;
+
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Keeps the last {@code shareit.tracing.memory-size} finished spans for tests to inspect.
+ */
+@Component
+@ConditionalOnProperty(name = "shareit.tracing.sink", havingValue = "memory")
+public class InMemorySpanSink implements SpanExporter {
+    private final Deque<SpanData> spans = new ArrayDeque<>();
+    private final int maxSize;
+
+    @Autowired
+    public InMemorySpanSink(@Value("${shareit.tracing.memory-size:10000}") int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    @Override
+    public synchronized CompletableResultCode export(Collection<SpanData> finished) {
+        for (SpanData span : finished) {
+            if (spans.size() == maxSize) spans.removeFirst();
+            spans.addLast(span);
+        }
+        return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public CompletableResultCode flush() {
+        return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public CompletableResultCode shutdown() {
+        return CompletableResultCode.ofSuccess();
+    }
+
+    public synchronized List<SpanData> drain() {
+        List<SpanData> exported = new ArrayList<>(spans);
+        spans.clear();
+        return exported;
+    }
+}
@@ -0,0 +1,84 @@
+package ru.practicum.shareit.load;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Users and items the load runs against, created through the gateway before the run. Owners and search words
+ * are picked with a skew, so a few owners and words get most of the traffic; the hot items all belong to the
+ * first owner.
+ */
+@Slf4j
+public class Dataset {
+    static final List<String> WORDS = List.of("drill", "ladder", "tent", "bike", "kayak", "camera", "projector",
+            "saw", "grill", "speaker", "boat", "guitar");
+
+    private final List<Long> owners;
+    private final List<Long> items;
+    private final List<Long> hotItems;
+    private final List<Long> bookers;
+
+    public Dataset(List<Long> owners, List<Long> items, List<Long> hotItems, List<Long> bookers) {
+        this.owners = owners;
+        this.items = items;
+        this.hotItems = hotItems;
+        this.bookers = bookers;
+    }
+
+    public static Dataset create(GatewayClient gateway, LoadProperties.DatasetSize size, Random random)
+            throws IOException, InterruptedException {
+        String run = Long.toString(System.currentTimeMillis(), 36);
+        List<Long> owners = new ArrayList<>();
+        List<Long> items = new ArrayList<>();
+        List<Long> bookers = new ArrayList<>();
+        for (int i = 0; i < size.getOwners(); i++) {
+            long owner = gateway.create("/users", null, Map.of("name", "Owner " + i,
+                    "email", "owner" + i + "-" + run + "@load.shareit.ru"));
+            owners.add(owner);
+            for (int j = 0; j < size.getItemsPerOwner(); j++) {
+                String word = WORDS.get(random.nextInt(WORDS.size()));
+                items.add(gateway.create("/items", owner, Map.of("name", word + " " + i + "-" + j,
+                        "description", "A " + word + " for rent", "available", true)));
+            }
+        }
+        for (int i = 0; i < size.getBookers(); i++) {
+            bookers.add(gateway.create("/users", null, Map.of("name", "Booker " + i,
+                    "email", "booker" + i + "-" + run + "@load.shareit.ru")));
+        }
+        List<Long> hotItems = items.subList(0, Math.min(size.getHotItems(), items.size()));
+        log.info("Created {} owners, {} items and {} bookers", owners.size(), items.size(), bookers.size());
+        return new Dataset(owners, items, hotItems, bookers);
+    }
+
+    public long owner(Random random) {
+        return skewed(owners, random);
+    }
+
+    public long item(Random random) {
+        return items.get(random.nextInt(items.size()));
+    }
+
+    public long hotItem(Random random) {
+        return hotItems.get(random.nextInt(hotItems.size()));
+    }
+
+    public long booker(Random random) {
+        return bookers.get(random.nextInt(bookers.size()));
+    }
+
+    public String searchWord(Random random) {
+        return skewed(WORDS, random);
+    }
+
+    /**
+     * Cubing a uniform value puts about half of the picks on the first eighth of the list.
+     */
+    private static <T> T skewed(List<T> values, Random random) {
+        return values.get((int) (values.size() * Math.pow(random.nextDouble(), 3)));
+    }
+}
@@ -0,0 +1,28 @@
+package ru.practicum.shareit.load;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of one endpoint. Errors are 5xx answers and calls without an answer, rejected are 4xx answers,
+ * dropped are calls not started because too many were in flight.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EndpointReport {
+    private long count;
+    private long errors;
+    private long rejected;
+    private long dropped;
+    private double throughput;
+    private double meanMs;
+    private double p50Ms;
+    private double p90Ms;
+    private double p99Ms;
+    private double p999Ms;
+    private double maxMs;
+}
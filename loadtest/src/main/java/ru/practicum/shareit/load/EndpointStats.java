@@ -0,0 +1,61 @@
+package ru.practicum.shareit.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencies and outcomes of one endpoint. Latencies are kept in microseconds, up to a minute.
+ */
+class EndpointStats {
+    private final Histogram latencies = new ConcurrentHistogram(TimeUnit.MINUTES.toMicros(1), 3);
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    /**
+     * @param status response status, or {@code 0} when no response arrived
+     */
+    void record(long latencyNanos, int status) {
+        long micros = TimeUnit.NANOSECONDS.toMicros(latencyNanos);
+        latencies.recordValue(Math.min(micros, latencies.getHighestTrackableValue()));
+        if (status == 0 || status >= 500) {
+            errors.increment();
+        } else if (status >= 400) {
+            rejected.increment();
+        }
+    }
+
+    void drop() {
+        dropped.increment();
+    }
+
+    void addTo(EndpointStats total) {
+        total.latencies.add(latencies);
+        total.errors.add(errors.sum());
+        total.rejected.add(rejected.sum());
+        total.dropped.add(dropped.sum());
+    }
+
+    EndpointReport report(double seconds) {
+        return EndpointReport.builder()
+                .count(latencies.getTotalCount())
+                .errors(errors.sum())
+                .rejected(rejected.sum())
+                .dropped(dropped.sum())
+                .throughput(latencies.getTotalCount() / seconds)
+                .meanMs(latencies.getMean() / 1000)
+                .p50Ms(millis(50))
+                .p90Ms(millis(90))
+                .p99Ms(millis(99))
+                .p999Ms(millis(99.9))
+                .maxMs(latencies.getMaxValue() / 1000.0)
+                .build();
+    }
+
+    private double millis(double percentile) {
+        return latencies.getValueAtPercentile(percentile) / 1000.0;
+    }
+}
@@ -0,0 +1,68 @@
+package ru.practicum.shareit.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Requests to the gateway under test, asynchronous for the load and blocking for the dataset.
+ */
+public class GatewayClient {
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+
+    private final HttpClient http;
+    private final URI base;
+    private final ObjectMapper objectMapper;
+    private final Duration timeout;
+
+    public GatewayClient(HttpClient http, URI base, ObjectMapper objectMapper, Duration timeout) {
+        this.http = http;
+        this.base = base;
+        this.objectMapper = objectMapper;
+        this.timeout = timeout;
+    }
+
+    public HttpRequest get(String path, Long userId) {
+        return builder(path, userId).GET().build();
+    }
+
+    public HttpRequest post(String path, Long userId, Object body) {
+        try {
+            return builder(path, userId)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                    .build();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public CompletableFuture<HttpResponse<Void>> send(HttpRequest request) {
+        return http.sendAsync(request, HttpResponse.BodyHandlers.discarding());
+    }
+
+    /**
+     * Creates an entity and returns its id.
+     */
+    public long create(String path, Long userId, Object body) throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = http.send(post(path, userId, body), HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() / 100 != 2) {
+            throw new IllegalStateException("POST " + path + " answered " + response.statusCode() + ": "
+                    + new String(response.body()));
+        }
+        return objectMapper.readTree(response.body()).get("id").asLong();
+    }
+
+    private HttpRequest.Builder builder(String path, Long userId) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(base.resolve(path)).timeout(timeout);
+        if (userId != null) builder.header(USER_HEADER, String.valueOf(userId));
+        return builder;
+    }
+}
@@ -0,0 +1,40 @@
+package ru.practicum.shareit.load;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "shareit.load")
+public class LoadProperties {
+    private String gatewayUrl = "http://localhost:8080";
+    private Mix mix = Mix.SEARCH_HEAVY;
+    /**
+     * Requests per second, started on schedule whether or not earlier ones have finished.
+     */
+    private double rate = 100;
+    private Duration warmup = Duration.ofSeconds(10);
+    private Duration duration = Duration.ofSeconds(60);
+    private Duration timeout = Duration.ofSeconds(10);
+    private int maxInFlight = 1_000;
+    private long seed = 42;
+    private String release = "dev";
+    private Path reportDir = Path.of("load-reports");
+    /**
+     * Two reports, baseline first; when set the reports are compared and no load is generated.
+     */
+    private List<Path> compare = new ArrayList<>();
+    private DatasetSize dataset = new DatasetSize();
+
+    @Data
+    public static class DatasetSize {
+        private int owners = 20;
+        private int itemsPerOwner = 25;
+        private int bookers = 100;
+        private int hotItems = 5;
+    }
+}
@@ -0,0 +1,25 @@
+package ru.practicum.shareit.load;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoadReport {
+    private String release;
+    private Mix mix;
+    private double rate;
+    private Duration duration;
+    private long seed;
+    private Instant started;
+    private EndpointReport total;
+    private Map<String, EndpointReport> endpoints;
+}
@@ -0,0 +1,70 @@
+package ru.practicum.shareit.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.format.DateTimeFormatter;
+import java.time.ZoneOffset;
+import java.util.Random;
+
+/**
+ * Creates the dataset, runs the configured mix and writes the report, or compares two earlier reports.
+ */
+@Slf4j
+@Component
+public class LoadRunner implements CommandLineRunner {
+    private static final DateTimeFormatter FILE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")
+            .withZone(ZoneOffset.UTC);
+
+    private final LoadProperties properties;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public LoadRunner(LoadProperties properties, ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.objectMapper = objectMapper.copy().enable(SerializationFeature.INDENT_OUTPUT);
+    }
+
+    @Override
+    public void run(String... args) throws Exception {
+        if (!properties.getCompare().isEmpty()) {
+            compare();
+            return;
+        }
+        HttpClient http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(properties.getTimeout())
+                .build();
+        GatewayClient gateway = new GatewayClient(http, URI.create(properties.getGatewayUrl()), objectMapper,
+                properties.getTimeout());
+        Random random = new Random(properties.getSeed());
+        Dataset dataset = Dataset.create(gateway, properties.getDataset(), random);
+        LoadReport report = new OpenLoadGenerator(gateway, dataset, properties).run(random);
+
+        Files.createDirectories(properties.getReportDir());
+        Path file = properties.getReportDir().resolve(String.format("%s-%s-%s.json", properties.getRelease(),
+                properties.getMix().name().toLowerCase(), FILE_TIME.format(report.getStarted())));
+        objectMapper.writeValue(file.toFile(), report);
+        System.out.print(ReportTables.summary(report));
+        log.info("Report written to {}", file);
+    }
+
+    private void compare() throws IOException {
+        if (properties.getCompare().size() != 2) {
+            throw new IllegalArgumentException("Comparison needs two reports, baseline first, got "
+                    + properties.getCompare());
+        }
+        LoadReport baseline = objectMapper.readValue(properties.getCompare().get(0).toFile(), LoadReport.class);
+        LoadReport candidate = objectMapper.readValue(properties.getCompare().get(1).toFile(), LoadReport.class);
+        System.out.print(ReportTables.comparison(baseline, candidate));
+    }
+}
@@ -0,0 +1,59 @@
+package ru.practicum.shareit.load;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Traffic mixes: each operation is picked with its weight.
+ */
+public enum Mix {
+    SEARCH_HEAVY(Map.of(
+            Operation.SEARCH_ITEMS, 60,
+            Operation.GET_ITEM, 25,
+            Operation.ITEM_COMMENTS, 10,
+            Operation.OWNER_ITEMS, 5)),
+    OWNER_DASHBOARD(Map.of(
+            Operation.OWNER_BOOKINGS, 35,
+            Operation.OWNER_ITEMS, 25,
+            Operation.OWNER_BOOKING_STATS, 20,
+            Operation.ALL_REQUESTS, 10,
+            Operation.GET_ITEM, 10)),
+    BOOKING_BURST(Map.of(
+            Operation.BOOK_HOT_ITEM, 50,
+            Operation.HOT_ITEM_AVAILABILITY, 20,
+            Operation.BOOKER_BOOKINGS, 20,
+            Operation.GET_HOT_ITEM, 10));
+
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+
+    Mix(Map<Operation, Integer> weights) {
+        Map<Operation, Integer> ordered = new LinkedHashMap<>();
+        for (Operation operation : Operation.values()) {
+            if (weights.containsKey(operation)) ordered.put(operation, weights.get(operation));
+        }
+        this.operations = ordered.keySet().toArray(new Operation[0]);
+        this.cumulativeWeights = new int[operations.length];
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += ordered.get(operations[i]);
+            cumulativeWeights[i] = total;
+        }
+    }
+
+    public boolean includes(Operation operation) {
+        for (Operation candidate : operations) {
+            if (candidate == operation) return true;
+        }
+        return false;
+    }
+
+    public Operation pick(Random random) {
+        int point = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (point < cumulativeWeights[i]) return operations[i];
+        }
+        throw new IllegalStateException("Weight " + point + " is out of range");
+    }
+}
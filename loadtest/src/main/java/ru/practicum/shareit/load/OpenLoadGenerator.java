@@ -0,0 +1,104 @@
+package ru.practicum.shareit.load;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.http.HttpRequest;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load: requests arrive as a Poisson process at the configured rate and are started on schedule
+ * whether or not earlier ones have finished. Latency is measured from the scheduled start, so a stalled
+ * gateway shows up in the percentiles instead of slowing the generator down.
+ */
+@Slf4j
+public class OpenLoadGenerator {
+    private final GatewayClient gateway;
+    private final Dataset dataset;
+    private final LoadProperties properties;
+    private final Map<Operation, EndpointStats> stats = new EnumMap<>(Operation.class);
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    public OpenLoadGenerator(GatewayClient gateway, Dataset dataset, LoadProperties properties) {
+        this.gateway = gateway;
+        this.dataset = dataset;
+        this.properties = properties;
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new EndpointStats());
+        }
+    }
+
+    public LoadReport run(Random random) {
+        Instant started = Instant.now();
+        double meanGapNanos = TimeUnit.SECONDS.toNanos(1) / properties.getRate();
+        long begin = System.nanoTime();
+        long measureFrom = begin + properties.getWarmup().toNanos();
+        long end = measureFrom + properties.getDuration().toNanos();
+        log.info("Running {} at {} req/s: {} warmup, {} measured", properties.getMix(), properties.getRate(),
+                properties.getWarmup(), properties.getDuration());
+
+        long scheduled = begin;
+        while (true) {
+            scheduled += (long) (-Math.log(1 - random.nextDouble()) * meanGapNanos);
+            if (scheduled >= end) break;
+            Operation operation = properties.getMix().pick(random);
+            HttpRequest request = operation.request(gateway, dataset, random);
+            long wait = scheduled - System.nanoTime();
+            if (wait > 0) LockSupport.parkNanos(wait);
+            start(operation, request, scheduled, scheduled >= measureFrom);
+        }
+        awaitInFlight();
+        return report(started);
+    }
+
+    private void start(Operation operation, HttpRequest request, long scheduled, boolean measured) {
+        if (inFlight.get() >= properties.getMaxInFlight()) {
+            if (measured) stats.get(operation).drop();
+            return;
+        }
+        inFlight.incrementAndGet();
+        gateway.send(request).whenComplete((response, e) -> {
+            inFlight.decrementAndGet();
+            if (e != null) log.debug("{} failed", operation.getEndpoint(), e);
+            if (measured) {
+                stats.get(operation).record(System.nanoTime() - scheduled, e == null ? response.statusCode() : 0);
+            }
+        });
+    }
+
+    private void awaitInFlight() {
+        long deadline = System.nanoTime() + properties.getTimeout().toNanos();
+        while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+        }
+        if (inFlight.get() > 0) log.warn("{} requests still in flight after the run", inFlight.get());
+    }
+
+    private LoadReport report(Instant started) {
+        double seconds = properties.getDuration().toNanos() / 1e9;
+        Map<String, EndpointReport> endpoints = new LinkedHashMap<>();
+        EndpointStats total = new EndpointStats();
+        stats.forEach((operation, endpoint) -> {
+            if (properties.getMix().includes(operation)) {
+                endpoints.put(operation.getEndpoint(), endpoint.report(seconds));
+                endpoint.addTo(total);
+            }
+        });
+        return LoadReport.builder()
+                .release(properties.getRelease())
+                .mix(properties.getMix())
+                .rate(properties.getRate())
+                .duration(properties.getDuration())
+                .seed(properties.getSeed())
+                .started(started)
+                .total(total.report(seconds))
+                .endpoints(endpoints)
+                .build();
+    }
+}
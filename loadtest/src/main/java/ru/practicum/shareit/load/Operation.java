@@ -0,0 +1,99 @@
+package ru.practicum.shareit.load;
+
+import java.net.http.HttpRequest;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * One kind of gateway call. The endpoint name groups the latencies in the report.
+ */
+public enum Operation {
+    SEARCH_ITEMS("GET /items/search") {
+        @Override
+        HttpRequest request(GatewayClient gateway, Dataset dataset, Random random) {
+            return gateway.get("/items/search?text=" + dataset.searchWord(random), dataset.booker(random));
+        }
+    },
+    GET_ITEM("GET /items/{id}") {
+        @Override
+        HttpRequest request(GatewayClient gateway, Dataset dataset, Random random) {
+            return gateway.get("/items/" + dataset.item(random), null);
+        }
+    },
+    GET_HOT_ITEM("GET /items/{hot id}") {
+        @Override
+        HttpRequest request(GatewayClient gateway, Dataset dataset, Random random) {
+            return gateway.get("/items/" + dataset.hotItem(random), null);
+        }
+    },
+    ITEM_COMMENTS("GET /items/{id}/comments") {
+        @Override
+        HttpRequest request(GatewayClient gateway, Dataset dataset, Random random) {
+            return gateway.get("/items/" + dataset.item(random) + "/comments", null);
+        }
+    },
+    OWNER_ITEMS("GET /items") {
+        @Override
+        HttpRequest request(GatewayClient gateway, Dataset dataset, Random random) {
+            return gateway.get("/items", dataset.owner(random));
+        }
+    },
+    OWNER_BOOKINGS("GET /bookings/owner") {
+        @Override
+        HttpRequest request(GatewayClient gateway, Dataset dataset, Random random) {
+            return gateway.get("/bookings/owner", dataset.owner(random));
+        }
+    },
+    OWNER_BOOKING_STATS("GET /bookings/owner/stats") {
+        @Override
+        HttpRequest request(GatewayClient gateway, Dataset dataset, Random random) {
+            return gateway.get("/bookings/owner/stats", dataset.owner(random));
+        }
+    },
+    ALL_REQUESTS("GET /requests/all") {
+        @Override
+        HttpRequest request(GatewayClient gateway, Dataset dataset, Random random) {
+            return gateway.get("/requests/all", dataset.booker(random));
+        }
+    },
+    BOOKER_BOOKINGS("GET /bookings") {
+        @Override
+        HttpRequest request(GatewayClient gateway, Dataset dataset, Random random) {
+            return gateway.get("/bookings", dataset.booker(random));
+        }
+    },
+    BOOK_HOT_ITEM("POST /bookings") {
+        @Override
+        HttpRequest request(GatewayClient gateway, Dataset dataset, Random random) {
+            LocalDateTime start = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS).plusHours(1 + random.nextInt(720));
+            return gateway.post("/bookings", dataset.booker(random), Map.of(
+                    "itemId", dataset.hotItem(random),
+                    "start", start.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME),
+                    "end", start.plusHours(1 + random.nextInt(48)).format(DateTimeFormatter.ISO_LOCAL_DATE_TIME)));
+        }
+    },
+    HOT_ITEM_AVAILABILITY("GET /items/{hot id}/availability") {
+        @Override
+        HttpRequest request(GatewayClient gateway, Dataset dataset, Random random) {
+            LocalDateTime from = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS);
+            return gateway.get("/items/" + dataset.hotItem(random) + "/availability?from="
+                    + from.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME) + "&to="
+                    + from.plusDays(7).format(DateTimeFormatter.ISO_LOCAL_DATE_TIME), null);
+        }
+    };
+
+    private final String endpoint;
+
+    Operation(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    abstract HttpRequest request(GatewayClient gateway, Dataset dataset, Random random);
+}
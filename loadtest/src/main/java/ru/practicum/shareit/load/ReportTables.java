@@ -0,0 +1,72 @@
+package ru.practicum.shareit.load;
+
+import java.util.Map;
+
+/**
+ * Plain-text tables of a report and of the difference between two reports.
+ */
+public final class ReportTables {
+    private static final String ROW = "%-34s %8s %7s %7s %7s %9s %9s %9s %9s %9s%n";
+
+    private ReportTables() {
+    }
+
+    public static String summary(LoadReport report) {
+        StringBuilder table = new StringBuilder(String.format("%s, %s at %.0f req/s for %s%n", report.getRelease(),
+                report.getMix(), report.getRate(), report.getDuration()));
+        table.append(String.format(ROW, "endpoint", "count", "errors", "4xx", "dropped", "req/s", "p50 ms",
+                "p99 ms", "p99.9 ms", "max ms"));
+        report.getEndpoints().forEach((endpoint, result) -> table.append(row(endpoint, result)));
+        table.append(row("total", report.getTotal()));
+        return table.toString();
+    }
+
+    /**
+     * Candidate against baseline per endpoint; percentile deltas are relative to the baseline.
+     */
+    public static String comparison(LoadReport baseline, LoadReport candidate) {
+        StringBuilder table = new StringBuilder(String.format("%s -> %s, %s at %.0f req/s%n", baseline.getRelease(),
+                candidate.getRelease(), candidate.getMix(), candidate.getRate()));
+        if (baseline.getMix() != candidate.getMix() || baseline.getRate() != candidate.getRate()) {
+            table.append(String.format("warning: baseline ran %s at %.0f req/s%n", baseline.getMix(),
+                    baseline.getRate()));
+        }
+        table.append(String.format(ROW, "endpoint", "count", "errors", "4xx", "dropped", "req/s", "p50",
+                "p99", "p99.9", "max"));
+        for (Map.Entry<String, EndpointReport> entry : candidate.getEndpoints().entrySet()) {
+            EndpointReport before = baseline.getEndpoints().get(entry.getKey());
+            table.append(before == null ? row(entry.getKey(), entry.getValue())
+                    : delta(entry.getKey(), before, entry.getValue()));
+        }
+        table.append(delta("total", baseline.getTotal(), candidate.getTotal()));
+        return table.toString();
+    }
+
+    private static String row(String name, EndpointReport result) {
+        return String.format(ROW, name, result.getCount(), result.getErrors(), result.getRejected(),
+                result.getDropped(), String.format("%.1f", result.getThroughput()), ms(result.getP50Ms()),
+                ms(result.getP99Ms()), ms(result.getP999Ms()), ms(result.getMaxMs()));
+    }
+
+    private static String delta(String name, EndpointReport before, EndpointReport after) {
+        return String.format(ROW, name, signed(after.getCount() - before.getCount()),
+                signed(after.getErrors() - before.getErrors()), signed(after.getRejected() - before.getRejected()),
+                signed(after.getDropped() - before.getDropped()),
+                String.format("%+.1f", after.getThroughput() - before.getThroughput()),
+                percent(before.getP50Ms(), after.getP50Ms()), percent(before.getP99Ms(), after.getP99Ms()),
+                percent(before.getP999Ms(), after.getP999Ms()), percent(before.getMaxMs(), after.getMaxMs()));
+    }
+
+    private static String ms(double value) {
+        return String.format("%.2f", value);
+    }
+
+    private static String signed(long value) {
+        return String.format("%+d", value);
+    }
+
+    static String percent(double before, double after) {
+        if (before == 0) return after == 0 ? "0%" : "new";
+        return String.format("%+.1f%%", (after - before) * 100 / before);
+    }
+}
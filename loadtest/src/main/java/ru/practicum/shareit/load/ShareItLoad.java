@@ -0,0 +1,13 @@
+package ru.practicum.shareit.load;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+
+@SpringBootApplication
+@EnableConfigurationProperties(LoadProperties.class)
+public class ShareItLoad {
+    public static void main(String[] args) {
+        System.exit(SpringApplication.exit(SpringApplication.run(ShareItLoad.class, args)));
+    }
+}
@@ -0,0 +1,101 @@
+package ru.practicum.shareit.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OpenLoadGeneratorTest {
+    private static final Map<String, AtomicInteger> CALLS = new ConcurrentHashMap<>();
+    private static final HttpServer SERVER = startServer();
+
+    @AfterAll
+    static void stopServer() {
+        SERVER.stop(0);
+    }
+
+    @Test
+    @DisplayName("Search-heavy mix. Requests follow the mix weights and 5xx answers count as errors")
+    void shouldRunMixAtRate() {
+        LoadProperties properties = new LoadProperties();
+        properties.setRate(200);
+        properties.setWarmup(Duration.ofMillis(200));
+        properties.setDuration(Duration.ofSeconds(1));
+        properties.setTimeout(Duration.ofSeconds(2));
+        GatewayClient gateway = new GatewayClient(HttpClient.newHttpClient(),
+                URI.create("http://127.0.0.1:" + SERVER.getAddress().getPort()), new ObjectMapper(),
+                properties.getTimeout());
+        Dataset dataset = new Dataset(List.of(1L, 2L), List.of(10L, 11L, 12L), List.of(10L), List.of(3L, 4L));
+
+        LoadReport report = new OpenLoadGenerator(gateway, dataset, properties).run(new Random(7));
+
+        assertEquals(List.of("GET /items/search", "GET /items/{id}", "GET /items/{id}/comments", "GET /items"),
+                List.copyOf(report.getEndpoints().keySet()));
+        EndpointReport total = report.getTotal();
+        assertTrue(total.getCount() > 100 && total.getCount() < 300, "count " + total.getCount());
+        assertEquals(0, total.getDropped());
+        EndpointReport search = report.getEndpoints().get("GET /items/search");
+        EndpointReport comments = report.getEndpoints().get("GET /items/{id}/comments");
+        assertTrue(search.getCount() > comments.getCount());
+        assertEquals(0, search.getErrors());
+        assertEquals(comments.getCount(), comments.getErrors());
+        assertEquals(comments.getErrors(), total.getErrors());
+        assertTrue(total.getP50Ms() > 0 && total.getP50Ms() <= total.getP99Ms());
+        assertTrue(CALLS.get("/items/search").get() >= search.getCount(), "warmup requests are sent too");
+    }
+
+    @Test
+    @DisplayName("In-flight limit. Requests beyond it are dropped instead of queued")
+    void shouldDropOverInFlightLimit() {
+        LoadProperties properties = new LoadProperties();
+        properties.setMix(Mix.OWNER_DASHBOARD);
+        properties.setRate(100);
+        properties.setWarmup(Duration.ZERO);
+        properties.setDuration(Duration.ofMillis(500));
+        properties.setMaxInFlight(0);
+        GatewayClient gateway = new GatewayClient(HttpClient.newHttpClient(),
+                URI.create("http://127.0.0.1:" + SERVER.getAddress().getPort()), new ObjectMapper(),
+                properties.getTimeout());
+        Dataset dataset = new Dataset(List.of(1L), List.of(10L), List.of(10L), List.of(3L));
+
+        LoadReport report = new OpenLoadGenerator(gateway, dataset, properties).run(new Random(7));
+
+        assertEquals(0, report.getTotal().getCount());
+        assertTrue(report.getTotal().getDropped() > 0);
+    }
+
+    private static HttpServer startServer() {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+            server.createContext("/", OpenLoadGeneratorTest::handle);
+            server.setExecutor(Executors.newFixedThreadPool(4));
+            server.start();
+            return server;
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void handle(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        CALLS.computeIfAbsent(path, p -> new AtomicInteger()).incrementAndGet();
+        exchange.sendResponseHeaders(path.endsWith("/comments") ? 500 : 200, -1);
+        exchange.close();
+    }
+}
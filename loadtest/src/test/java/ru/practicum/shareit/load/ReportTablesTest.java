@@ -0,0 +1,58 @@
+package ru.practicum.shareit.load;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReportTablesTest {
+
+    @Test
+    @DisplayName("Comparison. Percentiles are shown relative to the baseline")
+    void shouldCompareReports() {
+        LoadReport baseline = report("1.0", 10, 40);
+        LoadReport candidate = report("1.1", 15, 20);
+
+        String table = ReportTables.comparison(baseline, candidate);
+
+        assertTrue(table.startsWith("1.0 -> 1.1, SEARCH_HEAVY at 100 req/s"), table);
+        assertTrue(table.contains("+50.0%"), table);
+        assertTrue(table.contains("-50.0%"), table);
+        assertFalse(table.contains("warning"), table);
+    }
+
+    @Test
+    @DisplayName("Comparison. Reports of different mixes are flagged")
+    void shouldWarnAboutDifferentMix() {
+        LoadReport baseline = report("1.0", 10, 40);
+        baseline.setMix(Mix.BOOKING_BURST);
+
+        String table = ReportTables.comparison(baseline, report("1.1", 10, 40));
+
+        assertTrue(table.contains("warning: baseline ran BOOKING_BURST at 100 req/s"), table);
+    }
+
+    @Test
+    @DisplayName("Percent change. A zero baseline is reported as new")
+    void shouldHandleZeroBaseline() {
+        assertEquals("new", ReportTables.percent(0, 1));
+        assertEquals("0%", ReportTables.percent(0, 0));
+        assertEquals("+100.0%", ReportTables.percent(1, 2));
+    }
+
+    private static LoadReport report(String release, double p50, double p99) {
+        EndpointReport endpoint = EndpointReport.builder().count(100).p50Ms(p50).p99Ms(p99).p999Ms(p99)
+                .maxMs(p99).throughput(100).build();
+        return LoadReport.builder()
+                .release(release)
+                .mix(Mix.SEARCH_HEAVY)
+                .rate(100)
+                .duration(Duration.ofSeconds(1))
+                .total(endpoint)
+                .endpoints(Map.of("GET /items/search", endpoint))
+                .build();
+    }
+}
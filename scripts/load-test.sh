@@ -0,0 +1,56 @@
+#!/usr/bin/env bash
+# Starts ShareItServer and ShareItGateway, runs the load generator against the gateway and stops both.
+# Arguments go to the load generator, for example:
+#
+#   scripts/load-test.sh --shareit.load.mix=owner_dashboard --shareit.load.rate=300 --shareit.load.release=1.4
+#   scripts/load-test.sh --shareit.load.compare=load-reports/1.3-....json,load-reports/1.4-....json
+#
+# The server uses the compose Postgres on localhost:6541 by default, or an in-memory H2 with DB=h2.
+# The gateway runs without its rate limit so the generator measures the whole stack, and with hedged reads,
+# which are off by default; HEDGING=false measures without them.
+set -euo pipefail
+
+ROOT=$(cd "$(dirname "$0")/.." && pwd)
+WORK=${WORK:-${TMPDIR:-/tmp}/shareit-load-test}
+DB=${DB:-postgres}
+
+if [ "$DB" = "h2" ]; then
+  export SPRING_DATASOURCE_URL=jdbc:h2:mem:shareit
+  export SPRING_DATASOURCE_DRIVERCLASSNAME=org.h2.Driver
+else
+  export SPRING_DATASOURCE_URL=${SPRING_DATASOURCE_URL:-jdbc:postgresql://localhost:6541/shareit}
+  export SPRING_DATASOURCE_USERNAME=${SPRING_DATASOURCE_USERNAME:-shareit}
+  export SPRING_DATASOURCE_PASSWORD=${SPRING_DATASOURCE_PASSWORD:-shareit}
+fi
+
+# start <module> <url> [args]: runs the module jar in the background and waits for the first 200 answer
+start() {
+  local module=$1 url=$2
+  shift 2
+  (cd "$WORK" && exec java -jar "$ROOT"/$module/target/shareit-$module-*.jar "$@") > "$WORK/$module.log" 2>&1 &
+  PIDS+=($!)
+  until curl -sf -o /dev/null "$url"; do
+    if ! kill -0 "${PIDS[-1]}" 2> /dev/null; then
+      echo "$module did not start, see $WORK/$module.log" >&2
+      exit 1
+    fi
+    sleep 0.1
+  done
+}
+
+stop() {
+  for pid in "${PIDS[@]}"; do
+    kill "$pid" 2> /dev/null || true
+  done
+  wait || true
+}
+
+mkdir -p "$WORK"
+PIDS=()
+trap stop EXIT
+
+(cd "$ROOT" && mvn -q -B -DskipTests package > "$WORK/build.log")
+start server http://localhost:9090/users
+start gateway http://localhost:8080/actuator/health --shareit.rate-limit.enabled=false \
+  --shareit.upstream.hedging.enabled="${HEDGING:-true}"
+(cd "$ROOT" && java -jar loadtest/target/shareit-loadtest-*.jar "$@")
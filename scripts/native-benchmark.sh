@@ -0,0 +1,83 @@
+#!/usr/bin/env bash
+# ShareItGateway on the JVM against its native image: time to first request, resident memory after start and
+# under load, and steady-state throughput of GET /users proxied to one shared ShareItServer.
+#
+# Needs GraalVM (native-image on the PATH) and wrk. The server needs a database: the compose Postgres on
+# localhost:6541 by default (docker compose up -d db), or an in-memory H2 with DB=h2.
+#
+# Usage: scripts/native-benchmark.sh [seconds of load]
+set -euo pipefail
+
+DURATION=${1:-30}
+ROOT=$(cd "$(dirname "$0")/.." && pwd)
+WORK=${WORK:-${TMPDIR:-/tmp}/shareit-native-benchmark}
+DB=${DB:-postgres}
+GATEWAY=http://localhost:8080
+GATEWAY_ARGS=(--shareit.rate-limit.enabled=false)
+
+for tool in native-image wrk curl; do
+  command -v $tool > /dev/null || { echo "$tool is not on the PATH" >&2; exit 1; }
+done
+
+if [ "$DB" = "h2" ]; then
+  export SPRING_DATASOURCE_URL=jdbc:h2:mem:shareit
+  export SPRING_DATASOURCE_DRIVERCLASSNAME=org.h2.Driver
+else
+  export SPRING_DATASOURCE_URL=${SPRING_DATASOURCE_URL:-jdbc:postgresql://localhost:6541/shareit}
+  export SPRING_DATASOURCE_USERNAME=${SPRING_DATASOURCE_USERNAME:-shareit}
+  export SPRING_DATASOURCE_PASSWORD=${SPRING_DATASOURCE_PASSWORD:-shareit}
+fi
+
+mkdir -p "$WORK"
+(cd "$ROOT" && mvn -q -B -DskipTests clean package > "$WORK/build-jvm.log")
+cp "$ROOT"/server/target/shareit-server-*.jar "$WORK/server.jar"
+cp "$ROOT"/gateway/target/shareit-gateway-*.jar "$WORK/gateway.jar"
+(cd "$ROOT" && mvn -q -B -DskipTests -Pnative -pl gateway package > "$WORK/build-native.log")
+cp "$ROOT/gateway/target/shareit-gateway" "$WORK/gateway"
+
+rss_mb() {
+  ps -o rss= -p "$1" | awk '{ printf "%d", $1 / 1024 }'
+}
+
+wait_for() {
+  local url=$1 pid=$2 log=$3
+  until curl -sf -o /dev/null "$url"; do
+    kill -0 "$pid" 2> /dev/null || { echo "process $pid exited, see $log" >&2; exit 1; }
+    sleep 0.01
+  done
+}
+
+(cd "$WORK" && exec java -jar server.jar) > "$WORK/server.log" 2>&1 &
+SERVER_PID=$!
+trap 'kill $SERVER_PID 2> /dev/null || true' EXIT
+wait_for http://localhost:9090/users $SERVER_PID "$WORK/server.log"
+curl -sf -o /dev/null -H 'Content-Type: application/json' -d '{"name": "Bench", "email": "bench@shareit.ru"}' \
+  http://localhost:9090/users
+
+# run <name> <command>: one gateway from start to the end of the load
+run() {
+  local name=$1
+  shift
+  local start
+  start=$(date +%s%N)
+  (cd "$WORK" && exec "$@" "${GATEWAY_ARGS[@]}") > "$WORK/$name.log" 2>&1 &
+  local pid=$!
+  wait_for $GATEWAY/actuator/health $pid "$WORK/$name.log"
+  local ready=$((($(date +%s%N) - start) / 1000000))
+  local idle
+  idle=$(rss_mb $pid)
+
+  wrk -t2 -c32 -d10s $GATEWAY/users > /dev/null
+  wrk -t2 -c32 -d"${DURATION}"s --latency $GATEWAY/users > "$WORK/$name-wrk.txt"
+  local loaded
+  loaded=$(rss_mb $pid)
+  kill $pid
+  wait $pid || true
+
+  printf '%-7s first request %6d ms   rss idle %5d MB   rss loaded %5d MB   %9s req/s   p99 %s\n' "$name" \
+    "$ready" "$idle" "$loaded" "$(awk '/Requests\/sec/ { print $2 }' "$WORK/$name-wrk.txt")" \
+    "$(awk '$1 == "99%" { print $2 }' "$WORK/$name-wrk.txt")"
+}
+
+run jvm java -jar gateway.jar
+run native ./gateway
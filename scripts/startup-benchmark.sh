@@ -0,0 +1,88 @@
+#!/usr/bin/env bash
+# Time to first request of ShareItServer and ShareItGateway: the plain JVM build against the fast-startup build
+# (AOT-processed contexts, class-data sharing archive from a training run, schema validation instead of update).
+#
+# The server needs a database: the compose Postgres on localhost:6541 by default (docker compose up -d db),
+# or an in-memory H2 with DB=h2.
+#
+# Usage: scripts/startup-benchmark.sh [runs]
+set -euo pipefail
+
+RUNS=${1:-5}
+ROOT=$(cd "$(dirname "$0")/.." && pwd)
+WORK=${WORK:-${TMPDIR:-/tmp}/shareit-startup-benchmark}
+DB=${DB:-postgres}
+
+if [ "$DB" = "h2" ]; then
+  export SPRING_DATASOURCE_URL=jdbc:h2:mem:shareit
+  export SPRING_DATASOURCE_DRIVERCLASSNAME=org.h2.Driver
+else
+  export SPRING_DATASOURCE_URL=${SPRING_DATASOURCE_URL:-jdbc:postgresql://localhost:6541/shareit}
+  export SPRING_DATASOURCE_USERNAME=${SPRING_DATASOURCE_USERNAME:-shareit}
+  export SPRING_DATASOURCE_PASSWORD=${SPRING_DATASOURCE_PASSWORD:-shareit}
+fi
+
+# build <name> [maven args]: packages both modules and extracts the jars, which class-data sharing needs
+build() {
+  local name=$1
+  shift
+  (cd "$ROOT" && mvn -q -B -DskipTests "$@" clean package > "$WORK/build-$name.log")
+  for module in server gateway; do
+    rm -rf "${WORK:?}/$name/$module"
+    java -Djarmode=tools -jar "$ROOT"/$module/target/shareit-$module-*.jar extract \
+      --destination "$WORK/$name/$module" > /dev/null
+  done
+}
+
+jar() {
+  ls "$WORK/$1/$2"/shareit-$2-*.jar
+}
+
+# train <module> <java args>: starts the context once and dumps the loaded classes into app.jsa
+train() {
+  local module=$1
+  shift
+  (cd "$WORK/fast/$module" && java -XX:ArchiveClassesAtExit=app.jsa -Dspring.context.exit=onRefresh "$@" \
+    -jar "$(jar fast "$module")" > training.log 2>&1)
+}
+
+# measure <build> <module> <url> <java args>: median milliseconds from process start to the first 200 answer
+measure() {
+  local name=$1 module=$2 url=$3
+  shift 3
+  local times=()
+  for ((i = 0; i < RUNS; i++)); do
+    local start
+    start=$(date +%s%N)
+    (cd "$WORK/$name/$module" && exec java "$@" -jar "$(jar "$name" "$module")") > "$WORK/$name/$module/run.log" 2>&1 &
+    local pid=$!
+    until curl -sf -o /dev/null "$url"; do
+      if ! kill -0 $pid 2> /dev/null; then
+        echo "$module ($name) did not start, see $WORK/$name/$module/run.log" >&2
+        exit 1
+      fi
+      sleep 0.01
+    done
+    times+=($((($(date +%s%N) - start) / 1000000)))
+    kill $pid
+    wait $pid || true
+  done
+  local sorted
+  sorted=$(printf '%s\n' "${times[@]}" | sort -n | tr '\n' ' ')
+  printf '%-8s %-5s median %6d ms   runs: %s\n' "$module" "$name" \
+    "$(printf '%s\n' "${times[@]}" | sort -n | sed -n "$(((RUNS + 1) / 2))p")" "$sorted"
+}
+
+mkdir -p "$WORK"
+build jvm
+build fast -P fast-startup
+
+SERVER_FAST=(-Dspring.aot.enabled=true -Dspring.profiles.active=fast-startup)
+GATEWAY_FAST=(-Dspring.aot.enabled=true)
+train server "${SERVER_FAST[@]}"
+train gateway "${GATEWAY_FAST[@]}"
+
+measure jvm server http://localhost:9090/users
+measure fast server http://localhost:9090/users "${SERVER_FAST[@]}" -XX:SharedArchiveFile=app.jsa
+measure jvm gateway http://localhost:8080/actuator/health
+measure fast gateway http://localhost:8080/actuator/health "${GATEWAY_FAST[@]}" -XX:SharedArchiveFile=app.jsa
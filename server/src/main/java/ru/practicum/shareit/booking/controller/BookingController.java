@@ -6,14 +6,20 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingUpdateDto;
+import ru.practicum.shareit.booking.enums.State;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.common.FieldSet;
+import ru.practicum.shareit.idempotency.enums.IdempotentOperation;
+import ru.practicum.shareit.idempotency.service.IdempotencyService;
 
 
 import java.util.Collection;
+import java.util.Map;
 
 
 @Slf4j
@@ -22,18 +28,23 @@ import java.util.Collection;
 public class BookingController {
 
     private final BookingService service;
+    private final IdempotencyService idempotencyService;
 
     @Autowired
-    public BookingController(BookingService service) {
+    public BookingController(BookingService service, IdempotencyService idempotencyService) {
         this.service = service;
+        this.idempotencyService = idempotencyService;
     }
 
     @PostMapping
     public ResponseEntity<BookingDto> create(
             @RequestHeader("X-Sharer-User-Id") Long userId,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
             @Valid @RequestBody BookingCreateDto booking) {
         log.info("Received POST request to create booking");
-        BookingDto createdBooking = service.saveBooking(userId, booking);
+        BookingDto createdBooking = idempotencyService.execute(idempotencyKey, userId,
+                IdempotentOperation.CREATE_BOOKING, booking, BookingDto.class,
+                () -> service.saveBooking(userId, booking));
         return ResponseEntity.status(HttpStatus.CREATED).body(createdBooking);
     }
 
@@ -67,21 +78,43 @@ public class BookingController {
     }
 
     @GetMapping
-    public ResponseEntity<Collection<BookingDto>> findAllBookingsByUser(
+    public ResponseEntity<MappingJacksonValue> findAllBookingsByUser(
             @RequestHeader("X-Sharer-User-Id") Long userId,
-            @RequestParam(name = "state", defaultValue = "ALL") String state) {
+            @RequestParam(name = "state", defaultValue = "ALL") String state,
+            @RequestParam(name = "fields", required = false) String fields) {
         log.info("Received GET request, all bookings for user with ID: {}, state: {}", userId, state);
+        FieldSet fieldSet = FieldSet.of(fields, BookingDto.class);
         Collection<BookingDto> bookings = service.findAllBookingsByUserAndState(userId, state);
-        return ResponseEntity.ok(bookings);
+        return ResponseEntity.ok(fieldSet.apply(bookings));
     }
 
     @GetMapping("/owner")
-    public ResponseEntity<Collection<BookingDto>> findAllBookingsByOwner(
+    public ResponseEntity<MappingJacksonValue> findAllBookingsByOwner(
             @RequestHeader("X-Sharer-User-Id") Long userId,
-            @RequestParam(name = "state", defaultValue = "ALL") String state) {
+            @RequestParam(name = "state", defaultValue = "ALL") String state,
+            @RequestParam(name = "fields", required = false) String fields) {
         log.info("Received GET request, all bookings for owner's items, user ID: {}, state: {}", userId, state);
+        FieldSet fieldSet = FieldSet.of(fields, BookingDto.class);
         Collection<BookingDto> bookings = service.findAllBookingsByOwnerAndState(userId, state);
-        return ResponseEntity.ok(bookings);
+        return ResponseEntity.ok(fieldSet.apply(bookings));
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<Map<State, Long>> countBookingsByUser(
+            @RequestHeader("X-Sharer-User-Id") Long userId,
+            @RequestParam(name = "cached", defaultValue = "false") Boolean cached) {
+        log.info("Received GET request, booking counters for user with ID: {}, cached: {}", userId, cached);
+        Map<State, Long> stats = service.countBookingsByUser(userId, cached);
+        return ResponseEntity.ok(stats);
+    }
+
+    @GetMapping("/owner/stats")
+    public ResponseEntity<Map<State, Long>> countBookingsByOwner(
+            @RequestHeader("X-Sharer-User-Id") Long userId,
+            @RequestParam(name = "cached", defaultValue = "false") Boolean cached) {
+        log.info("Received GET request, booking counters for owner's items, user ID: {}, cached: {}", userId, cached);
+        Map<State, Long> stats = service.countBookingsByOwner(userId, cached);
+        return ResponseEntity.ok(stats);
     }
 
     @PatchMapping("/{bookingId}")
@@ -1,16 +1,21 @@
 package ru.practicum.shareit.booking.dto;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import ru.practicum.shareit.booking.enums.Status;
+import ru.practicum.shareit.common.FieldSet;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.user.dto.UserDto;
 
 import java.time.LocalDateTime;
 
 @Data
+@JsonFilter(FieldSet.FILTER)
 @Builder
+@AllArgsConstructor
 @EqualsAndHashCode(of = {"id"})
 public class BookingDto {
     private Long id;
@@ -19,4 +24,17 @@ public class BookingDto {
     private ItemDto item;
     private UserDto booker;
     private Status status;
+
+    /**
+     * Flat constructor for JPQL projections, see {@code BookingRepository}.
+     */
+    public BookingDto(Long id, LocalDateTime start, LocalDateTime end, Status status,
+                      Long itemId, String itemName, String itemDescription, Boolean itemAvailable,
+                      Long itemOwnerId, Long itemRequestId,
+                      Long bookerId, String bookerName, String bookerEmail) {
+        this(id, start, end,
+                new ItemDto(itemId, itemName, itemDescription, itemAvailable, itemOwnerId, itemRequestId),
+                new UserDto(bookerId, bookerName, bookerEmail),
+                status);
+    }
 }
\ No newline at end of file
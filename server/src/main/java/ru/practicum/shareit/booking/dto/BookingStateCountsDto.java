@@ -0,0 +1,32 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import ru.practicum.shareit.booking.enums.State;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BookingStateCountsDto {
+    private Long all;
+    private Long current;
+    private Long past;
+    private Long future;
+    private Long waiting;
+    private Long rejected;
+
+    public Map<State, Long> toMap() {
+        Map<State, Long> counts = new EnumMap<>(State.class);
+        counts.put(State.ALL, all);
+        counts.put(State.CURRENT, current);
+        counts.put(State.PAST, past);
+        counts.put(State.FUTURE, future);
+        counts.put(State.WAITING, waiting);
+        counts.put(State.REJECTED, rejected);
+        return counts;
+    }
+}
\ No newline at end of file
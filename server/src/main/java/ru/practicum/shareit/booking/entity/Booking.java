@@ -17,7 +17,12 @@ import jakarta.persistence.*;
 @Builder
 @AllArgsConstructor
 @NoArgsConstructor
-@Table(name = "bookings")
+@Table(name = "bookings", indexes = {
+        @Index(name = "idx_bookings_item_start_end", columnList = "item_id, booking_start, booking_end"),
+        @Index(name = "idx_bookings_owner_status_start", columnList = "owner_id, status, booking_start"),
+        @Index(name = "idx_bookings_booker_id", columnList = "booker_id"),
+        @Index(name = "idx_bookings_status_start", columnList = "status, booking_start")
+})
 public class Booking {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -33,7 +38,16 @@ public class Booking {
     @ManyToOne
     @JoinColumn(name = "booker_id", nullable = false)
     private User booker;
+    @Column(name = "owner_id", nullable = false)
+    private Long ownerId;
     @Enumerated(EnumType.STRING)
     @Column(name = "status", nullable = false)
     private Status status;
+
+    @PrePersist
+    private void copyItemOwner() {
+        if (ownerId == null && item != null) {
+            ownerId = item.getOwner().getId();
+        }
+    }
 }
\ No newline at end of file
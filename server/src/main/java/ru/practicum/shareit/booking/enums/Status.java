@@ -4,5 +4,6 @@ public enum Status {
     WAITING,
     APPROVED,
     REJECTED,
-    CANCELLED
+    CANCELLED,
+    EXPIRED
 }
\ No newline at end of file
@@ -1,10 +1,20 @@
 package ru.practicum.shareit.booking.repository;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingIntervalDto;
+import ru.practicum.shareit.booking.dto.BookingStateCountsDto;
 import ru.practicum.shareit.booking.entity.Booking;
 import ru.practicum.shareit.booking.enums.Status;
+import ru.practicum.shareit.reminder.dto.ReminderBookingDto;
 
 import java.time.LocalDateTime;
 import java.util.Collection;
@@ -12,33 +22,43 @@ import java.util.List;
 import java.util.Optional;
 
 public interface BookingRepository extends JpaRepository<Booking, Long> {
-    Collection<Booking> findAllByBookerId(Long bookerId);
+    String SELECT_BOOKING_DTO = "SELECT new ru.practicum.shareit.booking.dto.BookingDto(b.id, b.start, b.end, " +
+            "b.status, i.id, i.name, i.description, i.available, i.owner.id, i.request.id, " +
+            "u.id, u.name, u.email) FROM Booking b JOIN b.item i JOIN b.booker u ";
+    // Hibernate drops association joins used only for the foreign key, and the soft delete filter with them;
+    // entity joins are kept
+    String JOIN_LIVE_ITEM_AND_BOOKER = "JOIN Item i ON i.id = b.item.id JOIN User u ON u.id = b.booker.id ";
 
-    Collection<Booking> findAllByBookerIdAndStatus(Long bookerId, Status status);
+    @Query(SELECT_BOOKING_DTO + "WHERE u.id = ?1 ORDER BY b.start")
+    Collection<BookingDto> findAllByBookerId(Long bookerId);
 
-    @Query("SELECT b FROM Booking AS b WHERE b.booker.id = ?1 AND CURRENT_TIMESTAMP BETWEEN b.start AND b.end")
-    Collection<Booking> findAllCurrentBookingsByBookerId(Long bookerId);
+    @Query(SELECT_BOOKING_DTO + "WHERE u.id = ?1 AND b.status = ?2 ORDER BY b.start")
+    Collection<BookingDto> findAllByBookerIdAndStatus(Long bookerId, Status status);
 
-    @Query("SELECT b FROM Booking b WHERE b.booker.id = ?1 AND CURRENT_TIMESTAMP > b.end")
-    Collection<Booking> findAllPastBookingByBookerId(Long bookerId);
+    @Query(SELECT_BOOKING_DTO + "WHERE u.id = ?1 AND CURRENT_TIMESTAMP BETWEEN b.start AND b.end ORDER BY b.start")
+    Collection<BookingDto> findAllCurrentBookingsByBookerId(Long bookerId);
 
-    @Query("SELECT b FROM Booking b WHERE b.booker.id = ?1 AND CURRENT_TIMESTAMP < b.start")
-    Collection<Booking> findAllFutureBookingByBookerId(Long bookerId);
+    @Query(SELECT_BOOKING_DTO + "WHERE u.id = ?1 AND CURRENT_TIMESTAMP > b.end ORDER BY b.start")
+    Collection<BookingDto> findAllPastBookingByBookerId(Long bookerId);
 
-    @Query("SELECT b FROM Booking b WHERE b.item.owner.id = ?1")
-    Collection<Booking> findAllByOwnerId(Long ownerId);
+    @Query(SELECT_BOOKING_DTO + "WHERE u.id = ?1 AND CURRENT_TIMESTAMP < b.start ORDER BY b.start")
+    Collection<BookingDto> findAllFutureBookingByBookerId(Long bookerId);
 
-    @Query("SELECT b FROM Booking b WHERE b.item.owner.id = ?1 AND b.status = ?2")
-    Collection<Booking> findAllByOwnerIdAndStatus(Long ownerId, Status status);
+    @Query(SELECT_BOOKING_DTO + "WHERE b.ownerId = ?1 ORDER BY b.start")
+    Collection<BookingDto> findAllByOwnerId(Long ownerId);
 
-    @Query("SELECT b FROM Booking b WHERE b.item.owner.id = ?1 AND CURRENT_TIMESTAMP BETWEEN b.start AND b.end")
-    Collection<Booking> findAllCurrentBookingByOwnerId(Long ownerId);
+    @Query(SELECT_BOOKING_DTO + "WHERE b.ownerId = ?1 AND b.status = ?2 ORDER BY b.start")
+    Collection<BookingDto> findAllByOwnerIdAndStatus(Long ownerId, Status status);
 
-    @Query("SELECT b FROM Booking b WHERE b.item.owner.id = ?1 AND CURRENT_TIMESTAMP > b.end")
-    Collection<Booking> findAllPastBookingByOwnerId(Long ownerId);
+    @Query(SELECT_BOOKING_DTO + "WHERE b.ownerId = ?1 AND CURRENT_TIMESTAMP BETWEEN b.start AND b.end " +
+            "ORDER BY b.start")
+    Collection<BookingDto> findAllCurrentBookingByOwnerId(Long ownerId);
 
-    @Query("SELECT b FROM Booking b WHERE b.item.owner.id = ?1 AND CURRENT_TIMESTAMP < b.start")
-    Collection<Booking> findAllFutureBookingByOwnerId(Long ownerId);
+    @Query(SELECT_BOOKING_DTO + "WHERE b.ownerId = ?1 AND CURRENT_TIMESTAMP > b.end ORDER BY b.start")
+    Collection<BookingDto> findAllPastBookingByOwnerId(Long ownerId);
+
+    @Query(SELECT_BOOKING_DTO + "WHERE b.ownerId = ?1 AND CURRENT_TIMESTAMP < b.start ORDER BY b.start")
+    Collection<BookingDto> findAllFutureBookingByOwnerId(Long ownerId);
 
     @Query("SELECT b FROM Booking b WHERE b.item.id = :itemId AND b.booker.id = :bookerId AND b.end < :end")
     Optional<Booking> findByItemIdAndBookerIdAndEndBefore(@Param("itemId") Long itemId,
@@ -52,9 +72,73 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
             "AND b.status = 'APPROVED' ORDER BY b.end DESC")
     Optional<LocalDateTime> findLastBookingEndByItemId(Long itemId);
 
-    @Query("SELECT b FROM Booking b WHERE b.item.id IN (?1) AND CURRENT_TIMESTAMP > b.end ORDER BY b.end DESC")
-    List<Booking> findByItemInAndEndBefore(List<Long> ids);
-
-    @Query("SELECT b FROM Booking b WHERE b.item.id IN (?1) AND CURRENT_TIMESTAMP < b.start ORDER BY b.start ASC")
-    List<Booking> findByItemInAndStartAfter(List<Long> ids);
+    @Query("SELECT new ru.practicum.shareit.booking.dto.BookingIntervalDto(b.item.id, b.start, b.end) " +
+            "FROM Booking b WHERE b.item.id IN (?1) AND CURRENT_TIMESTAMP > b.end ORDER BY b.end DESC")
+    List<BookingIntervalDto> findByItemInAndEndBefore(List<Long> ids);
+
+    @Query("SELECT new ru.practicum.shareit.booking.dto.BookingIntervalDto(b.item.id, b.start, b.end) " +
+            "FROM Booking b WHERE b.item.id IN (?1) AND CURRENT_TIMESTAMP < b.start ORDER BY b.start ASC")
+    List<BookingIntervalDto> findByItemInAndStartAfter(List<Long> ids);
+
+    @Query("SELECT new ru.practicum.shareit.booking.dto.BookingIntervalDto(b.item.id, b.start, b.end) " +
+            "FROM Booking b WHERE b.item.id IN :itemIds AND b.status IN :statuses ORDER BY b.item.id, b.start")
+    List<BookingIntervalDto> findIntervalsByItemIdIn(@Param("itemIds") Collection<Long> itemIds,
+                                                     @Param("statuses") Collection<Status> statuses);
+
+    @Query("SELECT new ru.practicum.shareit.booking.dto.BookingStateCountsDto(COUNT(b), " +
+            "COUNT(CASE WHEN CURRENT_TIMESTAMP BETWEEN b.start AND b.end THEN 1 END), " +
+            "COUNT(CASE WHEN CURRENT_TIMESTAMP > b.end THEN 1 END), " +
+            "COUNT(CASE WHEN CURRENT_TIMESTAMP < b.start THEN 1 END), " +
+            "COUNT(CASE WHEN b.status = 'WAITING' THEN 1 END), " +
+            "COUNT(CASE WHEN b.status = 'REJECTED' THEN 1 END)) " +
+            "FROM Booking b " + JOIN_LIVE_ITEM_AND_BOOKER + "WHERE u.id = ?1")
+    BookingStateCountsDto countStatesByBookerId(Long bookerId);
+
+    @Query("SELECT new ru.practicum.shareit.booking.dto.BookingStateCountsDto(COUNT(b), " +
+            "COUNT(CASE WHEN CURRENT_TIMESTAMP BETWEEN b.start AND b.end THEN 1 END), " +
+            "COUNT(CASE WHEN CURRENT_TIMESTAMP > b.end THEN 1 END), " +
+            "COUNT(CASE WHEN CURRENT_TIMESTAMP < b.start THEN 1 END), " +
+            "COUNT(CASE WHEN b.status = 'WAITING' THEN 1 END), " +
+            "COUNT(CASE WHEN b.status = 'REJECTED' THEN 1 END)) " +
+            "FROM Booking b " + JOIN_LIVE_ITEM_AND_BOOKER + "WHERE b.ownerId = ?1")
+    BookingStateCountsDto countStatesByOwnerId(Long ownerId);
+
+    @Query("SELECT new ru.practicum.shareit.booking.dto.BookingIntervalDto(i.id, b.start, b.end) " +
+            "FROM Booking b " + JOIN_LIVE_ITEM_AND_BOOKER + "WHERE u.id = ?1 AND b.end >= CURRENT_TIMESTAMP")
+    List<BookingIntervalDto> findUnfinishedIntervalsByBookerId(Long bookerId);
+
+    @Query("SELECT new ru.practicum.shareit.booking.dto.BookingIntervalDto(i.id, b.start, b.end) " +
+            "FROM Booking b " + JOIN_LIVE_ITEM_AND_BOOKER + "WHERE b.ownerId = ?1 AND b.end >= CURRENT_TIMESTAMP")
+    List<BookingIntervalDto> findUnfinishedIntervalsByOwnerId(Long ownerId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "DELETE FROM bookings WHERE id IN (SELECT id FROM bookings WHERE booker_id = ?1 LIMIT ?2)",
+            nativeQuery = true)
+    int deleteBatchByBookerId(Long bookerId, int limit);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "DELETE FROM bookings WHERE id IN (SELECT id FROM bookings WHERE owner_id = ?1 LIMIT ?2)",
+            nativeQuery = true)
+    int deleteBatchByOwnerId(Long ownerId, int limit);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "DELETE FROM bookings WHERE id IN (SELECT id FROM bookings WHERE item_id = ?1 LIMIT ?2)",
+            nativeQuery = true)
+    int deleteBatchByItemId(Long itemId, int limit);
+
+    /**
+     * Bookings in the given status that started before {@code now}, oldest first,
+     * skipping the ones another transaction holds.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT b FROM Booking b WHERE b.status = ?1 AND b.start < ?2 ORDER BY b.start")
+    List<Booking> findStartedForUpdate(Status status, LocalDateTime now, Pageable pageable);
+
+    @Query("SELECT new ru.practicum.shareit.reminder.dto.ReminderBookingDto(b.id, b.booker.id, b.ownerId, " +
+            "b.item.id, b.start, b.end) FROM Booking b WHERE b.status = ?1 AND b.end > ?2")
+    List<ReminderBookingDto> findReminderBookings(Status status, LocalDateTime endAfter);
+
+    @Query("SELECT b.id FROM Booking b WHERE b.id IN ?1 AND b.status = ?2")
+    List<Long> findIdsByIdInAndStatus(Collection<Long> ids, Status status);
 }
\ No newline at end of file
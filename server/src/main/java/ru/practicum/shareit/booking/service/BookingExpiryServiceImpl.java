@@ -0,0 +1,80 @@
+package ru.practicum.shareit.booking.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.entity.Booking;
+import ru.practicum.shareit.booking.enums.Status;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.outbox.enums.OutboxEventType;
+import ru.practicum.shareit.outbox.service.OutboxService;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Moves WAITING bookings whose start has passed to {@link Status#EXPIRED}, at most
+ * {@code shareit.booking-expiry.batch-size} rows per transaction. Rows are locked with SKIP LOCKED,
+ * so several instances can sweep at once and a booking being approved right now is left for the next run.
+ */
+@Slf4j
+@Service
+public class BookingExpiryServiceImpl implements BookingExpiryService {
+    private final BookingRepository bookingRepository;
+    private final BookingIntervalIndex bookingIntervalIndex;
+    private final BookingStatsCache bookingStatsCache;
+    private final OutboxService outboxService;
+    private final Counter expiredCounter;
+    private final Timer batchTimer;
+    private final int batchSize;
+
+    @Autowired
+    public BookingExpiryServiceImpl(BookingRepository bookingRepository,
+                                    BookingIntervalIndex bookingIntervalIndex,
+                                    BookingStatsCache bookingStatsCache,
+                                    OutboxService outboxService,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${shareit.booking-expiry.batch-size:200}") int batchSize) {
+        this.bookingRepository = bookingRepository;
+        this.bookingIntervalIndex = bookingIntervalIndex;
+        this.bookingStatsCache = bookingStatsCache;
+        this.outboxService = outboxService;
+        this.batchSize = batchSize;
+        this.expiredCounter = Counter.builder("shareit.booking.expiry.expired")
+                .description("WAITING bookings expired because their start has passed")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("shareit.booking.expiry.batch")
+                .description("Time spent in one expiry batch")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Expires one batch of stale bookings.
+     *
+     * @return true when the batch was full and more bookings may be waiting
+     */
+    @Override
+    @Transactional
+    public boolean expireNextBatch() {
+        return batchTimer.record(() -> {
+            List<Booking> bookings = bookingRepository.findStartedForUpdate(Status.WAITING, LocalDateTime.now(),
+                    PageRequest.ofSize(batchSize));
+            for (Booking booking : bookings) {
+                booking.setStatus(Status.EXPIRED);
+                bookingIntervalIndex.invalidate(booking.getItem().getId());
+                bookingStatsCache.changed(booking, Status.WAITING, booking.getStart(), booking.getEnd());
+                outboxService.publish(OutboxEventType.BOOKING_EXPIRED, booking.getId(), null);
+            }
+            bookingRepository.saveAll(bookings);
+            expiredCounter.increment(bookings.size());
+            if (!bookings.isEmpty()) log.debug("Expired {} waiting bookings", bookings.size());
+            return bookings.size() == batchSize;
+        });
+    }
+}
\ No newline at end of file
@@ -0,0 +1,37 @@
+package ru.practicum.shareit.booking.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Expires stale WAITING bookings, at most {@code shareit.booking-expiry.max-batches} batches per run.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "shareit.booking-expiry.enabled", havingValue = "true", matchIfMissing = true)
+public class BookingExpiryWorker {
+    private final BookingExpiryService bookingExpiryService;
+    private final int maxBatches;
+
+    @Autowired
+    public BookingExpiryWorker(BookingExpiryService bookingExpiryService,
+                               @Value("${shareit.booking-expiry.max-batches:10}") int maxBatches) {
+        this.bookingExpiryService = bookingExpiryService;
+        this.maxBatches = maxBatches;
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.booking-expiry.delay:60000}")
+    public void run() {
+        int batches = 0;
+        boolean more = true;
+        while (more && batches < maxBatches) {
+            more = bookingExpiryService.expireNextBatch();
+            batches++;
+        }
+        if (more) log.debug("Booking expiry stopped after {} full batches, rest left for next run", batches);
+    }
+}
\ No newline at end of file
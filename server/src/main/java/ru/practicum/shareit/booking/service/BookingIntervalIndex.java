@@ -0,0 +1,114 @@
+package ru.practicum.shareit.booking.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.dto.BookingIntervalDto;
+import ru.practicum.shareit.booking.enums.Status;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.Collectors;
+
+/**
+ * Bounded LRU cache of {@link BookingIntervals} per item, built from APPROVED and WAITING bookings.
+ * Booking transitions call {@link #invalidate(Long)}; entries are dropped immediately and again after commit,
+ * and a load that raced with an invalidation of the same item is not cached. Races are tracked by epochs of key
+ * stripes, so writes to other items rarely throw a load away.
+ */
+@Slf4j
+@Component
+public class BookingIntervalIndex {
+    public static final List<Status> BLOCKING_STATUSES = List.of(Status.APPROVED, Status.WAITING);
+    private static final int STRIPES = 1024;
+
+    private final BookingRepository bookingRepository;
+    private final Map<Long, BookingIntervals> cache;
+    private final AtomicLongArray epochs = new AtomicLongArray(STRIPES);
+
+    @Autowired
+    public BookingIntervalIndex(BookingRepository bookingRepository,
+                                @Value("${shareit.availability.cache-size:10000}") int maxSize) {
+        this.bookingRepository = bookingRepository;
+        this.cache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, BookingIntervals> eldest) {
+                return size() > maxSize;
+            }
+        });
+    }
+
+    public BookingIntervals get(Long itemId) {
+        return getAll(List.of(itemId)).get(itemId);
+    }
+
+    public Map<Long, BookingIntervals> getAll(Collection<Long> itemIds) {
+        Map<Long, BookingIntervals> result = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long itemId : itemIds) {
+            BookingIntervals intervals = cache.get(itemId);
+            if (intervals == null) {
+                missing.add(itemId);
+            } else {
+                result.put(itemId, intervals);
+            }
+        }
+        if (missing.isEmpty()) return result;
+
+        log.debug("Loading booking intervals for {} items", missing.size());
+        long[] loadEpochs = new long[missing.size()];
+        for (int i = 0; i < missing.size(); i++) {
+            loadEpochs[i] = epochs.get(stripe(missing.get(i)));
+        }
+        Map<Long, List<BookingIntervalDto>> loaded = bookingRepository
+                .findIntervalsByItemIdIn(missing, BLOCKING_STATUSES).stream()
+                .collect(Collectors.groupingBy(BookingIntervalDto::getItemId));
+
+        for (int i = 0; i < missing.size(); i++) {
+            Long itemId = missing.get(i);
+            BookingIntervals intervals = BookingIntervals.of(loaded.getOrDefault(itemId, Collections.emptyList()));
+            result.put(itemId, intervals);
+            if (loadEpochs[i] == epochs.get(stripe(itemId))) cache.put(itemId, intervals);
+        }
+        return result;
+    }
+
+    public void invalidate(Long itemId) {
+        evictNowAndAfterCompletion(() -> {
+            epochs.incrementAndGet(stripe(itemId));
+            cache.remove(itemId);
+        });
+    }
+
+    /**
+     * Drops every cached item, for bulk booking removals that are not tracked per item.
+     */
+    public void invalidateAll() {
+        evictNowAndAfterCompletion(() -> {
+            for (int i = 0; i < STRIPES; i++) {
+                epochs.incrementAndGet(i);
+            }
+            cache.clear();
+        });
+    }
+
+    private void evictNowAndAfterCompletion(Runnable eviction) {
+        eviction.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    eviction.run();
+                }
+            });
+        }
+    }
+
+    private static int stripe(Long itemId) {
+        return Long.hashCode(itemId) & (STRIPES - 1);
+    }
+}
\ No newline at end of file
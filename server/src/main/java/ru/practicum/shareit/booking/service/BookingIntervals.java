@@ -0,0 +1,88 @@
+package ru.practicum.shareit.booking.service;
+
+import ru.practicum.shareit.booking.dto.BookingIntervalDto;
+import ru.practicum.shareit.item.dto.IntervalDto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Booked time of a single item as merged, non-overlapping intervals sorted by start.
+ * Since merged intervals never overlap, the end array is sorted as well and can be binary searched.
+ */
+public final class BookingIntervals {
+    static final BookingIntervals EMPTY = new BookingIntervals(new LocalDateTime[0], new LocalDateTime[0]);
+
+    private final LocalDateTime[] starts;
+    private final LocalDateTime[] ends;
+
+    private BookingIntervals(LocalDateTime[] starts, LocalDateTime[] ends) {
+        this.starts = starts;
+        this.ends = ends;
+    }
+
+    static BookingIntervals of(List<BookingIntervalDto> sortedByStart) {
+        if (sortedByStart.isEmpty()) return EMPTY;
+
+        LocalDateTime[] starts = new LocalDateTime[sortedByStart.size()];
+        LocalDateTime[] ends = new LocalDateTime[sortedByStart.size()];
+        int size = 0;
+        for (BookingIntervalDto interval : sortedByStart) {
+            if (size > 0 && !interval.getStart().isAfter(ends[size - 1])) {
+                if (interval.getEnd().isAfter(ends[size - 1])) ends[size - 1] = interval.getEnd();
+            } else {
+                starts[size] = interval.getStart();
+                ends[size] = interval.getEnd();
+                size++;
+            }
+        }
+        return new BookingIntervals(Arrays.copyOf(starts, size), Arrays.copyOf(ends, size));
+    }
+
+    public int size() {
+        return starts.length;
+    }
+
+    public List<IntervalDto> booked(LocalDateTime from, LocalDateTime to) {
+        List<IntervalDto> booked = new ArrayList<>();
+        for (int i = firstEndingAfter(from); i < starts.length && starts[i].isBefore(to); i++) {
+            booked.add(new IntervalDto(max(starts[i], from), min(ends[i], to)));
+        }
+        return booked;
+    }
+
+    public List<IntervalDto> free(LocalDateTime from, LocalDateTime to) {
+        List<IntervalDto> free = new ArrayList<>();
+        LocalDateTime cursor = from;
+        for (IntervalDto interval : booked(from, to)) {
+            if (interval.getStart().isAfter(cursor)) free.add(new IntervalDto(cursor, interval.getStart()));
+            cursor = interval.getEnd();
+        }
+        if (cursor.isBefore(to)) free.add(new IntervalDto(cursor, to));
+        return free;
+    }
+
+    private int firstEndingAfter(LocalDateTime from) {
+        int low = 0;
+        int high = ends.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (ends[mid].isAfter(from)) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+
+    private static LocalDateTime max(LocalDateTime a, LocalDateTime b) {
+        return a.isAfter(b) ? a : b;
+    }
+
+    private static LocalDateTime min(LocalDateTime a, LocalDateTime b) {
+        return a.isBefore(b) ? a : b;
+    }
+}
\ No newline at end of file
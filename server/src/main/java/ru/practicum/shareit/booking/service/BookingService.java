@@ -3,8 +3,10 @@ package ru.practicum.shareit.booking.service;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingUpdateDto;
+import ru.practicum.shareit.booking.enums.State;
 
 import java.util.Collection;
+import java.util.Map;
 
 public interface BookingService {
     BookingDto saveBooking(Long bookerId, BookingCreateDto bookingDto);
@@ -19,5 +21,9 @@ public interface BookingService {
 
     Collection<BookingDto> findAllBookingsByOwnerAndState(Long ownerId, String state);
 
+    Map<State, Long> countBookingsByUser(Long userId, boolean cached);
+
+    Map<State, Long> countBookingsByOwner(Long ownerId, boolean cached);
+
     BookingDto approveBooking(Long bookingId, Long userId, Boolean approved);
 }
\ No newline at end of file
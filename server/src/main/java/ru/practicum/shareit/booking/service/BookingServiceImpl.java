@@ -16,24 +16,38 @@ import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.common.CommonChecker;
 import ru.practicum.shareit.exception.*;
 import ru.practicum.shareit.item.entity.Item;
+import ru.practicum.shareit.outbox.enums.OutboxEventType;
+import ru.practicum.shareit.outbox.service.OutboxService;
+import ru.practicum.shareit.reminder.service.ReminderScheduler;
 import ru.practicum.shareit.user.entity.User;
 
 import java.time.LocalDateTime;
 import java.util.Collection;
-import java.util.Comparator;
-import java.util.stream.Collectors;
+import java.util.Map;
 
 @Slf4j
 @Service
 public class BookingServiceImpl extends CommonChecker implements BookingService {
     private BookingRepository bookingRepository;
     private BookingMapper mapper;
+    private BookingIntervalIndex bookingIntervalIndex;
+    private BookingStatsCache bookingStatsCache;
+    private ReminderScheduler reminderScheduler;
+    private OutboxService outboxService;
 
     @Autowired
     public BookingServiceImpl(BookingRepository bookingRepository,
-                              BookingMapper mapper) {
+                              BookingMapper mapper,
+                              BookingIntervalIndex bookingIntervalIndex,
+                              BookingStatsCache bookingStatsCache,
+                              ReminderScheduler reminderScheduler,
+                              OutboxService outboxService) {
         this.bookingRepository = bookingRepository;
         this.mapper = mapper;
+        this.bookingIntervalIndex = bookingIntervalIndex;
+        this.bookingStatsCache = bookingStatsCache;
+        this.reminderScheduler = reminderScheduler;
+        this.outboxService = outboxService;
     }
 
     @Override
@@ -50,9 +64,14 @@ public class BookingServiceImpl extends CommonChecker implements BookingService
 
         Booking booking = mapper.toBooking(bookingDto, item, user);
         bookingRepository.save(booking);
+        bookingIntervalIndex.invalidate(item.getId());
+        bookingStatsCache.created(booking);
+        reminderScheduler.bookingChanged(booking);
 
+        BookingDto dto = mapper.toDto(booking);
+        outboxService.publish(OutboxEventType.BOOKING_CREATED, booking.getId(), dto);
         log.debug("Saving successful!");
-        return mapper.toDto(booking);
+        return dto;
     }
 
     @Override
@@ -68,6 +87,10 @@ public class BookingServiceImpl extends CommonChecker implements BookingService
             throw new BookingAccessException("Booker can update booking only");
         }
 
+        Status oldStatus = updBooking.getStatus();
+        LocalDateTime oldStart = updBooking.getStart();
+        LocalDateTime oldEnd = updBooking.getEnd();
+
         // статус
         if (bookingUpdateDto.getStatus() != null) {
             if ((updBooking.getStatus() == Status.WAITING || updBooking.getStatus() == Status.APPROVED) &&
@@ -91,8 +114,14 @@ public class BookingServiceImpl extends CommonChecker implements BookingService
         }
 
         bookingRepository.save(updBooking);
+        bookingIntervalIndex.invalidate(updBooking.getItem().getId());
+        bookingStatsCache.changed(updBooking, oldStatus, oldStart, oldEnd);
+        reminderScheduler.bookingChanged(updBooking);
+
+        BookingDto dto = mapper.toDto(updBooking);
+        outboxService.publish(OutboxEventType.BOOKING_UPDATED, updBooking.getId(), dto);
         log.debug("Updating successful! Booking id: {}", updBooking.getId());
-        return mapper.toDto(updBooking);
+        return dto;
     }
 
     @Override
@@ -105,6 +134,10 @@ public class BookingServiceImpl extends CommonChecker implements BookingService
 
         if (isBooker) {
             bookingRepository.delete(booking);
+            bookingIntervalIndex.invalidate(booking.getItem().getId());
+            bookingStatsCache.deleted(booking);
+            reminderScheduler.bookingDeleted(booking.getId());
+            outboxService.publish(OutboxEventType.BOOKING_DELETED, booking.getId(), null);
             log.debug("Deleting successful!");
         } else {
             log.debug("Check permissions. User is not a booker");
@@ -136,7 +169,7 @@ public class BookingServiceImpl extends CommonChecker implements BookingService
 
         State currState = State.valueOf(state);
         User user = checkUserAndReturn(userId);
-        Collection<Booking> bookings;
+        Collection<BookingDto> bookings;
 
         switch (currState) {
             case ALL -> bookings = bookingRepository.findAllByBookerId(userId);
@@ -148,10 +181,7 @@ public class BookingServiceImpl extends CommonChecker implements BookingService
             default -> throw new NoSuchStateException("Incorrect state");
         }
 
-        return bookings.stream()
-                .map(mapper::toDto)
-                .sorted(Comparator.comparing(BookingDto::getStart))
-                .collect(Collectors.toList());
+        return bookings;
     }
 
     @Override
@@ -161,7 +191,7 @@ public class BookingServiceImpl extends CommonChecker implements BookingService
 
         State currState = State.valueOf(state);
         User user = checkUserAndReturn(ownerId);
-        Collection<Booking> bookings;
+        Collection<BookingDto> bookings;
 
         switch (currState) {
             case ALL -> bookings = bookingRepository.findAllByOwnerId(ownerId);
@@ -173,10 +203,29 @@ public class BookingServiceImpl extends CommonChecker implements BookingService
             default -> throw new NoSuchStateException("Incorrect state");
         }
 
-        return bookings.stream()
-                .map(mapper::toDto)
-                .sorted(Comparator.comparing(BookingDto::getStart))
-                .collect(Collectors.toList());
+        return bookings;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<State, Long> countBookingsByUser(Long userId, boolean cached) {
+        log.debug("Count bookings of user request received. User id: {}, cached: {}", userId, cached);
+
+        checkUserAndReturn(userId);
+        return cached
+                ? bookingStatsCache.getBookerStats(userId)
+                : bookingRepository.countStatesByBookerId(userId).toMap();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<State, Long> countBookingsByOwner(Long ownerId, boolean cached) {
+        log.debug("Count bookings of owner request received. Owner id: {}, cached: {}", ownerId, cached);
+
+        checkUserAndReturn(ownerId);
+        return cached
+                ? bookingStatsCache.getOwnerStats(ownerId)
+                : bookingRepository.countStatesByOwnerId(ownerId).toMap();
     }
 
     @Override
@@ -196,8 +245,14 @@ public class BookingServiceImpl extends CommonChecker implements BookingService
 
         booking.setStatus(approved ? Status.APPROVED : Status.REJECTED);
         bookingRepository.save(booking);
-
-        return mapper.toDto(booking);
+        bookingIntervalIndex.invalidate(item.getId());
+        bookingStatsCache.changed(booking, Status.WAITING, booking.getStart(), booking.getEnd());
+        reminderScheduler.bookingChanged(booking);
+
+        BookingDto dto = mapper.toDto(booking);
+        outboxService.publish(approved ? OutboxEventType.BOOKING_APPROVED : OutboxEventType.BOOKING_REJECTED,
+                booking.getId(), dto);
+        return dto;
     }
 
 
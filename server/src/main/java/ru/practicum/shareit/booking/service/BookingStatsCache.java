@@ -0,0 +1,259 @@
+package ru.practicum.shareit.booking.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.dto.BookingIntervalDto;
+import ru.practicum.shareit.booking.dto.BookingStateCountsDto;
+import ru.practicum.shareit.booking.entity.Booking;
+import ru.practicum.shareit.booking.enums.State;
+import ru.practicum.shareit.booking.enums.Status;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Per-user booking state counters for the cached stats mode.
+ * Counters are seeded from the grouped count query and then kept up to date by booking transitions
+ * (applied after commit). Time-based states move forward lazily on read: every unfinished booking keeps
+ * its pending start/end moments, which are drained as the clock passes them.
+ * A seed is only kept when no write of that user was in flight from before the query until the seed is stored,
+ * so a transition is never both in the seed and applied on top of it. Counters are re-seeded after
+ * {@code shareit.booking-stats.ttl}, which also bounds how long writes made on other server instances stay unseen.
+ */
+@Slf4j
+@Component
+public class BookingStatsCache {
+    private final BookingRepository bookingRepository;
+    private final CounterSet bookerCounters;
+    private final CounterSet ownerCounters;
+
+    @Autowired
+    public BookingStatsCache(BookingRepository bookingRepository,
+                             @Value("${shareit.booking-stats.cache-size:10000}") int maxSize,
+                             @Value("${shareit.booking-stats.ttl:PT5M}") Duration ttl) {
+        this.bookingRepository = bookingRepository;
+        this.bookerCounters = new CounterSet(maxSize, ttl.toNanos());
+        this.ownerCounters = new CounterSet(maxSize, ttl.toNanos());
+    }
+
+    public Map<State, Long> getBookerStats(Long bookerId) {
+        return bookerCounters.get(bookerId, () -> {
+            log.debug("Loading booking counters of booker {}", bookerId);
+            return Counters.of(bookingRepository.countStatesByBookerId(bookerId),
+                    bookingRepository.findUnfinishedIntervalsByBookerId(bookerId));
+        }).snapshot(LocalDateTime.now());
+    }
+
+    public Map<State, Long> getOwnerStats(Long ownerId) {
+        return ownerCounters.get(ownerId, () -> {
+            log.debug("Loading booking counters of owner {}", ownerId);
+            return Counters.of(bookingRepository.countStatesByOwnerId(ownerId),
+                    bookingRepository.findUnfinishedIntervalsByOwnerId(ownerId));
+        }).snapshot(LocalDateTime.now());
+    }
+
+    public void created(Booking booking) {
+        apply(booking, null, null, null, false, true);
+    }
+
+    public void changed(Booking booking, Status oldStatus, LocalDateTime oldStart, LocalDateTime oldEnd) {
+        apply(booking, oldStatus, oldStart, oldEnd, true, true);
+    }
+
+    public void deleted(Booking booking) {
+        apply(booking, booking.getStatus(), booking.getStart(), booking.getEnd(), true, false);
+    }
+
+    /**
+     * Drops all counters. Used when bookings disappear through cascades (user or item deletion).
+     */
+    public void clear() {
+        afterCompletion(committed -> {
+            bookerCounters.clear();
+            ownerCounters.clear();
+        });
+    }
+
+    private void apply(Booking booking, Status oldStatus, LocalDateTime oldStart, LocalDateTime oldEnd,
+                       boolean removeOld, boolean addNew) {
+        Long bookerId = booking.getBooker().getId();
+        Long ownerId = booking.getItem().getOwner().getId();
+        Status status = booking.getStatus();
+        LocalDateTime start = booking.getStart();
+        LocalDateTime end = booking.getEnd();
+        Consumer<Counters> delta = counters -> {
+            LocalDateTime now = LocalDateTime.now();
+            if (removeOld) counters.add(oldStatus, oldStart, oldEnd, -1, now);
+            if (addNew) counters.add(status, start, end, 1, now);
+        };
+
+        bookerCounters.begin(bookerId);
+        ownerCounters.begin(ownerId);
+        afterCompletion(committed -> {
+            bookerCounters.complete(bookerId, committed ? delta : null);
+            ownerCounters.complete(ownerId, committed ? delta : null);
+        });
+    }
+
+    private static void afterCompletion(Consumer<Boolean> action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    action.accept(status == STATUS_COMMITTED);
+                }
+            });
+        } else {
+            action.accept(true);
+        }
+    }
+
+    /**
+     * Counters of one side (bookers or owners) with the writes in flight and the seeds being loaded per user.
+     */
+    private static final class CounterSet {
+        private final Map<Long, Cached> counters;
+        private final Map<Long, Integer> writesInFlight = new HashMap<>();
+        private final Map<Long, List<Seed>> seeds = new HashMap<>();
+        private final long ttlNanos;
+
+        CounterSet(int maxSize, long ttlNanos) {
+            this.ttlNanos = ttlNanos;
+            this.counters = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, Cached> eldest) {
+                    return size() > maxSize;
+                }
+            };
+        }
+
+        Counters get(Long id, Supplier<Counters> loader) {
+            Seed seed = new Seed();
+            synchronized (this) {
+                Cached cached = counters.get(id);
+                if (cached != null && System.nanoTime() - cached.seededAt < ttlNanos) return cached.counters;
+                counters.remove(id);
+                seed.overlapped = writesInFlight.containsKey(id);
+                seeds.computeIfAbsent(id, key -> new ArrayList<>()).add(seed);
+            }
+            Counters loaded;
+            try {
+                loaded = loader.get();
+            } finally {
+                synchronized (this) {
+                    List<Seed> pending = seeds.get(id);
+                    pending.remove(seed);
+                    if (pending.isEmpty()) seeds.remove(id);
+                }
+            }
+            synchronized (this) {
+                if (!seed.overlapped && !writesInFlight.containsKey(id) && !counters.containsKey(id)) {
+                    counters.put(id, new Cached(loaded, System.nanoTime()));
+                }
+            }
+            return loaded;
+        }
+
+        synchronized void begin(Long id) {
+            writesInFlight.merge(id, 1, Integer::sum);
+            seeds.getOrDefault(id, List.of()).forEach(seed -> seed.overlapped = true);
+        }
+
+        /**
+         * @param delta change to apply to cached counters, {@code null} when the write rolled back
+         */
+        synchronized void complete(Long id, Consumer<Counters> delta) {
+            writesInFlight.merge(id, -1, (a, b) -> a + b == 0 ? null : a + b);
+            seeds.getOrDefault(id, List.of()).forEach(seed -> seed.overlapped = true);
+            Cached cached = counters.get(id);
+            if (cached != null && delta != null) delta.accept(cached.counters);
+        }
+
+        synchronized void clear() {
+            counters.clear();
+            seeds.values().forEach(pending -> pending.forEach(seed -> seed.overlapped = true));
+        }
+    }
+
+    private record Cached(Counters counters, long seededAt) {
+    }
+
+    private static final class Seed {
+        private boolean overlapped;
+    }
+
+    static final class Counters {
+        private long all;
+        private long current;
+        private long past;
+        private long future;
+        private long waiting;
+        private long rejected;
+        private final TreeMap<LocalDateTime, Integer> pendingStarts = new TreeMap<>();
+        private final TreeMap<LocalDateTime, Integer> pendingEnds = new TreeMap<>();
+
+        static Counters of(BookingStateCountsDto counts, List<BookingIntervalDto> unfinished) {
+            LocalDateTime now = LocalDateTime.now();
+            Counters counters = new Counters();
+            counters.all = counts.getAll();
+            counters.waiting = counts.getWaiting();
+            counters.rejected = counts.getRejected();
+            counters.past = counts.getAll() - unfinished.size();
+            for (BookingIntervalDto interval : unfinished) {
+                counters.addTime(interval.getStart(), interval.getEnd(), 1, now);
+            }
+            return counters;
+        }
+
+        synchronized Map<State, Long> snapshot(LocalDateTime now) {
+            advance(now);
+            return new BookingStateCountsDto(all, current, past, future, waiting, rejected).toMap();
+        }
+
+        synchronized void add(Status status, LocalDateTime start, LocalDateTime end, int sign, LocalDateTime now) {
+            advance(now);
+            all += sign;
+            if (status == Status.WAITING) waiting += sign;
+            if (status == Status.REJECTED) rejected += sign;
+            addTime(start, end, sign, now);
+        }
+
+        private void addTime(LocalDateTime start, LocalDateTime end, int sign, LocalDateTime now) {
+            if (now.isBefore(start)) {
+                future += sign;
+                adjust(pendingStarts, start, sign);
+                adjust(pendingEnds, end, sign);
+            } else if (!now.isAfter(end)) {
+                current += sign;
+                adjust(pendingEnds, end, sign);
+            } else {
+                past += sign;
+            }
+        }
+
+        private void advance(LocalDateTime now) {
+            while (!pendingStarts.isEmpty() && !pendingStarts.firstKey().isAfter(now)) {
+                int started = pendingStarts.pollFirstEntry().getValue();
+                future -= started;
+                current += started;
+            }
+            while (!pendingEnds.isEmpty() && pendingEnds.firstKey().isBefore(now)) {
+                int ended = pendingEnds.pollFirstEntry().getValue();
+                current -= ended;
+                past += ended;
+            }
+        }
+
+        private static void adjust(TreeMap<LocalDateTime, Integer> moments, LocalDateTime moment, int sign) {
+            moments.merge(moment, sign, (a, b) -> a + b == 0 ? null : a + b);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,80 @@
+package ru.practicum.shareit.common;
+
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import ru.practicum.shareit.exception.UnknownFieldException;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Fields asked for through the {@code fields} parameter of list endpoints, e.g. {@code fields=id,name,comments}.
+ * Services skip the lookups behind fields that are left out, {@link #apply} drops them from the response.
+ * The {@code id} is always kept.
+ */
+public final class FieldSet {
+    public static final String FILTER = "fields";
+    public static final FieldSet ALL = new FieldSet(Set.of());
+
+    private final Set<String> fields;
+
+    private FieldSet(Set<String> fields) {
+        this.fields = fields;
+    }
+
+    /**
+     * Parses a comma separated field list of the given DTO. A missing or blank list means all fields.
+     */
+    public static FieldSet of(String fields, Class<?> dto) {
+        if (fields == null || fields.isBlank()) {
+            return ALL;
+        }
+        Set<String> known = new LinkedHashSet<>();
+        for (Field field : dto.getDeclaredFields()) {
+            if (!Modifier.isStatic(field.getModifiers())) {
+                known.add(field.getName());
+            }
+        }
+        Set<String> requested = new LinkedHashSet<>();
+        requested.add("id");
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (!known.contains(name)) {
+                throw new UnknownFieldException("Unknown field: " + name + ", expected any of " + known);
+            }
+            requested.add(name);
+        }
+        return new FieldSet(Set.copyOf(requested));
+    }
+
+    public boolean includes(String field) {
+        return fields.isEmpty() || fields.contains(field);
+    }
+
+    /**
+     * Wraps a response body so that the serializer writes only the requested fields.
+     */
+    public MappingJacksonValue apply(Object body) {
+        MappingJacksonValue value = new MappingJacksonValue(body);
+        if (!fields.isEmpty()) {
+            value.setFilters(new SimpleFilterProvider()
+                    .addFilter(FILTER, SimpleBeanPropertyFilter.filterOutAllExcept(fields)));
+        }
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        return fields.isEmpty() ? "all" : String.join(",", fields);
+    }
+
+    static SimpleFilterProvider allFields() {
+        return new SimpleFilterProvider().setDefaultFilter(SimpleBeanPropertyFilter.serializeAll());
+    }
+}
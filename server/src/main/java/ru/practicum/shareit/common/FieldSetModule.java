@@ -0,0 +1,21 @@
+package ru.practicum.shareit.common;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import org.springframework.stereotype.Component;
+
+/**
+ * Lets DTOs marked with {@code @JsonFilter(FieldSet.FILTER)} serialize in full when no field set is applied.
+ * A module rather than a plain config so every Boot built mapper picks it up, test slices included.
+ */
+@Component
+public class FieldSetModule extends SimpleModule {
+    @Override
+    public void setupModule(SetupContext context) {
+        super.setupModule(context);
+        ObjectMapper mapper = context.getOwner();
+        if (mapper.getSerializationConfig().getFilterProvider() == null) {
+            mapper.setFilterProvider(FieldSet.allFields());
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package ru.practicum.shareit.common;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Page starting at any row offset rather than a multiple of its size, for the {@code from}/{@code size}
+ * parameters: {@code from=5&size=10} reads rows 5 to 14.
+ */
+public final class OffsetPageRequest extends PageRequest {
+    private final long offset;
+
+    private OffsetPageRequest(long offset, int size) {
+        super((int) (offset / size), size, Sort.unsorted());
+        this.offset = offset;
+    }
+
+    public static OffsetPageRequest ofOffset(long offset, int size) {
+        if (offset < 0) throw new IllegalArgumentException("Offset must not be negative");
+        if (size < 1) throw new IllegalArgumentException("Size must be positive");
+        return new OffsetPageRequest(offset, size);
+    }
+
+    @Override
+    public long getOffset() {
+        return offset;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof OffsetPageRequest page && super.equals(page) && offset == page.offset;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * super.hashCode() + Long.hashCode(offset);
+    }
+}
@@ -0,0 +1,64 @@
+package ru.practicum.shareit.common;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.sql.init.dependency.DependsOnDatabaseInitialization;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * One-off backfills of columns added to existing tables. {@code schema.sql} runs on every start and has to stay
+ * valid for both PostgreSQL and H2, so it only adds the columns; the backfill and the {@code NOT NULL} constraint
+ * run here, once, while the catalog still reports the column as nullable.
+ */
+@Slf4j
+@Component
+@DependsOnDatabaseInitialization
+public class SchemaMigrations implements InitializingBean {
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Autowired
+    public SchemaMigrations(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        migrate();
+    }
+
+    public void migrate() {
+        backfillNotNull("bookings", "owner_id",
+                "UPDATE bookings SET owner_id = (SELECT i.owner_id FROM items i WHERE i.id = bookings.item_id) " +
+                        "WHERE owner_id IS NULL");
+        backfillNotNull("items", "comment_count",
+                "UPDATE items SET comment_count = (SELECT COUNT(*) FROM comments c WHERE c.item_id = items.id) " +
+                        "WHERE comment_count IS NULL",
+                "ALTER TABLE items ALTER COLUMN comment_count SET DEFAULT 0");
+    }
+
+    private void backfillNotNull(String table, String column, String... statements) {
+        if (!isNullable(table, column)) return;
+        log.info("Backfilling {}.{}", table, column);
+        transactionTemplate.executeWithoutResult(status -> {
+            for (String statement : statements) {
+                jdbcTemplate.execute(statement);
+            }
+            jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN " + column + " SET NOT NULL");
+        });
+    }
+
+    private boolean isNullable(String table, String column) {
+        List<String> nullable = jdbcTemplate.queryForList("SELECT is_nullable FROM information_schema.columns " +
+                        "WHERE table_schema = current_schema AND LOWER(table_name) = ? AND LOWER(column_name) = ?",
+                String.class, table, column);
+        return nullable.contains("YES");
+    }
+}
@@ -0,0 +1,203 @@
+package ru.practicum.shareit.dataset;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.enums.Status;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fills an empty schema with a synthetic dataset for benchmarks, run as
+ * {@code java -jar shareit-server.jar --spring.profiles.active=dataset --shareit.dataset.bookings=5000000}.
+ * Rows get explicit ids and go in as chunked JDBC batches, one transaction per chunk; the identity columns are
+ * moved past the loaded ids at the end; on Postgres add {@code reWriteBatchedInserts=true} to the JDBC URL so
+ * the driver sends each chunk as multi-row inserts. Every table draws from its own random seeded from
+ * {@code shareit.dataset.seed}, so the same settings always give the same rows.
+ * Booking intervals of one item may overlap.
+ */
+@Slf4j
+@Component
+@Profile("dataset")
+@EnableConfigurationProperties(DatasetProperties.class)
+public class DatasetGenerator implements ApplicationRunner {
+    private static final List<String> TABLES = List.of("users", "requests", "items", "bookings", "comments");
+    private static final List<String> NAMES = List.of("Anna", "Boris", "Daria", "Egor", "Irina", "Kirill", "Maria",
+            "Nikita", "Olga", "Pavel", "Sofia", "Timur");
+    private static final List<String> THINGS = List.of("drill", "ladder", "tent", "bike", "kayak", "camera",
+            "projector", "saw", "grill", "speaker", "boat", "guitar", "sander", "trailer", "telescope", "drone");
+    private static final List<String> ADJECTIVES = List.of("cordless", "folding", "compact", "heavy-duty", "vintage",
+            "electric", "waterproof", "portable");
+    private static final List<String> REMARKS = List.of("Worked perfectly", "A bit worn but fine",
+            "Owner was very helpful", "Battery did not last long", "Would rent again", "Exactly as described");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final DatasetProperties properties;
+
+    @Autowired
+    public DatasetGenerator(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                            DatasetProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        generate();
+    }
+
+    public void generate() {
+        if (properties.getUsers() <= properties.getOwners()) {
+            throw new IllegalArgumentException("Dataset needs more users than owners");
+        }
+        for (String table : TABLES) {
+            Long rows = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+            if (rows != null && rows > 0) {
+                throw new IllegalStateException("Table " + table + " already has " + rows + " rows, "
+                        + "the dataset is generated into an empty schema");
+            }
+        }
+        LocalDateTime anchor = properties.getAnchor() != null ? properties.getAnchor()
+                : LocalDate.now().atStartOfDay();
+        long started = System.nanoTime();
+
+        loadUsers();
+        loadRequests(anchor);
+        int[] itemOwners = loadItems();
+        loadBookings(anchor, itemOwners);
+        loadComments(anchor);
+        for (String table : TABLES) {
+            Long next = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) + 1 FROM " + table, Long.class);
+            jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN id RESTART WITH " + next);
+        }
+        log.info("Generated dataset with seed {} in {} s", properties.getSeed(),
+                TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - started));
+    }
+
+    private void loadUsers() {
+        Random random = random("users");
+        load("users", "INSERT INTO users (id, name, email, deleted) VALUES (?, ?, ?, FALSE)",
+                properties.getUsers(), id -> new Object[]{id, pick(NAMES, random) + " " + id,
+                        "user" + id + "@dataset.shareit.ru"});
+    }
+
+    private void loadRequests(LocalDateTime anchor) {
+        Random random = random("requests");
+        load("requests", "INSERT INTO requests (id, description, requestor_id, created) VALUES (?, ?, ?, ?)",
+                properties.getRequests(), id -> new Object[]{id,
+                        "Looking for a " + pick(ADJECTIVES, random) + " " + pick(THINGS, random),
+                        member(random), past(anchor, random)});
+    }
+
+    /**
+     * Returns the owner of every item, indexed by item id.
+     */
+    private int[] loadItems() {
+        Random random = random("items");
+        ZipfSampler fleets = new ZipfSampler(properties.getOwners(), properties.getOwnerSkew());
+        int[] owners = new int[properties.getItems() + 1];
+        load("items", "INSERT INTO items (id, name, description, available, owner_id, request_id, deleted, "
+                + "comment_count) VALUES (?, ?, ?, ?, ?, ?, FALSE, 0)", properties.getItems(), id -> {
+                    String thing = pick(ADJECTIVES, random) + " " + pick(THINGS, random);
+                    owners[(int) id] = fleets.sample(random) + 1;
+                    Long request = properties.getRequests() > 0 && random.nextDouble() < properties.getRequestShare()
+                            ? (long) random.nextInt(properties.getRequests()) + 1 : null;
+                    return new Object[]{id, thing, "A " + thing + " for rent", random.nextDouble() < 0.9,
+                            owners[(int) id], request};
+                });
+        return owners;
+    }
+
+    private void loadBookings(LocalDateTime anchor, int[] itemOwners) {
+        Random random = random("bookings");
+        ZipfSampler popularity = new ZipfSampler(properties.getItems(), properties.getItemSkew());
+        long hours = (long) (properties.getPastDays() + properties.getFutureDays()) * 24;
+        load("bookings", "INSERT INTO bookings (id, booking_start, booking_end, item_id, booker_id, owner_id, "
+                + "status) VALUES (?, ?, ?, ?, ?, ?, ?)", properties.getBookings(), id -> {
+                    int item = popularity.sample(random) + 1;
+                    LocalDateTime start = anchor.minusDays(properties.getPastDays())
+                            .plusHours((long) (random.nextDouble() * hours));
+                    return new Object[]{id, Timestamp.valueOf(start),
+                            Timestamp.valueOf(start.plusHours(1 + random.nextInt(72))), item, member(random),
+                            itemOwners[item], status(start.isAfter(anchor), random).name()};
+                });
+    }
+
+    private void loadComments(LocalDateTime anchor) {
+        Random random = random("comments");
+        ZipfSampler threads = new ZipfSampler(properties.getItems(), properties.getCommentSkew());
+        long[] counts = new long[properties.getItems() + 1];
+        load("comments", "INSERT INTO comments (id, text, item_id, author_id, created) VALUES (?, ?, ?, ?, ?)",
+                properties.getComments(), id -> {
+                    int item = threads.sample(random) + 1;
+                    counts[item]++;
+                    return new Object[]{id, pick(REMARKS, random), item, member(random), past(anchor, random)};
+                });
+        List<Object[]> updates = new ArrayList<>();
+        for (int item = 1; item < counts.length; item++) {
+            if (counts[item] > 0) updates.add(new Object[]{counts[item], item});
+        }
+        transactionTemplate.executeWithoutResult(status ->
+                jdbcTemplate.batchUpdate("UPDATE items SET comment_count = ? WHERE id = ?", updates));
+    }
+
+    private void load(String table, String sql, long rows, Row row) {
+        long started = System.nanoTime();
+        for (long first = 1; first <= rows; first += properties.getBatchSize()) {
+            long last = Math.min(rows, first + properties.getBatchSize() - 1);
+            List<Object[]> chunk = new ArrayList<>((int) (last - first + 1));
+            for (long id = first; id <= last; id++) {
+                chunk.add(row.values(id));
+            }
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(sql, chunk));
+        }
+        long millis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        log.info("Loaded {} {} in {} ms ({} rows/s)", rows, table, millis, rows * 1000 / millis);
+    }
+
+    private Random random(String table) {
+        return new Random(properties.getSeed() * 31 + table.hashCode());
+    }
+
+    /**
+     * A user who owns nothing.
+     */
+    private long member(Random random) {
+        return properties.getOwners() + 1 + random.nextInt(properties.getUsers() - properties.getOwners());
+    }
+
+    private Timestamp past(LocalDateTime anchor, Random random) {
+        return Timestamp.valueOf(anchor.minusMinutes(1 + random.nextInt(properties.getPastDays() * 24 * 60)));
+    }
+
+    private static Status status(boolean future, Random random) {
+        double roll = random.nextDouble();
+        if (future) return roll < 0.3 ? Status.WAITING : Status.APPROVED;
+        if (roll < 0.8) return Status.APPROVED;
+        if (roll < 0.9) return Status.REJECTED;
+        return roll < 0.96 ? Status.CANCELLED : Status.EXPIRED;
+    }
+
+    private static String pick(List<String> values, Random random) {
+        return values.get(random.nextInt(values.size()));
+    }
+
+    private interface Row {
+        Object[] values(long id);
+    }
+}
@@ -0,0 +1,40 @@
+package ru.practicum.shareit.dataset;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.LocalDateTime;
+
+@Data
+@ConfigurationProperties(prefix = "shareit.dataset")
+public class DatasetProperties {
+    private long seed = 42;
+    private int users = 100_000;
+    /**
+     * The first users own all items; the rest book, comment and post requests.
+     */
+    private int owners = 2_000;
+    private int items = 200_000;
+    private int requests = 20_000;
+    private long bookings = 2_000_000;
+    private long comments = 500_000;
+    /**
+     * Zipf exponents: how strongly items concentrate on the largest fleets, bookings on the most popular
+     * items and comments on the longest threads.
+     */
+    private double ownerSkew = 1.2;
+    private double itemSkew = 1.0;
+    private double commentSkew = 1.2;
+    /**
+     * Share of items created in answer to a request.
+     */
+    private double requestShare = 0.05;
+    private int pastDays = 730;
+    private int futureDays = 90;
+    /**
+     * Moment the booking timeline is placed around, start of today by default. Set it to get the same rows
+     * on another day.
+     */
+    private LocalDateTime anchor;
+    private int batchSize = 5_000;
+}
@@ -0,0 +1,28 @@
+package ru.practicum.shareit.dataset;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Ranks {@code 0..size-1} drawn with probability proportional to {@code 1 / (rank + 1)^exponent}.
+ */
+final class ZipfSampler {
+    private final double[] cumulative;
+
+    ZipfSampler(int size, double exponent) {
+        cumulative = new double[size];
+        double total = 0;
+        for (int i = 0; i < size; i++) {
+            total += 1 / Math.pow(i + 1, exponent);
+            cumulative[i] = total;
+        }
+        for (int i = 0; i < size; i++) {
+            cumulative[i] /= total;
+        }
+    }
+
+    int sample(Random random) {
+        int found = Arrays.binarySearch(cumulative, random.nextDouble());
+        return found >= 0 ? found : Math.min(-found - 1, cumulative.length - 1);
+    }
+}
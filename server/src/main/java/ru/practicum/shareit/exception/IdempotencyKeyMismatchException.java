@@ -0,0 +1,7 @@
+package ru.practicum.shareit.exception;
+
+public class IdempotencyKeyMismatchException extends RuntimeException {
+    public IdempotencyKeyMismatchException(final String msg) {
+        super(msg);
+    }
+}
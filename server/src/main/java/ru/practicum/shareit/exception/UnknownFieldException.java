@@ -0,0 +1,7 @@
+package ru.practicum.shareit.exception;
+
+public class UnknownFieldException extends RuntimeException {
+    public UnknownFieldException(final String msg) {
+        super(msg);
+    }
+}
@@ -0,0 +1,44 @@
+package ru.practicum.shareit.idempotency.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import ru.practicum.shareit.idempotency.enums.IdempotentOperation;
+
+import java.time.LocalDateTime;
+
+/**
+ * Response of a create request sent with an {@code Idempotency-Key}, kept until {@code expiresAt}.
+ */
+@Data
+@Entity
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "idempotency_keys",
+        uniqueConstraints = @UniqueConstraint(name = "uk_idempotency_key",
+                columnNames = {"user_id", "operation", "idempotency_key"}),
+        indexes = @Index(name = "idx_idempotency_keys_expires_at", columnList = "expires_at"))
+public class IdempotencyRecord {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+    @Enumerated(EnumType.STRING)
+    @Column(name = "operation", nullable = false, length = 30)
+    private IdempotentOperation operation;
+    @Column(name = "idempotency_key", nullable = false, length = 100)
+    private String key;
+    @Column(name = "request_hash", nullable = false, length = 64)
+    private String requestHash;
+    @Column(name = "response", nullable = false, length = 10000)
+    private String response;
+    @Column(name = "created", nullable = false)
+    private LocalDateTime created;
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+}
@@ -0,0 +1,7 @@
+package ru.practicum.shareit.idempotency.enums;
+
+public enum IdempotentOperation {
+    CREATE_BOOKING,
+    CREATE_ITEM,
+    CREATE_REQUEST
+}
@@ -0,0 +1,28 @@
+package ru.practicum.shareit.idempotency.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.idempotency.entity.IdempotencyRecord;
+import ru.practicum.shareit.idempotency.enums.IdempotentOperation;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, Long> {
+    Optional<IdempotencyRecord> findByUserIdAndOperationAndKey(Long userId, IdempotentOperation operation,
+                                                               String key);
+
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r " +
+            "WHERE r.userId = :userId AND r.operation = :operation AND r.key = :key AND r.expiresAt <= :now")
+    int deleteExpired(@Param("userId") Long userId,
+                      @Param("operation") IdempotentOperation operation,
+                      @Param("key") String key,
+                      @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.expiresAt <= :now")
+    int deleteAllExpired(@Param("now") LocalDateTime now);
+}
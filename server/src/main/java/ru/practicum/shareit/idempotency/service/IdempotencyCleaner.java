@@ -0,0 +1,28 @@
+package ru.practicum.shareit.idempotency.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Removes idempotency keys past their TTL.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "shareit.idempotency.cleanup.enabled", havingValue = "true", matchIfMissing = true)
+public class IdempotencyCleaner {
+    private final IdempotencyService idempotencyService;
+
+    @Autowired
+    public IdempotencyCleaner(IdempotencyService idempotencyService) {
+        this.idempotencyService = idempotencyService;
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.idempotency.cleanup.delay:60000}")
+    public void run() {
+        int removed = idempotencyService.removeExpired();
+        if (removed > 0) log.debug("Removed {} expired idempotency keys", removed);
+    }
+}
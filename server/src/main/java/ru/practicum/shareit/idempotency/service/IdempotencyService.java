@@ -0,0 +1,19 @@
+package ru.practicum.shareit.idempotency.service;
+
+import ru.practicum.shareit.idempotency.enums.IdempotentOperation;
+
+import java.util.function.Supplier;
+
+public interface IdempotencyService {
+    /**
+     * Runs {@code action} once per key: repeats with the same key and request get the stored response back,
+     * concurrent repeats wait for the first one. Without a key the action simply runs.
+     */
+    <T> T execute(String key, Long userId, IdempotentOperation operation, Object request, Class<T> responseType,
+                  Supplier<T> action);
+
+    /**
+     * @return number of expired keys removed
+     */
+    int removeExpired();
+}
@@ -0,0 +1,187 @@
+package ru.practicum.shareit.idempotency.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.exception.IdempotencyKeyException;
+import ru.practicum.shareit.exception.IdempotencyKeyMismatchException;
+import ru.practicum.shareit.idempotency.entity.IdempotencyRecord;
+import ru.practicum.shareit.idempotency.enums.IdempotentOperation;
+import ru.practicum.shareit.idempotency.repository.IdempotencyRecordRepository;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Idempotency keys stored in {@code idempotency_keys} for {@code shareit.idempotency.ttl}, with the most recent
+ * ones cached in memory. The key is saved in the same transaction as the created entity, so both exist or
+ * neither does. Repeats of a key are serialized by a striped lock within this instance; across instances the
+ * unique constraint makes the later transaction roll back, after which it replays the committed response.
+ */
+@Slf4j
+@Service
+public class IdempotencyServiceImpl implements IdempotencyService {
+    private static final int MAX_KEY_LENGTH = 100;
+    private static final int LOCK_STRIPES = 256;
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+    private final Map<String, IdempotencyRecord> cache;
+    private final ReentrantLock[] locks = new ReentrantLock[LOCK_STRIPES];
+    private final Counter replayedCounter;
+
+    @Autowired
+    public IdempotencyServiceImpl(IdempotencyRecordRepository idempotencyRecordRepository,
+                                  PlatformTransactionManager transactionManager,
+                                  ObjectMapper objectMapper,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${shareit.idempotency.ttl:P1D}") Duration ttl,
+                                  @Value("${shareit.idempotency.cache-size:10000}") int cacheSize) {
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.ttl = ttl;
+        this.cache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, IdempotencyRecord> eldest) {
+                return size() > cacheSize;
+            }
+        });
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        this.replayedCounter = Counter.builder("shareit.idempotency.replayed")
+                .description("Create requests answered from a stored idempotency key")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public <T> T execute(String key, Long userId, IdempotentOperation operation, Object request,
+                         Class<T> responseType, Supplier<T> action) {
+        if (key == null) return action.get();
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new IdempotencyKeyException("Idempotency-Key must be 1 to " + MAX_KEY_LENGTH + " characters");
+        }
+        String cacheKey = operation + ":" + userId + ":" + key;
+        String requestHash = hash(request);
+
+        ReentrantLock lock = locks[Math.floorMod(cacheKey.hashCode(), LOCK_STRIPES)];
+        lock.lock();
+        try {
+            IdempotencyRecord stored = findLive(cacheKey, userId, operation, key);
+            if (stored != null) return replay(stored, requestHash, responseType);
+            try {
+                return transactionTemplate.execute(status -> {
+                    LocalDateTime now = LocalDateTime.now();
+                    idempotencyRecordRepository.deleteExpired(userId, operation, key, now);
+                    T response = action.get();
+                    IdempotencyRecord record = idempotencyRecordRepository.saveAndFlush(IdempotencyRecord.builder()
+                            .userId(userId)
+                            .operation(operation)
+                            .key(key)
+                            .requestHash(requestHash)
+                            .response(toJson(response))
+                            .created(now)
+                            .expiresAt(now.plus(ttl))
+                            .build());
+                    afterCommit(() -> cache.put(cacheKey, record));
+                    return response;
+                });
+            } catch (DataIntegrityViolationException e) {
+                log.debug("Idempotency key {} of user {} was stored concurrently, replaying it", key, userId);
+                stored = idempotencyRecordRepository.findByUserIdAndOperationAndKey(userId, operation, key)
+                        .orElseThrow(() -> e);
+                cache.put(cacheKey, stored);
+                return replay(stored, requestHash, responseType);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int removeExpired() {
+        Integer removed = transactionTemplate.execute(status ->
+                idempotencyRecordRepository.deleteAllExpired(LocalDateTime.now()));
+        return removed == null ? 0 : removed;
+    }
+
+    private IdempotencyRecord findLive(String cacheKey, Long userId, IdempotentOperation operation, String key) {
+        LocalDateTime now = LocalDateTime.now();
+        IdempotencyRecord record = cache.get(cacheKey);
+        if (record == null) {
+            record = idempotencyRecordRepository.findByUserIdAndOperationAndKey(userId, operation, key)
+                    .orElse(null);
+            if (record == null) return null;
+            cache.put(cacheKey, record);
+        }
+        if (record.getExpiresAt().isAfter(now)) return record;
+        cache.remove(cacheKey);
+        return null;
+    }
+
+    private <T> T replay(IdempotencyRecord record, String requestHash, Class<T> responseType) {
+        if (!record.getRequestHash().equals(requestHash)) {
+            throw new IdempotencyKeyMismatchException("Idempotency-Key " + record.getKey()
+                    + " was already used with a different request");
+        }
+        log.debug("Replaying {} response for idempotency key {}", record.getOperation(), record.getKey());
+        replayedCounter.increment();
+        try {
+            return objectMapper.readValue(record.getResponse(), responseType);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Stored response of idempotency key " + record.getKey()
+                    + " cannot be read", e);
+        }
+    }
+
+    private String hash(Object request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(objectMapper.writeValueAsBytes(request)));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Request cannot be hashed", e);
+        }
+    }
+
+    private String toJson(Object response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Response cannot be stored", e);
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
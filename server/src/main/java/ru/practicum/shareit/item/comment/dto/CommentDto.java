@@ -3,6 +3,7 @@ package ru.practicum.shareit.item.comment.dto;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
@@ -11,6 +12,7 @@ import java.time.LocalDateTime;
 
 @Data
 @Builder
+@AllArgsConstructor
 @EqualsAndHashCode(of = {"id"})
 public class CommentDto {
     @Positive(message = "ID must be positive number")
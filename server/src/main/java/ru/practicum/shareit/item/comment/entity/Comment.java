@@ -15,7 +15,11 @@ import java.time.LocalDateTime;
 @Builder
 @AllArgsConstructor
 @NoArgsConstructor
-@Table(name = "comments")
+@Table(name = "comments", indexes = {
+        @Index(name = "idx_comments_item_id", columnList = "item_id"),
+        @Index(name = "idx_comments_item_created_id", columnList = "item_id, created, id"),
+        @Index(name = "idx_comments_author_id", columnList = "author_id")
+})
 public class Comment {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
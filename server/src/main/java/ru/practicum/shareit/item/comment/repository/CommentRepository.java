@@ -1,16 +1,57 @@
 package ru.practicum.shareit.item.comment.repository;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.item.comment.dto.CommentDto;
 import ru.practicum.shareit.item.comment.entity.Comment;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
-    @Query("SELECT c FROM Comment c WHERE c.item.id = :itemId")
-    List<Comment> findAllByItemId(@Param("itemId") Long itemId);
+    String SELECT_COMMENT_DTO = "SELECT new ru.practicum.shareit.item.comment.dto.CommentDto(c.id, c.text, " +
+            "c.item.id, a.name, c.created) FROM Comment c JOIN c.author a ";
 
-    @Query("SELECT c FROM Comment c WHERE c.item.id IN :ids")
-    List<Comment> findAllCommentsByItemIn(List<Long> ids);
+    @Query(SELECT_COMMENT_DTO + "WHERE c.item.id = :itemId ORDER BY c.created DESC, c.id DESC")
+    List<CommentDto> findPageByItemId(@Param("itemId") Long itemId, Pageable pageable);
+
+    @Query(SELECT_COMMENT_DTO + "WHERE c.item.id = :itemId " +
+            "AND (c.created < :created OR (c.created = :created AND c.id < :id)) " +
+            "ORDER BY c.created DESC, c.id DESC")
+    List<CommentDto> findPageByItemIdBefore(@Param("itemId") Long itemId,
+                                            @Param("created") LocalDateTime created,
+                                            @Param("id") Long id,
+                                            Pageable pageable);
+
+    /**
+     * Up to {@code limit} newest comments of every item, ranked per item so no item loads its whole history.
+     */
+    @Query(SELECT_COMMENT_DTO + "WHERE c.id IN (SELECT r.id FROM (SELECT n.id AS id, ROW_NUMBER() OVER " +
+            "(PARTITION BY n.item.id ORDER BY n.created DESC, n.id DESC) AS pos FROM Comment n " +
+            "WHERE n.item.id IN :ids) r WHERE r.pos <= :limit) " +
+            "ORDER BY c.created DESC, c.id DESC")
+    List<CommentDto> findLatestByItemIdIn(@Param("ids") Collection<Long> ids, @Param("limit") int limit);
+
+    @Query(value = "SELECT item_id FROM comments WHERE author_id = ?1 ORDER BY id LIMIT ?2", nativeQuery = true)
+    List<Long> findItemIdsOfBatchByAuthorId(Long authorId, int limit);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "DELETE FROM comments WHERE id IN " +
+            "(SELECT id FROM comments WHERE author_id = ?1 ORDER BY id LIMIT ?2)",
+            nativeQuery = true)
+    int deleteBatchByAuthorId(Long authorId, int limit);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "DELETE FROM comments WHERE id IN (SELECT id FROM comments WHERE item_id = ?1 LIMIT ?2)",
+            nativeQuery = true)
+    int deleteBatchByItemId(Long itemId, int limit);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "DELETE FROM comments WHERE id IN (SELECT c.id FROM comments c JOIN items i ON i.id = c.item_id " +
+            "WHERE i.owner_id = ?1 LIMIT ?2)", nativeQuery = true)
+    int deleteBatchByItemOwnerId(Long ownerId, int limit);
 }
\ No newline at end of file
@@ -1,37 +1,54 @@
 package ru.practicum.shareit.item.controller;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.common.FieldSet;
 import ru.practicum.shareit.item.comment.dto.CommentCreateDto;
 import ru.practicum.shareit.item.comment.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemCreateDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemExpandedDto;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.idempotency.enums.IdempotentOperation;
+import ru.practicum.shareit.idempotency.service.IdempotencyService;
 
+import java.time.LocalDateTime;
 import java.util.Collection;
 
 @Slf4j
 @RestController
 @RequestMapping("/items")
 public class ItemController {
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final ItemService service;
+    private final IdempotencyService idempotencyService;
 
     @Autowired
-    public ItemController(ItemService service) {
+    public ItemController(ItemService service, IdempotencyService idempotencyService) {
         this.service = service;
+        this.idempotencyService = idempotencyService;
     }
 
     @PostMapping
     public ResponseEntity<ItemDto> create(
             @RequestHeader("X-Sharer-User-Id") Long ownerId,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
             @Valid @RequestBody ItemCreateDto item) {
         log.info("Received POST request to create item");
-        ItemDto createdItem = service.saveItem(ownerId, item);
+        ItemDto createdItem = idempotencyService.execute(idempotencyKey, ownerId,
+                IdempotentOperation.CREATE_ITEM, item, ItemDto.class,
+                () -> service.saveItem(ownerId, item));
         return ResponseEntity.status(HttpStatus.CREATED).body(createdItem);
     }
 
@@ -62,11 +79,13 @@ public class ItemController {
     }
 
     @GetMapping
-    public ResponseEntity<Collection<ItemExpandedDto>> findAllByOwner(
-            @RequestHeader("X-Sharer-User-Id") Long ownerId) {
+    public ResponseEntity<MappingJacksonValue> findAllByOwner(
+            @RequestHeader("X-Sharer-User-Id") Long ownerId,
+            @RequestParam(name = "fields", required = false) String fields) {
         log.info("GET request received. Get all items by owner. Owner id: {}", ownerId);
-        Collection<ItemExpandedDto> items = service.findAllByOwner(ownerId);
-        return ResponseEntity.ok(items);
+        FieldSet fieldSet = FieldSet.of(fields, ItemExpandedDto.class);
+        Collection<ItemExpandedDto> items = service.findAllByOwner(ownerId, fieldSet);
+        return ResponseEntity.ok(fieldSet.apply(items));
     }
 
     @GetMapping("/by-request/{requestId}")
@@ -77,12 +96,53 @@ public class ItemController {
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Collection<ItemDto>> searchItems(@RequestParam String text) {
-        log.info("GET request received. Search items by text: {}", text);
-        Collection<ItemDto> items = service.search(text);
+    public ResponseEntity<Collection<ItemDto>> searchItems(
+            @RequestParam String text,
+            @RequestParam(name = "start", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+            @RequestParam(name = "end", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end,
+            @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
+            @Positive @Max(MAX_PAGE_SIZE) @RequestParam(name = "size", defaultValue = "10") Integer size) {
+        log.info("GET request received. Search items by text: {}, start: {}, end: {}", text, start, end);
+        Collection<ItemDto> items = start != null && end != null
+                ? service.searchFreeBetween(text, start, end, from, size)
+                : service.search(text);
         return ResponseEntity.ok(items);
     }
 
+    @GetMapping("/{itemId}/availability")
+    public ResponseEntity<ItemAvailabilityDto> findAvailability(
+            @PathVariable Long itemId,
+            @RequestParam(name = "from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(name = "to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        log.info("GET request received. Item availability. Item id: {}, from: {}, to: {}", itemId, from, to);
+        ItemAvailabilityDto availability = service.findAvailability(itemId, from, to);
+        return ResponseEntity.ok(availability);
+    }
+
+    @GetMapping("/availability")
+    public ResponseEntity<Collection<ItemAvailabilityDto>> findAvailabilityByOwner(
+            @RequestHeader("X-Sharer-User-Id") Long ownerId,
+            @RequestParam(name = "from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(name = "to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        log.info("GET request received. Owner items availability. Owner id: {}, from: {}, to: {}", ownerId, from, to);
+        Collection<ItemAvailabilityDto> availability = service.findAvailabilityByOwner(ownerId, from, to);
+        return ResponseEntity.ok(availability);
+    }
+
+    @GetMapping("/{itemId}/comments")
+    public ResponseEntity<Collection<CommentDto>> findComments(
+            @PathVariable Long itemId,
+            @Positive @Max(MAX_PAGE_SIZE) @RequestParam(name = "size", defaultValue = "10") Integer size,
+            @RequestParam(name = "cursorCreated", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime cursorCreated,
+            @RequestParam(name = "cursorId", required = false) Long cursorId) {
+        log.info("GET request received. Item comments. Item id: {}, cursor: {}/{}", itemId, cursorCreated, cursorId);
+        Collection<CommentDto> comments = service.findComments(itemId, cursorCreated, cursorId, size);
+        return ResponseEntity.ok(comments);
+    }
+
     @PostMapping("/{itemId}/comment")
     public ResponseEntity<CommentDto> addComment(
             @PathVariable Long itemId,
@@ -1,14 +1,17 @@
 package ru.practicum.shareit.item.dto;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
 import lombok.Builder;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
+import ru.practicum.shareit.common.FieldSet;
 import ru.practicum.shareit.item.comment.dto.CommentDto;
 
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Data
+@JsonFilter(FieldSet.FILTER)
 @Builder
 @EqualsAndHashCode(of = {"id"})
 public class ItemExpandedDto {
@@ -19,6 +22,7 @@ public class ItemExpandedDto {
     private LocalDateTime lastBooking;
     private LocalDateTime nextBooking;
     private List<CommentDto> comments;
+    private Long commentCount;
     private Long ownerId;
     private Long requestId;
 }
\ No newline at end of file
@@ -1,6 +1,8 @@
 package ru.practicum.shareit.item.entity;
 
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.SoftDelete;
 import ru.practicum.shareit.request.entity.Request;
 import ru.practicum.shareit.user.entity.User;
 
@@ -11,7 +13,12 @@ import jakarta.persistence.*;
 @Entity
 @AllArgsConstructor
 @NoArgsConstructor
-@Table(name = "items")
+@Table(name = "items", indexes = {
+        @Index(name = "idx_items_request_id", columnList = "request_id"),
+        @Index(name = "idx_items_owner_id", columnList = "owner_id")
+})
+// marked deleted by PurgeService, the row itself stays until its dependents are purged
+@SoftDelete
 public class Item {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -28,4 +35,8 @@ public class Item {
     @ManyToOne
     @JoinColumn(name = "request_id")
     private Request request;
+    // maintained by ItemRepository updates only, never written through the entity
+    @ColumnDefault("0")
+    @Column(name = "comment_count", nullable = false, insertable = false, updatable = false)
+    private Long commentCount;
 }
\ No newline at end of file
@@ -1,9 +1,7 @@
 package ru.practicum.shareit.item.mapper;
 
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
-import ru.practicum.shareit.item.comment.entity.Comment;
-import ru.practicum.shareit.item.comment.mapper.CommentMapper;
+import ru.practicum.shareit.item.comment.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemCreateDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemExpandedDto;
@@ -18,13 +16,6 @@ import java.util.stream.Collectors;
 
 @Component
 public class ItemMapper {
-    CommentMapper commentMapper;
-
-    @Autowired
-    public ItemMapper(CommentMapper commentMapper) {
-        this.commentMapper = commentMapper;
-    }
-
     public ItemDto toDto(Item item) {
         return item == null ? null : ItemDto.builder()
                 .id(item.getId())
@@ -36,8 +27,9 @@ public class ItemMapper {
                 .build();
     }
 
-    public ItemExpandedDto toExpandedDto(Item item,
-                                         List<Comment> comments,
+    public ItemExpandedDto toExpandedDto(ItemDto item,
+                                         List<CommentDto> comments,
+                                         Long commentCount,
                                          Optional<LocalDateTime> lastBooking,
                                          Optional<LocalDateTime> nextBooking) {
         return item == null ? null : ItemExpandedDto.builder()
@@ -47,19 +39,21 @@ public class ItemMapper {
                 .available(item.getAvailable())
                 .lastBooking(lastBooking.orElse(null))
                 .nextBooking(nextBooking.orElse(null))
-                .comments(comments.stream().map(commentMapper::toDto).collect(Collectors.toList()))
+                .comments(comments)
+                .commentCount(commentCount)
                 .build();
     }
 
     public ItemExpandedDto toExpandedDto(Item item,
-                                         List<Comment> comments) {
+                                         List<CommentDto> comments) {
         if (item == null) return null;
         ItemExpandedDto itemExpandedDto = ItemExpandedDto.builder()
                 .id(item.getId())
                 .name(item.getName())
                 .description(item.getDescription())
                 .available(item.getAvailable())
-                .comments(comments.stream().map(comment -> commentMapper.toDto(comment)).collect(Collectors.toList()))
+                .comments(comments)
+                .commentCount(item.getCommentCount())
                 .ownerId(item.getOwner().getId())
                 .build();
 
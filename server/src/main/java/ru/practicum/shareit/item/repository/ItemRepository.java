@@ -1,21 +1,78 @@
 package ru.practicum.shareit.item.repository;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.booking.enums.Status;
+import ru.practicum.shareit.item.dto.ItemCommentCountDto;
+import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.entity.Item;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
-    List<Item> findAllByOwnerId(Long ownerId);
+    String SELECT_ITEM_DTO = "SELECT new ru.practicum.shareit.item.dto.ItemDto(i.id, i.name, i.description, " +
+            "i.available, i.owner.id, i.request.id) FROM Item i ";
+
+    @Query(SELECT_ITEM_DTO + "WHERE i.owner.id = ?1 ORDER BY i.id")
+    List<ItemDto> findAllByOwnerId(Long ownerId);
+
+    @Query("SELECT i.id FROM Item i WHERE i.owner.id = ?1 ORDER BY i.id")
+    List<Long> findIdsByOwnerId(Long ownerId);
 
     @Query("SELECT i FROM Item i WHERE (UPPER(i.name) LIKE UPPER(CONCAT('%', ?1, '%')) OR UPPER(i.description) " +
             "LIKE UPPER(CONCAT('%', ?1, '%'))) AND i.available = true")
     List<Item> search(String text);
 
+    @Query("SELECT i FROM Item i JOIN FETCH i.owner LEFT JOIN FETCH i.request " +
+            "WHERE (UPPER(i.name) LIKE UPPER(CONCAT('%', :text, '%')) OR UPPER(i.description) " +
+            "LIKE UPPER(CONCAT('%', :text, '%'))) AND i.available = true " +
+            "AND NOT EXISTS (SELECT b.id FROM Booking b WHERE b.item.id = i.id AND b.status IN :statuses " +
+            "AND b.start < :end AND b.end > :start) " +
+            "ORDER BY i.id")
+    List<Item> searchFreeBetween(@Param("text") String text,
+                                 @Param("start") LocalDateTime start,
+                                 @Param("end") LocalDateTime end,
+                                 @Param("statuses") Collection<Status> statuses,
+                                 Pageable pageable);
+
     @Query("SELECT i FROM Item i WHERE i.request.id = :requestId")
     List<Item> findByRequestId(@Param("requestId") Long requestId);
 
-    List<Item> findByRequestIdIn(List<Long> ids);
+    @Query(SELECT_ITEM_DTO + "WHERE i.request.id IN :requestIds")
+    List<ItemDto> findByRequestIdIn(@Param("requestIds") List<Long> requestIds);
+
+    @Query("SELECT new ru.practicum.shareit.item.dto.ItemCommentCountDto(i.id, i.commentCount) " +
+            "FROM Item i WHERE i.id IN :ids")
+    List<ItemCommentCountDto> findCommentCounts(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query(value = "UPDATE items SET comment_count = comment_count + 1 WHERE id = ?1", nativeQuery = true)
+    int incrementCommentCount(Long itemId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE items SET comment_count = (SELECT COUNT(*) FROM comments c WHERE c.item_id = items.id) " +
+            "WHERE id IN ?1", nativeQuery = true)
+    int recountComments(Collection<Long> itemIds);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE items SET deleted = TRUE WHERE id = ?1 AND deleted = FALSE", nativeQuery = true)
+    int markDeleted(Long itemId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE items SET deleted = TRUE WHERE owner_id = ?1 AND deleted = FALSE", nativeQuery = true)
+    int markDeletedByOwnerId(Long ownerId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "DELETE FROM items WHERE id IN (SELECT id FROM items WHERE owner_id = ?1 LIMIT ?2)",
+            nativeQuery = true)
+    int deleteBatchByOwnerId(Long ownerId, int limit);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "DELETE FROM items WHERE id = ?1 AND deleted = TRUE", nativeQuery = true)
+    int purge(Long itemId);
 }
\ No newline at end of file
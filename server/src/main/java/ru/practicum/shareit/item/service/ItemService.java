@@ -1,12 +1,16 @@
 package ru.practicum.shareit.item.service;
 
+import ru.practicum.shareit.common.FieldSet;
 import ru.practicum.shareit.item.comment.dto.CommentCreateDto;
 import ru.practicum.shareit.item.comment.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemCreateDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemExpandedDto;
 
+import java.time.LocalDateTime;
 import java.util.Collection;
+import java.util.List;
 
 public interface ItemService {
     ItemDto saveItem(Long ownerId, ItemCreateDto itemDto);
@@ -17,11 +21,20 @@ public interface ItemService {
 
     ItemExpandedDto findItem(Long itemId);
 
-    Collection<ItemExpandedDto> findAllByOwner(Long ownerId);
+    Collection<ItemExpandedDto> findAllByOwner(Long ownerId, FieldSet fields);
 
     Collection<ItemExpandedDto> findAllByRequestId(Long requestId);
 
     Collection<ItemDto> search(String text);
 
+    Collection<ItemDto> searchFreeBetween(String text, LocalDateTime start, LocalDateTime end,
+                                          Integer from, Integer size);
+
+    ItemAvailabilityDto findAvailability(Long itemId, LocalDateTime from, LocalDateTime to);
+
+    Collection<ItemAvailabilityDto> findAvailabilityByOwner(Long ownerId, LocalDateTime from, LocalDateTime to);
+
     CommentDto addComment(Long itemId, Long userId, CommentCreateDto commentDto);
+
+    List<CommentDto> findComments(Long itemId, LocalDateTime cursorCreated, Long cursorId, Integer size);
 }
\ No newline at end of file
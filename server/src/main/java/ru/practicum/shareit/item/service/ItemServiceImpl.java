@@ -1,11 +1,17 @@
 package ru.practicum.shareit.item.service;
 
+import jakarta.validation.ValidationException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.common.CommonChecker;
-import ru.practicum.shareit.booking.entity.Booking;
+import ru.practicum.shareit.common.FieldSet;
+import ru.practicum.shareit.common.OffsetPageRequest;
+import ru.practicum.shareit.booking.dto.BookingIntervalDto;
+import ru.practicum.shareit.booking.service.BookingIntervalIndex;
+import ru.practicum.shareit.booking.service.BookingIntervals;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.exception.CommentIncorrectTimeException;
 import ru.practicum.shareit.exception.ItemAccessException;
@@ -14,12 +20,17 @@ import ru.practicum.shareit.item.comment.dto.CommentDto;
 import ru.practicum.shareit.item.comment.entity.Comment;
 import ru.practicum.shareit.item.comment.mapper.CommentMapper;
 import ru.practicum.shareit.item.comment.repository.CommentRepository;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
+import ru.practicum.shareit.item.dto.ItemCommentCountDto;
 import ru.practicum.shareit.item.dto.ItemCreateDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemExpandedDto;
 import ru.practicum.shareit.item.entity.Item;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.outbox.enums.OutboxEventType;
+import ru.practicum.shareit.outbox.service.OutboxService;
+import ru.practicum.shareit.purge.service.PurgeService;
 import ru.practicum.shareit.request.entity.Request;
 import ru.practicum.shareit.user.entity.User;
 
@@ -33,24 +44,37 @@ import static java.util.stream.Collectors.toList;
 @Slf4j
 @Service
 public class ItemServiceImpl extends CommonChecker implements ItemService {
+    /**
+     * Comments embedded into an expanded item, older ones are paged through {@link #findComments}.
+     */
+    static final int LATEST_COMMENTS = 10;
+
     private ItemRepository itemRepository;
     private BookingRepository bookingRepository;
     private CommentRepository commentRepository;
     private ItemMapper itemMapper;
     private CommentMapper commentMapper;
-
+    private BookingIntervalIndex bookingIntervalIndex;
+    private PurgeService purgeService;
+    private OutboxService outboxService;
 
     @Autowired
     public ItemServiceImpl(ItemRepository itemRepository,
                            BookingRepository bookingRepository,
                            CommentRepository commentRepository,
                            ItemMapper itemMapper,
-                           CommentMapper commentMapper) {
+                           CommentMapper commentMapper,
+                           BookingIntervalIndex bookingIntervalIndex,
+                           PurgeService purgeService,
+                           OutboxService outboxService) {
         this.itemRepository = itemRepository;
         this.bookingRepository = bookingRepository;
         this.commentRepository = commentRepository;
         this.itemMapper = itemMapper;
         this.commentMapper = commentMapper;
+        this.bookingIntervalIndex = bookingIntervalIndex;
+        this.purgeService = purgeService;
+        this.outboxService = outboxService;
     }
 
 
@@ -68,8 +92,10 @@ public class ItemServiceImpl extends CommonChecker implements ItemService {
 
         itemRepository.save(item);
 
+        ItemDto dto = itemMapper.toDto(item);
+        outboxService.publish(OutboxEventType.ITEM_CREATED, item.getId(), dto);
         log.debug("Saving successful!");
-        return itemMapper.toDto(item);
+        return dto;
     }
 
     @Override
@@ -86,8 +112,10 @@ public class ItemServiceImpl extends CommonChecker implements ItemService {
         Item updItem = itemMapper.updateItemFromDto(itemDto, item);
         itemRepository.save(updItem);
 
+        ItemDto dto = itemMapper.toDto(updItem);
+        outboxService.publish(OutboxEventType.ITEM_UPDATED, updItem.getId(), dto);
         log.debug("Updating successful!");
-        return itemMapper.toDto(updItem);
+        return dto;
     }
 
     @Override
@@ -100,9 +128,11 @@ public class ItemServiceImpl extends CommonChecker implements ItemService {
             log.warn("Illegal deleting request");
             throw new ItemAccessException("Only the owner can delete the item");
         }
-        itemRepository.delete(item);
+        purgeService.scheduleItemPurge(itemId);
+        bookingIntervalIndex.invalidate(itemId);
+        outboxService.publish(OutboxEventType.ITEM_DELETED, itemId, null);
 
-        log.debug("Deleting successful!");
+        log.debug("Deleting successful! Item dependents are purged in the background");
         return itemMapper.toDto(item);
     }
 
@@ -113,16 +143,16 @@ public class ItemServiceImpl extends CommonChecker implements ItemService {
 
         Item item = checkItemAndReturn(itemId);
         return itemMapper.toExpandedDto(item,
-                commentRepository.findAllByItemId(itemId));
+                commentRepository.findPageByItemId(itemId, PageRequest.ofSize(LATEST_COMMENTS)));
     }
 
     @Override
     @Transactional(readOnly = true)
-    public Collection<ItemExpandedDto> findAllByOwner(Long ownerId) {
-        log.debug("Get items by owner request received. Owner id: {}", ownerId);
+    public Collection<ItemExpandedDto> findAllByOwner(Long ownerId, FieldSet fields) {
+        log.debug("Get items by owner request received. Owner id: {}, fields: {}", ownerId, fields);
 
-        List<Item> items = itemRepository.findAllByOwnerId(ownerId);
-        return fillItemWithData(items);
+        List<ItemDto> items = itemRepository.findAllByOwnerId(ownerId);
+        return fillItemWithData(items, fields);
     }
 
     @Override
@@ -132,7 +162,7 @@ public class ItemServiceImpl extends CommonChecker implements ItemService {
 
         Request request = checkRequestAndReturn(requestId);
         List<Item> items = itemRepository.findByRequestId(requestId);
-        return fillItemWithData(items);
+        return fillItemWithData(itemMapper.toDtoList(items), FieldSet.ALL);
     }
 
     @Override
@@ -145,6 +175,44 @@ public class ItemServiceImpl extends CommonChecker implements ItemService {
                 .collect(toList());
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Collection<ItemDto> searchFreeBetween(String text, LocalDateTime start, LocalDateTime end,
+                                                 Integer from, Integer size) {
+        log.debug("Search free item request received. Start: {}, end: {}", start, end);
+        checkWindow(start, end);
+
+        return itemRepository.searchFreeBetween(text, start, end, BookingIntervalIndex.BLOCKING_STATUSES,
+                        OffsetPageRequest.ofOffset(from, size)).stream()
+                .map(itemMapper::toDto)
+                .collect(toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ItemAvailabilityDto findAvailability(Long itemId, LocalDateTime from, LocalDateTime to) {
+        log.debug("Get item availability request received. Item id: {}, from: {}, to: {}", itemId, from, to);
+        checkWindow(from, to);
+
+        checkItemAndReturn(itemId);
+        return toAvailabilityDto(itemId, bookingIntervalIndex.get(itemId), from, to);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Collection<ItemAvailabilityDto> findAvailabilityByOwner(Long ownerId, LocalDateTime from, LocalDateTime to) {
+        log.debug("Get owner items availability request received. Owner id: {}, from: {}, to: {}", ownerId, from, to);
+        checkWindow(from, to);
+
+        checkUserAndReturn(ownerId);
+        List<Long> ids = itemRepository.findIdsByOwnerId(ownerId);
+        Map<Long, BookingIntervals> intervals = bookingIntervalIndex.getAll(ids);
+
+        return ids.stream()
+                .map(id -> toAvailabilityDto(id, intervals.get(id), from, to))
+                .collect(toList());
+    }
+
     @Override
     @Transactional
     public CommentDto addComment(Long itemId, Long userId, CommentCreateDto commentCreateDto) {
@@ -164,39 +232,85 @@ public class ItemServiceImpl extends CommonChecker implements ItemService {
 
         Comment comment = commentMapper.toComment(commentCreateDto, item, user);
         commentRepository.save(comment);
+        itemRepository.incrementCommentCount(itemId);
 
         return commentMapper.toDto(comment);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<CommentDto> findComments(Long itemId, LocalDateTime cursorCreated, Long cursorId, Integer size) {
+        log.debug("Get item comments request received. Item id: {}, cursor: {}/{}, size: {}",
+                itemId, cursorCreated, cursorId, size);
+
+        checkItemAndReturn(itemId);
+        if (cursorCreated != null && cursorId != null) {
+            return commentRepository.findPageByItemIdBefore(itemId, cursorCreated, cursorId,
+                    PageRequest.ofSize(size));
+        }
+        return commentRepository.findPageByItemId(itemId, PageRequest.ofSize(size));
+    }
 
-    private List<ItemExpandedDto> fillItemWithData(List<Item> userItems) {
+
+    private List<ItemExpandedDto> fillItemWithData(List<ItemDto> userItems, FieldSet fields) {
         log.debug("Collecting item id list");
         List<Long> ids = userItems.stream()
-                .map(Item::getId)
+                .map(ItemDto::getId)
                 .collect(toList());
 
-        log.debug("Getting last ended bookings");
-        Map<Item, LocalDateTime> lastItemBookingEndDate = bookingRepository
-                .findByItemInAndEndBefore(ids).stream()
-                .collect(Collectors.toMap(Booking::getItem, Booking::getEnd));
-
-        log.debug("Getting next closest bookings");
-        Map<Item, LocalDateTime> nextItemBookingStartDate = bookingRepository
-                .findByItemInAndStartAfter(ids).stream()
-                .collect(Collectors.toMap(Booking::getItem, Booking::getStart));
-
-        log.debug("Getting comments for each item");
-        Map<Item, List<Comment>> itemsWithComments = commentRepository
-                .findAllCommentsByItemIn(ids).stream()
-                .collect(groupingBy(Comment::getItem, toList()));
+        log.debug("Getting last ended bookings, next closest bookings and latest comments, as requested: {}",
+                fields);
+        Map<Long, LocalDateTime> lastItemBookingEndDate = !fields.includes("lastBooking")
+                ? Collections.emptyMap()
+                : bookingRepository.findByItemInAndEndBefore(ids).stream()
+                        .collect(Collectors.toMap(BookingIntervalDto::getItemId, BookingIntervalDto::getEnd,
+                                (last, earlier) -> last));
+
+        Map<Long, LocalDateTime> nextItemBookingStartDate = !fields.includes("nextBooking")
+                ? Collections.emptyMap()
+                : bookingRepository.findByItemInAndStartAfter(ids).stream()
+                        .collect(Collectors.toMap(BookingIntervalDto::getItemId, BookingIntervalDto::getStart,
+                                (next, later) -> next));
+
+        Map<Long, List<CommentDto>> itemsWithComments = !fields.includes("comments")
+                ? Collections.emptyMap()
+                : commentRepository.findLatestByItemIdIn(ids, LATEST_COMMENTS).stream()
+                        .collect(groupingBy(CommentDto::getItemId, toList()));
+
+        Map<Long, Long> commentCounts = !fields.includes("commentCount")
+                ? Collections.emptyMap()
+                : itemRepository.findCommentCounts(ids).stream()
+                        .collect(Collectors.toMap(ItemCommentCountDto::getItemId,
+                                ItemCommentCountDto::getCommentCount));
 
         return userItems.stream()
                 .map(item -> {
-                    Optional<LocalDateTime> lastEndDate = Optional.ofNullable(lastItemBookingEndDate.get(item));
-                    Optional<LocalDateTime> nextStartDate = Optional.ofNullable(nextItemBookingStartDate.get(item));
-                    List<Comment> comments = itemsWithComments.getOrDefault(item, Collections.emptyList());
-                    return itemMapper.toExpandedDto(item, comments, lastEndDate, nextStartDate);
+                    Optional<LocalDateTime> lastEndDate = Optional.ofNullable(lastItemBookingEndDate.get(item.getId()));
+                    Optional<LocalDateTime> nextStartDate =
+                            Optional.ofNullable(nextItemBookingStartDate.get(item.getId()));
+                    List<CommentDto> comments = itemsWithComments.getOrDefault(item.getId(), Collections.emptyList());
+                    return itemMapper.toExpandedDto(item, comments, commentCounts.get(item.getId()),
+                            lastEndDate, nextStartDate);
                 })
                 .collect(toList());
     }
+
+    private ItemAvailabilityDto toAvailabilityDto(Long itemId, BookingIntervals intervals,
+                                                  LocalDateTime from, LocalDateTime to) {
+        return ItemAvailabilityDto.builder()
+                .itemId(itemId)
+                .from(from)
+                .to(to)
+                .booked(intervals.booked(from, to))
+                .free(intervals.free(from, to))
+                .build();
+    }
+
+    private void checkWindow(LocalDateTime from, LocalDateTime to) {
+        if (from == null || to == null || !from.isBefore(to)) {
+            log.warn("Check time window: from - {}, to - {}", from, to);
+            throw new ValidationException(
+                    "Incorrect time window: both bounds are required, from must be earlier than to");
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,50 @@
+package ru.practicum.shareit.outbox.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import ru.practicum.shareit.outbox.enums.AggregateType;
+import ru.practicum.shareit.outbox.enums.OutboxEventType;
+import ru.practicum.shareit.outbox.enums.OutboxStatus;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@Entity
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "outbox_events", indexes = {
+        @Index(name = "idx_outbox_events_status", columnList = "status, id"),
+        @Index(name = "idx_outbox_events_aggregate", columnList = "aggregate_type, aggregate_id, id")
+})
+public class OutboxEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    @Enumerated(EnumType.STRING)
+    @Column(name = "aggregate_type", nullable = false)
+    private AggregateType aggregateType;
+    @Column(name = "aggregate_id", nullable = false)
+    private Long aggregateId;
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false)
+    private OutboxEventType eventType;
+    @Column(name = "payload", length = 10000)
+    private String payload;
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private OutboxStatus status;
+    @Column(name = "attempts", nullable = false)
+    private Integer attempts;
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+    @Column(name = "created", nullable = false)
+    private LocalDateTime created;
+    @Column(name = "next_attempt_at")
+    private LocalDateTime nextAttemptAt;
+    @Column(name = "dispatched_at")
+    private LocalDateTime dispatchedAt;
+}
\ No newline at end of file
@@ -0,0 +1,23 @@
+package ru.practicum.shareit.outbox.enums;
+
+public enum OutboxEventType {
+    BOOKING_CREATED(AggregateType.BOOKING),
+    BOOKING_UPDATED(AggregateType.BOOKING),
+    BOOKING_APPROVED(AggregateType.BOOKING),
+    BOOKING_REJECTED(AggregateType.BOOKING),
+    BOOKING_EXPIRED(AggregateType.BOOKING),
+    BOOKING_DELETED(AggregateType.BOOKING),
+    ITEM_CREATED(AggregateType.ITEM),
+    ITEM_UPDATED(AggregateType.ITEM),
+    ITEM_DELETED(AggregateType.ITEM);
+
+    private final AggregateType aggregateType;
+
+    OutboxEventType(AggregateType aggregateType) {
+        this.aggregateType = aggregateType;
+    }
+
+    public AggregateType getAggregateType() {
+        return aggregateType;
+    }
+}
\ No newline at end of file
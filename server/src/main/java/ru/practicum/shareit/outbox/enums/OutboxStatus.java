@@ -0,0 +1,7 @@
+package ru.practicum.shareit.outbox.enums;
+
+public enum OutboxStatus {
+    PENDING,
+    DISPATCHED,
+    FAILED
+}
\ No newline at end of file
@@ -0,0 +1,39 @@
+package ru.practicum.shareit.outbox.repository;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import ru.practicum.shareit.outbox.entity.OutboxEvent;
+import ru.practicum.shareit.outbox.enums.OutboxStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+    /**
+     * Oldest events in the given status that have no earlier event of the same aggregate in that status and are
+     * due for an attempt, skipping the ones another dispatcher holds. Taking only aggregate heads keeps
+     * per-aggregate order even with several dispatchers; a head waiting out its backoff holds back its aggregate.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT e FROM OutboxEvent e WHERE e.status = ?1 AND (e.nextAttemptAt IS NULL OR e.nextAttemptAt <= ?2) " +
+            "AND NOT EXISTS (SELECT p.id FROM OutboxEvent p WHERE p.status = ?1 " +
+            "AND p.aggregateType = e.aggregateType AND p.aggregateId = e.aggregateId AND p.id < e.id) ORDER BY e.id")
+    List<OutboxEvent> findDueHeadsForUpdate(OutboxStatus status, LocalDateTime now, Pageable pageable);
+
+    long countByStatus(OutboxStatus status);
+
+    @Query("SELECT MIN(e.created) FROM OutboxEvent e WHERE e.status = ?1")
+    LocalDateTime findOldestCreated(OutboxStatus status);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "DELETE FROM outbox_events WHERE id IN (SELECT id FROM outbox_events " +
+            "WHERE status = 'DISPATCHED' AND dispatched_at < ?1 LIMIT ?2)", nativeQuery = true)
+    int deleteDispatchedBefore(LocalDateTime before, int limit);
+}
\ No newline at end of file
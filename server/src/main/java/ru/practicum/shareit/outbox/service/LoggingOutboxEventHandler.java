@@ -0,0 +1,15 @@
+package ru.practicum.shareit.outbox.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.outbox.entity.OutboxEvent;
+
+@Slf4j
+@Component
+public class LoggingOutboxEventHandler implements OutboxEventHandler {
+    @Override
+    public void handle(OutboxEvent event) {
+        log.debug("Outbox event {}: {} of {} {}", event.getId(), event.getEventType(), event.getAggregateType(),
+                event.getAggregateId());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,39 @@
+package ru.practicum.shareit.outbox.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Polls the outbox, at most {@code shareit.outbox.max-batches} batches per run, then trims delivered events.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "shareit.outbox.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxDispatcher {
+    private final OutboxService outboxService;
+    private final int maxBatches;
+
+    @Autowired
+    public OutboxDispatcher(OutboxService outboxService,
+                            @Value("${shareit.outbox.max-batches:50}") int maxBatches) {
+        this.outboxService = outboxService;
+        this.maxBatches = maxBatches;
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.outbox.delay:500}")
+    public void run() {
+        int batches = 0;
+        boolean more = true;
+        while (more && batches < maxBatches) {
+            more = outboxService.dispatchNextBatch();
+            batches++;
+        }
+        if (more) log.debug("Outbox dispatch stopped after {} full batches, rest left for next run", batches);
+        int removed = outboxService.cleanUp();
+        if (removed > 0) log.debug("Removed {} delivered outbox events", removed);
+    }
+}
\ No newline at end of file
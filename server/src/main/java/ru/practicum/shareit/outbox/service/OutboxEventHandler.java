@@ -0,0 +1,17 @@
+package ru.practicum.shareit.outbox.service;
+
+import ru.practicum.shareit.outbox.entity.OutboxEvent;
+
+/**
+ * In-process consumer of outbox events. Every handler bean gets each event it supports at least once,
+ * in order per aggregate. A thrown exception makes the dispatcher retry the event with all handlers,
+ * so handlers have to be idempotent. Handlers run inside the batch transaction; one that must not roll it back
+ * should work in its own ({@code REQUIRES_NEW}).
+ */
+public interface OutboxEventHandler {
+    default boolean supports(OutboxEvent event) {
+        return true;
+    }
+
+    void handle(OutboxEvent event);
+}
\ No newline at end of file
@@ -0,0 +1,12 @@
+package ru.practicum.shareit.outbox.service;
+
+import ru.practicum.shareit.outbox.entity.OutboxEvent;
+import ru.practicum.shareit.outbox.enums.OutboxEventType;
+
+public interface OutboxService {
+    OutboxEvent publish(OutboxEventType eventType, Long aggregateId, Object payload);
+
+    boolean dispatchNextBatch();
+
+    int cleanUp();
+}
\ No newline at end of file
@@ -0,0 +1,179 @@
+package ru.practicum.shareit.outbox.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.outbox.entity.OutboxEvent;
+import ru.practicum.shareit.outbox.enums.OutboxEventType;
+import ru.practicum.shareit.outbox.enums.OutboxStatus;
+import ru.practicum.shareit.outbox.repository.OutboxEventRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Transactional outbox. {@link #publish} stores the event in the caller's transaction, so it exists exactly
+ * when the state change does; {@link OutboxDispatcher} then hands pending events to the {@link OutboxEventHandler}
+ * beans in batches of {@code shareit.outbox.batch-size}, one transaction per batch. A failed event is retried with
+ * exponential backoff from {@code shareit.outbox.backoff.initial} up to {@code shareit.outbox.backoff.max}, holding
+ * back its aggregate meanwhile; once the next attempt would fall later than {@code shareit.outbox.retry-for} after
+ * the event was published it is parked as FAILED and stops blocking its aggregate.
+ */
+@Slf4j
+@Service
+public class OutboxServiceImpl implements OutboxService {
+    private final OutboxEventRepository outboxEventRepository;
+    private final List<OutboxEventHandler> handlers;
+    private final ObjectMapper objectMapper;
+    private final Counter dispatchedCounter;
+    private final Counter failedCounter;
+    private final Timer deliveryLag;
+    private final Timer batchTimer;
+    private final int batchSize;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final Duration retryFor;
+    private final Duration retention;
+
+    @Autowired
+    public OutboxServiceImpl(OutboxEventRepository outboxEventRepository,
+                             List<OutboxEventHandler> handlers,
+                             ObjectMapper objectMapper,
+                             MeterRegistry meterRegistry,
+                             @Value("${shareit.outbox.batch-size:100}") int batchSize,
+                             @Value("${shareit.outbox.backoff.initial:PT1S}") Duration initialBackoff,
+                             @Value("${shareit.outbox.backoff.max:PT10M}") Duration maxBackoff,
+                             @Value("${shareit.outbox.retry-for:P1D}") Duration retryFor,
+                             @Value("${shareit.outbox.retention:P1D}") Duration retention) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.handlers = handlers;
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.retryFor = retryFor;
+        this.retention = retention;
+        this.dispatchedCounter = Counter.builder("shareit.outbox.dispatched")
+                .description("Outbox events delivered to all handlers")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("shareit.outbox.failed")
+                .description("Outbox events parked after too many failed attempts")
+                .register(meterRegistry);
+        this.deliveryLag = Timer.builder("shareit.outbox.delivery.lag")
+                .description("Time from publishing an outbox event to its delivery")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("shareit.outbox.batch")
+                .description("Time spent in one outbox dispatch batch")
+                .register(meterRegistry);
+        Gauge.builder("shareit.outbox.pending", () -> outboxEventRepository.countByStatus(OutboxStatus.PENDING))
+                .description("Outbox events waiting for delivery")
+                .register(meterRegistry);
+        Gauge.builder("shareit.outbox.lag.seconds", this::oldestPendingAge)
+                .description("Age of the oldest undelivered outbox event")
+                .register(meterRegistry);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public OutboxEvent publish(OutboxEventType eventType, Long aggregateId, Object payload) {
+        log.debug("Publishing {} of {} {}", eventType, eventType.getAggregateType(), aggregateId);
+        LocalDateTime now = LocalDateTime.now();
+        return outboxEventRepository.save(OutboxEvent.builder()
+                .aggregateType(eventType.getAggregateType())
+                .aggregateId(aggregateId)
+                .eventType(eventType)
+                .payload(toJson(payload))
+                .status(OutboxStatus.PENDING)
+                .attempts(0)
+                .created(now)
+                .nextAttemptAt(now)
+                .build());
+    }
+
+    /**
+     * Delivers one batch of pending events that are due.
+     *
+     * @return true when the batch was full and more events may be waiting
+     */
+    @Override
+    @Transactional
+    public boolean dispatchNextBatch() {
+        return batchTimer.record(() -> {
+            List<OutboxEvent> events = outboxEventRepository.findDueHeadsForUpdate(OutboxStatus.PENDING,
+                    LocalDateTime.now(), PageRequest.ofSize(batchSize));
+            for (OutboxEvent event : events) {
+                dispatch(event);
+            }
+            return events.size() == batchSize;
+        });
+    }
+
+    /**
+     * Removes one batch of events delivered longer than {@code shareit.outbox.retention} ago.
+     */
+    @Override
+    @Transactional
+    public int cleanUp() {
+        return outboxEventRepository.deleteDispatchedBefore(LocalDateTime.now().minus(retention), batchSize);
+    }
+
+    private void dispatch(OutboxEvent event) {
+        try {
+            for (OutboxEventHandler handler : handlers) {
+                if (handler.supports(event)) handler.handle(event);
+            }
+        } catch (RuntimeException e) {
+            event.setAttempts(event.getAttempts() + 1);
+            event.setLastError(abbreviate(String.valueOf(e.getMessage())));
+            LocalDateTime next = LocalDateTime.now().plus(backoff(event.getAttempts()));
+            if (next.isAfter(event.getCreated().plus(retryFor))) {
+                event.setStatus(OutboxStatus.FAILED);
+                failedCounter.increment();
+                log.warn("Outbox event {} parked after {} attempts", event.getId(), event.getAttempts(), e);
+            } else {
+                event.setNextAttemptAt(next);
+                log.debug("Outbox event {} failed, attempt {}, next at {}", event.getId(), event.getAttempts(), next);
+            }
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        event.setStatus(OutboxStatus.DISPATCHED);
+        event.setDispatchedAt(now);
+        dispatchedCounter.increment();
+        deliveryLag.record(Duration.between(event.getCreated(), now));
+    }
+
+    private Duration backoff(int attempts) {
+        Duration delay = initialBackoff.multipliedBy(1L << Math.min(attempts - 1, 30));
+        return delay.compareTo(maxBackoff) > 0 || delay.isNegative() ? maxBackoff : delay;
+    }
+
+    private double oldestPendingAge() {
+        LocalDateTime oldest = outboxEventRepository.findOldestCreated(OutboxStatus.PENDING);
+        return oldest == null ? 0 : Duration.between(oldest, LocalDateTime.now()).toMillis() / 1000.0;
+    }
+
+    private String toJson(Object payload) {
+        if (payload == null) return null;
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize outbox payload", e);
+        }
+    }
+
+    private static String abbreviate(String message) {
+        return message.length() <= 1000 ? message : message.substring(0, 1000);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,39 @@
+package ru.practicum.shareit.purge.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import ru.practicum.shareit.purge.enums.PurgeStatus;
+import ru.practicum.shareit.purge.enums.PurgeTarget;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@Entity
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "purge_tasks", indexes = {
+        @Index(name = "idx_purge_tasks_status", columnList = "status, id")
+})
+public class PurgeTask {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    @Enumerated(EnumType.STRING)
+    @Column(name = "target_type", nullable = false)
+    private PurgeTarget targetType;
+    @Column(name = "target_id", nullable = false)
+    private Long targetId;
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private PurgeStatus status;
+    @Column(name = "purged_rows", nullable = false)
+    private Long purgedRows;
+    @Column(name = "created", nullable = false)
+    private LocalDateTime created;
+    @Column(name = "finished")
+    private LocalDateTime finished;
+}
\ No newline at end of file
@@ -0,0 +1,6 @@
+package ru.practicum.shareit.purge.enums;
+
+public enum PurgeStatus {
+    PENDING,
+    DONE
+}
\ No newline at end of file
@@ -0,0 +1,6 @@
+package ru.practicum.shareit.purge.enums;
+
+public enum PurgeTarget {
+    USER,
+    ITEM
+}
\ No newline at end of file
@@ -0,0 +1,25 @@
+package ru.practicum.shareit.purge.repository;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import ru.practicum.shareit.purge.entity.PurgeTask;
+import ru.practicum.shareit.purge.enums.PurgeStatus;
+
+import java.util.List;
+
+public interface PurgeTaskRepository extends JpaRepository<PurgeTask, Long> {
+    /**
+     * Oldest tasks in the given status, skipping the ones another worker holds.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT t FROM PurgeTask t WHERE t.status = ?1 ORDER BY t.id")
+    List<PurgeTask> findNextForUpdate(PurgeStatus status, Pageable pageable);
+
+    long countByStatus(PurgeStatus status);
+}
\ No newline at end of file
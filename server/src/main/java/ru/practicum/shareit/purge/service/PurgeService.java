@@ -0,0 +1,11 @@
+package ru.practicum.shareit.purge.service;
+
+import ru.practicum.shareit.purge.entity.PurgeTask;
+
+public interface PurgeService {
+    PurgeTask scheduleUserPurge(Long userId);
+
+    PurgeTask scheduleItemPurge(Long itemId);
+
+    boolean purgeNextBatch();
+}
\ No newline at end of file
@@ -0,0 +1,198 @@
+package ru.practicum.shareit.purge.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingIntervalIndex;
+import ru.practicum.shareit.booking.service.BookingStatsCache;
+import ru.practicum.shareit.item.comment.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.purge.entity.PurgeTask;
+import ru.practicum.shareit.purge.enums.PurgeStatus;
+import ru.practicum.shareit.purge.enums.PurgeTarget;
+import ru.practicum.shareit.purge.repository.PurgeTaskRepository;
+import ru.practicum.shareit.request.repository.RequestRepository;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.IntSupplier;
+
+/**
+ * Two-phase deletion of users and items. Scheduling only flags the row (and the user's items) as deleted,
+ * which hides it from every entity read. Dependents are then removed by {@link PurgeWorker} in batches of
+ * {@code shareit.purge.batch-size} rows, one short transaction per batch, and the flagged row goes last.
+ */
+@Slf4j
+@Service
+public class PurgeServiceImpl implements PurgeService {
+    private final PurgeTaskRepository purgeTaskRepository;
+    private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final BookingRepository bookingRepository;
+    private final CommentRepository commentRepository;
+    private final RequestRepository requestRepository;
+    private final BookingIntervalIndex bookingIntervalIndex;
+    private final BookingStatsCache bookingStatsCache;
+    private final MeterRegistry meterRegistry;
+    private final Timer batchTimer;
+    private final int batchSize;
+
+    @Autowired
+    public PurgeServiceImpl(PurgeTaskRepository purgeTaskRepository,
+                            UserRepository userRepository,
+                            ItemRepository itemRepository,
+                            BookingRepository bookingRepository,
+                            CommentRepository commentRepository,
+                            RequestRepository requestRepository,
+                            BookingIntervalIndex bookingIntervalIndex,
+                            BookingStatsCache bookingStatsCache,
+                            MeterRegistry meterRegistry,
+                            @Value("${shareit.purge.batch-size:500}") int batchSize) {
+        this.purgeTaskRepository = purgeTaskRepository;
+        this.userRepository = userRepository;
+        this.itemRepository = itemRepository;
+        this.bookingRepository = bookingRepository;
+        this.commentRepository = commentRepository;
+        this.requestRepository = requestRepository;
+        this.bookingIntervalIndex = bookingIntervalIndex;
+        this.bookingStatsCache = bookingStatsCache;
+        this.meterRegistry = meterRegistry;
+        this.batchSize = batchSize;
+        this.batchTimer = Timer.builder("shareit.purge.batch")
+                .description("Time spent in one purge batch")
+                .register(meterRegistry);
+        Gauge.builder("shareit.purge.tasks.pending", () -> purgeTaskRepository.countByStatus(PurgeStatus.PENDING))
+                .description("Deleted users and items whose dependents are not purged yet")
+                .register(meterRegistry);
+    }
+
+    @Override
+    @Transactional
+    public PurgeTask scheduleUserPurge(Long userId) {
+        log.debug("Scheduling purge of user {}", userId);
+        userRepository.markDeleted(userId);
+        int items = itemRepository.markDeletedByOwnerId(userId);
+        log.debug("User {} hidden together with {} items", userId, items);
+        return schedule(PurgeTarget.USER, userId);
+    }
+
+    @Override
+    @Transactional
+    public PurgeTask scheduleItemPurge(Long itemId) {
+        log.debug("Scheduling purge of item {}", itemId);
+        itemRepository.markDeleted(itemId);
+        return schedule(PurgeTarget.ITEM, itemId);
+    }
+
+    /**
+     * Runs one batch of the oldest pending task.
+     *
+     * @return false when there was nothing to purge
+     */
+    @Override
+    @Transactional
+    public boolean purgeNextBatch() {
+        List<PurgeTask> tasks = purgeTaskRepository.findNextForUpdate(PurgeStatus.PENDING, PageRequest.ofSize(1));
+        if (tasks.isEmpty()) return false;
+
+        PurgeTask task = tasks.get(0);
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            purgeBatch(task);
+        } finally {
+            sample.stop(batchTimer);
+        }
+        // bulk deletes clear the persistence context, so the task is detached by now
+        purgeTaskRepository.save(task);
+        return true;
+    }
+
+    private PurgeTask schedule(PurgeTarget target, Long targetId) {
+        return purgeTaskRepository.save(PurgeTask.builder()
+                .targetType(target)
+                .targetId(targetId)
+                .status(PurgeStatus.PENDING)
+                .purgedRows(0L)
+                .created(LocalDateTime.now())
+                .build());
+    }
+
+    private void purgeBatch(PurgeTask task) {
+        for (Map.Entry<String, IntSupplier> step : steps(task)) {
+            int purged = step.getValue().getAsInt();
+            if (purged > 0) {
+                record(task, step.getKey(), purged);
+                if (step.getKey().equals("bookings")) {
+                    bookingIntervalIndex.invalidateAll();
+                    bookingStatsCache.clear();
+                }
+                return;
+            }
+        }
+
+        Long targetId = task.getTargetId();
+        int purged = task.getTargetType() == PurgeTarget.USER
+                ? userRepository.purge(targetId)
+                : itemRepository.purge(targetId);
+        record(task, task.getTargetType() == PurgeTarget.USER ? "users" : "items", purged);
+        task.setStatus(PurgeStatus.DONE);
+        task.setFinished(LocalDateTime.now());
+        Counter.builder("shareit.purge.tasks.completed")
+                .tag("target", task.getTargetType().name())
+                .register(meterRegistry)
+                .increment();
+        log.info("Purge of {} {} finished, {} rows removed", task.getTargetType(), targetId, task.getPurgedRows());
+    }
+
+    /**
+     * Dependents in the order they have to go, so that the final delete cascades into nothing.
+     */
+    private List<Map.Entry<String, IntSupplier>> steps(PurgeTask task) {
+        Long id = task.getTargetId();
+        if (task.getTargetType() == PurgeTarget.USER) {
+            return List.of(
+                    Map.entry("bookings", () -> bookingRepository.deleteBatchByBookerId(id, batchSize)),
+                    Map.entry("bookings", () -> bookingRepository.deleteBatchByOwnerId(id, batchSize)),
+                    Map.entry("comments", () -> purgeAuthoredComments(id)),
+                    Map.entry("comments", () -> commentRepository.deleteBatchByItemOwnerId(id, batchSize)),
+                    Map.entry("requests", () -> requestRepository.deleteBatchByRequestorId(id, batchSize)),
+                    Map.entry("items", () -> itemRepository.deleteBatchByOwnerId(id, batchSize)));
+        }
+        return List.of(
+                Map.entry("bookings", () -> bookingRepository.deleteBatchByItemId(id, batchSize)),
+                Map.entry("comments", () -> commentRepository.deleteBatchByItemId(id, batchSize)));
+    }
+
+    /**
+     * Comments the user left on other items; the comment counters of those items are recounted afterwards.
+     */
+    private int purgeAuthoredComments(Long authorId) {
+        Set<Long> itemIds = new HashSet<>(commentRepository.findItemIdsOfBatchByAuthorId(authorId, batchSize));
+        if (itemIds.isEmpty()) return 0;
+        int purged = commentRepository.deleteBatchByAuthorId(authorId, batchSize);
+        itemRepository.recountComments(itemIds);
+        return purged;
+    }
+
+    private void record(PurgeTask task, String table, int purged) {
+        task.setPurgedRows(task.getPurgedRows() + purged);
+        Counter.builder("shareit.purge.rows")
+                .description("Rows removed by the purge worker")
+                .tag("table", table)
+                .register(meterRegistry)
+                .increment(purged);
+        log.debug("Purged {} rows from {} for {} {}", purged, table, task.getTargetType(), task.getTargetId());
+    }
+}
\ No newline at end of file
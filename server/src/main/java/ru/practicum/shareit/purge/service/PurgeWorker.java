@@ -0,0 +1,35 @@
+package ru.practicum.shareit.purge.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Drains pending purge tasks in the background, at most {@code shareit.purge.max-batches} batches per run.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "shareit.purge.enabled", havingValue = "true", matchIfMissing = true)
+public class PurgeWorker {
+    private final PurgeService purgeService;
+    private final int maxBatches;
+
+    @Autowired
+    public PurgeWorker(PurgeService purgeService,
+                       @Value("${shareit.purge.max-batches:20}") int maxBatches) {
+        this.purgeService = purgeService;
+        this.maxBatches = maxBatches;
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.purge.delay:1000}")
+    public void run() {
+        int batches = 0;
+        while (batches < maxBatches && purgeService.purgeNextBatch()) {
+            batches++;
+        }
+        if (batches > 0) log.debug("Purge worker ran {} batches", batches);
+    }
+}
\ No newline at end of file
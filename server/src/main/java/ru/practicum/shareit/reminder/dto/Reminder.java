@@ -0,0 +1,23 @@
+package ru.practicum.shareit.reminder.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import ru.practicum.shareit.reminder.enums.ReminderType;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class Reminder {
+    private Long bookingId;
+    private Long bookerId;
+    private Long ownerId;
+    private Long itemId;
+    private ReminderType type;
+    private LocalDateTime eventTime;
+    private LocalDateTime fireAt;
+}
\ No newline at end of file
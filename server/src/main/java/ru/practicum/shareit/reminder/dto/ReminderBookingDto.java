@@ -0,0 +1,19 @@
+package ru.practicum.shareit.reminder.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ReminderBookingDto {
+    private Long id;
+    private Long bookerId;
+    private Long ownerId;
+    private Long itemId;
+    private LocalDateTime start;
+    private LocalDateTime end;
+}
\ No newline at end of file
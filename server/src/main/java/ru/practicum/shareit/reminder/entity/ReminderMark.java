@@ -0,0 +1,34 @@
+package ru.practicum.shareit.reminder.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Low-water mark of the reminder scheduler: every reminder due up to {@code firedUntil} has been sent.
+ * The row doubles as the lease of the one scheduler instance allowed to send: only {@code owner} moves the mark,
+ * and another instance takes over once {@code leaseUntil} has passed.
+ */
+@Data
+@Entity
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "reminder_marks")
+public class ReminderMark {
+    @Id
+    @Column(name = "name", length = 50)
+    private String name;
+    @Column(name = "fired_until", nullable = false)
+    private LocalDateTime firedUntil;
+    @Column(name = "owner", length = 100)
+    private String owner;
+    @Column(name = "lease_until")
+    private LocalDateTime leaseUntil;
+
+    public ReminderMark(String name, LocalDateTime firedUntil) {
+        this(name, firedUntil, null, null);
+    }
+}
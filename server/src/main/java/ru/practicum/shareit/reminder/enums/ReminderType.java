@@ -0,0 +1,6 @@
+package ru.practicum.shareit.reminder.enums;
+
+public enum ReminderType {
+    START,
+    END
+}
\ No newline at end of file
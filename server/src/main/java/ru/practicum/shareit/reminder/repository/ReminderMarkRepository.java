@@ -0,0 +1,33 @@
+package ru.practicum.shareit.reminder.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.reminder.entity.ReminderMark;
+
+import java.time.LocalDateTime;
+
+public interface ReminderMarkRepository extends JpaRepository<ReminderMark, String> {
+
+    /**
+     * Takes or renews the lease of the mark unless another owner holds it past {@code now}.
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE ReminderMark m SET m.owner = :owner, m.leaseUntil = :leaseUntil WHERE m.name = :name " +
+            "AND (m.owner = :owner OR m.owner IS NULL OR m.leaseUntil IS NULL OR m.leaseUntil <= :now)")
+    int acquireLease(@Param("name") String name, @Param("owner") String owner,
+                     @Param("now") LocalDateTime now, @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    /**
+     * Moves the mark and renews the lease, only while {@code owner} still holds it.
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE ReminderMark m SET m.firedUntil = :firedUntil, m.leaseUntil = :leaseUntil " +
+            "WHERE m.name = :name AND m.owner = :owner")
+    int checkpoint(@Param("name") String name, @Param("owner") String owner,
+                   @Param("firedUntil") LocalDateTime firedUntil, @Param("leaseUntil") LocalDateTime leaseUntil);
+}
@@ -0,0 +1,39 @@
+package ru.practicum.shareit.reminder.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.reminder.dto.Reminder;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Keeps the last {@code shareit.reminders.memory-size} reminders, for tests and local runs.
+ */
+@Component
+@ConditionalOnProperty(name = "shareit.reminders.sink", havingValue = "memory")
+public class InMemoryReminderSink implements ReminderSink {
+    private final Deque<Reminder> reminders = new ArrayDeque<>();
+    private final int maxSize;
+
+    @Autowired
+    public InMemoryReminderSink(@Value("${shareit.reminders.memory-size:1000}") int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    @Override
+    public synchronized void send(Reminder reminder) {
+        if (reminders.size() == maxSize) reminders.removeFirst();
+        reminders.addLast(reminder);
+    }
+
+    public synchronized List<Reminder> drain() {
+        List<Reminder> sent = new ArrayList<>(reminders);
+        reminders.clear();
+        return sent;
+    }
+}
\ No newline at end of file
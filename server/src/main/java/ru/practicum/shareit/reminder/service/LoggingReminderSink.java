@@ -0,0 +1,18 @@
+package ru.practicum.shareit.reminder.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.reminder.dto.Reminder;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "shareit.reminders.sink", havingValue = "log", matchIfMissing = true)
+public class LoggingReminderSink implements ReminderSink {
+    @Override
+    public void send(Reminder reminder) {
+        log.info("Booking {} {} reminder: booker {}, owner {}, item {}, at {}", reminder.getBookingId(),
+                reminder.getType(), reminder.getBookerId(), reminder.getOwnerId(), reminder.getItemId(),
+                reminder.getEventTime());
+    }
+}
\ No newline at end of file
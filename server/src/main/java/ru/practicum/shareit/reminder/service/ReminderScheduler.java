@@ -0,0 +1,237 @@
+package ru.practicum.shareit.reminder.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.entity.Booking;
+import ru.practicum.shareit.booking.enums.Status;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.reminder.dto.Reminder;
+import ru.practicum.shareit.reminder.dto.ReminderBookingDto;
+import ru.practicum.shareit.reminder.entity.ReminderMark;
+import ru.practicum.shareit.reminder.enums.ReminderType;
+import ru.practicum.shareit.reminder.repository.ReminderMarkRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+
+/**
+ * Reminders {@code shareit.reminders.lead} before the start and the end of APPROVED bookings.
+ * Pending reminders live in a {@link TimerWheel}: it is filled from the database when this instance takes the
+ * lease and then kept in step by booking transitions (applied after commit). The moment up to which reminders were
+ * sent is checkpointed in {@link ReminderMark}, so a restart only loads what is still ahead of it and catches up
+ * the ones missed while the server was down. Delivery is at least once: reminders fired after the last
+ * checkpoint are sent again after a crash.
+ * <p>
+ * Only the instance holding the lease on the mark row sends, and only it moves the mark; each checkpoint renews
+ * the lease for {@code shareit.reminders.lease}. The others turn their wheels without sending and try to take
+ * the lease every checkpoint interval, loading the reminders due after the mark when they get it. Server clocks
+ * are assumed to agree to well within the lease.
+ */
+@Slf4j
+@Component
+public class ReminderScheduler {
+    static final String MARK = "booking-reminders";
+    private static final int WHEEL_SIZE = 64;
+    private static final int WHEEL_LEVELS = 4;
+
+    private final BookingRepository bookingRepository;
+    private final ReminderMarkRepository reminderMarkRepository;
+    private final ReminderSink reminderSink;
+    private final Duration lead;
+    private final Duration checkpointInterval;
+    private final Duration lease;
+    private final String owner = UUID.randomUUID().toString();
+    private final TimerWheel<Reminder> wheel;
+    private final Map<Long, List<TimerWheel.Entry<Reminder>>> pending = new HashMap<>();
+    private volatile boolean loaded;
+    private boolean leading;
+    private LocalDateTime leaseCheckAt = LocalDateTime.MIN;
+    private LocalDateTime lastCheckpoint = LocalDateTime.MIN;
+
+    @Autowired
+    public ReminderScheduler(BookingRepository bookingRepository,
+                             ReminderMarkRepository reminderMarkRepository,
+                             ReminderSink reminderSink,
+                             @Value("${shareit.reminders.lead:PT1H}") Duration lead,
+                             @Value("${shareit.reminders.tick:1000}") long tickMillis,
+                             @Value("${shareit.reminders.checkpoint:PT1M}") Duration checkpointInterval,
+                             @Value("${shareit.reminders.lease:PT5M}") Duration lease) {
+        this.bookingRepository = bookingRepository;
+        this.reminderMarkRepository = reminderMarkRepository;
+        this.reminderSink = reminderSink;
+        this.lead = lead;
+        this.checkpointInterval = checkpointInterval;
+        this.lease = lease;
+        this.wheel = new TimerWheel<>(tickMillis, WHEEL_SIZE, WHEEL_LEVELS, toMillis(LocalDateTime.now()));
+    }
+
+    /**
+     * Tries to take the lease and starts turning the wheel; the leader fills it with reminders due after the mark.
+     */
+    public void load() {
+        acquireLease(LocalDateTime.now());
+        loaded = true;
+    }
+
+    public void bookingChanged(Booking booking) {
+        ReminderBookingDto dto = new ReminderBookingDto(booking.getId(), booking.getBooker().getId(),
+                booking.getItem().getOwner().getId(), booking.getItem().getId(), booking.getStart(), booking.getEnd());
+        boolean approved = booking.getStatus() == Status.APPROVED;
+        afterCommit(() -> {
+            synchronized (this) {
+                cancel(dto.getId());
+                if (approved) schedule(dto, LocalDateTime.now());
+            }
+        });
+    }
+
+    public void bookingDeleted(Long bookingId) {
+        afterCommit(() -> {
+            synchronized (this) {
+                cancel(bookingId);
+            }
+        });
+    }
+
+    /**
+     * Sends every reminder due by {@code now} while this instance holds the lease; the others drop them.
+     * Bookings that stopped being APPROVED without passing through {@link #bookingChanged} (bulk purges) are
+     * filtered out with one lookup by id.
+     */
+    public void fireDue(LocalDateTime now) {
+        if (!loaded) return;
+        boolean leads = now.isBefore(leaseCheckAt) ? leading : acquireLease(now);
+        List<Reminder> fired;
+        synchronized (this) {
+            fired = wheel.advance(toMillis(now));
+            for (Reminder reminder : fired) {
+                List<TimerWheel.Entry<Reminder>> entries = pending.get(reminder.getBookingId());
+                if (entries != null) {
+                    entries.removeIf(entry -> entry.getValue() == reminder);
+                    if (entries.isEmpty()) pending.remove(reminder.getBookingId());
+                }
+            }
+        }
+        if (!leads) return;
+        if (!fired.isEmpty()) {
+            Set<Long> approved = new HashSet<>(bookingRepository.findIdsByIdInAndStatus(
+                    fired.stream().map(Reminder::getBookingId).distinct().toList(), Status.APPROVED));
+            fired.stream()
+                    .filter(reminder -> approved.contains(reminder.getBookingId()))
+                    .forEach(reminderSink::send);
+            log.debug("Fired {} reminders", fired.size());
+        }
+        if (!now.isBefore(lastCheckpoint.plus(checkpointInterval))) {
+            LocalDateTime leaseUntil = now.plus(lease);
+            if (reminderMarkRepository.checkpoint(MARK, owner, now, leaseUntil) > 0) {
+                leaseCheckAt = leaseUntil;
+            } else {
+                log.info("Reminder lease was taken over, no longer sending reminders");
+                leading = false;
+                leaseCheckAt = now;
+            }
+            lastCheckpoint = now;
+        }
+    }
+
+    public synchronized int pendingCount() {
+        return wheel.size();
+    }
+
+    /**
+     * Takes or renews the lease, creating the mark row on first start. On taking it over, loads the reminders due
+     * after the mark its previous holder left.
+     */
+    private boolean acquireLease(LocalDateTime now) {
+        LocalDateTime leaseUntil = now.plus(lease);
+        boolean acquired = reminderMarkRepository.acquireLease(MARK, owner, now, leaseUntil) > 0
+                || createMark(now, leaseUntil);
+        if (!acquired) {
+            leading = false;
+            leaseCheckAt = now.plus(checkpointInterval);
+            return false;
+        }
+        leaseCheckAt = leaseUntil;
+        if (!leading) {
+            leading = true;
+            log.info("Took the reminder lease until {}", leaseUntil);
+            loadAfter(reminderMarkRepository.findById(MARK).map(ReminderMark::getFiredUntil).orElse(now));
+        }
+        return true;
+    }
+
+    private boolean createMark(LocalDateTime now, LocalDateTime leaseUntil) {
+        if (reminderMarkRepository.existsById(MARK)) return false;
+        try {
+            reminderMarkRepository.saveAndFlush(new ReminderMark(MARK, now, owner, leaseUntil));
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Merges the reminders due after {@code mark} into the wheel. Reminders already pending came from transitions
+     * committed meanwhile and are kept, so a booking changed while the query ran is not rolled back to its
+     * loaded state; one cancelled meanwhile is filtered out when it fires.
+     */
+    private void loadAfter(LocalDateTime mark) {
+        List<ReminderBookingDto> bookings = bookingRepository.findReminderBookings(Status.APPROVED, mark.plus(lead));
+        log.debug("Loading reminders due after {} for {} bookings", mark, bookings.size());
+        synchronized (this) {
+            bookings.forEach(booking -> schedule(booking, mark));
+        }
+    }
+
+    private void schedule(ReminderBookingDto booking, LocalDateTime after) {
+        List<TimerWheel.Entry<Reminder>> entries = pending.computeIfAbsent(booking.getId(), id -> new ArrayList<>(2));
+        addReminder(entries, booking, ReminderType.START, booking.getStart(), after);
+        addReminder(entries, booking, ReminderType.END, booking.getEnd(), after);
+        if (entries.isEmpty()) pending.remove(booking.getId());
+    }
+
+    private void addReminder(List<TimerWheel.Entry<Reminder>> entries, ReminderBookingDto booking,
+                             ReminderType type, LocalDateTime eventTime, LocalDateTime after) {
+        LocalDateTime fireAt = eventTime.minus(lead);
+        if (!fireAt.isAfter(after) || entries.stream().anyMatch(entry -> entry.getValue().getType() == type)) return;
+        Reminder reminder = Reminder.builder()
+                .bookingId(booking.getId())
+                .bookerId(booking.getBookerId())
+                .ownerId(booking.getOwnerId())
+                .itemId(booking.getItemId())
+                .type(type)
+                .eventTime(eventTime)
+                .fireAt(fireAt)
+                .build();
+        entries.add(wheel.schedule(reminder, toMillis(fireAt)));
+    }
+
+    private void cancel(Long bookingId) {
+        List<TimerWheel.Entry<Reminder>> entries = pending.remove(bookingId);
+        if (entries != null) entries.forEach(wheel::cancel);
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
\ No newline at end of file
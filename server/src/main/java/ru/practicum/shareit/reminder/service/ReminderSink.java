@@ -0,0 +1,10 @@
+package ru.practicum.shareit.reminder.service;
+
+import ru.practicum.shareit.reminder.dto.Reminder;
+
+/**
+ * Delivery channel for fired reminders, picked with {@code shareit.reminders.sink}.
+ */
+public interface ReminderSink {
+    void send(Reminder reminder);
+}
\ No newline at end of file
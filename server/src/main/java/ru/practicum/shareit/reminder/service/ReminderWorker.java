@@ -0,0 +1,34 @@
+package ru.practicum.shareit.reminder.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Loads the reminder wheel once the application is up and turns it every {@code shareit.reminders.tick} ms.
+ */
+@Component
+@ConditionalOnProperty(name = "shareit.reminders.enabled", havingValue = "true", matchIfMissing = true)
+public class ReminderWorker {
+    private final ReminderScheduler reminderScheduler;
+
+    @Autowired
+    public ReminderWorker(ReminderScheduler reminderScheduler) {
+        this.reminderScheduler = reminderScheduler;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        reminderScheduler.load();
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.reminders.tick:1000}")
+    public void run() {
+        reminderScheduler.fireDue(LocalDateTime.now());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,128 @@
+package ru.practicum.shareit.reminder.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hierarchical timing wheel. Level 0 has {@code wheelSize} slots of one tick each and every next level
+ * spans a whole turn of the previous one per slot. When a level slot comes round its entries cascade to the
+ * lower levels, so scheduling and cancelling are O(1) and a tick only touches one slot per level.
+ * Deadlines past the last level are parked in its farthest slot and re-placed when it cascades.
+ * Not thread-safe.
+ */
+public class TimerWheel<T> {
+    private final long tickMillis;
+    private final int wheelSize;
+    private final long[] spans;
+    private final List<List<Entry<T>>> slots;
+    private final List<Entry<T>> due = new ArrayList<>();
+    private long currentTick;
+    private int size;
+
+    public TimerWheel(long tickMillis, int wheelSize, int levels, long startMillis) {
+        this.tickMillis = tickMillis;
+        this.wheelSize = wheelSize;
+        this.spans = new long[levels + 1];
+        this.slots = new ArrayList<>(levels * wheelSize);
+        spans[0] = 1;
+        for (int level = 1; level <= levels; level++) {
+            spans[level] = spans[level - 1] * wheelSize;
+        }
+        for (int i = 0; i < levels * wheelSize; i++) {
+            slots.add(new ArrayList<>());
+        }
+        this.currentTick = startMillis / tickMillis;
+    }
+
+    public Entry<T> schedule(T value, long deadlineMillis) {
+        Entry<T> entry = new Entry<>(value, Math.floorDiv(deadlineMillis + tickMillis - 1, tickMillis));
+        if (entry.deadlineTick <= currentTick) {
+            due.add(entry);
+        } else {
+            place(entry);
+        }
+        size++;
+        return entry;
+    }
+
+    /**
+     * @return false when the entry has already fired or was cancelled before
+     */
+    public boolean cancel(Entry<T> entry) {
+        if (entry.done) return false;
+        entry.done = true;
+        size--;
+        return true;
+    }
+
+    /**
+     * Moves the wheel up to {@code nowMillis} and returns the values whose deadline has passed, in tick order.
+     */
+    public List<T> advance(long nowMillis) {
+        List<T> fired = new ArrayList<>();
+        expire(due, fired);
+        long targetTick = nowMillis / tickMillis;
+        while (currentTick < targetTick) {
+            currentTick++;
+            for (int level = spans.length - 2; level > 0; level--) {
+                if (currentTick % spans[level] == 0) {
+                    List<Entry<T>> slot = slot(level, currentTick);
+                    List<Entry<T>> cascaded = new ArrayList<>(slot);
+                    slot.clear();
+                    for (Entry<T> entry : cascaded) {
+                        if (!entry.done) place(entry);
+                    }
+                }
+            }
+            expire(slot(0, currentTick), fired);
+        }
+        return fired;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private void place(Entry<T> entry) {
+        long delta = entry.deadlineTick - currentTick;
+        int top = spans.length - 2;
+        for (int level = 0; level < top; level++) {
+            if (delta < spans[level + 1]) {
+                slot(level, entry.deadlineTick).add(entry);
+                return;
+            }
+        }
+        long parkedTick = Math.min(entry.deadlineTick, currentTick + spans[top + 1] - 1);
+        slot(top, parkedTick).add(entry);
+    }
+
+    private List<Entry<T>> slot(int level, long tick) {
+        return slots.get(level * wheelSize + (int) (tick / spans[level] % wheelSize));
+    }
+
+    private void expire(List<Entry<T>> slot, List<T> fired) {
+        for (Entry<T> entry : slot) {
+            if (!entry.done) {
+                entry.done = true;
+                size--;
+                fired.add(entry.value);
+            }
+        }
+        slot.clear();
+    }
+
+    public static final class Entry<T> {
+        private final T value;
+        private final long deadlineTick;
+        private boolean done;
+
+        private Entry(T value, long deadlineTick) {
+            this.value = value;
+            this.deadlineTick = deadlineTick;
+        }
+
+        public T getValue() {
+            return value;
+        }
+    }
+}
\ No newline at end of file
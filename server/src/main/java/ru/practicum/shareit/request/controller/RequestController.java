@@ -1,46 +1,64 @@
 package ru.practicum.shareit.request.controller;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.common.FieldSet;
 import ru.practicum.shareit.request.dto.RequestCreateDto;
 import ru.practicum.shareit.request.dto.RequestDto;
 import ru.practicum.shareit.request.dto.RequestExpandedDto;
 import ru.practicum.shareit.request.dto.RequestUpdateDto;
 import ru.practicum.shareit.request.service.RequestService;
+import ru.practicum.shareit.idempotency.enums.IdempotentOperation;
+import ru.practicum.shareit.idempotency.service.IdempotencyService;
 
+import java.time.LocalDateTime;
 import java.util.Collection;
 
 @Slf4j
 @RestController
 @RequestMapping(path = "/requests")
 public class RequestController {
+    private static final int MAX_PAGE_SIZE = 100;
 
     private final RequestService service;
+    private final IdempotencyService idempotencyService;
 
     @Autowired
-    public RequestController(RequestService service) {
+    public RequestController(RequestService service, IdempotencyService idempotencyService) {
         this.service = service;
+        this.idempotencyService = idempotencyService;
     }
 
     @PostMapping
     public ResponseEntity<RequestDto> create(
             @RequestHeader("X-Sharer-User-Id") Long requestorId,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
             @Valid @RequestBody RequestCreateDto request
     ) {
         log.info("Received POST request to create request");
-        RequestDto createdRequest = service.saveRequest(requestorId, request);
+        RequestDto createdRequest = idempotencyService.execute(idempotencyKey, requestorId,
+                IdempotentOperation.CREATE_REQUEST, request, RequestDto.class,
+                () -> service.saveRequest(requestorId, request));
         return ResponseEntity.status(HttpStatus.CREATED).body(createdRequest);
     }
 
     @GetMapping
-    public ResponseEntity<Collection<RequestExpandedDto>> findAllRequestsByRequestor(@RequestHeader("X-Sharer-User-Id") Long requestorId) {
+    public ResponseEntity<MappingJacksonValue> findAllRequestsByRequestor(
+            @RequestHeader("X-Sharer-User-Id") Long requestorId,
+            @RequestParam(name = "fields", required = false) String fields) {
         log.info("Received GET request. Find all requests by requestor");
-        Collection<RequestExpandedDto> requests = service.findAllByRequestor(requestorId);
-        return ResponseEntity.ok(requests);
+        FieldSet fieldSet = FieldSet.of(fields, RequestExpandedDto.class);
+        Collection<RequestExpandedDto> requests = service.findAllByRequestor(requestorId, fieldSet);
+        return ResponseEntity.ok(fieldSet.apply(requests));
     }
 
     @PutMapping("/{requestId}")
@@ -70,9 +88,18 @@ public class RequestController {
     }
 
     @GetMapping("/all")
-    public ResponseEntity<Collection<RequestExpandedDto>> findAllRequests(@RequestHeader("X-Sharer-User-Id") Long userId) {
+    public ResponseEntity<MappingJacksonValue> findAllRequests(
+            @RequestHeader("X-Sharer-User-Id") Long userId,
+            @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
+            @Positive @Max(MAX_PAGE_SIZE) @RequestParam(name = "size", defaultValue = "10") Integer size,
+            @RequestParam(name = "cursorCreated", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime cursorCreated,
+            @RequestParam(name = "cursorId", required = false) Long cursorId,
+            @RequestParam(name = "fields", required = false) String fields) {
         log.info("Received GET request. Find all requests, excluding user with ID: {}", userId);
-        Collection<RequestExpandedDto> requests = service.findAll(userId);
-        return ResponseEntity.ok(requests);
+        FieldSet fieldSet = FieldSet.of(fields, RequestExpandedDto.class);
+        Collection<RequestExpandedDto> requests = service.findAll(userId, from, size, cursorCreated, cursorId,
+                fieldSet);
+        return ResponseEntity.ok(fieldSet.apply(requests));
     }
 }
\ No newline at end of file
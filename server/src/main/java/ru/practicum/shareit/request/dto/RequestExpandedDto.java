@@ -1,8 +1,12 @@
 package ru.practicum.shareit.request.dto;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import ru.practicum.shareit.common.FieldSet;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.user.dto.UserDto;
 
@@ -10,7 +14,10 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Data
+@JsonFilter(FieldSet.FILTER)
 @Builder
+@AllArgsConstructor
+@NoArgsConstructor
 @EqualsAndHashCode(of = {"id"})
 public class RequestExpandedDto {
     private Long id;
@@ -18,4 +25,12 @@ public class RequestExpandedDto {
     private UserDto requestor;
     private LocalDateTime created;
     private List<ItemDto> items;
+
+    /**
+     * Flat constructor for JPQL projections, items are attached afterwards.
+     */
+    public RequestExpandedDto(Long id, String description, LocalDateTime created,
+                              Long requestorId, String requestorName, String requestorEmail) {
+        this(id, description, new UserDto(requestorId, requestorName, requestorEmail), created, null);
+    }
 }
\ No newline at end of file
@@ -14,7 +14,10 @@ import java.time.LocalDateTime;
 @Builder
 @AllArgsConstructor
 @NoArgsConstructor
-@Table(name = "requests")
+@Table(name = "requests", indexes = {
+        @Index(name = "idx_requests_created_id", columnList = "created, id"),
+        @Index(name = "idx_requests_requestor_id", columnList = "requestor_id")
+})
 public class Request {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -1,20 +1,40 @@
 package ru.practicum.shareit.request.repository;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.item.entity.Item;
+import ru.practicum.shareit.request.dto.RequestExpandedDto;
 import ru.practicum.shareit.request.entity.Request;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface RequestRepository extends JpaRepository<Request, Long> {
-    @Query("SELECT r FROM Request r WHERE r.requestor.id = ?1")
-    List<Request> findAllByRequestorId(Long requestorId);
+    String SELECT_REQUEST_DTO = "SELECT new ru.practicum.shareit.request.dto.RequestExpandedDto(r.id, " +
+            "r.description, r.created, u.id, u.name, u.email) FROM Request r JOIN r.requestor u ";
 
-    @Query("SELECT r FROM Request r WHERE r.requestor.id <> ?1")
-    List<Request> findAllByRequestorIdNot(@Param("userId") Long userId);
+    @Query(SELECT_REQUEST_DTO + "WHERE u.id = ?1")
+    List<RequestExpandedDto> findAllByRequestorId(Long requestorId);
+
+    @Query(SELECT_REQUEST_DTO + "WHERE u.id <> :userId ORDER BY r.created DESC, r.id DESC")
+    List<RequestExpandedDto> findPageByRequestorIdNot(@Param("userId") Long userId, Pageable pageable);
+
+    @Query(SELECT_REQUEST_DTO + "WHERE u.id <> :userId " +
+            "AND (r.created < :created OR (r.created = :created AND r.id < :id)) " +
+            "ORDER BY r.created DESC, r.id DESC")
+    List<RequestExpandedDto> findPageByRequestorIdNotBefore(@Param("userId") Long userId,
+                                                 @Param("created") LocalDateTime created,
+                                                 @Param("id") Long id,
+                                                 Pageable pageable);
 
     @Query("SELECT i FROM Item i WHERE i.request.id IN :requestIds")
     List<Item> findByRequestIdIn(@Param("requestIds") List<Long> requestIds);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "DELETE FROM requests WHERE id IN (SELECT id FROM requests WHERE requestor_id = ?1 LIMIT ?2)",
+            nativeQuery = true)
+    int deleteBatchByRequestorId(Long requestorId, int limit);
 }
\ No newline at end of file
@@ -1,10 +1,12 @@
 package ru.practicum.shareit.request.service;
 
+import ru.practicum.shareit.common.FieldSet;
 import ru.practicum.shareit.request.dto.RequestCreateDto;
 import ru.practicum.shareit.request.dto.RequestDto;
 import ru.practicum.shareit.request.dto.RequestExpandedDto;
 import ru.practicum.shareit.request.dto.RequestUpdateDto;
 
+import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
 
@@ -17,7 +19,8 @@ public interface RequestService {
 
     RequestExpandedDto findRequest(Long requestId);
 
-    Collection<RequestExpandedDto> findAll(Long userId);
+    Collection<RequestExpandedDto> findAll(Long userId, Integer from, Integer size,
+                                           LocalDateTime cursorCreated, Long cursorId, FieldSet fields);
 
-    List<RequestExpandedDto> findAllByRequestor(Long requestorId);
+    List<RequestExpandedDto> findAllByRequestor(Long requestorId, FieldSet fields);
 }
\ No newline at end of file
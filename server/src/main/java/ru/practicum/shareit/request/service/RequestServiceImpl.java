@@ -2,9 +2,12 @@ package ru.practicum.shareit.request.service;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.common.CommonChecker;
+import ru.practicum.shareit.common.FieldSet;
+import ru.practicum.shareit.common.OffsetPageRequest;
 import ru.practicum.shareit.exception.RequestAccessException;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.entity.Item;
@@ -18,6 +21,7 @@ import ru.practicum.shareit.request.mapper.RequestMapper;
 import ru.practicum.shareit.request.repository.RequestRepository;
 import ru.practicum.shareit.user.entity.User;
 
+import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -98,23 +102,31 @@ public class RequestServiceImpl extends CommonChecker implements RequestService
 
     @Override
     @Transactional(readOnly = true)
-    public List<RequestExpandedDto> findAll(Long userId) {
-        log.debug("Get all requests query received");
-
-        List<Request> requests = requestRepository.findAllByRequestorIdNot(userId);
+    public List<RequestExpandedDto> findAll(Long userId, Integer from, Integer size,
+                                           LocalDateTime cursorCreated, Long cursorId, FieldSet fields) {
+        log.debug("Get all requests query received. From: {}, size: {}, cursor: {}/{}, fields: {}",
+                from, size, cursorCreated, cursorId, fields);
+
+        List<RequestExpandedDto> requests;
+        if (cursorCreated != null && cursorId != null) {
+            requests = requestRepository.findPageByRequestorIdNotBefore(userId, cursorCreated, cursorId,
+                    PageRequest.ofSize(size));
+        } else {
+            requests = requestRepository.findPageByRequestorIdNot(userId, OffsetPageRequest.ofOffset(from, size));
+        }
 
-        return fillRequestsWithItems(requests);
+        return fillRequestsWithItems(requests, fields);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<RequestExpandedDto> findAllByRequestor(Long requestorId) {
-        log.debug("Get all requests by requestor. Requestor id: {}", requestorId);
+    public List<RequestExpandedDto> findAllByRequestor(Long requestorId, FieldSet fields) {
+        log.debug("Get all requests by requestor. Requestor id: {}, fields: {}", requestorId, fields);
 
         User user = checkUserAndReturn(requestorId);
-        List<Request> requests = requestRepository.findAllByRequestorId(requestorId);
+        List<RequestExpandedDto> requests = requestRepository.findAllByRequestorId(requestorId);
 
-        return fillRequestsWithItems(requests);
+        return fillRequestsWithItems(requests, fields);
     }
 
     private void validatePermissions(Long userId, Request request) {
@@ -123,21 +135,24 @@ public class RequestServiceImpl extends CommonChecker implements RequestService
         }
     }
 
-    private List<RequestExpandedDto> fillRequestsWithItems(List<Request> requests) {
+    private List<RequestExpandedDto> fillRequestsWithItems(List<RequestExpandedDto> requests, FieldSet fields) {
+        if (!fields.includes("items")) {
+            log.debug("Items are not requested, skipping");
+            return requests;
+        }
+
         log.debug("Collecting request id list");
         List<Long> ids = requests.stream()
-                .map(Request::getId)
+                .map(RequestExpandedDto::getId)
                 .collect(Collectors.toList());
 
         log.debug("Getting items for each request");
-        Map<Long, List<Item>> requestedItems = itemRepository
+        Map<Long, List<ItemDto>> requestedItems = itemRepository
                 .findByRequestIdIn(ids).stream()
-                .collect(Collectors.groupingBy(item -> item.getRequest().getId()));
+                .collect(Collectors.groupingBy(ItemDto::getRequestId));
 
-        return requests.stream().map(request -> {
-            List<Item> items = requestedItems.getOrDefault(request.getId(), Collections.emptyList());
-            List<ItemDto> itemDtos = itemMapper.toDtoList(items);
-            return requestMapper.toExpandedDto(request, itemDtos);
-        }).collect(Collectors.toList());
+        requests.forEach(request ->
+                request.setItems(requestedItems.getOrDefault(request.getId(), Collections.emptyList())));
+        return requests;
     }
 }
\ No newline at end of file
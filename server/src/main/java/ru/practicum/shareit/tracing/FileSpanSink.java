@@ -0,0 +1,83 @@
+package ru.practicum.shareit.tracing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Appends finished spans to {@code shareit.tracing.file}, one JSON object with the OTLP span fields per line,
+ * so traces can be read locally without a collector. Meant for local runs with the {@code local} profile only:
+ * the file is neither rotated nor capped.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "shareit.tracing.sink", havingValue = "file")
+public class FileSpanSink implements SpanExporter {
+    private final ObjectMapper objectMapper;
+    private final Path file;
+
+    @Autowired
+    public FileSpanSink(ObjectMapper objectMapper,
+                        @Value("${shareit.tracing.file:spans.jsonl}") Path file) {
+        this.objectMapper = objectMapper;
+        this.file = file.toAbsolutePath();
+    }
+
+    @Override
+    public synchronized CompletableResultCode export(Collection<SpanData> finished) {
+        ByteArrayOutputStream lines = new ByteArrayOutputStream();
+        try {
+            for (SpanData span : finished) {
+                lines.write(objectMapper.writeValueAsBytes(toOtlp(span)));
+                lines.write('\n');
+            }
+            Files.createDirectories(file.getParent());
+            Files.write(file, lines.toByteArray(), StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            return CompletableResultCode.ofSuccess();
+        } catch (IOException e) {
+            log.warn("Could not write {} spans to {}: {}", finished.size(), file, e.getMessage());
+            return CompletableResultCode.ofFailure();
+        }
+    }
+
+    @Override
+    public CompletableResultCode flush() {
+        return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public CompletableResultCode shutdown() {
+        return CompletableResultCode.ofSuccess();
+    }
+
+    private static Map<String, Object> toOtlp(SpanData span) {
+        Map<String, Object> attributes = new LinkedHashMap<>();
+        span.getAttributes().forEach((key, value) -> attributes.put(key.getKey(), value));
+        Map<String, Object> line = new LinkedHashMap<>();
+        line.put("traceId", span.getTraceId());
+        line.put("spanId", span.getSpanId());
+        line.put("parentSpanId", span.getParentSpanId());
+        line.put("name", span.getName());
+        line.put("kind", span.getKind().name());
+        line.put("startTimeUnixNano", span.getStartEpochNanos());
+        line.put("endTimeUnixNano", span.getEndEpochNanos());
+        line.put("attributes", attributes);
+        line.put("status", span.getStatus().getStatusCode().name());
+        return line;
+    }
+}
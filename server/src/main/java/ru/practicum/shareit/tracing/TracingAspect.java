@@ -0,0 +1,78 @@
+package ru.practicum.shareit.tracing;
+
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.repository.Repository;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Child spans of the traced request around controller, service and repository methods, so the time of a call
+ * splits into the layers it went through. Calls outside a request (scheduled workers) are not traced.
+ */
+@Aspect
+@Component
+public class TracingAspect {
+    private final Tracer tracer;
+    private final Map<Class<?>, String> typeNames = new ConcurrentHashMap<>();
+
+    @Autowired
+    public TracingAspect(Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    @Around("within(ru.practicum.shareit..*) && within(@org.springframework.web.bind.annotation.RestController *)")
+    public Object traceController(ProceedingJoinPoint call) throws Throwable {
+        return trace(call, "controller");
+    }
+
+    @Around("within(ru.practicum.shareit..*) && within(@org.springframework.stereotype.Service *)")
+    public Object traceService(ProceedingJoinPoint call) throws Throwable {
+        return trace(call, "service");
+    }
+
+    @Around("this(org.springframework.data.repository.Repository)")
+    public Object traceRepository(ProceedingJoinPoint call) throws Throwable {
+        return trace(call, "repository");
+    }
+
+    private Object trace(ProceedingJoinPoint call, String layer) throws Throwable {
+        if (tracer.currentSpan() == null) return call.proceed();
+
+        Object proxy = call.getThis();
+        String type = typeNames.computeIfAbsent(proxy.getClass(), proxyClass -> typeName(proxy));
+        Span span = tracer.nextSpan()
+                .name(type + "." + call.getSignature().getName())
+                .tag("layer", layer)
+                .start();
+        try (Tracer.SpanInScope ignored = tracer.withSpan(span)) {
+            return call.proceed();
+        } catch (Throwable e) {
+            span.error(e);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+
+    /**
+     * Repository methods are mostly declared by Spring Data's interfaces, so repositories are named
+     * after their own interface rather than the method's declaring type.
+     */
+    private static String typeName(Object proxy) {
+        if (proxy instanceof Repository<?, ?>) {
+            for (Class<?> type : AopProxyUtils.proxiedUserInterfaces(proxy)) {
+                if (Repository.class.isAssignableFrom(type)) return type.getSimpleName();
+            }
+        }
+        return ClassUtils.getUserClass(proxy).getSimpleName();
+    }
+}
@@ -2,11 +2,14 @@ package ru.practicum.shareit.user.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.SoftDelete;
 
 @Data
 @Builder
 @Entity
 @Table(name = "users")
+// marked deleted by PurgeService, the row itself stays until its dependents are purged
+@SoftDelete
 @EqualsAndHashCode(of = {"id"})
 @NoArgsConstructor
 @AllArgsConstructor
@@ -1,11 +1,30 @@
 package ru.practicum.shareit.user.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.entity.User;
 
+import java.util.List;
 import java.util.Optional;
 
 
 public interface UserRepository extends JpaRepository<User, java.lang.Long> {
     Optional<User> findByEmail(String email);
+
+    @Query("SELECT new ru.practicum.shareit.user.dto.UserDto(u.id, u.name, u.email) FROM User u ORDER BY u.id")
+    List<UserDto> findAllDtos();
+
+    /**
+     * Hides the user from reads and frees the email for new registrations until the purge removes the row.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE users SET deleted = TRUE, email = CONCAT('deleted-', id, '-', email) " +
+            "WHERE id = ?1 AND deleted = FALSE", nativeQuery = true)
+    int markDeleted(Long userId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "DELETE FROM users WHERE id = ?1 AND deleted = TRUE", nativeQuery = true)
+    int purge(Long userId);
 }
\ No newline at end of file
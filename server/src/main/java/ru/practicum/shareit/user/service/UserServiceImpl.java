@@ -6,6 +6,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exception.EmailExistsException;
 import ru.practicum.shareit.exception.NoSuchUserException;
+import ru.practicum.shareit.purge.service.PurgeService;
 import ru.practicum.shareit.user.dto.UserCreateDto;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.dto.UserUpdateDto;
@@ -20,12 +21,15 @@ import java.util.*;
 public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
     private final UserMapper userMapper;
+    private final PurgeService purgeService;
 
 
     @Autowired
-    public UserServiceImpl(UserRepository userRepository, UserMapper userMapper) {
+    public UserServiceImpl(UserRepository userRepository, UserMapper userMapper,
+                           PurgeService purgeService) {
         this.userRepository = userRepository;
         this.userMapper = userMapper;
+        this.purgeService = purgeService;
     }
 
     @Override
@@ -74,8 +78,8 @@ public class UserServiceImpl implements UserService {
                 .orElseThrow(() -> new NoSuchUserException("User not found with id: " + userId));
 
 
-        log.debug("Deleting successful!");
-        userRepository.delete(user);
+        purgeService.scheduleUserPurge(userId);
+        log.debug("Deleting successful! User dependents are purged in the background");
 
         return userMapper.toDto(user);
     }
@@ -90,10 +94,11 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Collection<UserDto> findAll() {
         log.debug("Get all users request received");
 
-        return userMapper.toDtoList(new ArrayList<>(userRepository.findAll()));
+        return userRepository.findAllDtos();
     }
 
     private Boolean isEmailExists(String email) {
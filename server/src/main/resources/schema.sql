@@ -2,6 +2,7 @@ CREATE TABLE IF NOT EXISTS users (
   id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
   name VARCHAR(255) NOT NULL,
   email VARCHAR(512) NOT NULL,
+  deleted BOOLEAN DEFAULT FALSE NOT NULL,
   CONSTRAINT pk_user PRIMARY KEY (id),
   CONSTRAINT UQ_USER_EMAIL UNIQUE (email)
 );
@@ -22,6 +23,8 @@ CREATE TABLE IF NOT EXISTS items (
   available BOOLEAN NOT NULL,
   owner_id BIGINT NOT NULL,
   request_id BIGINT,
+  deleted BOOLEAN DEFAULT FALSE NOT NULL,
+  comment_count BIGINT DEFAULT 0 NOT NULL,
   CONSTRAINT pk_item PRIMARY KEY (id),
   CONSTRAINT fk_item_owner FOREIGN KEY (owner_id) REFERENCES users(id) ON DELETE CASCADE,
   CONSTRAINT fk_item_request FOREIGN KEY (request_id) REFERENCES requests(id) ON DELETE SET NULL
@@ -44,8 +47,80 @@ CREATE TABLE IF NOT EXISTS bookings (
   booking_end TIMESTAMP WITHOUT TIME ZONE NOT NULL,
   item_id BIGINT NOT NULL,
   booker_id BIGINT NOT NULL,
+  owner_id BIGINT NOT NULL,
   status VARCHAR(20) NOT NULL,
   CONSTRAINT pk_booking PRIMARY KEY (id),
   CONSTRAINT fk_booking_item FOREIGN KEY (item_id) REFERENCES items(id) ON DELETE CASCADE,
   CONSTRAINT fk_booking_booker FOREIGN KEY (booker_id) REFERENCES users(id) ON DELETE CASCADE
-);
\ No newline at end of file
+);
+
+CREATE TABLE IF NOT EXISTS purge_tasks (
+  id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+  target_type VARCHAR(20) NOT NULL,
+  target_id BIGINT NOT NULL,
+  status VARCHAR(20) NOT NULL,
+  purged_rows BIGINT NOT NULL,
+  created TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+  finished TIMESTAMP WITHOUT TIME ZONE,
+  CONSTRAINT pk_purge_task PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS reminder_marks (
+  name VARCHAR(50) NOT NULL,
+  fired_until TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+  owner VARCHAR(100),
+  lease_until TIMESTAMP WITHOUT TIME ZONE,
+  CONSTRAINT pk_reminder_mark PRIMARY KEY (name)
+);
+
+CREATE TABLE IF NOT EXISTS outbox_events (
+  id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+  aggregate_type VARCHAR(20) NOT NULL,
+  aggregate_id BIGINT NOT NULL,
+  event_type VARCHAR(50) NOT NULL,
+  payload VARCHAR(10000),
+  status VARCHAR(20) NOT NULL,
+  attempts INTEGER NOT NULL,
+  last_error VARCHAR(1000),
+  created TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+  next_attempt_at TIMESTAMP WITHOUT TIME ZONE,
+  dispatched_at TIMESTAMP WITHOUT TIME ZONE,
+  CONSTRAINT pk_outbox_event PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS idempotency_keys (
+  id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+  user_id BIGINT NOT NULL,
+  operation VARCHAR(30) NOT NULL,
+  idempotency_key VARCHAR(100) NOT NULL,
+  request_hash VARCHAR(64) NOT NULL,
+  response VARCHAR(10000) NOT NULL,
+  created TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+  expires_at TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+  CONSTRAINT pk_idempotency_key PRIMARY KEY (id),
+  CONSTRAINT uk_idempotency_key UNIQUE (user_id, operation, idempotency_key)
+);
+
+ALTER TABLE bookings ADD COLUMN IF NOT EXISTS owner_id BIGINT;
+ALTER TABLE users ADD COLUMN IF NOT EXISTS deleted BOOLEAN DEFAULT FALSE NOT NULL;
+ALTER TABLE items ADD COLUMN IF NOT EXISTS deleted BOOLEAN DEFAULT FALSE NOT NULL;
+ALTER TABLE items ADD COLUMN IF NOT EXISTS comment_count BIGINT;
+ALTER TABLE outbox_events ADD COLUMN IF NOT EXISTS next_attempt_at TIMESTAMP WITHOUT TIME ZONE;
+ALTER TABLE reminder_marks ADD COLUMN IF NOT EXISTS owner VARCHAR(100);
+ALTER TABLE reminder_marks ADD COLUMN IF NOT EXISTS lease_until TIMESTAMP WITHOUT TIME ZONE;
+
+CREATE INDEX IF NOT EXISTS idx_requests_created_id ON requests (created, id);
+CREATE INDEX IF NOT EXISTS idx_items_request_id ON items (request_id);
+CREATE INDEX IF NOT EXISTS idx_bookings_item_start_end ON bookings (item_id, booking_start, booking_end);
+CREATE INDEX IF NOT EXISTS idx_bookings_owner_status_start ON bookings (owner_id, status, booking_start);
+CREATE INDEX IF NOT EXISTS idx_items_owner_id ON items (owner_id);
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_id ON bookings (booker_id);
+CREATE INDEX IF NOT EXISTS idx_bookings_status_start ON bookings (status, booking_start);
+CREATE INDEX IF NOT EXISTS idx_comments_item_id ON comments (item_id);
+CREATE INDEX IF NOT EXISTS idx_comments_item_created_id ON comments (item_id, created, id);
+CREATE INDEX IF NOT EXISTS idx_comments_author_id ON comments (author_id);
+CREATE INDEX IF NOT EXISTS idx_requests_requestor_id ON requests (requestor_id);
+CREATE INDEX IF NOT EXISTS idx_purge_tasks_status ON purge_tasks (status, id);
+CREATE INDEX IF NOT EXISTS idx_outbox_events_status ON outbox_events (status, id);
+CREATE INDEX IF NOT EXISTS idx_outbox_events_aggregate ON outbox_events (aggregate_type, aggregate_id, id);
+CREATE INDEX IF NOT EXISTS idx_idempotency_keys_expires_at ON idempotency_keys (expires_at);
\ No newline at end of file
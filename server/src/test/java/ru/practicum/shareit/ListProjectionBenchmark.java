@@ -0,0 +1,213 @@
+package ru.practicum.shareit;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.entity.Booking;
+import ru.practicum.shareit.booking.enums.Status;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.entity.Item;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.dto.RequestExpandedDto;
+import ru.practicum.shareit.request.entity.Request;
+import ru.practicum.shareit.request.mapper.RequestMapper;
+import ru.practicum.shareit.request.repository.RequestRepository;
+import ru.practicum.shareit.user.entity.User;
+import ru.practicum.shareit.user.mapper.UserMapper;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.lang.management.ManagementFactory;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Entity hydration plus mapping versus constructor projections on the list endpoints.
+ * Not part of the regular build, run with {@code mvn -pl server test -Dtest=ListProjectionBenchmark}.
+ */
+@SpringBootTest(classes = ShareItServer.class)
+@Transactional
+@ActiveProfiles("test")
+public class ListProjectionBenchmark {
+    private static final int USERS = 1_000;
+    private static final int ITEMS = 500;
+    private static final int BOOKINGS = 5_000;
+    private static final int REQUESTS = 1_000;
+    private static final int PAGE = 50;
+    private static final int WARMUP = 20;
+    private static final int ROUNDS = 50;
+
+    private final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private RequestRepository requestRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private BookingMapper bookingMapper;
+    @Autowired
+    private ItemMapper itemMapper;
+    @Autowired
+    private RequestMapper requestMapper;
+    @Autowired
+    private UserMapper userMapper;
+
+    private long ownerId;
+    private long viewerId;
+
+    @BeforeEach
+    void setUp() {
+        List<Object[]> users = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            users.add(new Object[]{"User " + i, "user" + i + "@bench.ru"});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO users (name, email) VALUES (?, ?)", users);
+        List<Long> userIds = jdbcTemplate.queryForList("SELECT id FROM users ORDER BY id", Long.class);
+        ownerId = userIds.get(0);
+        viewerId = userIds.get(1);
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> requests = new ArrayList<>();
+        for (int i = 0; i < REQUESTS; i++) {
+            requests.add(new Object[]{"Request " + i, userIds.get(2 + i % (USERS - 2)),
+                    Timestamp.valueOf(now.minusMinutes(i))});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO requests (description, requestor_id, created) VALUES (?, ?, ?)", requests);
+        List<Long> requestIds = jdbcTemplate.queryForList("SELECT id FROM requests ORDER BY id", Long.class);
+
+        List<Object[]> items = new ArrayList<>();
+        for (int i = 0; i < ITEMS; i++) {
+            items.add(new Object[]{"Item " + i, "Description of item " + i, ownerId, requestIds.get(i)});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO items (name, description, available, owner_id, request_id) " +
+                "VALUES (?, ?, TRUE, ?, ?)", items);
+        List<Long> itemIds = jdbcTemplate.queryForList("SELECT id FROM items ORDER BY id", Long.class);
+
+        List<Object[]> bookings = new ArrayList<>();
+        for (int i = 0; i < BOOKINGS; i++) {
+            LocalDateTime start = now.plusHours(i - BOOKINGS / 2);
+            bookings.add(new Object[]{Timestamp.valueOf(start), Timestamp.valueOf(start.plusHours(1)),
+                    itemIds.get(i % ITEMS), userIds.get(1 + i % (USERS - 1)), ownerId, Status.APPROVED.name()});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO bookings (booking_start, booking_end, item_id, booker_id, owner_id, " +
+                "status) VALUES (?, ?, ?, ?, ?, ?)", bookings);
+    }
+
+    @Test
+    @DisplayName("List endpoints. Entity hydration versus projections")
+    void compareListQueries() {
+        compare("bookings by owner", () -> entityManager.createQuery("SELECT b FROM Booking b " +
+                                "WHERE b.ownerId = :ownerId", Booking.class)
+                        .setParameter("ownerId", ownerId)
+                        .getResultList().stream()
+                        .map(bookingMapper::toDto)
+                        .sorted(Comparator.comparing(BookingDto::getStart))
+                        .collect(Collectors.toList()),
+                () -> bookingRepository.findAllByOwnerId(ownerId));
+
+        compare("items by owner", () -> itemMapper.toDtoList(entityManager.createQuery("SELECT i FROM Item i " +
+                                "WHERE i.owner.id = :ownerId ORDER BY i.id", Item.class)
+                        .setParameter("ownerId", ownerId)
+                        .getResultList()),
+                () -> itemRepository.findAllByOwnerId(ownerId));
+
+        compare("requests page", this::requestsWithEntities, () -> {
+            List<RequestExpandedDto> page = requestRepository.findPageByRequestorIdNot(viewerId,
+                    PageRequest.of(0, PAGE));
+            Map<Long, List<ItemDto>> items = itemRepository.findByRequestIdIn(page.stream()
+                            .map(RequestExpandedDto::getId)
+                            .collect(Collectors.toList())).stream()
+                    .collect(Collectors.groupingBy(ItemDto::getRequestId));
+            page.forEach(request -> request.setItems(items.getOrDefault(request.getId(), List.of())));
+            return page;
+        });
+
+        compare("all users", () -> userMapper.toDtoList(entityManager.createQuery("SELECT u FROM User u",
+                        User.class).getResultList()),
+                () -> userRepository.findAllDtos());
+    }
+
+    private List<RequestExpandedDto> requestsWithEntities() {
+        List<Request> page = entityManager.createQuery("SELECT r FROM Request r JOIN FETCH r.requestor " +
+                        "WHERE r.requestor.id <> :userId ORDER BY r.created DESC, r.id DESC", Request.class)
+                .setParameter("userId", viewerId)
+                .setMaxResults(PAGE)
+                .getResultList();
+        Map<Long, List<Item>> items = entityManager.createQuery("SELECT i FROM Item i WHERE i.request.id IN :ids",
+                        Item.class)
+                .setParameter("ids", page.stream().map(Request::getId).collect(Collectors.toList()))
+                .getResultList().stream()
+                .collect(Collectors.groupingBy(item -> item.getRequest().getId()));
+        return page.stream()
+                .map(request -> requestMapper.toExpandedDto(request,
+                        itemMapper.toDtoList(items.getOrDefault(request.getId(), List.of()))))
+                .collect(Collectors.toList());
+    }
+
+    private void compare(String name, Supplier<? extends Iterable<?>> entities,
+                         Supplier<? extends Iterable<?>> projections) {
+        assertEquals(count(entities.get()), count(projections.get()));
+        entityManager.clear();
+
+        long[] entityResult = measure(entities);
+        long[] projectionResult = measure(projections);
+        System.out.printf("%-18s entities:    %8.3f ms %10d KiB%n", name, entityResult[0] / 1_000_000.0,
+                entityResult[1] / 1024);
+        System.out.printf("%-18s projections: %8.3f ms %10d KiB%n", name, projectionResult[0] / 1_000_000.0,
+                projectionResult[1] / 1024);
+    }
+
+    /**
+     * Average latency (ns) and allocated bytes per call on the current thread.
+     */
+    private long[] measure(Supplier<? extends Iterable<?>> query) {
+        for (int i = 0; i < WARMUP; i++) {
+            query.get();
+            entityManager.clear();
+        }
+        long threadId = Thread.currentThread().threadId();
+        long allocated = threads.getThreadAllocatedBytes(threadId);
+        long started = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            query.get();
+            entityManager.clear();
+        }
+        long elapsed = System.nanoTime() - started;
+        return new long[]{elapsed / ROUNDS, (threads.getThreadAllocatedBytes(threadId) - allocated) / ROUNDS};
+    }
+
+    private static int count(Iterable<?> values) {
+        int count = 0;
+        for (Object ignored : values) {
+            count++;
+        }
+        return count;
+    }
+}
\ No newline at end of file
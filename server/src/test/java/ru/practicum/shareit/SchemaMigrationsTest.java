@@ -0,0 +1,85 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.common.SchemaMigrations;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(classes = ShareItServer.class)
+@ActiveProfiles("test")
+class SchemaMigrationsTest {
+
+    @Autowired
+    private SchemaMigrations schemaMigrations;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM comments");
+        jdbcTemplate.update("DELETE FROM bookings");
+        jdbcTemplate.update("DELETE FROM items");
+        jdbcTemplate.update("DELETE FROM users");
+    }
+
+    @Test
+    @DisplayName("Schema migrations. Booking owner is backfilled once and then required")
+    void shouldBackfillBookingOwner() {
+        jdbcTemplate.execute("ALTER TABLE bookings ALTER COLUMN owner_id DROP NOT NULL");
+        long ownerId = insertUser("migration-owner@yandex.ru");
+        long bookerId = insertUser("migration-booker@yandex.ru");
+        jdbcTemplate.update("INSERT INTO items (name, description, available, owner_id, deleted, comment_count) " +
+                "VALUES ('Drill', 'Drill', TRUE, ?, FALSE, 0)", ownerId);
+        long itemId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM items", Long.class);
+        jdbcTemplate.update("INSERT INTO bookings (booking_start, booking_end, item_id, booker_id, status) " +
+                "VALUES (CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, ?, ?, 'WAITING')", itemId, bookerId);
+
+        schemaMigrations.migrate();
+
+        assertEquals(ownerId, jdbcTemplate.queryForObject("SELECT owner_id FROM bookings", Long.class));
+        assertEquals("NO", nullable("bookings", "owner_id"));
+        schemaMigrations.migrate();
+        assertEquals("NO", nullable("bookings", "owner_id"));
+    }
+
+    @Test
+    @DisplayName("Schema migrations. Item comment count is backfilled once and then required")
+    void shouldBackfillCommentCount() {
+        jdbcTemplate.execute("ALTER TABLE items ALTER COLUMN comment_count DROP NOT NULL");
+        jdbcTemplate.execute("ALTER TABLE items ALTER COLUMN comment_count DROP DEFAULT");
+        long ownerId = insertUser("migration-owner@yandex.ru");
+        jdbcTemplate.update("INSERT INTO items (name, description, available, owner_id, deleted) " +
+                "VALUES ('Drill', 'Drill', TRUE, ?, FALSE)", ownerId);
+        long itemId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM items", Long.class);
+        for (int i = 0; i < 2; i++) {
+            jdbcTemplate.update("INSERT INTO comments (text, item_id, author_id, created) " +
+                    "VALUES ('Fine', ?, ?, CURRENT_TIMESTAMP)", itemId, ownerId);
+        }
+
+        schemaMigrations.migrate();
+
+        assertEquals(2L, jdbcTemplate.queryForObject("SELECT comment_count FROM items", Long.class));
+        assertEquals("NO", nullable("items", "comment_count"));
+        jdbcTemplate.update("INSERT INTO items (name, description, available, owner_id, deleted) " +
+                "VALUES ('Saw', 'Saw', TRUE, ?, FALSE)", ownerId);
+        assertEquals(0L, jdbcTemplate.queryForObject("SELECT comment_count FROM items WHERE name = 'Saw'",
+                Long.class));
+    }
+
+    private long insertUser(String email) {
+        jdbcTemplate.update("INSERT INTO users (name, email, deleted) VALUES ('User', ?, FALSE)", email);
+        return jdbcTemplate.queryForObject("SELECT id FROM users WHERE email = ?", Long.class, email);
+    }
+
+    private String nullable(String table, String column) {
+        return jdbcTemplate.queryForObject("SELECT is_nullable FROM information_schema.columns " +
+                "WHERE LOWER(table_name) = ? AND LOWER(column_name) = ?", String.class, table, column);
+    }
+}
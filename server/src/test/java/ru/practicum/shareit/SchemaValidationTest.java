@@ -0,0 +1,20 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * The fast-startup profile validates the schema from {@code schema.sql} instead of updating it,
+ * so every entity mapping has to match it.
+ */
+@SpringBootTest(classes = ShareItServer.class)
+@ActiveProfiles({"test", "fast-startup"})
+class SchemaValidationTest {
+
+    @Test
+    @DisplayName("Entities match schema.sql")
+    void contextLoads() {
+    }
+}
@@ -0,0 +1,148 @@
+package ru.practicum.shareit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.enums.Status;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * JSON versus Smile on the gateway link: payload size and encode/decode cost of the large list responses.
+ * Decoding goes to {@code Object} the way the gateway reads upstream bodies.
+ * Not part of the regular build, run with {@code mvn -pl server test -Dtest=WireFormatBenchmark}.
+ */
+@SpringBootTest(classes = ShareItServer.class)
+@Transactional
+@ActiveProfiles("test")
+public class WireFormatBenchmark {
+    private static final int USERS = 1_000;
+    private static final int ITEMS = 500;
+    private static final int BOOKINGS = 5_000;
+    private static final int WARMUP = 20;
+    private static final int ROUNDS = 50;
+
+    private final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private ObjectMapper jsonMapper;
+    @Autowired
+    private MappingJackson2SmileHttpMessageConverter smileConverter;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    private long ownerId;
+
+    @BeforeEach
+    void setUp() {
+        List<Object[]> users = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            users.add(new Object[]{"User " + i, "user" + i + "@bench.ru"});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO users (name, email, deleted) VALUES (?, ?, FALSE)", users);
+        List<Long> userIds = jdbcTemplate.queryForList("SELECT id FROM users ORDER BY id", Long.class);
+        ownerId = userIds.get(0);
+
+        List<Object[]> items = new ArrayList<>();
+        for (int i = 0; i < ITEMS; i++) {
+            items.add(new Object[]{"Item " + i, "Description of item " + i, ownerId});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO items (name, description, available, owner_id, deleted) " +
+                "VALUES (?, ?, TRUE, ?, FALSE)", items);
+        List<Long> itemIds = jdbcTemplate.queryForList("SELECT id FROM items ORDER BY id", Long.class);
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> bookings = new ArrayList<>();
+        for (int i = 0; i < BOOKINGS; i++) {
+            LocalDateTime start = now.plusHours(i - BOOKINGS / 2);
+            bookings.add(new Object[]{Timestamp.valueOf(start), Timestamp.valueOf(start.plusHours(1)),
+                    itemIds.get(i % ITEMS), userIds.get(1 + i % (USERS - 1)), ownerId, Status.APPROVED.name()});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO bookings (booking_start, booking_end, item_id, booker_id, owner_id, " +
+                "status) VALUES (?, ?, ?, ?, ?, ?)", bookings);
+    }
+
+    @Test
+    @DisplayName("List responses. JSON versus Smile")
+    void compareWireFormats() {
+        ObjectMapper smileMapper = smileConverter.getObjectMapper();
+        compare("bookings by owner", bookingRepository.findAllByOwnerId(ownerId), smileMapper);
+        compare("items by owner", itemRepository.findAllByOwnerId(ownerId), smileMapper);
+        compare("all users", userRepository.findAllDtos(), smileMapper);
+    }
+
+    private void compare(String name, Object payload, ObjectMapper smileMapper) {
+        long[] json = measure(jsonMapper, payload);
+        long[] smile = measure(smileMapper, payload);
+        System.out.printf("%-18s json:  %8d B %8.3f ms encode %8.3f ms decode %8d KiB%n", name, json[0],
+                json[1] / 1_000_000.0, json[2] / 1_000_000.0, json[3] / 1024);
+        System.out.printf("%-18s smile: %8d B %8.3f ms encode %8.3f ms decode %8d KiB%n", name, smile[0],
+                smile[1] / 1_000_000.0, smile[2] / 1_000_000.0, smile[3] / 1024);
+        assertTrue(smile[0] < json[0], name + ": Smile payload is not smaller");
+    }
+
+    /**
+     * Payload size, average encode and decode CPU time (ns) and allocated bytes per round trip.
+     */
+    private long[] measure(ObjectMapper mapper, Object payload) {
+        byte[] body = write(mapper, payload);
+        for (int i = 0; i < WARMUP; i++) {
+            read(mapper, write(mapper, payload));
+        }
+        long threadId = Thread.currentThread().threadId();
+        long allocated = threads.getThreadAllocatedBytes(threadId);
+        long encoding = 0;
+        long decoding = 0;
+        for (int i = 0; i < ROUNDS; i++) {
+            long started = threads.getCurrentThreadCpuTime();
+            byte[] encoded = write(mapper, payload);
+            long encodedAt = threads.getCurrentThreadCpuTime();
+            read(mapper, encoded);
+            decoding += threads.getCurrentThreadCpuTime() - encodedAt;
+            encoding += encodedAt - started;
+        }
+        return new long[]{body.length, encoding / ROUNDS, decoding / ROUNDS,
+                (threads.getThreadAllocatedBytes(threadId) - allocated) / ROUNDS};
+    }
+
+    private static byte[] write(ObjectMapper mapper, Object payload) {
+        try {
+            return mapper.writeValueAsBytes(payload);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Object read(ObjectMapper mapper, byte[] body) {
+        try {
+            return mapper.readValue(body, Object.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
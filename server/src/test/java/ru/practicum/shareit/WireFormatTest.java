@@ -0,0 +1,134 @@
+package ru.practicum.shareit;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.controller.BookingController;
+import ru.practicum.shareit.booking.dto.BookingCreateDto;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.enums.Status;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.common.WireFormatConfig;
+import ru.practicum.shareit.idempotency.service.IdempotencyService;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Smile requests and responses end to end through the server MVC stack, as the gateway sends them.
+ */
+@WebMvcTest(BookingController.class)
+@Import(WireFormatConfig.class)
+public class WireFormatTest {
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MappingJackson2SmileHttpMessageConverter smileConverter;
+
+    @MockBean
+    private BookingService bookingService;
+
+    @MockBean
+    private IdempotencyService idempotencyService;
+
+    private ObjectMapper smileMapper;
+    private LocalDateTime start;
+    private BookingDto booking;
+
+    @BeforeEach
+    void setUp() {
+        Mockito.when(idempotencyService.execute(any(), any(), any(), any(), any(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(5).get());
+        smileMapper = smileConverter.getObjectMapper();
+        start = LocalDateTime.of(2030, 1, 2, 10, 15, 30, 123_000_000);
+        booking = BookingDto.builder()
+                .id(1L)
+                .start(start)
+                .end(start.plusHours(2))
+                .item(ItemDto.builder().id(1L).name("Item Name").build())
+                .booker(UserDto.builder().id(2L).name("User Name").build())
+                .status(Status.WAITING)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Smile. Creating booking reads and writes date-times")
+    void shouldCreateBookingOverSmile() throws Exception {
+        BookingCreateDto request = BookingCreateDto.builder()
+                .start(start)
+                .end(start.plusHours(2))
+                .itemId(1L)
+                .bookerId(2L)
+                .build();
+        Mockito.when(bookingService.saveBooking(eq(2L), any(BookingCreateDto.class))).thenAnswer(invocation -> {
+            BookingCreateDto received = invocation.getArgument(1);
+            assertEquals(start, received.getStart());
+            assertEquals(start.plusHours(2), received.getEnd());
+            return booking;
+        });
+
+        byte[] body = mockMvc.perform(post("/bookings")
+                        .header("X-Sharer-User-Id", 2L)
+                        .contentType(SMILE)
+                        .accept(SMILE)
+                        .content(smileMapper.writeValueAsBytes(request)))
+                .andExpect(status().isCreated())
+                .andExpect(content().contentType(SMILE))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode created = smileMapper.readTree(body);
+        assertEquals(1L, created.get("id").asLong());
+        assertEquals(start, smileMapper.treeToValue(created.get("start"), LocalDateTime.class));
+        assertEquals(start.plusHours(2), smileMapper.treeToValue(created.get("end"), LocalDateTime.class));
+        assertEquals("Item Name", created.get("item").get("name").asText());
+    }
+
+    @Test
+    @DisplayName("Smile. Listing bookings keeps only the requested fields")
+    void shouldFilterBookingListOverSmile() throws Exception {
+        Mockito.when(bookingService.findAllBookingsByUserAndState(2L, "ALL")).thenReturn(List.of(booking));
+
+        byte[] body = mockMvc.perform(get("/bookings")
+                        .header("X-Sharer-User-Id", 2L)
+                        .param("fields", "start,status")
+                        .accept(SMILE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(SMILE))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode list = smileMapper.readTree(body);
+        assertEquals(1, list.size());
+        JsonNode first = list.get(0);
+        Set<String> names = new HashSet<>();
+        first.fieldNames().forEachRemaining(names::add);
+        assertEquals(Set.of("id", "start", "status"), names);
+        assertEquals(start, smileMapper.treeToValue(first.get("start"), LocalDateTime.class));
+        assertEquals("WAITING", first.get("status").asText());
+    }
+}
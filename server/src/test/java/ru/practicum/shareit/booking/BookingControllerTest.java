@@ -1,6 +1,7 @@
 package ru.practicum.shareit.booking;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -13,14 +14,18 @@ import ru.practicum.shareit.booking.controller.BookingController;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingUpdateDto;
+import ru.practicum.shareit.booking.enums.State;
 import ru.practicum.shareit.booking.enums.Status;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.idempotency.service.IdempotencyService;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.user.dto.UserDto;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
@@ -41,6 +46,15 @@ public class BookingControllerTest {
     @MockBean
     private BookingService bookingService;
 
+    @MockBean
+    private IdempotencyService idempotencyService;
+
+    @BeforeEach
+    void runWithoutIdempotencyKey() {
+        Mockito.when(idempotencyService.execute(any(), any(), any(), any(), any(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(5).get());
+    }
+
     @Test
     @DisplayName("Creating booking")
     void shouldCreateBooking() throws Exception {
@@ -174,4 +188,46 @@ public class BookingControllerTest {
                 .andExpect(jsonPath("$[0].id").value(bookingDto.getId()))
                 .andExpect(jsonPath("$[0].status").value(bookingDto.getStatus().toString()));
     }
+
+    @Test
+    @DisplayName("Getting owner bookings. Only ids and dates")
+    void shouldReturnOnlyRequestedBookingFields() throws Exception {
+        LocalDateTime start = LocalDateTime.now().plusHours(1);
+        BookingDto bookingDto = BookingDto.builder()
+                .id(1L)
+                .start(start)
+                .end(start.plusHours(2))
+                .item(ItemDto.builder().id(1L).name("Item Name").build())
+                .booker(UserDto.builder().id(2L).name("User Name").build())
+                .status(Status.APPROVED)
+                .build();
+
+        Mockito.when(bookingService.findAllBookingsByOwnerAndState(eq(1L), eq("ALL"))).thenReturn(List.of(bookingDto));
+
+        mockMvc.perform(get("/bookings/owner")
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("fields", "start,end"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(1L))
+                .andExpect(jsonPath("$[0].start").exists())
+                .andExpect(jsonPath("$[0].end").exists())
+                .andExpect(jsonPath("$[0].item").doesNotExist())
+                .andExpect(jsonPath("$[0].booker").doesNotExist())
+                .andExpect(jsonPath("$[0].status").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("Getting booking counters for owner")
+    void shouldReturnBookingCountersForOwner() throws Exception {
+        Map<State, Long> stats = Map.of(State.ALL, 3L, State.WAITING, 1L);
+
+        Mockito.when(bookingService.countBookingsByOwner(1L, true)).thenReturn(stats);
+
+        mockMvc.perform(get("/bookings/owner/stats")
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("cached", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.ALL").value(3L))
+                .andExpect(jsonPath("$.WAITING").value(1L));
+    }
 }
\ No newline at end of file
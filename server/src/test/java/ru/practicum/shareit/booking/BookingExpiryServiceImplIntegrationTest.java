@@ -0,0 +1,87 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.booking.entity.Booking;
+import ru.practicum.shareit.booking.enums.Status;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingExpiryService;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.exception.ItemAvailabilityException;
+import ru.practicum.shareit.item.entity.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.entity.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(classes = ShareItServer.class, properties = "shareit.booking-expiry.batch-size=2")
+@Transactional
+@ActiveProfiles("test")
+public class BookingExpiryServiceImplIntegrationTest {
+
+    @Autowired
+    private BookingExpiryService bookingExpiryService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Test
+    @DisplayName("Expire bookings. Started waiting bookings expire in batches")
+    void shouldExpireStartedWaitingBookingsInBatches() {
+        User booker = userRepository.save(new User(null, "Booker", "booker@yandex.ru"));
+        User owner = userRepository.save(new User(null, "Owner", "owner@yandex.ru"));
+        Item item = itemRepository.save(Item.builder()
+                .name("Item Name")
+                .description("Item Description")
+                .available(true)
+                .owner(owner)
+                .build());
+        LocalDateTime now = LocalDateTime.now();
+
+        Booking first = save(item, booker, now.minusDays(3), Status.WAITING);
+        Booking second = save(item, booker, now.minusDays(2), Status.WAITING);
+        Booking third = save(item, booker, now.minusDays(1), Status.WAITING);
+        Booking future = save(item, booker, now.plusDays(1), Status.WAITING);
+        Booking approved = save(item, booker, now.minusDays(1), Status.APPROVED);
+
+        assertTrue(bookingExpiryService.expireNextBatch());
+        assertFalse(bookingExpiryService.expireNextBatch());
+        assertFalse(bookingExpiryService.expireNextBatch());
+
+        assertEquals(Status.EXPIRED, bookingRepository.findById(first.getId()).orElseThrow().getStatus());
+        assertEquals(Status.EXPIRED, bookingRepository.findById(second.getId()).orElseThrow().getStatus());
+        assertEquals(Status.EXPIRED, bookingRepository.findById(third.getId()).orElseThrow().getStatus());
+        assertEquals(Status.WAITING, bookingRepository.findById(future.getId()).orElseThrow().getStatus());
+        assertEquals(Status.APPROVED, bookingRepository.findById(approved.getId()).orElseThrow().getStatus());
+
+        assertThrows(ItemAvailabilityException.class,
+                () -> bookingService.approveBooking(first.getId(), owner.getId(), true));
+    }
+
+    private Booking save(Item item, User booker, LocalDateTime start, Status status) {
+        return bookingRepository.save(Booking.builder()
+                .item(item)
+                .booker(booker)
+                .start(start)
+                .end(start.plusHours(12))
+                .status(status)
+                .build());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,74 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingIntervalIndex;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BookingIntervalIndexTest {
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    private BookingIntervalIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new BookingIntervalIndex(bookingRepository, 100);
+    }
+
+    @Test
+    @DisplayName("Booking interval index. A write to another item does not discard a running load")
+    void shouldCacheLoadRacingWithOtherItem() {
+        when(bookingRepository.findIntervalsByItemIdIn(anyCollection(), any())).thenAnswer(invocation -> {
+            index.invalidate(2L);
+            return List.of();
+        });
+
+        index.get(1L);
+        index.get(1L);
+
+        verify(bookingRepository, times(1)).findIntervalsByItemIdIn(anyCollection(), any());
+    }
+
+    @Test
+    @DisplayName("Booking interval index. A write to the same item discards a running load")
+    void shouldNotCacheLoadRacingWithSameItem() {
+        when(bookingRepository.findIntervalsByItemIdIn(anyCollection(), any())).thenAnswer(invocation -> {
+            index.invalidate(1L);
+            return List.of();
+        }).thenReturn(List.of());
+
+        index.get(1L);
+        index.get(1L);
+        index.get(1L);
+
+        verify(bookingRepository, times(2)).findIntervalsByItemIdIn(anyCollection(), any());
+    }
+
+    @Test
+    @DisplayName("Booking interval index. Dropping everything discards every running load")
+    void shouldNotCacheLoadRacingWithInvalidateAll() {
+        when(bookingRepository.findIntervalsByItemIdIn(anyCollection(), any())).thenAnswer(invocation -> {
+            index.invalidateAll();
+            return List.of();
+        }).thenReturn(List.of());
+
+        index.getAll(List.of(1L, 2L));
+        index.getAll(List.of(1L, 2L));
+        index.getAll(List.of(1L, 2L));
+
+        verify(bookingRepository, times(2)).findIntervalsByItemIdIn(anyCollection(), any());
+    }
+}
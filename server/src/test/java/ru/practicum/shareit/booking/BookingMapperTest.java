@@ -44,7 +44,7 @@ public class BookingMapperTest {
     @DisplayName("Booking to DTO")
     void toDto_shouldMapBookingToBookingDto() {
         User user = new User(1L, "User", "user@yandex.ru");
-        Item item = new Item(1L, "Item Name", "Item Description", true, user, null);
+        Item item = new Item(1L, "Item Name", "Item Description", true, user, null, 0L);
         LocalDateTime testTime = LocalDateTime.of(2024, 12, 5, 15, 34, 0);
         Booking booking = Booking.builder()
                 .id(1L)
@@ -79,7 +79,7 @@ public class BookingMapperTest {
     @Test
     @DisplayName("BookingCreateDto to Booking")
     void toBooking_shouldMapBookingCreateDtoToBooking() {
-        Item item = new Item(1L, "Item Name", "Item Description", true, null, null);
+        Item item = new Item(1L, "Item Name", "Item Description", true, null, null, 0L);
         User user = new User(1L, "User", "user@yandex.ru");
         LocalDateTime testTime = LocalDateTime.of(2024, 12, 5, 15, 34, 0);
 
@@ -110,7 +110,7 @@ public class BookingMapperTest {
     @DisplayName("Booking update from DTO")
     void updateBookingFromDto_shouldUpdateBookingFields() {
         User user = new User(1L, "User", "user@yandex.ru");
-        Item item = new Item(1L, "Item Name", "Item Description", true, user, null);
+        Item item = new Item(1L, "Item Name", "Item Description", true, user, null, 0L);
         LocalDateTime testTime = LocalDateTime.of(2024, 12, 5, 15, 34, 0);
 
         Booking booking = Booking.builder()
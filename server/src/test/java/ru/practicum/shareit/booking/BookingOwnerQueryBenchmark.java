@@ -0,0 +1,125 @@
+package ru.practicum.shareit.booking;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.booking.entity.Booking;
+import ru.practicum.shareit.booking.enums.Status;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Owner booking queries with the item join versus the denormalized owner_id column.
+ * Not part of the regular build, run with {@code mvn -pl server test -Dtest=BookingOwnerQueryBenchmark}.
+ */
+@SpringBootTest(classes = ShareItServer.class)
+@Transactional
+@ActiveProfiles("test")
+public class BookingOwnerQueryBenchmark {
+    private static final int ITEMS = 50;
+    private static final int BOOKINGS = 20_000;
+    private static final int WARMUP = 20;
+    private static final int ROUNDS = 50;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private long ownerId;
+
+    @BeforeEach
+    void setUp() {
+        ownerId = insertUser("owner@bench.ru");
+        long otherOwnerId = insertUser("other@bench.ru");
+        long bookerId = insertUser("booker@bench.ru");
+        List<Long> itemIds = new ArrayList<>();
+        for (int i = 0; i < ITEMS; i++) {
+            itemIds.add(insertItem(i % 2 == 0 ? ownerId : otherOwnerId));
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        Status[] statuses = Status.values();
+        List<Object[]> rows = new ArrayList<>(BOOKINGS);
+        for (int i = 0; i < BOOKINGS; i++) {
+            int item = i % ITEMS;
+            LocalDateTime start = now.plusHours(i - BOOKINGS / 2);
+            rows.add(new Object[]{Timestamp.valueOf(start), Timestamp.valueOf(start.plusHours(1)), itemIds.get(item),
+                    bookerId, item % 2 == 0 ? ownerId : otherOwnerId, statuses[i % statuses.length].name()});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO bookings (booking_start, booking_end, item_id, booker_id, owner_id, status) " +
+                "VALUES (?, ?, ?, ?, ?, ?)", rows);
+    }
+
+    @Test
+    @DisplayName("Owner bookings. Item join versus owner_id column")
+    void compareOwnerQueries() {
+        Supplier<Long> joined = () -> (long) entityManager.createQuery("SELECT b FROM Booking b " +
+                        "WHERE b.item.owner.id = :ownerId AND b.status = :status", Booking.class)
+                .setParameter("ownerId", ownerId)
+                .setParameter("status", Status.WAITING)
+                .getResultList().size();
+        Supplier<Long> denormalized = () -> (long) bookingRepository.findAllByOwnerIdAndStatus(ownerId, Status.WAITING)
+                .size();
+        Supplier<Long> joinedCounts = () -> entityManager.createQuery("SELECT COUNT(b) FROM Booking b " +
+                        "WHERE b.item.owner.id = :ownerId AND b.status = :status", Long.class)
+                .setParameter("ownerId", ownerId)
+                .setParameter("status", Status.WAITING)
+                .getSingleResult();
+        Supplier<Long> denormalizedCounts = () -> entityManager.createQuery("SELECT COUNT(b) FROM Booking b " +
+                        "WHERE b.ownerId = :ownerId AND b.status = :status", Long.class)
+                .setParameter("ownerId", ownerId)
+                .setParameter("status", Status.WAITING)
+                .getSingleResult();
+
+        assertEquals(joined.get(), denormalized.get());
+        assertEquals(joinedCounts.get(), denormalizedCounts.get());
+
+        System.out.printf("owner bookings, item join:  %.3f ms%n", measure(joined));
+        System.out.printf("owner bookings, owner_id:   %.3f ms%n", measure(denormalized));
+        System.out.printf("owner count, item join:     %.3f ms%n", measure(joinedCounts));
+        System.out.printf("owner count, owner_id:      %.3f ms%n", measure(denormalizedCounts));
+    }
+
+    private double measure(Supplier<Long> query) {
+        for (int i = 0; i < WARMUP; i++) {
+            query.get();
+            entityManager.clear();
+        }
+        long started = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            query.get();
+            entityManager.clear();
+        }
+        return (System.nanoTime() - started) / 1_000_000.0 / ROUNDS;
+    }
+
+    private long insertUser(String email) {
+        jdbcTemplate.update("INSERT INTO users (name, email) VALUES (?, ?)", email, email);
+        return jdbcTemplate.queryForObject("SELECT id FROM users WHERE email = ?", Long.class, email);
+    }
+
+    private long insertItem(long owner) {
+        jdbcTemplate.update("INSERT INTO items (name, description, available, owner_id) VALUES ('Item', 'Bench', TRUE, ?)",
+                owner);
+        return jdbcTemplate.queryForObject("SELECT MAX(id) FROM items", Long.class);
+    }
+}
\ No newline at end of file
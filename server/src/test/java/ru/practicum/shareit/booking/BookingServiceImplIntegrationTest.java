@@ -12,6 +12,7 @@ import ru.practicum.shareit.booking.dto.BookingCreateDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingUpdateDto;
 import ru.practicum.shareit.booking.entity.Booking;
+import ru.practicum.shareit.booking.enums.State;
 import ru.practicum.shareit.booking.enums.Status;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.booking.service.BookingService;
@@ -22,6 +23,7 @@ import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
 import java.util.Collection;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -72,6 +74,7 @@ public class BookingServiceImplIntegrationTest {
         assertNotNull(savedBooking);
         assertEquals("Item Name", savedBooking.getItem().getName());
         assertEquals(user.getId(), savedBooking.getBooker().getId());
+        assertEquals(owner.getId(), bookingRepository.findById(savedBooking.getId()).orElseThrow().getOwnerId());
     }
 
     @Test
@@ -190,6 +193,13 @@ public class BookingServiceImplIntegrationTest {
 
         assertNotNull(bookings);
         assertEquals(2, bookings.size());
+
+        BookingDto first = bookings.iterator().next();
+        assertEquals(Status.WAITING, first.getStatus());
+        assertEquals("Item Name", first.getItem().getName());
+        assertEquals(owner.getId(), first.getItem().getOwnerId());
+        assertNull(first.getItem().getRequestId());
+        assertEquals("user@yandex.ru", first.getBooker().getEmail());
     }
 
     @Test
@@ -217,4 +227,35 @@ public class BookingServiceImplIntegrationTest {
         assertNotNull(approvedBooking);
         assertEquals(Status.APPROVED, approvedBooking.getStatus());
     }
+
+    @Test
+    @DisplayName("Count bookings by state. Booker and owner counters")
+    void shouldCountBookingsByState() {
+        User booker = userRepository.save(new User(null, "Booker", "booker@yandex.ru"));
+        User owner = userRepository.save(new User(null, "Owner", "owner@yandex.ru"));
+        Item item = itemRepository.save(Item.builder()
+                .name("Item Name")
+                .description("Item Description")
+                .available(true)
+                .owner(owner)
+                .build());
+        LocalDateTime now = LocalDateTime.now();
+
+        bookingRepository.save(Booking.builder().item(item).booker(booker)
+                .start(now.minusDays(3)).end(now.minusDays(2)).status(Status.APPROVED).build());
+        bookingRepository.save(Booking.builder().item(item).booker(booker)
+                .start(now.minusDays(1)).end(now.plusDays(1)).status(Status.APPROVED).build());
+        bookingRepository.save(Booking.builder().item(item).booker(booker)
+                .start(now.plusDays(1)).end(now.plusDays(2)).status(Status.WAITING).build());
+        bookingRepository.save(Booking.builder().item(item).booker(booker)
+                .start(now.plusDays(3)).end(now.plusDays(4)).status(Status.REJECTED).build());
+
+        Map<State, Long> expected = Map.of(State.ALL, 4L, State.CURRENT, 1L, State.PAST, 1L,
+                State.FUTURE, 2L, State.WAITING, 1L, State.REJECTED, 1L);
+
+        assertEquals(expected, bookingService.countBookingsByUser(booker.getId(), false));
+        assertEquals(expected, bookingService.countBookingsByOwner(owner.getId(), false));
+        assertEquals(expected, bookingService.countBookingsByUser(booker.getId(), true));
+        assertEquals(0L, bookingService.countBookingsByUser(owner.getId(), false).get(State.ALL));
+    }
 }
\ No newline at end of file
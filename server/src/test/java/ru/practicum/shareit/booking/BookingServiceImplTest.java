@@ -15,14 +15,18 @@ import ru.practicum.shareit.booking.entity.Booking;
 import ru.practicum.shareit.booking.enums.Status;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingIntervalIndex;
+import ru.practicum.shareit.booking.service.BookingStatsCache;
 import ru.practicum.shareit.booking.service.BookingServiceImpl;
 import ru.practicum.shareit.exception.*;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.entity.Item;
+import ru.practicum.shareit.reminder.service.ReminderScheduler;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.entity.User;
 import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.outbox.service.OutboxService;
 
 import java.time.LocalDateTime;
 import java.util.Collection;
@@ -49,6 +53,18 @@ class BookingServiceImplTest {
     @Mock
     private BookingMapper bookingMapper;
 
+    @Mock
+    private BookingIntervalIndex bookingIntervalIndex;
+
+    @Mock
+    private BookingStatsCache bookingStatsCache;
+
+    @Mock
+    private ReminderScheduler reminderScheduler;
+
+    @Mock
+    private OutboxService outboxService;
+
     @InjectMocks
     private BookingServiceImpl bookingService;
 
@@ -216,6 +232,7 @@ class BookingServiceImplTest {
                 .end(LocalDateTime.now().plusDays(2))
                 .status(Status.WAITING)
                 .booker(booker)
+                .item(Item.builder().id(1L).build())
                 .build();
         BookingUpdateDto bookingUpdateDto = BookingUpdateDto.builder()
                 .id(bookingId)
@@ -243,6 +260,7 @@ class BookingServiceImplTest {
         Booking booking = Booking.builder()
                 .id(bookingId)
                 .booker(User.builder().id(bookerId).build())
+                .item(Item.builder().id(1L).build())
                 .status(Status.WAITING)
                 .start(LocalDateTime.now().plusDays(1))
                 .end(LocalDateTime.now().plusDays(2))
@@ -371,16 +389,17 @@ class BookingServiceImplTest {
                 .status(Status.APPROVED)
                 .build();
 
-        when(userRepository.findById(ownerId)).thenReturn(Optional.of(owner));
-        when(bookingRepository.findAllByOwnerId(ownerId)).thenReturn(List.of(booking));
-        when(bookingMapper.toDto(booking)).thenReturn(BookingDto.builder()
+        BookingDto bookingDto = BookingDto.builder()
                 .id(booking.getId())
                 .start(booking.getStart())
                 .end(booking.getEnd())
                 .status(booking.getStatus())
                 .item(ItemDto.builder().id(item.getId()).build())
                 .booker(UserDto.builder().id(ownerId).build())
-                .build());
+                .build();
+
+        when(userRepository.findById(ownerId)).thenReturn(Optional.of(owner));
+        when(bookingRepository.findAllByOwnerId(ownerId)).thenReturn(List.of(bookingDto));
 
         Collection<BookingDto> bookings = bookingService.findAllBookingsByOwnerAndState(ownerId, state);
 
@@ -415,16 +434,17 @@ class BookingServiceImplTest {
                 .status(Status.APPROVED)
                 .build();
 
-        when(userRepository.findById(ownerId)).thenReturn(Optional.of(owner));
-        when(bookingRepository.findAllCurrentBookingByOwnerId(ownerId)).thenReturn(List.of(booking));
-        when(bookingMapper.toDto(booking)).thenReturn(BookingDto.builder()
+        BookingDto bookingDto = BookingDto.builder()
                 .id(booking.getId())
                 .start(booking.getStart())
                 .end(booking.getEnd())
                 .status(booking.getStatus())
                 .item(ItemDto.builder().id(item.getId()).build())
                 .booker(UserDto.builder().id(ownerId).build())
-                .build());
+                .build();
+
+        when(userRepository.findById(ownerId)).thenReturn(Optional.of(owner));
+        when(bookingRepository.findAllCurrentBookingByOwnerId(ownerId)).thenReturn(List.of(bookingDto));
 
         Collection<BookingDto> bookings = bookingService.findAllBookingsByOwnerAndState(ownerId, state);
 
@@ -459,16 +479,17 @@ class BookingServiceImplTest {
                 .status(Status.APPROVED)
                 .build();
 
-        when(userRepository.findById(ownerId)).thenReturn(Optional.of(owner));
-        when(bookingRepository.findAllPastBookingByOwnerId(ownerId)).thenReturn(List.of(booking));
-        when(bookingMapper.toDto(booking)).thenReturn(BookingDto.builder()
+        BookingDto bookingDto = BookingDto.builder()
                 .id(booking.getId())
                 .start(booking.getStart())
                 .end(booking.getEnd())
                 .status(booking.getStatus())
                 .item(ItemDto.builder().id(item.getId()).build())
                 .booker(UserDto.builder().id(ownerId).build())
-                .build());
+                .build();
+
+        when(userRepository.findById(ownerId)).thenReturn(Optional.of(owner));
+        when(bookingRepository.findAllPastBookingByOwnerId(ownerId)).thenReturn(List.of(bookingDto));
 
         Collection<BookingDto> bookings = bookingService.findAllBookingsByOwnerAndState(ownerId, state);
 
@@ -503,16 +524,17 @@ class BookingServiceImplTest {
                 .status(Status.APPROVED)
                 .build();
 
-        when(userRepository.findById(ownerId)).thenReturn(Optional.of(owner));
-        when(bookingRepository.findAllFutureBookingByOwnerId(ownerId)).thenReturn(List.of(booking));
-        when(bookingMapper.toDto(booking)).thenReturn(BookingDto.builder()
+        BookingDto bookingDto = BookingDto.builder()
                 .id(booking.getId())
                 .start(booking.getStart())
                 .end(booking.getEnd())
                 .status(booking.getStatus())
                 .item(ItemDto.builder().id(item.getId()).build())
                 .booker(UserDto.builder().id(ownerId).build())
-                .build());
+                .build();
+
+        when(userRepository.findById(ownerId)).thenReturn(Optional.of(owner));
+        when(bookingRepository.findAllFutureBookingByOwnerId(ownerId)).thenReturn(List.of(bookingDto));
 
         Collection<BookingDto> bookings = bookingService.findAllBookingsByOwnerAndState(ownerId, state);
 
@@ -547,16 +569,17 @@ class BookingServiceImplTest {
                 .status(Status.WAITING)
                 .build();
 
-        when(userRepository.findById(ownerId)).thenReturn(Optional.of(owner));
-        when(bookingRepository.findAllByOwnerIdAndStatus(ownerId, Status.WAITING)).thenReturn(List.of(booking));
-        when(bookingMapper.toDto(booking)).thenReturn(BookingDto.builder()
+        BookingDto bookingDto = BookingDto.builder()
                 .id(booking.getId())
                 .start(booking.getStart())
                 .end(booking.getEnd())
                 .status(booking.getStatus())
                 .item(ItemDto.builder().id(item.getId()).build())
                 .booker(UserDto.builder().id(ownerId).build())
-                .build());
+                .build();
+
+        when(userRepository.findById(ownerId)).thenReturn(Optional.of(owner));
+        when(bookingRepository.findAllByOwnerIdAndStatus(ownerId, Status.WAITING)).thenReturn(List.of(bookingDto));
 
         Collection<BookingDto> bookings = bookingService.findAllBookingsByOwnerAndState(ownerId, state);
 
@@ -591,16 +614,17 @@ class BookingServiceImplTest {
                 .status(Status.REJECTED)
                 .build();
 
-        when(userRepository.findById(ownerId)).thenReturn(Optional.of(owner));
-        when(bookingRepository.findAllByOwnerIdAndStatus(ownerId, Status.REJECTED)).thenReturn(List.of(booking));
-        when(bookingMapper.toDto(booking)).thenReturn(BookingDto.builder()
+        BookingDto bookingDto = BookingDto.builder()
                 .id(booking.getId())
                 .start(booking.getStart())
                 .end(booking.getEnd())
                 .status(booking.getStatus())
                 .item(ItemDto.builder().id(item.getId()).build())
                 .booker(UserDto.builder().id(ownerId).build())
-                .build());
+                .build();
+
+        when(userRepository.findById(ownerId)).thenReturn(Optional.of(owner));
+        when(bookingRepository.findAllByOwnerIdAndStatus(ownerId, Status.REJECTED)).thenReturn(List.of(bookingDto));
 
         Collection<BookingDto> bookings = bookingService.findAllBookingsByOwnerAndState(ownerId, state);
 
@@ -623,9 +647,10 @@ class BookingServiceImplTest {
                 .booker(User.builder().id(userId).build())
                 .build();
 
+        BookingDto bookingDto = BookingDto.builder().id(booking.getId()).build();
+
         when(userRepository.findById(userId)).thenReturn(Optional.of(User.builder().id(userId).build()));
-        when(bookingRepository.findAllByBookerId(userId)).thenReturn(List.of(booking));
-        when(bookingMapper.toDto(booking)).thenReturn(BookingDto.builder().id(booking.getId()).build());
+        when(bookingRepository.findAllByBookerId(userId)).thenReturn(List.of(bookingDto));
 
         Collection<BookingDto> result = bookingService.findAllBookingsByUserAndState(userId, state);
 
@@ -647,9 +672,10 @@ class BookingServiceImplTest {
                 .booker(User.builder().id(userId).build())
                 .build();
 
+        BookingDto bookingDto = BookingDto.builder().id(booking.getId()).build();
+
         when(userRepository.findById(userId)).thenReturn(Optional.of(User.builder().id(userId).build()));
-        when(bookingRepository.findAllCurrentBookingsByBookerId(userId)).thenReturn(List.of(booking));
-        when(bookingMapper.toDto(booking)).thenReturn(BookingDto.builder().id(booking.getId()).build());
+        when(bookingRepository.findAllCurrentBookingsByBookerId(userId)).thenReturn(List.of(bookingDto));
 
         Collection<BookingDto> result = bookingService.findAllBookingsByUserAndState(userId, state);
 
@@ -671,9 +697,10 @@ class BookingServiceImplTest {
                 .booker(User.builder().id(userId).build())
                 .build();
 
+        BookingDto bookingDto = BookingDto.builder().id(booking.getId()).build();
+
         when(userRepository.findById(userId)).thenReturn(Optional.of(User.builder().id(userId).build()));
-        when(bookingRepository.findAllPastBookingByBookerId(userId)).thenReturn(List.of(booking));
-        when(bookingMapper.toDto(booking)).thenReturn(BookingDto.builder().id(booking.getId()).build());
+        when(bookingRepository.findAllPastBookingByBookerId(userId)).thenReturn(List.of(bookingDto));
 
         Collection<BookingDto> result = bookingService.findAllBookingsByUserAndState(userId, state);
 
@@ -695,9 +722,10 @@ class BookingServiceImplTest {
                 .booker(User.builder().id(userId).build())
                 .build();
 
+        BookingDto bookingDto = BookingDto.builder().id(booking.getId()).build();
+
         when(userRepository.findById(userId)).thenReturn(Optional.of(User.builder().id(userId).build()));
-        when(bookingRepository.findAllFutureBookingByBookerId(userId)).thenReturn(List.of(booking));
-        when(bookingMapper.toDto(booking)).thenReturn(BookingDto.builder().id(booking.getId()).build());
+        when(bookingRepository.findAllFutureBookingByBookerId(userId)).thenReturn(List.of(bookingDto));
 
         Collection<BookingDto> result = bookingService.findAllBookingsByUserAndState(userId, state);
 
@@ -720,9 +748,10 @@ class BookingServiceImplTest {
                 .booker(User.builder().id(userId).build())
                 .build();
 
+        BookingDto bookingDto = BookingDto.builder().id(booking.getId()).build();
+
         when(userRepository.findById(userId)).thenReturn(Optional.of(User.builder().id(userId).build()));
-        when(bookingRepository.findAllByBookerIdAndStatus(userId, Status.WAITING)).thenReturn(List.of(booking));
-        when(bookingMapper.toDto(booking)).thenReturn(BookingDto.builder().id(booking.getId()).build());
+        when(bookingRepository.findAllByBookerIdAndStatus(userId, Status.WAITING)).thenReturn(List.of(bookingDto));
 
         Collection<BookingDto> result = bookingService.findAllBookingsByUserAndState(userId, state);
 
@@ -745,9 +774,10 @@ class BookingServiceImplTest {
                 .booker(User.builder().id(userId).build())
                 .build();
 
+        BookingDto bookingDto = BookingDto.builder().id(booking.getId()).build();
+
         when(userRepository.findById(userId)).thenReturn(Optional.of(User.builder().id(userId).build()));
-        when(bookingRepository.findAllByBookerIdAndStatus(userId, Status.REJECTED)).thenReturn(List.of(booking));
-        when(bookingMapper.toDto(booking)).thenReturn(BookingDto.builder().id(booking.getId()).build());
+        when(bookingRepository.findAllByBookerIdAndStatus(userId, Status.REJECTED)).thenReturn(List.of(bookingDto));
 
         Collection<BookingDto> result = bookingService.findAllBookingsByUserAndState(userId, state);
 
@@ -840,6 +870,7 @@ class BookingServiceImplTest {
         assertEquals(Status.APPROVED, approvedBooking.getStatus());
         verify(bookingRepository).findById(bookingId);
         verify(bookingRepository).save(booking);
+        verify(reminderScheduler).bookingChanged(booking);
     }
 
     @Test
@@ -0,0 +1,126 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.booking.dto.BookingIntervalDto;
+import ru.practicum.shareit.booking.dto.BookingStateCountsDto;
+import ru.practicum.shareit.booking.entity.Booking;
+import ru.practicum.shareit.booking.enums.State;
+import ru.practicum.shareit.booking.enums.Status;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingStatsCache;
+import ru.practicum.shareit.item.entity.Item;
+import ru.practicum.shareit.user.entity.User;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+class BookingStatsCacheTest {
+    private BookingRepository bookingRepository;
+    private BookingStatsCache cache;
+    private Item item;
+    private User booker;
+
+    @BeforeEach
+    void setUp() {
+        bookingRepository = mock(BookingRepository.class);
+        cache = new BookingStatsCache(bookingRepository, 100, Duration.ofMinutes(5));
+        booker = User.builder().id(1L).build();
+        item = Item.builder().id(10L).owner(User.builder().id(2L).build()).build();
+    }
+
+    @Test
+    @DisplayName("Cached counters. Seeded from grouped query")
+    void shouldSeedCountersFromQuery() {
+        LocalDateTime now = LocalDateTime.now();
+        when(bookingRepository.countStatesByBookerId(1L))
+                .thenReturn(new BookingStateCountsDto(3L, 1L, 1L, 1L, 1L, 0L));
+        when(bookingRepository.findUnfinishedIntervalsByBookerId(1L)).thenReturn(List.of(
+                new BookingIntervalDto(10L, now.minusDays(1), now.plusDays(1)),
+                new BookingIntervalDto(10L, now.plusDays(1), now.plusDays(2))));
+
+        Map<State, Long> stats = cache.getBookerStats(1L);
+
+        assertEquals(Map.of(State.ALL, 3L, State.CURRENT, 1L, State.PAST, 1L,
+                State.FUTURE, 1L, State.WAITING, 1L, State.REJECTED, 0L), stats);
+
+        cache.getBookerStats(1L);
+        verify(bookingRepository, times(1)).countStatesByBookerId(1L);
+    }
+
+    @Test
+    @DisplayName("Cached counters. Maintained on transitions")
+    void shouldApplyTransitions() {
+        LocalDateTime now = LocalDateTime.now();
+        when(bookingRepository.countStatesByOwnerId(2L))
+                .thenReturn(new BookingStateCountsDto(0L, 0L, 0L, 0L, 0L, 0L));
+        when(bookingRepository.findUnfinishedIntervalsByOwnerId(2L)).thenReturn(List.of());
+        cache.getOwnerStats(2L);
+
+        Booking booking = Booking.builder().id(5L).item(item).booker(booker)
+                .start(now.plusDays(1)).end(now.plusDays(2)).status(Status.WAITING).build();
+        cache.created(booking);
+
+        assertEquals(1L, cache.getOwnerStats(2L).get(State.FUTURE));
+        assertEquals(1L, cache.getOwnerStats(2L).get(State.WAITING));
+
+        booking.setStatus(Status.REJECTED);
+        cache.changed(booking, Status.WAITING, booking.getStart(), booking.getEnd());
+
+        assertEquals(0L, cache.getOwnerStats(2L).get(State.WAITING));
+        assertEquals(1L, cache.getOwnerStats(2L).get(State.REJECTED));
+
+        LocalDateTime oldStart = booking.getStart();
+        LocalDateTime oldEnd = booking.getEnd();
+        booking.setStart(now.minusMinutes(1));
+        booking.setEnd(now.plusMinutes(10));
+        cache.changed(booking, Status.REJECTED, oldStart, oldEnd);
+
+        assertEquals(0L, cache.getOwnerStats(2L).get(State.FUTURE));
+        assertEquals(1L, cache.getOwnerStats(2L).get(State.CURRENT));
+
+        cache.deleted(booking);
+
+        assertEquals(Map.of(State.ALL, 0L, State.CURRENT, 0L, State.PAST, 0L,
+                State.FUTURE, 0L, State.WAITING, 0L, State.REJECTED, 0L), cache.getOwnerStats(2L));
+    }
+
+    @Test
+    @DisplayName("Cached counters. A seed overlapping a write is not kept")
+    void shouldDiscardSeedOverlappingWrite() {
+        LocalDateTime now = LocalDateTime.now();
+        Booking booking = Booking.builder().id(5L).item(item).booker(booker)
+                .start(now.plusDays(1)).end(now.plusDays(2)).status(Status.WAITING).build();
+        when(bookingRepository.countStatesByOwnerId(2L)).thenAnswer(invocation -> {
+            cache.created(booking);
+            return new BookingStateCountsDto(1L, 0L, 0L, 1L, 1L, 0L);
+        }).thenReturn(new BookingStateCountsDto(1L, 0L, 0L, 1L, 1L, 0L));
+        when(bookingRepository.findUnfinishedIntervalsByOwnerId(2L))
+                .thenReturn(List.of(new BookingIntervalDto(10L, booking.getStart(), booking.getEnd())));
+
+        assertEquals(1L, cache.getOwnerStats(2L).get(State.ALL));
+        assertEquals(1L, cache.getOwnerStats(2L).get(State.ALL));
+        assertEquals(1L, cache.getOwnerStats(2L).get(State.ALL));
+
+        verify(bookingRepository, times(2)).countStatesByOwnerId(2L);
+    }
+
+    @Test
+    @DisplayName("Cached counters. Re-seeded once the ttl has passed")
+    void shouldReseedAfterTtl() {
+        cache = new BookingStatsCache(bookingRepository, 100, Duration.ZERO);
+        when(bookingRepository.countStatesByBookerId(1L))
+                .thenReturn(new BookingStateCountsDto(1L, 0L, 1L, 0L, 0L, 0L))
+                .thenReturn(new BookingStateCountsDto(2L, 0L, 2L, 0L, 0L, 0L));
+        when(bookingRepository.findUnfinishedIntervalsByBookerId(1L)).thenReturn(List.of());
+
+        assertEquals(1L, cache.getBookerStats(1L).get(State.ALL));
+        assertEquals(2L, cache.getBookerStats(1L).get(State.ALL));
+    }
+}
@@ -0,0 +1,114 @@
+package ru.practicum.shareit.dataset;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DatasetGeneratorTest {
+    private final List<EmbeddedDatabase> databases = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        databases.forEach(EmbeddedDatabase::shutdown);
+    }
+
+    @Test
+    @DisplayName("Generation. Tables get the configured sizes and consistent references")
+    void shouldGenerateDataset() {
+        JdbcTemplate jdbc = generate(7);
+
+        assertEquals(200L, count(jdbc, "SELECT COUNT(*) FROM users"));
+        assertEquals(20L, count(jdbc, "SELECT COUNT(*) FROM requests"));
+        assertEquals(500L, count(jdbc, "SELECT COUNT(*) FROM items"));
+        assertEquals(5_000L, count(jdbc, "SELECT COUNT(*) FROM bookings"));
+        assertEquals(1_000L, count(jdbc, "SELECT COUNT(*) FROM comments"));
+        assertEquals(0L, count(jdbc, "SELECT COUNT(*) FROM bookings b JOIN items i ON i.id = b.item_id "
+                + "WHERE b.owner_id <> i.owner_id OR b.booker_id = i.owner_id"));
+        assertEquals(0L, count(jdbc, "SELECT COUNT(*) FROM items i "
+                + "WHERE i.comment_count <> (SELECT COUNT(*) FROM comments c WHERE c.item_id = i.id)"));
+        assertEquals(0L, count(jdbc, "SELECT COUNT(*) FROM items WHERE owner_id > 20"));
+
+        jdbc.update("INSERT INTO users (name, email) VALUES ('New', 'new@shareit.ru')");
+        assertEquals(201L, count(jdbc, "SELECT id FROM users WHERE email = 'new@shareit.ru'"));
+    }
+
+    @Test
+    @DisplayName("Generation. Bookings and items concentrate on a few items and owners")
+    void shouldSkewPopularity() {
+        JdbcTemplate jdbc = generate(7);
+
+        long topItem = count(jdbc, "SELECT MAX(c) FROM (SELECT COUNT(*) c FROM bookings GROUP BY item_id) t");
+        long topFleet = count(jdbc, "SELECT MAX(c) FROM (SELECT COUNT(*) c FROM items GROUP BY owner_id) t");
+        long longestThread = count(jdbc, "SELECT MAX(comment_count) FROM items");
+
+        assertTrue(topItem > 10 * 5_000 / 500, "top item has " + topItem + " bookings");
+        assertTrue(topFleet > 5 * 500 / 20, "top owner has " + topFleet + " items");
+        assertTrue(longestThread > 10 * 1_000 / 500, "longest thread has " + longestThread + " comments");
+    }
+
+    @Test
+    @DisplayName("Generation. The same seed gives the same rows, another seed different ones")
+    void shouldBeDeterministicPerSeed() {
+        String bookings = "SELECT id, booking_start, booking_end, item_id, booker_id, status FROM bookings ORDER BY id";
+        List<Map<String, Object>> first = generate(7).queryForList(bookings);
+
+        assertEquals(first, generate(7).queryForList(bookings));
+        assertNotEquals(first, generate(8).queryForList(bookings));
+    }
+
+    @Test
+    @DisplayName("Generation. A schema with rows is refused")
+    void shouldRefuseNonEmptySchema() {
+        EmbeddedDatabase database = database();
+        new JdbcTemplate(database).update("INSERT INTO users (name, email) VALUES ('Old', 'old@shareit.ru')");
+
+        assertThrows(IllegalStateException.class, () -> generator(database, 7).generate());
+    }
+
+    private JdbcTemplate generate(long seed) {
+        EmbeddedDatabase database = database();
+        generator(database, seed).generate();
+        return new JdbcTemplate(database);
+    }
+
+    private EmbeddedDatabase database() {
+        EmbeddedDatabase database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .addScript("schema.sql")
+                .build();
+        databases.add(database);
+        return database;
+    }
+
+    private static DatasetGenerator generator(EmbeddedDatabase database, long seed) {
+        DatasetProperties properties = new DatasetProperties();
+        properties.setSeed(seed);
+        properties.setUsers(200);
+        properties.setOwners(20);
+        properties.setItems(500);
+        properties.setRequests(20);
+        properties.setBookings(5_000);
+        properties.setComments(1_000);
+        properties.setBatchSize(300);
+        properties.setAnchor(LocalDateTime.of(2024, 6, 1, 0, 0));
+        return new DatasetGenerator(new JdbcTemplate(database), new DataSourceTransactionManager(database),
+                properties);
+    }
+
+    private static long count(JdbcTemplate jdbc, String sql) {
+        return jdbc.queryForObject(sql, Long.class);
+    }
+}
@@ -0,0 +1,186 @@
+package ru.practicum.shareit.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.exception.IdempotencyKeyMismatchException;
+import ru.practicum.shareit.idempotency.enums.IdempotentOperation;
+import ru.practicum.shareit.idempotency.repository.IdempotencyRecordRepository;
+import ru.practicum.shareit.idempotency.service.IdempotencyService;
+import ru.practicum.shareit.idempotency.service.IdempotencyServiceImpl;
+import ru.practicum.shareit.item.dto.ItemCreateDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.entity.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// not @Transactional: keys are stored in their own transaction
+@SpringBootTest(classes = ShareItServer.class)
+@ActiveProfiles("test")
+public class IdempotencyServiceImplIntegrationTest {
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final AtomicInteger runs = new AtomicInteger();
+    private Long ownerId;
+
+    @BeforeEach
+    void setUp() {
+        ownerId = userRepository.save(new User(null, "Owner", "idempotency-owner@yandex.ru")).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM outbox_events");
+        jdbcTemplate.update("DELETE FROM idempotency_keys");
+        jdbcTemplate.update("DELETE FROM items");
+        jdbcTemplate.update("DELETE FROM users");
+    }
+
+    @Test
+    @DisplayName("Repeating a key returns the first response without creating again")
+    void shouldReplayStoredResponse() {
+        ItemCreateDto request = itemRequest("Drill");
+
+        ItemDto first = create(idempotencyService, "key-1", request);
+        ItemDto second = create(idempotencyService, "key-1", request);
+        ItemDto fromOtherInstance = create(service(Duration.ofDays(1)), "key-1", request);
+
+        assertEquals(1, runs.get());
+        assertEquals(first, second);
+        assertEquals(first, fromOtherInstance);
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM items", Integer.class));
+    }
+
+    @Test
+    @DisplayName("A key reused with another request is rejected")
+    void shouldRejectKeyReusedWithOtherRequest() {
+        create(idempotencyService, "key-1", itemRequest("Drill"));
+
+        assertThrows(IdempotencyKeyMismatchException.class,
+                () -> create(idempotencyService, "key-1", itemRequest("Saw")));
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    @DisplayName("Requests without a key are not deduplicated")
+    void shouldRunEveryTimeWithoutKey() {
+        ItemCreateDto request = itemRequest("Drill");
+
+        create(idempotencyService, null, request);
+        create(idempotencyService, null, request);
+
+        assertEquals(2, runs.get());
+        assertEquals(0, idempotencyRecordRepository.count());
+    }
+
+    @Test
+    @DisplayName("Concurrent repeats of a key wait for the first one")
+    void shouldSerializeConcurrentDuplicates() throws Exception {
+        ItemCreateDto request = itemRequest("Drill");
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<ItemDto>> results = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                return idempotencyService.execute("key-1", ownerId, IdempotentOperation.CREATE_ITEM, request,
+                        ItemDto.class, () -> {
+                            runs.incrementAndGet();
+                            sleep(50);
+                            return itemService.saveItem(ownerId, request);
+                        });
+            }));
+        }
+        start.countDown();
+
+        ItemDto first = results.get(0).get(10, TimeUnit.SECONDS);
+        for (Future<ItemDto> result : results) {
+            assertEquals(first, result.get(10, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+        assertEquals(1, runs.get());
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM items", Integer.class));
+    }
+
+    @Test
+    @DisplayName("An expired key runs the request again and is cleaned up")
+    void shouldRunAgainAfterExpiry() {
+        IdempotencyService shortLived = service(Duration.ofMillis(200));
+        ItemCreateDto request = itemRequest("Drill");
+
+        ItemDto first = create(shortLived, "key-1", request);
+        sleep(250);
+        ItemDto second = create(shortLived, "key-1", request);
+        sleep(250);
+
+        assertEquals(2, runs.get());
+        assertNotEquals(first.getId(), second.getId());
+        assertEquals(1, shortLived.removeExpired());
+        assertEquals(0, idempotencyRecordRepository.count());
+    }
+
+    private ItemDto create(IdempotencyService service, String key, ItemCreateDto request) {
+        return service.execute(key, ownerId, IdempotentOperation.CREATE_ITEM, request, ItemDto.class, () -> {
+            runs.incrementAndGet();
+            return itemService.saveItem(ownerId, request);
+        });
+    }
+
+    private IdempotencyService service(Duration ttl) {
+        return new IdempotencyServiceImpl(idempotencyRecordRepository, transactionManager, objectMapper,
+                new SimpleMeterRegistry(), ttl, 100);
+    }
+
+    private static ItemCreateDto itemRequest(String name) {
+        return ItemCreateDto.builder()
+                .name(name)
+                .description("Item Description")
+                .available(true)
+                .build();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
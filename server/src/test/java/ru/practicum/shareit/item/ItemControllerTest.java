@@ -1,6 +1,8 @@
 package ru.practicum.shareit.item;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ValidationException;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -9,15 +11,23 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.common.FieldSet;
+import ru.practicum.shareit.idempotency.enums.IdempotentOperation;
+import ru.practicum.shareit.idempotency.service.IdempotencyService;
 import ru.practicum.shareit.item.comment.dto.CommentCreateDto;
 import ru.practicum.shareit.item.comment.dto.CommentDto;
 import ru.practicum.shareit.item.controller.ItemController;
+import ru.practicum.shareit.item.dto.IntervalDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemCreateDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemExpandedDto;
 import ru.practicum.shareit.item.service.ItemService;
 
+import java.time.LocalDateTime;
 import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
 
 import static org.mockito.ArgumentMatchers.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -35,6 +45,15 @@ public class ItemControllerTest {
     @MockBean
     private ItemService itemService;
 
+    @MockBean
+    private IdempotencyService idempotencyService;
+
+    @BeforeEach
+    void runWithoutIdempotencyKey() {
+        Mockito.when(idempotencyService.execute(any(), any(), any(), any(), any(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(5).get());
+    }
+
     @Test
     @DisplayName("Creating item")
     void shouldCreateItem() throws Exception {
@@ -63,6 +82,30 @@ public class ItemControllerTest {
                 .andExpect(jsonPath("$.description").value("Item Description"));
     }
 
+    @Test
+    @DisplayName("Creating item with an idempotency key")
+    void shouldPassIdempotencyKey() throws Exception {
+        ItemCreateDto itemCreateDto = ItemCreateDto.builder()
+                .name("Item Name")
+                .description("Item Description")
+                .available(true)
+                .build();
+
+        Mockito.when(itemService.saveItem(anyLong(), any(ItemCreateDto.class)))
+                .thenReturn(ItemDto.builder().id(1L).name("Item Name").build());
+
+        mockMvc.perform(post("/items")
+                        .header("X-Sharer-User-Id", 1L)
+                        .header("Idempotency-Key", "create-item-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(itemCreateDto)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id").value(1L));
+
+        Mockito.verify(idempotencyService).execute(eq("create-item-1"), eq(1L), eq(IdempotentOperation.CREATE_ITEM),
+                any(ItemCreateDto.class), eq(ItemDto.class), any());
+    }
+
     @Test
     @DisplayName("Updating item")
     void shouldUpdateItem() throws Exception {
@@ -128,7 +171,7 @@ public class ItemControllerTest {
                 .name("Item Name")
                 .build();
 
-        Mockito.when(itemService.findAllByOwner(anyLong()))
+        Mockito.when(itemService.findAllByOwner(anyLong(), eq(FieldSet.ALL)))
                 .thenReturn(Collections.singletonList(itemExpandedDto));
 
         mockMvc.perform(get("/items")
@@ -138,6 +181,69 @@ public class ItemControllerTest {
                 .andExpect(jsonPath("$[0].name").value("Item Name"));
     }
 
+    @Test
+    @DisplayName("Getting items by owner. Only requested fields")
+    void shouldReturnOnlyRequestedItemFields() throws Exception {
+        ItemExpandedDto itemExpandedDto = ItemExpandedDto.builder()
+                .id(1L)
+                .name("Item Name")
+                .description("Item Description")
+                .comments(List.of())
+                .build();
+
+        Mockito.when(itemService.findAllByOwner(anyLong(), any(FieldSet.class)))
+                .thenReturn(Collections.singletonList(itemExpandedDto));
+
+        mockMvc.perform(get("/items")
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("fields", "name"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(1L))
+                .andExpect(jsonPath("$[0].name").value("Item Name"))
+                .andExpect(jsonPath("$[0].description").doesNotExist())
+                .andExpect(jsonPath("$[0].comments").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("Getting items by owner. Unknown field")
+    void shouldRejectUnknownItemField() throws Exception {
+        mockMvc.perform(get("/items")
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("fields", "name,price"))
+                .andExpect(status().isBadRequest());
+
+        Mockito.verify(itemService, Mockito.never()).findAllByOwner(anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("Getting item comments after a cursor")
+    void shouldReturnCommentsPage() throws Exception {
+        LocalDateTime cursorCreated = LocalDateTime.of(2024, 12, 1, 10, 0);
+        CommentDto comment = CommentDto.builder().id(3L).text("Older").itemId(1L).build();
+
+        Mockito.when(itemService.findComments(1L, cursorCreated, 4L, 2)).thenReturn(List.of(comment));
+
+        mockMvc.perform(get("/items/1/comments")
+                        .param("size", "2")
+                        .param("cursorCreated", "2024-12-01T10:00:00")
+                        .param("cursorId", "4"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(3L))
+                .andExpect(jsonPath("$[0].text").value("Older"));
+    }
+
+    @Test
+    @DisplayName("Getting item comments. Page size is validated")
+    void shouldRejectInvalidCommentsPageSize() throws Exception {
+        for (String size : List.of("0", "101")) {
+            mockMvc.perform(get("/items/1/comments")
+                            .param("size", size))
+                    .andExpect(status().isBadRequest());
+        }
+
+        Mockito.verify(itemService, Mockito.never()).findComments(any(), any(), any(), any());
+    }
+
     @Test
     @DisplayName("Searching items")
     void shouldReturnFoundByTextItem() throws Exception {
@@ -156,6 +262,85 @@ public class ItemControllerTest {
                 .andExpect(jsonPath("$[0].name").value("Item"));
     }
 
+    @Test
+    @DisplayName("Searching items free in window")
+    void shouldReturnFreeInWindowItems() throws Exception {
+        ItemDto itemDto = ItemDto.builder()
+                .id(1L)
+                .name("Item")
+                .build();
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 10, 0);
+        LocalDateTime end = start.plusDays(1);
+
+        Mockito.when(itemService.searchFreeBetween("Item", start, end, 0, 5))
+                .thenReturn(Collections.singletonList(itemDto));
+
+        mockMvc.perform(get("/items/search")
+                        .param("text", "Item")
+                        .param("start", start.toString())
+                        .param("end", end.toString())
+                        .param("size", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(1L));
+
+        Mockito.verify(itemService, Mockito.never()).search(any(String.class));
+    }
+
+    @Test
+    @DisplayName("Searching items free in window. Page size is validated")
+    void shouldRejectInvalidSearchPageSize() throws Exception {
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 10, 0);
+
+        for (String size : List.of("0", "101")) {
+            mockMvc.perform(get("/items/search")
+                            .param("text", "Item")
+                            .param("start", start.toString())
+                            .param("end", start.plusDays(1).toString())
+                            .param("size", size))
+                    .andExpect(status().isBadRequest());
+        }
+
+        Mockito.verify(itemService, Mockito.never()).searchFreeBetween(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Getting item availability")
+    void shouldReturnItemAvailability() throws Exception {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 10, 0);
+        LocalDateTime to = from.plusDays(2);
+        ItemAvailabilityDto availability = ItemAvailabilityDto.builder()
+                .itemId(1L)
+                .from(from)
+                .to(to)
+                .booked(List.of(new IntervalDto(from, from.plusDays(1))))
+                .free(List.of(new IntervalDto(from.plusDays(1), to)))
+                .build();
+
+        Mockito.when(itemService.findAvailability(1L, from, to)).thenReturn(availability);
+
+        mockMvc.perform(get("/items/1/availability")
+                        .param("from", from.toString())
+                        .param("to", to.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.itemId").value(1L))
+                .andExpect(jsonPath("$.booked.length()").value(1))
+                .andExpect(jsonPath("$.free[0].start").value("2030-01-02T10:00:00"));
+    }
+
+    @Test
+    @DisplayName("Getting item availability. Inverted window")
+    void shouldRejectInvertedAvailabilityWindow() throws Exception {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 10, 0);
+
+        Mockito.when(itemService.findAvailability(1L, from, from.minusDays(1)))
+                .thenThrow(new ValidationException("Incorrect time window"));
+
+        mockMvc.perform(get("/items/1/availability")
+                        .param("from", from.toString())
+                        .param("to", from.minusDays(1).toString()))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     @DisplayName("Adding comment")
     void shouldAddComment() throws Exception {
@@ -1,14 +1,8 @@
 package ru.practicum.shareit.item;
 
-import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
-import org.mockito.Mock;
-import org.mockito.MockitoAnnotations;
 import ru.practicum.shareit.item.comment.dto.CommentDto;
-import ru.practicum.shareit.item.comment.entity.Comment;
-import ru.practicum.shareit.item.comment.mapper.CommentMapper;
 import ru.practicum.shareit.item.dto.ItemCreateDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemExpandedDto;
@@ -23,20 +17,10 @@ import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.Mockito.when;
 
 public class ItemMapperTest {
 
-    @Mock
-    private CommentMapper commentMapper;
-
-    @InjectMocks
-    private ItemMapper itemMapper;
-
-    @BeforeEach
-    public void setUp() {
-        MockitoAnnotations.openMocks(this);
-    }
+    private final ItemMapper itemMapper = new ItemMapper();
 
     @Test
     @DisplayName("Item to DTO")
@@ -81,13 +65,10 @@ public class ItemMapperTest {
                 .owner(owner)
                 .build();
 
-        Comment comment = new Comment(1L, "Great item!", item, owner, LocalDateTime.now());
         CommentDto commentDto = CommentDto.builder().id(1L).text("Great item!").build();
 
-        when(commentMapper.toDto(comment)).thenReturn(commentDto);
-
-        ItemExpandedDto itemExpandedDto = itemMapper.toExpandedDto(item, List.of(comment), Optional.empty(),
-                Optional.empty());
+        ItemExpandedDto itemExpandedDto = itemMapper.toExpandedDto(itemMapper.toDto(item), List.of(commentDto),
+                42L, Optional.empty(), Optional.empty());
 
         assertNotNull(itemExpandedDto);
         assertEquals(1L, itemExpandedDto.getId());
@@ -96,12 +77,13 @@ public class ItemMapperTest {
         assertTrue(itemExpandedDto.getAvailable());
         assertEquals(1, itemExpandedDto.getComments().size());
         assertEquals("Great item!", itemExpandedDto.getComments().get(0).getText());
+        assertEquals(42L, itemExpandedDto.getCommentCount());
     }
 
     @Test
     @DisplayName("Item to Expanded DTO. Null item")
     void toExpandedDto_shouldReturnNullWhenItemIsNull() {
-        assertNull(itemMapper.toExpandedDto(null, Collections.emptyList(), Optional.empty(),
+        assertNull(itemMapper.toExpandedDto((ItemDto) null, Collections.emptyList(), 0L, Optional.empty(),
                 Optional.empty()));
     }
 
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.item;
 
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -7,6 +8,13 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.entity.Booking;
+import ru.practicum.shareit.booking.enums.Status;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.common.FieldSet;
+import ru.practicum.shareit.item.comment.dto.CommentCreateDto;
+import ru.practicum.shareit.item.comment.dto.CommentDto;
 import ru.practicum.shareit.item.dto.*;
 import ru.practicum.shareit.item.entity.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
@@ -20,7 +28,11 @@ import ru.practicum.shareit.ShareItServer;
 import ru.practicum.shareit.item.dto.ItemCreateDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -41,6 +53,15 @@ public class ItemServiceImplIntegrationTest {
     @Autowired
     private RequestRepository requestRepository;
 
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private EntityManager entityManager;
+
     @BeforeEach
     void setUp() {
         userRepository.deleteAll();
@@ -127,6 +148,51 @@ public class ItemServiceImplIntegrationTest {
         assertEquals("Description", foundItem.getDescription());
     }
 
+    @Test
+    @DisplayName("Comments. Latest ones embedded with a running count, the rest paged by cursor")
+    void shouldEmbedLatestCommentsAndPageTheRest() {
+        User owner = userRepository.save(new User(null, "Owner", "owner@yandex.ru"));
+        User booker = userRepository.save(new User(null, "Booker", "booker@yandex.ru"));
+        Item item = itemRepository.save(Item.builder()
+                .name("Drill")
+                .description("Cordless drill")
+                .available(true)
+                .owner(owner)
+                .build());
+        bookingRepository.save(Booking.builder().item(item).booker(booker)
+                .start(LocalDateTime.now().minusDays(2)).end(LocalDateTime.now().minusDays(1))
+                .status(Status.APPROVED).build());
+        int total = 12;
+        for (int i = 0; i < total; i++) {
+            itemService.addComment(item.getId(), booker.getId(),
+                    CommentCreateDto.builder().text("Comment " + i).build());
+        }
+        entityManager.clear();
+
+        ItemExpandedDto found = itemService.findItem(item.getId());
+        ItemExpandedDto listed = itemService.findAllByOwner(owner.getId(), FieldSet.ALL).iterator().next();
+
+        for (ItemExpandedDto expanded : List.of(found, listed)) {
+            assertEquals(total, expanded.getCommentCount());
+            assertEquals(10, expanded.getComments().size());
+            assertEquals("Comment 11", expanded.getComments().get(0).getText());
+            assertEquals("Booker", expanded.getComments().get(0).getAuthorName());
+        }
+
+        List<String> paged = new ArrayList<>();
+        List<CommentDto> page = itemService.findComments(item.getId(), null, null, 5);
+        while (!page.isEmpty()) {
+            page.forEach(comment -> paged.add(comment.getText()));
+            CommentDto last = page.get(page.size() - 1);
+            page = itemService.findComments(item.getId(), last.getCreated(), last.getId(), 5);
+        }
+        List<String> expected = new ArrayList<>();
+        for (int i = total - 1; i >= 0; i--) {
+            expected.add("Comment " + i);
+        }
+        assertEquals(expected, paged);
+    }
+
     @Test
     @DisplayName("Find items by owner. Successfully found")
     void shouldFindItemsByOwnerSuccessfully() {
@@ -144,7 +210,7 @@ public class ItemServiceImplIntegrationTest {
                 .owner(user)
                 .build());
 
-        Collection<ItemExpandedDto> items = itemService.findAllByOwner(user.getId());
+        Collection<ItemExpandedDto> items = itemService.findAllByOwner(user.getId(), FieldSet.ALL);
 
         assertNotNull(items);
         assertEquals(2, items.size());
@@ -176,4 +242,99 @@ public class ItemServiceImplIntegrationTest {
         assertNotNull(items);
         assertEquals(2, items.size());
     }
+
+    @Test
+    @DisplayName("Search items free in window")
+    void shouldSearchItemsFreeInWindow() {
+        User owner = userRepository.save(new User(null, "Owner", "owner@yandex.ru"));
+        User booker = userRepository.save(new User(null, "Booker", "booker@yandex.ru"));
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        LocalDateTime end = start.plusDays(2);
+
+        Item approved = itemRepository.save(Item.builder()
+                .name("Drill approved").description("Good drill").available(true).owner(owner).build());
+        Item waiting = itemRepository.save(Item.builder()
+                .name("Drill waiting").description("Good drill").available(true).owner(owner).build());
+        Item rejected = itemRepository.save(Item.builder()
+                .name("Drill rejected").description("Good drill").available(true).owner(owner).build());
+        Item later = itemRepository.save(Item.builder()
+                .name("Drill later").description("Good drill").available(true).owner(owner).build());
+        Item free = itemRepository.save(Item.builder()
+                .name("Drill free").description("Good drill").available(true).owner(owner).build());
+
+        bookingRepository.save(Booking.builder().item(approved).booker(booker)
+                .start(start.minusHours(1)).end(start.plusHours(1)).status(Status.APPROVED).build());
+        bookingRepository.save(Booking.builder().item(waiting).booker(booker)
+                .start(end.minusHours(1)).end(end.plusHours(1)).status(Status.WAITING).build());
+        bookingRepository.save(Booking.builder().item(rejected).booker(booker)
+                .start(start).end(end).status(Status.REJECTED).build());
+        bookingRepository.save(Booking.builder().item(later).booker(booker)
+                .start(end).end(end.plusDays(1)).status(Status.APPROVED).build());
+
+        Collection<ItemDto> items = itemService.searchFreeBetween("drill", start, end, 0, 10);
+
+        assertEquals(List.of(rejected.getId(), later.getId(), free.getId()),
+                items.stream().map(ItemDto::getId).toList());
+
+        Collection<ItemDto> page = itemService.searchFreeBetween("drill", start, end, 2, 2);
+
+        assertEquals(List.of(free.getId()), page.stream().map(ItemDto::getId).toList());
+
+        Collection<ItemDto> shifted = itemService.searchFreeBetween("drill", start, end, 1, 2);
+
+        assertEquals(List.of(later.getId(), free.getId()), shifted.stream().map(ItemDto::getId).toList());
+    }
+
+    @Test
+    @DisplayName("Find item availability. Booked and free intervals")
+    void shouldFindItemAvailability() {
+        User owner = userRepository.save(new User(null, "Owner", "owner@yandex.ru"));
+        User booker = userRepository.save(new User(null, "Booker", "booker@yandex.ru"));
+        LocalDateTime from = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        LocalDateTime to = from.plusDays(10);
+
+        Item item = itemRepository.save(Item.builder()
+                .name("Drill").description("Good drill").available(true).owner(owner).build());
+        Item idle = itemRepository.save(Item.builder()
+                .name("Saw").description("Good saw").available(true).owner(owner).build());
+
+        bookingRepository.save(Booking.builder().item(item).booker(booker)
+                .start(from.minusDays(1)).end(from.plusDays(1)).status(Status.APPROVED).build());
+        bookingRepository.save(Booking.builder().item(item).booker(booker)
+                .start(from.plusDays(3)).end(from.plusDays(5)).status(Status.WAITING).build());
+        bookingRepository.save(Booking.builder().item(item).booker(booker)
+                .start(from.plusDays(4)).end(from.plusDays(6)).status(Status.APPROVED).build());
+        Booking pending = bookingRepository.save(Booking.builder().item(item).booker(booker)
+                .start(from.plusDays(8)).end(from.plusDays(9)).status(Status.WAITING).build());
+
+        ItemAvailabilityDto availability = itemService.findAvailability(item.getId(), from, to);
+
+        assertEquals(List.of(new IntervalDto(from, from.plusDays(1)),
+                        new IntervalDto(from.plusDays(3), from.plusDays(6)),
+                        new IntervalDto(from.plusDays(8), from.plusDays(9))),
+                availability.getBooked());
+        assertEquals(List.of(new IntervalDto(from.plusDays(1), from.plusDays(3)),
+                        new IntervalDto(from.plusDays(6), from.plusDays(8)),
+                        new IntervalDto(from.plusDays(9), to)),
+                availability.getFree());
+
+        bookingService.approveBooking(pending.getId(), owner.getId(), false);
+
+        Collection<ItemAvailabilityDto> fleet = itemService.findAvailabilityByOwner(owner.getId(), from, to);
+
+        assertEquals(2, fleet.size());
+        ItemAvailabilityDto itemAvailability = fleet.stream()
+                .filter(dto -> dto.getItemId().equals(item.getId()))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError());
+        assertEquals(List.of(new IntervalDto(from.plusDays(1), from.plusDays(3)),
+                        new IntervalDto(from.plusDays(6), to)),
+                itemAvailability.getFree());
+        ItemAvailabilityDto idleAvailability = fleet.stream()
+                .filter(dto -> dto.getItemId().equals(idle.getId()))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError());
+        assertTrue(idleAvailability.getBooked().isEmpty());
+        assertEquals(List.of(new IntervalDto(from, to)), idleAvailability.getFree());
+    }
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.item;
 
+import jakarta.validation.ValidationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -10,6 +11,8 @@ import org.mockito.MockitoAnnotations;
 import org.mockito.junit.jupiter.MockitoExtension;
 import ru.practicum.shareit.booking.entity.Booking;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingIntervalIndex;
+import ru.practicum.shareit.common.FieldSet;
 import ru.practicum.shareit.exception.CommentIncorrectTimeException;
 import ru.practicum.shareit.exception.ItemAccessException;
 import ru.practicum.shareit.item.comment.dto.CommentCreateDto;
@@ -24,8 +27,10 @@ import ru.practicum.shareit.item.entity.Item;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.item.service.ItemServiceImpl;
+import ru.practicum.shareit.purge.service.PurgeService;
 import ru.practicum.shareit.user.entity.User;
 import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.outbox.service.OutboxService;
 
 import java.time.LocalDateTime;
 import java.util.Collection;
@@ -58,6 +63,15 @@ class ItemServiceImplTest {
     @Mock
     private CommentMapper commentMapper;
 
+    @Mock
+    private BookingIntervalIndex bookingIntervalIndex;
+
+    @Mock
+    private PurgeService purgeService;
+
+    @Mock
+    private OutboxService outboxService;
+
     @InjectMocks
     private ItemServiceImpl itemService;
 
@@ -182,7 +196,8 @@ class ItemServiceImplTest {
 
         assertNotNull(deletedItem);
         assertEquals("Item Name", deletedItem.getName());
-        verify(itemRepository).delete(item);
+        verify(purgeService).scheduleItemPurge(1L);
+        verify(itemRepository, never()).delete(item);
     }
 
     @Test
@@ -299,4 +314,33 @@ class ItemServiceImplTest {
 
         assertEquals("You can only comment on items you have completed bookings for.", thrown.getMessage());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Get items by owner. Lookups behind unrequested fields are skipped")
+    void shouldSkipLookupsOfUnrequestedFields() {
+        Long ownerId = 1L;
+        ItemDto itemDto = ItemDto.builder().id(1L).name("Item").ownerId(ownerId).build();
+
+        when(itemRepository.findAllByOwnerId(ownerId)).thenReturn(List.of(itemDto));
+        when(itemMapper.toExpandedDto(eq(itemDto), any(), any(), any(), any()))
+                .thenReturn(ItemExpandedDto.builder().id(1L).name("Item").build());
+
+        Collection<ItemExpandedDto> items = itemService.findAllByOwner(ownerId,
+                FieldSet.of("name", ItemExpandedDto.class));
+
+        assertEquals(1, items.size());
+        verifyNoInteractions(bookingRepository, commentRepository);
+    }
+
+    @Test
+    @DisplayName("Find item availability. Inverted or open window is rejected")
+    void shouldRejectInvalidAvailabilityWindow() {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 10, 0);
+
+        assertThrows(ValidationException.class, () -> itemService.findAvailability(1L, from, from));
+        assertThrows(ValidationException.class, () -> itemService.findAvailability(1L, from, from.minusDays(1)));
+        assertThrows(ValidationException.class, () -> itemService.findAvailabilityByOwner(1L, from, null));
+
+        verifyNoInteractions(itemRepository, userRepository, bookingIntervalIndex);
+    }
+}
@@ -0,0 +1,137 @@
+package ru.practicum.shareit.outbox;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.item.dto.ItemCreateDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.outbox.entity.OutboxEvent;
+import ru.practicum.shareit.outbox.enums.OutboxEventType;
+import ru.practicum.shareit.outbox.enums.OutboxStatus;
+import ru.practicum.shareit.outbox.repository.OutboxEventRepository;
+import ru.practicum.shareit.outbox.service.OutboxEventHandler;
+import ru.practicum.shareit.outbox.service.OutboxService;
+import ru.practicum.shareit.user.entity.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(classes = ShareItServer.class, properties = {
+        "shareit.outbox.backoff.initial=PT1H",
+        "shareit.outbox.backoff.max=PT4H",
+        "shareit.outbox.retry-for=PT2H"
+})
+@Transactional
+@ActiveProfiles("test")
+@Import(OutboxServiceImplIntegrationTest.HandlerConfig.class)
+public class OutboxServiceImplIntegrationTest {
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RecordingHandler handler;
+
+    @BeforeEach
+    void setUp() {
+        outboxEventRepository.deleteAll();
+        handler.received.clear();
+        handler.failing.clear();
+    }
+
+    @Test
+    @DisplayName("Outbox. State change writes an event that is dispatched once")
+    void shouldPublishAndDispatchEvent() {
+        User owner = userRepository.save(new User(null, "Owner", "owner@yandex.ru"));
+        ItemDto item = itemService.saveItem(owner.getId(), ItemCreateDto.builder()
+                .name("Item")
+                .description("Description")
+                .available(true)
+                .build());
+
+        List<OutboxEvent> events = outboxEventRepository.findAll();
+        assertEquals(1, events.size());
+        assertEquals(OutboxEventType.ITEM_CREATED, events.get(0).getEventType());
+        assertEquals(item.getId(), events.get(0).getAggregateId());
+        assertTrue(events.get(0).getPayload().contains("\"name\":\"Item\""));
+
+        assertFalse(outboxService.dispatchNextBatch());
+        assertFalse(outboxService.dispatchNextBatch());
+
+        assertEquals(List.of(events.get(0).getId()), handler.received);
+        assertEquals(OutboxStatus.DISPATCHED, outboxEventRepository.findById(events.get(0).getId())
+                .orElseThrow().getStatus());
+    }
+
+    @Test
+    @DisplayName("Outbox. Failed event backs off holding back its aggregate only, then gets parked")
+    void shouldKeepOrderPerAggregate() {
+        OutboxEvent first = outboxService.publish(OutboxEventType.BOOKING_CREATED, 1L, null);
+        OutboxEvent second = outboxService.publish(OutboxEventType.BOOKING_APPROVED, 1L, null);
+        OutboxEvent other = outboxService.publish(OutboxEventType.BOOKING_CREATED, 2L, null);
+        handler.failing.add(first.getId());
+
+        outboxService.dispatchNextBatch();
+        assertEquals(List.of(other.getId()), handler.received);
+        assertEquals(1, first.getAttempts());
+        assertTrue(first.getNextAttemptAt().isAfter(LocalDateTime.now().plusMinutes(59)));
+
+        outboxService.dispatchNextBatch();
+        assertEquals(1, first.getAttempts());
+        assertEquals(List.of(other.getId()), handler.received);
+
+        first.setCreated(LocalDateTime.now().minusMinutes(90));
+        first.setNextAttemptAt(LocalDateTime.now().minusSeconds(1));
+        outboxService.dispatchNextBatch();
+        assertEquals(2, first.getAttempts());
+        assertEquals(OutboxStatus.FAILED, first.getStatus());
+        assertEquals(OutboxStatus.PENDING, second.getStatus());
+
+        outboxService.dispatchNextBatch();
+        assertEquals(List.of(other.getId(), second.getId()), handler.received);
+        assertEquals(OutboxStatus.DISPATCHED, second.getStatus());
+    }
+
+    @TestConfiguration
+    static class HandlerConfig {
+        @Bean
+        RecordingHandler recordingHandler() {
+            return new RecordingHandler();
+        }
+    }
+
+    static class RecordingHandler implements OutboxEventHandler {
+        private final List<Long> received = new ArrayList<>();
+        private final Set<Long> failing = new HashSet<>();
+
+        @Override
+        public void handle(OutboxEvent event) {
+            if (failing.contains(event.getId())) throw new IllegalStateException("Handler is down");
+            received.add(event.getId());
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,200 @@
+package ru.practicum.shareit.purge;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.booking.entity.Booking;
+import ru.practicum.shareit.booking.enums.State;
+import ru.practicum.shareit.booking.enums.Status;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.exception.NoSuchBookingException;
+import ru.practicum.shareit.item.comment.entity.Comment;
+import ru.practicum.shareit.item.comment.repository.CommentRepository;
+import ru.practicum.shareit.item.entity.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.purge.entity.PurgeTask;
+import ru.practicum.shareit.purge.enums.PurgeStatus;
+import ru.practicum.shareit.purge.repository.PurgeTaskRepository;
+import ru.practicum.shareit.purge.service.PurgeService;
+import ru.practicum.shareit.request.entity.Request;
+import ru.practicum.shareit.request.repository.RequestRepository;
+import ru.practicum.shareit.user.dto.UserCreateDto;
+import ru.practicum.shareit.user.entity.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(classes = ShareItServer.class, properties = "shareit.purge.batch-size=2")
+@Transactional
+@ActiveProfiles("test")
+public class PurgeServiceImplIntegrationTest {
+
+    @Autowired
+    private PurgeService purgeService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private RequestRepository requestRepository;
+
+    @Autowired
+    private PurgeTaskRepository purgeTaskRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User owner;
+    private User booker;
+    private List<Item> items;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(new User(null, "Owner", "owner@yandex.ru"));
+        booker = userRepository.save(new User(null, "Booker", "booker@yandex.ru"));
+        items = List.of(saveItem(owner, "Drill"), saveItem(owner, "Saw"), saveItem(owner, "Ladder"));
+
+        LocalDateTime now = LocalDateTime.now();
+        for (Item item : items) {
+            bookingRepository.save(Booking.builder().item(item).booker(booker)
+                    .start(now.minusDays(3)).end(now.minusDays(2)).status(Status.APPROVED).build());
+            commentRepository.save(new Comment(null, "Fine " + item.getName(), item, booker, now));
+        }
+        Item bookerItem = saveItem(booker, "Tent");
+        bookingRepository.save(Booking.builder().item(bookerItem).booker(owner)
+                .start(now.plusDays(1)).end(now.plusDays(2)).status(Status.WAITING).build());
+        requestRepository.save(Request.builder().description("Need a tent").requestor(owner).created(now).build());
+    }
+
+    @Test
+    @DisplayName("Purge user. Hidden at once, dependents removed in batches")
+    void shouldHideUserAndPurgeDependentsInBatches() {
+        userService.deleteUser(owner.getId());
+
+        assertTrue(userRepository.findById(owner.getId()).isEmpty());
+        assertTrue(itemRepository.findAllByOwnerId(owner.getId()).isEmpty());
+        assertTrue(itemService.search("Drill").isEmpty());
+        assertEquals(4, countRows("bookings"));
+        assertTrue(bookingService.findAllBookingsByUserAndState(booker.getId(), "ALL").isEmpty());
+
+        int batches = 0;
+        while (purgeService.purgeNextBatch()) {
+            batches++;
+        }
+
+        assertTrue(batches > 1);
+        assertEquals(0, countRows("bookings"));
+        assertEquals(0, countRows("comments"));
+        assertEquals(0, countRows("requests"));
+        assertEquals(1, countRows("items"));
+        assertEquals(1, countRows("users"));
+
+        PurgeTask task = purgeTaskRepository.findAll().get(0);
+        assertEquals(PurgeStatus.DONE, task.getStatus());
+        assertEquals(12L, task.getPurgedRows());
+        assertNotNull(task.getFinished());
+    }
+
+    @Test
+    @DisplayName("Purge user. Booking stats skip bookings of hidden items and bookers")
+    void shouldExcludeHiddenFromBookingStats() {
+        userService.deleteUser(owner.getId());
+
+        for (boolean cached : List.of(false, true)) {
+            assertEquals(0L, bookingService.countBookingsByUser(booker.getId(), cached).get(State.ALL));
+            assertEquals(0L, bookingService.countBookingsByUser(booker.getId(), cached).get(State.PAST));
+            assertEquals(0L, bookingService.countBookingsByOwner(booker.getId(), cached).get(State.ALL));
+            assertEquals(0L, bookingService.countBookingsByOwner(booker.getId(), cached).get(State.WAITING));
+        }
+    }
+
+    @Test
+    @DisplayName("Purge user. Email is free right after deletion")
+    void shouldAllowEmailReuseAfterDeletion() {
+        userService.deleteUser(owner.getId());
+
+        UserCreateDto newUser = UserCreateDto.builder().name("New Owner").email("owner@yandex.ru").build();
+
+        assertEquals("owner@yandex.ru", userService.saveUser(newUser).getEmail());
+    }
+
+    @Test
+    @DisplayName("Purge user. Comment counters of items the user commented on are recounted")
+    void shouldRecountCommentsOfOtherItems() {
+        jdbcTemplate.update("UPDATE items SET comment_count = 1 WHERE owner_id = ?", owner.getId());
+
+        userService.deleteUser(booker.getId());
+        while (purgeService.purgeNextBatch()) {
+            // drain
+        }
+
+        assertEquals(0, countRows("comments"));
+        assertEquals(List.of(0L, 0L, 0L), jdbcTemplate.queryForList(
+                "SELECT comment_count FROM items WHERE owner_id = ? ORDER BY id", Long.class, owner.getId()));
+    }
+
+    @Test
+    @DisplayName("Purge item. Bookings and comments of the item only")
+    void shouldPurgeItemDependents() {
+        Item item = items.get(0);
+
+        itemService.deleteItem(owner.getId(), item.getId());
+
+        assertTrue(itemRepository.findById(item.getId()).isEmpty());
+        Long bookingId = jdbcTemplate.queryForObject("SELECT id FROM bookings WHERE item_id = ?", Long.class,
+                item.getId());
+        assertThrows(NoSuchBookingException.class, () -> bookingService.findBooking(bookingId, booker.getId()));
+
+        while (purgeService.purgeNextBatch()) {
+            // drain
+        }
+
+        assertEquals(3, countRows("bookings"));
+        assertEquals(2, countRows("comments"));
+        assertEquals(3, countRows("items"));
+        assertEquals(0L, purgeTaskRepository.countByStatus(PurgeStatus.PENDING));
+    }
+
+    private Item saveItem(User itemOwner, String name) {
+        return itemRepository.save(Item.builder()
+                .name(name)
+                .description(name + " description")
+                .available(true)
+                .owner(itemOwner)
+                .build());
+    }
+
+    private int countRows(String table) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Integer.class);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,185 @@
+package ru.practicum.shareit.reminder;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.booking.entity.Booking;
+import ru.practicum.shareit.booking.enums.Status;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.entity.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.reminder.dto.Reminder;
+import ru.practicum.shareit.reminder.entity.ReminderMark;
+import ru.practicum.shareit.reminder.enums.ReminderType;
+import ru.practicum.shareit.reminder.repository.ReminderMarkRepository;
+import ru.practicum.shareit.reminder.service.InMemoryReminderSink;
+import ru.practicum.shareit.reminder.service.ReminderScheduler;
+import ru.practicum.shareit.user.entity.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// not @Transactional: reminders follow bookings after commit
+@SpringBootTest(classes = ShareItServer.class)
+@ActiveProfiles("test")
+public class ReminderSchedulerIntegrationTest {
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private ReminderMarkRepository reminderMarkRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final InMemoryReminderSink sink = new InMemoryReminderSink(100);
+    private ReminderScheduler scheduler;
+    private User booker;
+    private Item item;
+    private LocalDateTime now;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = newScheduler(sink);
+        booker = userRepository.save(new User(null, "Booker", "reminder-booker@yandex.ru"));
+        User owner = userRepository.save(new User(null, "Owner", "reminder-owner@yandex.ru"));
+        item = itemRepository.save(Item.builder()
+                .name("Item Name")
+                .description("Item Description")
+                .available(true)
+                .owner(owner)
+                .build());
+        now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM reminder_marks");
+        jdbcTemplate.update("DELETE FROM bookings");
+        jdbcTemplate.update("DELETE FROM items");
+        jdbcTemplate.update("DELETE FROM users");
+    }
+
+    @Test
+    @DisplayName("Reminders. Load after mark, fire, checkpoint and cancel")
+    void shouldLoadFireAndCancelReminders() {
+        reminderMarkRepository.save(new ReminderMark("booking-reminders", now.minusMinutes(10)));
+        Booking caughtUp = save(now.plusMinutes(55), now.plusHours(3), Status.APPROVED);
+        Booking startSent = save(now.plusMinutes(30), now.plusMinutes(90), Status.APPROVED);
+        save(now.plusHours(2), now.plusHours(4), Status.WAITING);
+
+        scheduler.load();
+        assertEquals(3, scheduler.pendingCount());
+
+        scheduler.fireDue(now);
+        List<Reminder> sent = sink.drain();
+        assertEquals(1, sent.size());
+        assertEquals(caughtUp.getId(), sent.get(0).getBookingId());
+        assertEquals(ReminderType.START, sent.get(0).getType());
+
+        scheduler.fireDue(now.plusMinutes(31));
+        sent = sink.drain();
+        assertEquals(1, sent.size());
+        assertEquals(startSent.getId(), sent.get(0).getBookingId());
+        assertEquals(ReminderType.END, sent.get(0).getType());
+        assertEquals(now.plusMinutes(31),
+                reminderMarkRepository.findById("booking-reminders").orElseThrow().getFiredUntil());
+
+        scheduler.bookingDeleted(caughtUp.getId());
+        scheduler.fireDue(now.plusHours(4));
+        assertTrue(sink.drain().isEmpty());
+        assertEquals(0, scheduler.pendingCount());
+    }
+
+    @Test
+    @DisplayName("Reminders. Bookings no longer approved are not reminded")
+    void shouldSkipBookingsNoLongerApproved() {
+        scheduler.load();
+        Booking booking = save(now.plusHours(2), now.plusHours(3), Status.APPROVED);
+        scheduler.bookingChanged(booking);
+        assertEquals(2, scheduler.pendingCount());
+
+        booking.setStatus(Status.CANCELLED);
+        bookingRepository.save(booking);
+
+        scheduler.fireDue(now.plusHours(5));
+        assertTrue(sink.drain().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Reminders. Transitions applied before the load are kept")
+    void shouldMergeLoadWithEarlierTransitions() {
+        Booking booking = save(now.plusHours(2), now.plusHours(3), Status.APPROVED);
+        scheduler.bookingChanged(booking);
+
+        scheduler.load();
+        assertEquals(2, scheduler.pendingCount());
+
+        scheduler.fireDue(now.plusMinutes(61));
+        List<Reminder> sent = sink.drain();
+        assertEquals(1, sent.size());
+        assertEquals(ReminderType.START, sent.get(0).getType());
+    }
+
+    @Test
+    @DisplayName("Reminders. Only the lease holder sends and another instance takes over after it expires")
+    void shouldSendFromLeaseHolderOnly() {
+        InMemoryReminderSink otherSink = new InMemoryReminderSink(100);
+        ReminderScheduler other = newScheduler(otherSink);
+        Booking booking = save(now.plusMinutes(90), now.plusHours(3), Status.APPROVED);
+
+        scheduler.load();
+        other.load();
+        scheduler.fireDue(now.plusMinutes(31));
+        other.fireDue(now.plusMinutes(31));
+
+        List<Reminder> sent = sink.drain();
+        assertEquals(1, sent.size());
+        assertEquals(ReminderType.START, sent.get(0).getType());
+        assertTrue(otherSink.drain().isEmpty());
+
+        other.fireDue(now.plusMinutes(121));
+        scheduler.fireDue(now.plusMinutes(122));
+
+        sent = otherSink.drain();
+        assertEquals(1, sent.size());
+        assertEquals(booking.getId(), sent.get(0).getBookingId());
+        assertEquals(ReminderType.END, sent.get(0).getType());
+        assertTrue(sink.drain().isEmpty());
+        assertEquals(now.plusMinutes(121),
+                reminderMarkRepository.findById("booking-reminders").orElseThrow().getFiredUntil());
+    }
+
+    private ReminderScheduler newScheduler(InMemoryReminderSink reminderSink) {
+        return new ReminderScheduler(bookingRepository, reminderMarkRepository, reminderSink,
+                Duration.ofHours(1), 1000, Duration.ZERO, Duration.ofMinutes(10));
+    }
+
+    private Booking save(LocalDateTime start, LocalDateTime end, Status status) {
+        return bookingRepository.save(Booking.builder()
+                .item(item)
+                .booker(booker)
+                .start(start)
+                .end(end)
+                .status(status)
+                .build());
+    }
+}
\ No newline at end of file
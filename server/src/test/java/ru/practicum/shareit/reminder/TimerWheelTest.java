@@ -0,0 +1,58 @@
+package ru.practicum.shareit.reminder;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.reminder.service.TimerWheel;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimerWheelTest {
+
+    @Test
+    @DisplayName("Timer wheel. Entries fire on their tick across levels")
+    void shouldFireEntriesOnTheirTick() {
+        TimerWheel<Integer> wheel = new TimerWheel<>(10, 4, 2, 0);
+        for (int deadline : new int[]{30, 100, 155, 400, 1000}) {
+            wheel.schedule(deadline, deadline);
+        }
+
+        List<Integer> fired = new ArrayList<>();
+        for (long now = 0; now <= 1000; now += 5) {
+            for (Integer value : wheel.advance(now)) {
+                assertTrue(value <= now, "fired early: " + value + " at " + now);
+                assertTrue(value > now - 10, "fired late: " + value + " at " + now);
+                fired.add(value);
+            }
+        }
+
+        assertEquals(List.of(30, 100, 155, 400, 1000), fired);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    @DisplayName("Timer wheel. Cancelled entries do not fire")
+    void shouldNotFireCancelledEntries() {
+        TimerWheel<String> wheel = new TimerWheel<>(1, 8, 3, 0);
+        TimerWheel.Entry<String> cancelled = wheel.schedule("cancelled", 50);
+        wheel.schedule("kept", 60);
+
+        assertTrue(wheel.cancel(cancelled));
+        assertFalse(wheel.cancel(cancelled));
+
+        assertEquals(List.of("kept"), wheel.advance(100));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    @DisplayName("Timer wheel. Past deadline fires on next advance")
+    void shouldFirePastDeadlineOnNextAdvance() {
+        TimerWheel<String> wheel = new TimerWheel<>(1000, 64, 4, 10_000);
+        wheel.schedule("late", 5_000);
+
+        assertEquals(List.of("late"), wheel.advance(10_000));
+        assertTrue(wheel.advance(20_000).isEmpty());
+    }
+}
\ No newline at end of file
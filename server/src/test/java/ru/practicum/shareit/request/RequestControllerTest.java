@@ -1,6 +1,7 @@
 package ru.practicum.shareit.request;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -9,6 +10,8 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.common.FieldSet;
+import ru.practicum.shareit.idempotency.service.IdempotencyService;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.request.controller.RequestController;
 import ru.practicum.shareit.request.dto.RequestCreateDto;
@@ -20,6 +23,7 @@ import ru.practicum.shareit.user.dto.UserDto;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Supplier;
 
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.times;
@@ -40,6 +44,15 @@ public class RequestControllerTest {
     @MockBean
     private RequestService requestService;
 
+    @MockBean
+    private IdempotencyService idempotencyService;
+
+    @BeforeEach
+    void runWithoutIdempotencyKey() {
+        Mockito.when(idempotencyService.execute(any(), any(), any(), any(), any(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(5).get());
+    }
+
     @Test
     @DisplayName("Creating a request")
     void shouldCreateRequest() throws Exception {
@@ -139,7 +152,7 @@ public class RequestControllerTest {
                 .items(List.of(ItemDto.builder().id(1L).name("Something").available(true).build()))
                 .build();
 
-        Mockito.when(requestService.findAllByRequestor(eq(1L))).thenReturn(List.of(requestExpandedDto));
+        Mockito.when(requestService.findAllByRequestor(eq(1L), eq(FieldSet.ALL))).thenReturn(List.of(requestExpandedDto));
 
         mockMvc.perform(get("/requests")
                         .header("X-Sharer-User-Id", 1L))
@@ -160,7 +173,7 @@ public class RequestControllerTest {
                 .items(List.of(ItemDto.builder().id(10L).name("Test Item").build()))
                 .build();
 
-        Mockito.when(requestService.findAll(1L)).thenReturn(List.of(requestDto));
+        Mockito.when(requestService.findAll(1L, 0, 10, null, null, FieldSet.ALL)).thenReturn(List.of(requestDto));
 
         mockMvc.perform(get("/requests/all")
                         .header("X-Sharer-User-Id", 1L))
@@ -171,4 +184,23 @@ public class RequestControllerTest {
                 .andExpect(jsonPath("$[0].items[0].id").value(10L))
                 .andExpect(jsonPath("$[0].items[0].name").value("Test Item"));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Finding all requests. Paging parameters are validated")
+    void shouldRejectInvalidPaging() throws Exception {
+        mockMvc.perform(get("/requests/all")
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("size", "0"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/requests/all")
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("size", "101"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/requests/all")
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("from", "-1"))
+                .andExpect(status().isBadRequest());
+
+        verify(requestService, Mockito.never()).findAll(any(), any(), any(), any(), any(), any());
+    }
+}
@@ -8,6 +8,7 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.common.FieldSet;
 import ru.practicum.shareit.item.entity.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.request.dto.RequestCreateDto;
@@ -21,6 +22,7 @@ import ru.practicum.shareit.user.entity.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.Collection;
 import java.util.List;
 
@@ -147,7 +149,7 @@ public class RequestServiceImplIntegrationTest {
                 .created(LocalDateTime.now())
                 .build());
 
-        List<RequestExpandedDto> requests = requestService.findAllByRequestor(requestor.getId());
+        List<RequestExpandedDto> requests = requestService.findAllByRequestor(requestor.getId(), FieldSet.ALL);
 
         assertNotNull(requests);
         assertEquals(2, requests.size());
@@ -186,7 +188,7 @@ public class RequestServiceImplIntegrationTest {
                 .request(request2)
                 .build());
 
-        Collection<RequestExpandedDto> requests = requestService.findAll(requestor1.getId());
+        Collection<RequestExpandedDto> requests = requestService.findAll(requestor1.getId(), 0, 10, null, null, FieldSet.ALL);
 
         assertNotNull(requests);
         assertEquals(1, requests.size());
@@ -201,4 +203,45 @@ public class RequestServiceImplIntegrationTest {
         assertEquals(item2.getId(), foundRequest.getItems().get(0).getId());
         assertEquals(item2.getName(), foundRequest.getItems().get(0).getName());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Find all requests. Pages are ordered by creation date")
+    void shouldPageAllRequestsByCreationDate() {
+        User viewer = userRepository.save(new User(null, "Viewer", "viewer@yandex.ru"));
+        User requestor = userRepository.save(new User(null, "Requestor", "requestor@yandex.ru"));
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+
+        Request oldest = requestRepository.save(Request.builder()
+                .description("Oldest")
+                .requestor(requestor)
+                .created(now.minusDays(3))
+                .build());
+        Request middle = requestRepository.save(Request.builder()
+                .description("Middle")
+                .requestor(requestor)
+                .created(now.minusDays(2))
+                .build());
+        Request newest = requestRepository.save(Request.builder()
+                .description("Newest")
+                .requestor(requestor)
+                .created(now.minusDays(1))
+                .build());
+
+        List<RequestExpandedDto> firstPage = List.copyOf(requestService.findAll(viewer.getId(), 0, 2, null, null, FieldSet.ALL));
+
+        assertEquals(List.of(newest.getId(), middle.getId()),
+                firstPage.stream().map(RequestExpandedDto::getId).toList());
+
+        RequestExpandedDto last = firstPage.get(firstPage.size() - 1);
+        Collection<RequestExpandedDto> nextPage = requestService.findAll(viewer.getId(), 0, 2,
+                last.getCreated(), last.getId(), FieldSet.ALL);
+
+        assertEquals(List.of(oldest.getId()),
+                nextPage.stream().map(RequestExpandedDto::getId).toList());
+
+        Collection<RequestExpandedDto> shifted = requestService.findAll(viewer.getId(), 1, 2, null, null, FieldSet.ALL);
+
+        assertEquals(List.of(middle.getId(), oldest.getId()),
+                shifted.stream().map(RequestExpandedDto::getId).toList());
+    }
+}
@@ -8,6 +8,9 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.common.FieldSet;
+import ru.practicum.shareit.common.OffsetPageRequest;
 import ru.practicum.shareit.exception.NoSuchRequestException;
 import ru.practicum.shareit.exception.RequestAccessException;
 import ru.practicum.shareit.item.dto.ItemDto;
@@ -290,41 +293,22 @@ class RequestServiceImplTest {
         Long currentUserId = 1L;
         User requestor = new User(2L, "Requestor", "requestor@yandex.ru");
 
-        Request request = Request.builder()
-                .id(2L)
-                .description("Request description")
-                .requestor(requestor)
-                .build();
-
-        List<Item> items = List.of(Item.builder()
-                .id(1L)
-                .name("Item 1")
-                .description("Description 1")
-                .available(true)
-                .request(request)
-                .build());
-
         List<ItemDto> itemDtos = List.of(ItemDto.builder()
                 .id(1L)
                 .name("Item 1")
                 .description("Description 1")
                 .available(true)
+                .requestId(2L)
                 .build());
 
-        RequestExpandedDto requestExpandedDto = RequestExpandedDto.builder()
-                .id(2L)
-                .description("Request description")
-                .requestor(UserDto.builder().id(2L).name("Requestor").build())
-                .created(LocalDateTime.now())
-                .items(itemDtos)
-                .build();
+        RequestExpandedDto requestExpandedDto = new RequestExpandedDto(2L, "Request description",
+                LocalDateTime.now(), requestor.getId(), requestor.getName(), requestor.getEmail());
 
-        when(requestRepository.findAllByRequestorIdNot(currentUserId)).thenReturn(List.of(request));
-        when(itemRepository.findByRequestIdIn(List.of(2L))).thenReturn(items);
-        when(itemMapper.toDtoList(items)).thenReturn(itemDtos);
-        when(requestMapper.toExpandedDto(request, itemDtos)).thenReturn(requestExpandedDto);
+        when(requestRepository.findPageByRequestorIdNot(currentUserId, OffsetPageRequest.ofOffset(0, 10)))
+                .thenReturn(List.of(requestExpandedDto));
+        when(itemRepository.findByRequestIdIn(List.of(2L))).thenReturn(itemDtos);
 
-        Collection<RequestExpandedDto> requests = requestService.findAll(currentUserId);
+        Collection<RequestExpandedDto> requests = requestService.findAll(currentUserId, 0, 10, null, null, FieldSet.ALL);
 
         assertNotNull(requests);
         assertEquals(1, requests.size());
@@ -333,14 +317,35 @@ class RequestServiceImplTest {
         assertNotNull(actualRequest);
         assertEquals(2L, actualRequest.getId());
         assertEquals("Request description", actualRequest.getDescription());
+        assertEquals("Requestor", actualRequest.getRequestor().getName());
         assertNotNull(actualRequest.getItems());
         assertEquals(1, actualRequest.getItems().size());
         assertEquals(1L, actualRequest.getItems().get(0).getId());
         assertEquals("Item 1", actualRequest.getItems().get(0).getName());
 
-        verify(requestRepository).findAllByRequestorIdNot(currentUserId);
+        verify(requestRepository).findPageByRequestorIdNot(currentUserId, OffsetPageRequest.ofOffset(0, 10));
         verify(itemRepository).findByRequestIdIn(List.of(2L));
-        verify(requestMapper).toExpandedDto(request, itemDtos);
+    }
+
+    @Test
+    @DisplayName("Find all requests. Cursor page")
+    void shouldFindAllRequestsAfterCursor() {
+        Long currentUserId = 1L;
+        LocalDateTime cursorCreated = LocalDateTime.now();
+        User requestor = new User(2L, "Requestor", "requestor@yandex.ru");
+
+        RequestExpandedDto requestExpandedDto = new RequestExpandedDto(2L, "Request description",
+                cursorCreated.minusDays(1), requestor.getId(), requestor.getName(), requestor.getEmail());
+
+        when(requestRepository.findPageByRequestorIdNotBefore(currentUserId, cursorCreated, 5L, PageRequest.ofSize(10)))
+                .thenReturn(List.of(requestExpandedDto));
+        when(itemRepository.findByRequestIdIn(List.of(2L))).thenReturn(List.of());
+
+        Collection<RequestExpandedDto> requests = requestService.findAll(currentUserId, 0, 10, cursorCreated, 5L, FieldSet.ALL);
+
+        assertEquals(1, requests.size());
+        verify(requestRepository).findPageByRequestorIdNotBefore(currentUserId, cursorCreated, 5L, PageRequest.ofSize(10));
+        verify(requestRepository, never()).findPageByRequestorIdNot(any(), any());
     }
 
     @Test
@@ -349,42 +354,26 @@ class RequestServiceImplTest {
         Long requestorId = 1L;
 
         User requestor = new User(requestorId, "Requestor", "requestor@yandex.ru");
-        Request request = Request.builder()
-                .id(2L)
-                .description("Request description")
-                .requestor(requestor)
-                .build();
-
-        Item item = Item.builder()
-                .id(3L)
-                .name("Item")
-                .available(true)
-                .request(request)
-                .build();
-
         ItemDto itemDto = ItemDto.builder()
                 .id(3L)
                 .name("Item")
                 .available(true)
+                .requestId(2L)
                 .build();
 
-        RequestExpandedDto requestExpandedDto = RequestExpandedDto.builder()
-                .id(2L)
-                .description("Request description")
-                .items(List.of(itemDto))
-                .build();
+        RequestExpandedDto requestExpandedDto = new RequestExpandedDto(2L, "Request description",
+                LocalDateTime.now(), requestorId, requestor.getName(), requestor.getEmail());
 
         when(userRepository.findById(requestorId)).thenReturn(Optional.of(requestor));
-        when(requestRepository.findAllByRequestorId(requestorId)).thenReturn(List.of(request));
-        when(itemRepository.findByRequestIdIn(List.of(2L))).thenReturn(List.of(item));
-        when(itemMapper.toDtoList(List.of(item))).thenReturn(List.of(itemDto));
-        when(requestMapper.toExpandedDto(request, List.of(itemDto))).thenReturn(requestExpandedDto);
+        when(requestRepository.findAllByRequestorId(requestorId)).thenReturn(List.of(requestExpandedDto));
+        when(itemRepository.findByRequestIdIn(List.of(2L))).thenReturn(List.of(itemDto));
 
-        List<RequestExpandedDto> foundRequests = requestService.findAllByRequestor(requestorId);
+        List<RequestExpandedDto> foundRequests = requestService.findAllByRequestor(requestorId, FieldSet.ALL);
 
         assertNotNull(foundRequests);
         assertEquals(1, foundRequests.size());
         assertEquals("Request description", foundRequests.get(0).getDescription());
+        assertEquals(List.of(itemDto), foundRequests.get(0).getItems());
         verify(requestRepository).findAllByRequestorId(requestorId);
     }
 }
\ No newline at end of file
@@ -0,0 +1,85 @@
+package ru.practicum.shareit.tracing;
+
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.user.entity.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(classes = ShareItServer.class)
+@AutoConfigureMockMvc
+@AutoConfigureObservability(metrics = false)
+@Transactional
+@ActiveProfiles("test")
+public class TracingIntegrationTest {
+    private static final String TRACE_ID = "4bf92f3577b34da6a3ce929d0e0e4736";
+    private static final String GATEWAY_SPAN_ID = "00f067aa0ba902b7";
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SdkTracerProvider tracerProvider;
+
+    @Autowired
+    private InMemorySpanSink spanSink;
+
+    @BeforeEach
+    void setUp() {
+        tracerProvider.forceFlush().join(10, TimeUnit.SECONDS);
+        spanSink.drain();
+    }
+
+    @Test
+    @DisplayName("Owner bookings. Controller, service and repository spans join the gateway's trace")
+    void shouldTraceLayersOfRequest() throws Exception {
+        User owner = userRepository.save(new User(null, "Owner", "owner@yandex.ru"));
+
+        mvc.perform(get("/bookings/owner")
+                        .header("X-Sharer-User-Id", owner.getId())
+                        .header("traceparent", "00-" + TRACE_ID + "-" + GATEWAY_SPAN_ID + "-01"))
+                .andExpect(status().isOk());
+
+        tracerProvider.forceFlush().join(10, TimeUnit.SECONDS);
+        List<SpanData> spans = spanSink.drain();
+        assertTrue(spans.stream().allMatch(span -> span.getTraceId().equals(TRACE_ID)));
+        Map<String, SpanData> byName = spans.stream()
+                .collect(Collectors.toMap(SpanData::getName, Function.identity(), (first, second) -> first));
+
+        SpanData request = spans.stream()
+                .filter(span -> span.getParentSpanId().equals(GATEWAY_SPAN_ID))
+                .findFirst()
+                .orElseThrow();
+        SpanData controller = byName.get("BookingController.findAllBookingsByOwner");
+        SpanData service = byName.get("BookingServiceImpl.findAllBookingsByOwnerAndState");
+        assertNotNull(controller);
+        assertNotNull(service);
+        assertEquals(request.getSpanId(), controller.getParentSpanId());
+        assertEquals(controller.getSpanId(), service.getParentSpanId());
+        assertTrue(spans.stream().anyMatch(span -> span.getName().startsWith("BookingRepository.")
+                && span.getParentSpanId().equals(service.getSpanId())));
+    }
+}
@@ -7,6 +7,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import ru.practicum.shareit.exception.EmailExistsException;
+import ru.practicum.shareit.purge.service.PurgeService;
 import ru.practicum.shareit.user.dto.UserCreateDto;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.dto.UserUpdateDto;
@@ -32,6 +33,9 @@ class UserServiceImplTest {
     @Mock
     private UserMapper userMapper;
 
+    @Mock
+    private PurgeService purgeService;
+
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -129,15 +133,14 @@ class UserServiceImplTest {
                 .email(user2.getEmail())
                 .build();
 
-        when(userRepository.findAll()).thenReturn(List.of(user1, user2));
-        when(userMapper.toDtoList(List.of(user1, user2))).thenReturn(List.of(userDto1, userDto2));
+        when(userRepository.findAllDtos()).thenReturn(List.of(userDto1, userDto2));
 
         Collection<UserDto> foundUsers = userService.findAll();
 
         assertNotNull(foundUsers);
         assertEquals(2, foundUsers.size());
-        verify(userRepository, times(1)).findAll();
-        verify(userMapper, times(1)).toDtoList(List.of(user1, user2));
+        verify(userRepository, times(1)).findAllDtos();
+        verifyNoInteractions(userMapper);
     }
 
     @Test
@@ -205,7 +208,8 @@ class UserServiceImplTest {
 
         assertNotNull(deletedUser);
         assertEquals(user.getName(), deletedUser.getName());
-        verify(userRepository, times(1)).delete(user);
+        verify(purgeService, times(1)).scheduleUserPurge(userId);
+        verify(userRepository, never()).delete(user);
     }
 
     @Test